@@ -1,16 +1,20 @@
 package io.github.habatoo.controllers;
 
 import io.github.habatoo.dto.AccountFullResponseDto;
+import io.github.habatoo.dto.AccountShortDto;
+import io.github.habatoo.dto.DashboardResponseDto;
 import io.github.habatoo.dto.PasswordUpdateDto;
 import io.github.habatoo.dto.UserProfileResponseDto;
 import io.github.habatoo.dto.UserUpdateDto;
 import io.github.habatoo.services.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -41,6 +45,41 @@ public class UserController {
         return userService.getOrCreateUser(jwt);
     }
 
+    /**
+     * Получение всех данных главной страницы личного кабинета одним запросом.
+     * <p>
+     * Возвращает профиль, счета и общий баланс в RUB; список получателей переводов
+     * отдается отдельным потоком {@code /recipients}.
+     * </p>
+     *
+     * @param jwt объект авторизованного пользователя, содержащий данные токена.
+     * @return {@link Mono}, содержащий агрегированные данные {@link DashboardResponseDto}.
+     */
+    @GetMapping("/dashboard")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'ACCOUNT_ACCESS')")
+    public Mono<DashboardResponseDto> getDashboard(@AuthenticationPrincipal Jwt jwt) {
+        log.debug("Запрос данных главной страницы для пользователя: {}", jwt.getClaimAsString("preferred_username"));
+        return userService.getDashboard(jwt);
+    }
+
+    /**
+     * Потоковая выдача получателей переводов для главной страницы.
+     * <p>
+     * Счета отдаются в формате NDJSON по мере чтения из базы, поэтому фронт выводит их в страницу
+     * порциями, не дожидаясь всего списка.
+     * </p>
+     *
+     * @param jwt объект авторизованного пользователя, содержащий данные токена.
+     * @return поток {@link Flux} с краткими данными счетов {@link AccountShortDto}.
+     */
+    @GetMapping(value = "/recipients", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'ACCOUNT_ACCESS')")
+    public Flux<AccountShortDto> getRecipients(@AuthenticationPrincipal Jwt jwt) {
+        String username = jwt.getClaimAsString("preferred_username");
+        log.debug("Запрос получателей переводов для пользователя: {}", username);
+        return userService.getRecipients(username);
+    }
+
     /**
      * Обновление данных профиля текущего пользователя.
      *
@@ -1,7 +1,9 @@
 package io.github.habatoo.repositories;
 
+import io.github.habatoo.dto.AccountShortDto;
 import io.github.habatoo.dto.enums.Currency;
 import io.github.habatoo.models.Account;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -29,4 +31,21 @@ public interface AccountRepository extends R2dbcRepository<Account, UUID> {
      * @return {@link Flux}, содержащий список счетов.
      */
     Flux<Account> findAllByUserId(UUID userId);
+
+    /**
+     * Возвращает счета других пользователей, доступные для перевода, одним запросом.
+     * <p>
+     * В отличие от последовательного чтения пользователей и их счетов выполняет одно
+     * соединение таблиц {@code users} и {@code account}, а размер выборки ограничен.
+     * </p>
+     *
+     * @param login логин текущего пользователя, который исключается из выборки.
+     * @param limit максимальное количество возвращаемых счетов.
+     * @return {@link Flux} с краткими данными счетов, упорядоченный по логину и валюте.
+     */
+    @Query("SELECT u.login AS login, u.name AS name, a.currency AS currency "
+            + "FROM account a JOIN users u ON u.id = a.user_id "
+            + "WHERE u.login <> :login "
+            + "ORDER BY u.login, a.currency LIMIT :limit")
+    Flux<AccountShortDto> findRecipients(String login, int limit);
 }
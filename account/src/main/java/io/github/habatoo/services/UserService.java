@@ -1,10 +1,13 @@
 package io.github.habatoo.services;
 
 import io.github.habatoo.dto.AccountFullResponseDto;
+import io.github.habatoo.dto.AccountShortDto;
+import io.github.habatoo.dto.DashboardResponseDto;
 import io.github.habatoo.dto.PasswordUpdateDto;
 import io.github.habatoo.dto.UserProfileResponseDto;
 import io.github.habatoo.dto.UserUpdateDto;
 import org.springframework.security.oauth2.jwt.Jwt;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -28,6 +31,30 @@ public interface UserService {
      */
     Mono<UserProfileResponseDto> getOrCreateUser(Jwt jwt);
 
+    /**
+     * Собирает данные главной страницы личного кабинета одним вызовом.
+     * <p>
+     * Возвращает профиль пользователя (с "ленивой регистрацией", как в {@link #getOrCreateUser(Jwt)}),
+     * его счета и общий баланс в RUB. Получатели переводов отдаются отдельно, см. {@link #getRecipients(String)}.
+     * </p>
+     *
+     * @param jwt объект декодированного JWT-токена с данными авторизации.
+     * @return {@link Mono}, содержащий агрегированные данные {@link DashboardResponseDto}.
+     */
+    Mono<DashboardResponseDto> getDashboard(Jwt jwt);
+
+    /**
+     * Возвращает счета других пользователей, доступные для перевода.
+     * <p>
+     * Выборка выполняется одним запросом, ее размер ограничен параметром
+     * {@code spring.account.dashboard.recipients-limit}.
+     * </p>
+     *
+     * @param login логин текущего пользователя, который исключается из выборки.
+     * @return {@link Flux} с краткими данными счетов {@link AccountShortDto}.
+     */
+    Flux<AccountShortDto> getRecipients(String login);
+
     /**
      * Обновляет персональные данные профиля пользователя.
      * <p>
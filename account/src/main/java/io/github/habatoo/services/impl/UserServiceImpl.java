@@ -9,6 +9,7 @@ import io.github.habatoo.models.User;
 import io.github.habatoo.repositories.AccountRepository;
 import io.github.habatoo.repositories.UserRepository;
 import io.github.habatoo.services.OutboxClientService;
+import io.github.habatoo.services.RateClientService;
 import io.github.habatoo.services.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,9 +19,11 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -38,10 +41,14 @@ public class UserServiceImpl implements UserService {
     private final AccountRepository accountRepository;
     private final OutboxClientService outboxClientService;
     private final WebClient backgroundWebClient;
+    private final RateClientService rateClientService;
 
     @Value("${spring.security.oauth2.client.provider.keycloak.issuer-uri}")
     private String keycloakIssuerUri;
 
+    @Value("${spring.account.dashboard.recipients-limit:100}")
+    private int recipientsLimit;
+
     @Override
     @Transactional
     public Mono<UserProfileResponseDto> getOrCreateUser(Jwt jwt) {
@@ -52,6 +59,22 @@ public class UserServiceImpl implements UserService {
                 .switchIfEmpty(Mono.defer(() -> registerUser(jwt)));
     }
 
+    @Override
+    @Transactional
+    public Mono<DashboardResponseDto> getDashboard(Jwt jwt) {
+        return getOrCreateUser(jwt)
+                .map(profile -> DashboardResponseDto.builder()
+                        .login(profile.getLogin()).name(profile.getName())
+                        .birthDate(profile.getBirthDate()).accounts(profile.getAccounts())
+                        .totalBalance(calculateTotalBalance(profile.getAccounts()))
+                        .build());
+    }
+
+    @Override
+    public Flux<AccountShortDto> getRecipients(String login) {
+        return accountRepository.findRecipients(login, recipientsLimit);
+    }
+
     @Override
     @Transactional
     public Mono<AccountFullResponseDto> updateProfile(String login, UserUpdateDto dto) {
@@ -111,6 +134,25 @@ public class UserServiceImpl implements UserService {
                         .birthDate(user.getBirthDate()).accounts(accs).build());
     }
 
+    private BigDecimal calculateTotalBalance(List<AccountDto> accounts) {
+        return accounts.stream()
+                .map(acc -> toRub(acc.getBalance(), acc.getCurrency()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private BigDecimal toRub(BigDecimal value, Currency currency) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        try {
+            return rateClientService.takeRate(currency, Currency.RUB).multiply(value);
+        } catch (Exception e) {
+            log.warn("Не удалось получить курс для {} -> RUB: {}", currency, e.getMessage());
+            return currency == Currency.RUB ? value : BigDecimal.ZERO;
+        }
+    }
+
     private Mono<UserProfileResponseDto> registerUser(Jwt jwt) {
         User user = buildUserFromToken(jwt);
         return userRepository.save(user)
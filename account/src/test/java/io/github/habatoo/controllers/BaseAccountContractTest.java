@@ -132,6 +132,9 @@ public abstract class BaseAccountContractTest {
         AccountShortDto user1Dto = new AccountShortDto("user1", "User One", Currency.RUB);
         AccountShortDto user2Dto = new AccountShortDto("user2", "User Two", Currency.RUB);
 
+        DashboardResponseDto mockDashboard = new DashboardResponseDto(
+                "user1", "User One", LocalDate.now(), List.of(), BigDecimal.ZERO, List.of(user2Dto));
+
         OperationResultDto<Void> errorResponse = OperationResultDto.<Void>builder()
                 .success(false).errorCode("INVALID_CURRENCY")
                 .message("Допустимые валюты: RUB, USD, CNY").build();
@@ -140,6 +143,8 @@ public abstract class BaseAccountContractTest {
 
         when(userService.getOrCreateUser(any(Jwt.class)))
                 .thenReturn(Mono.just(mockDtoUser));
+        when(userService.getDashboard(any(Jwt.class)))
+                .thenReturn(Mono.just(mockDashboard));
         when(userService.updateProfile(anyString(), any(UserUpdateDto.class)))
                 .thenReturn(Mono.just(mockDto));
         when(userService.updatePassword(anyString(), any(PasswordUpdateDto.class)))
@@ -1,8 +1,11 @@
 package io.github.habatoo.controllers;
 
 import io.github.habatoo.dto.AccountFullResponseDto;
+import io.github.habatoo.dto.AccountShortDto;
+import io.github.habatoo.dto.DashboardResponseDto;
 import io.github.habatoo.dto.UserProfileResponseDto;
 import io.github.habatoo.dto.UserUpdateDto;
+import io.github.habatoo.dto.enums.Currency;
 import io.github.habatoo.services.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +17,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -74,6 +78,44 @@ class UserControllerTest {
         verify(userService, times(1)).getOrCreateUser(jwt);
     }
 
+    /**
+     * Тест проверяет, что данные главной страницы отдаются одним вызовом сервиса.
+     */
+    @Test
+    @DisplayName("Получение данных главной страницы: успех")
+    void getDashboardShouldReturnAggregateTest() {
+        DashboardResponseDto expectedResponse = DashboardResponseDto.builder()
+                .login(TEST_USERNAME)
+                .accounts(List.of())
+                .totalBalance(BigDecimal.ZERO)
+                .build();
+
+        when(userService.getDashboard(jwt)).thenReturn(Mono.just(expectedResponse));
+
+        StepVerifier.create(userController.getDashboard(jwt))
+                .expectNext(expectedResponse)
+                .verifyComplete();
+
+        verify(userService, times(1)).getDashboard(jwt);
+    }
+
+    /**
+     * Тест проверяет потоковую выдачу получателей текущего пользователя.
+     */
+    @Test
+    @DisplayName("Получение получателей переводов: поток счетов других пользователей")
+    void getRecipientsShouldStreamAccountsTest() {
+        AccountShortDto recipient = new AccountShortDto("petr", "Petr", Currency.RUB);
+
+        when(userService.getRecipients(TEST_USERNAME)).thenReturn(Flux.just(recipient));
+
+        StepVerifier.create(userController.getRecipients(jwt))
+                .expectNext(recipient)
+                .verifyComplete();
+
+        verify(userService, times(1)).getRecipients(TEST_USERNAME);
+    }
+
     /**
      * Тест проверяет успешное обновление данных профиля текущего пользователя.
      */
@@ -1,5 +1,7 @@
 package io.github.habatoo.services.impl;
 
+import io.github.habatoo.dto.AccountShortDto;
+import io.github.habatoo.dto.DashboardResponseDto;
 import io.github.habatoo.dto.PasswordUpdateDto;
 import io.github.habatoo.dto.UserProfileResponseDto;
 import io.github.habatoo.dto.UserUpdateDto;
@@ -9,6 +11,7 @@ import io.github.habatoo.models.User;
 import io.github.habatoo.repositories.AccountRepository;
 import io.github.habatoo.repositories.UserRepository;
 import io.github.habatoo.services.OutboxClientService;
+import io.github.habatoo.services.RateClientService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -26,10 +29,13 @@ import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 /**
@@ -57,6 +63,9 @@ class UserServiceImplTest {
     @Mock
     private WebClient backgroundWebClient;
 
+    @Mock
+    private RateClientService rateClientService;
+
     @Mock
     private WebClient.RequestHeadersUriSpec uriSpec;
 
@@ -76,6 +85,7 @@ class UserServiceImplTest {
         jwt = mock(Jwt.class);
         lenient().when(jwt.getClaimAsString("preferred_username")).thenReturn(LOGIN);
         ReflectionTestUtils.setField(userService, "keycloakIssuerUri", "http://localhost:8082/realms/bank");
+        ReflectionTestUtils.setField(userService, "recipientsLimit", 100);
     }
 
     /**
@@ -232,4 +242,48 @@ class UserServiceImplTest {
                         && throwable.getMessage().equals("KC Down"))
                 .verify();
     }
+
+    /**
+     * Тест агрегации данных главной страницы: профиль, счета и общий баланс в RUB.
+     */
+    @Test
+    @DisplayName("Главная страница: профиль и баланс в RUB в одном ответе, без выборки получателей")
+    void getDashboardAggregatesProfileTest() {
+        User user = User.builder().id(USER_ID).login(LOGIN).name("Ivan").build();
+        Account rub = Account.builder().userId(USER_ID).currency(Currency.RUB).balance(new BigDecimal("100.50")).build();
+        Account usd = Account.builder().userId(USER_ID).currency(Currency.USD).balance(new BigDecimal("10")).build();
+
+        when(userRepository.findByLogin(LOGIN)).thenReturn(Mono.just(user));
+        when(accountRepository.findAllByUserId(USER_ID)).thenReturn(Flux.just(rub, usd));
+        when(rateClientService.takeRate(Currency.RUB, Currency.RUB)).thenReturn(BigDecimal.ONE);
+        when(rateClientService.takeRate(Currency.USD, Currency.RUB)).thenReturn(new BigDecimal("76.38"));
+
+        StepVerifier.create(userService.getDashboard(jwt))
+                .assertNext((DashboardResponseDto dto) -> {
+                    assertThat(dto.getLogin()).isEqualTo(LOGIN);
+                    assertThat(dto.getAccounts()).hasSize(2);
+                    assertThat(dto.getTotalBalance()).isEqualByComparingTo("864.30");
+                })
+                .verifyComplete();
+
+        verify(accountRepository, never()).findRecipients(any(), anyInt());
+    }
+
+    /**
+     * Тест потоковой выдачи получателей одним ограниченным запросом.
+     */
+    @Test
+    @DisplayName("Получатели: счета других пользователей отдаются потоком с ограничением выборки")
+    void getRecipientsStreamsBoundedSelectionTest() {
+        AccountShortDto petr = new AccountShortDto("petr", "Petr", Currency.RUB);
+        AccountShortDto anna = new AccountShortDto("anna", "Anna", Currency.USD);
+
+        when(accountRepository.findRecipients(LOGIN, 100)).thenReturn(Flux.just(anna, petr));
+
+        StepVerifier.create(userService.getRecipients(LOGIN))
+                .expectNext(anna, petr)
+                .verifyComplete();
+
+        verify(userRepository, never()).findAllByLoginNot(any());
+    }
 }
@@ -0,0 +1,32 @@
+package contracts
+
+import org.springframework.cloud.contract.spec.Contract
+
+Contract.make {
+    description "Возвращает данные главной страницы: профиль, счета, общий баланс и получателей переводов"
+    name "getDashboard"
+
+    request {
+        method 'GET'
+        urlPath('/dashboard')
+        headers {
+            header('Authorization', 'Bearer dummy-token')
+        }
+    }
+
+    response {
+        status 200
+        headers {
+            contentType(applicationJson())
+        }
+        body([
+                login       : "user1",
+                name        : "User One",
+                accounts    : [],
+                totalBalance: 0,
+                recipients  : [
+                        [login: "user2", name: "User Two", currency: "RUB"]
+                ]
+        ])
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.habatoo.configurations.converters;
+
+import io.r2dbc.postgresql.codec.Json;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Микробенчмарк конвертеров JSONB {@link JsonConverters}.
+ * <p>
+ * Конвертеры вызываются при каждой записи и чтении строки Outbox, поэтому данные повторяют
+ * типичный payload события: строковые поля, перечисление, сумма и вложенная карта.
+ */
+@State(Scope.Benchmark)
+public class JsonConvertersBenchmark {
+
+    private final JsonConverters.MapToJsonConverter mapToJson = new JsonConverters.MapToJsonConverter();
+    private final JsonConverters.JsonToMapConverter jsonToMap = new JsonConverters.JsonToMapConverter();
+
+    private Map<String, Object> payload;
+    private Json json;
+
+    @Setup
+    public void setUp() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("amount", new BigDecimal("1500.00"));
+        details.put("currency", "RUB");
+        details.put("target_username", "receiver_user");
+
+        payload = new LinkedHashMap<>();
+        payload.put("username", "sender_user");
+        payload.put("eventType", "TRANSFER");
+        payload.put("status", "SUCCESS");
+        payload.put("message", "Перевод пользователю receiver_user на сумму 1500.00 RUB");
+        payload.put("sourceService", "transfer-service");
+        payload.put("payload", details);
+
+        json = mapToJson.convert(payload);
+    }
+
+    @Benchmark
+    public Json mapToJson() {
+        return mapToJson.convert(payload);
+    }
+
+    @Benchmark
+    public Map<String, Object> jsonToMap() {
+        return jsonToMap.convert(json);
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.habatoo.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.habatoo.configurations.JsonChassisAutoConfiguration;
+import io.github.habatoo.dto.enums.Currency;
+import io.github.habatoo.dto.enums.EventStatus;
+import io.github.habatoo.dto.enums.EventType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Микробенчмарк сериализации DTO, которыми сервисы обмениваются на каждом запросе.
+ * <p>
+ * {@link ObjectMapper} берется из контекста с {@link JacksonAutoConfiguration} и
+ * {@link JsonChassisAutoConfiguration}, поэтому измерение учитывает настройки шасси
+ * (формат дат, {@code NON_NULL}, обработку неизвестных полей).
+ */
+@State(Scope.Benchmark)
+public class JacksonSerializationBenchmark {
+
+    private static final TypeReference<OperationResultDto<TransferDto>> TRANSFER_RESULT_TYPE =
+            new TypeReference<>() {
+            };
+
+    private AnnotationConfigApplicationContext context;
+    private ObjectMapper objectMapper;
+
+    private NotificationEvent event;
+    private OperationResultDto<TransferDto> transferResult;
+    private byte[] eventJson;
+    private byte[] transferResultJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new AnnotationConfigApplicationContext(
+                JacksonAutoConfiguration.class, JsonChassisAutoConfiguration.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        event = NotificationEvent.builder()
+                .eventId(UUID.randomUUID())
+                .username("sender_user")
+                .eventType(EventType.TRANSFER)
+                .status(EventStatus.SUCCESS)
+                .message("Перевод пользователю receiver_user на сумму 1500.00 RUB")
+                .sourceService("transfer-service")
+                .payload(Map.of(
+                        "amount", new BigDecimal("1500.00"),
+                        "currency", "RUB",
+                        "target_username", "receiver_user"))
+                .build();
+
+        TransferDto transfer = new TransferDto();
+        transfer.setLogin("receiver_user");
+        transfer.setValue(new BigDecimal("1500.00"));
+        transfer.setFromCurrency(Currency.RUB);
+        transfer.setToCurrency(Currency.RUB);
+        transferResult = OperationResultDto.<TransferDto>builder()
+                .success(true)
+                .message("Перевод выполнен")
+                .data(transfer)
+                .build();
+
+        eventJson = objectMapper.writeValueAsBytes(event);
+        transferResultJson = objectMapper.writeValueAsBytes(transferResult);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serializeNotificationEvent() throws Exception {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public NotificationEvent deserializeNotificationEvent() throws Exception {
+        return objectMapper.readValue(eventJson, NotificationEvent.class);
+    }
+
+    @Benchmark
+    public byte[] serializeOperationResult() throws Exception {
+        return objectMapper.writeValueAsBytes(transferResult);
+    }
+
+    @Benchmark
+    public OperationResultDto<TransferDto> deserializeOperationResult() throws Exception {
+        return objectMapper.readValue(transferResultJson, TRANSFER_RESULT_TYPE);
+    }
+}
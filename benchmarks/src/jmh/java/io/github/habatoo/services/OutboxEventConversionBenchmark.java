@@ -0,0 +1,75 @@
+package io.github.habatoo.services;
+
+import io.github.habatoo.configurations.converters.JsonConverters;
+import io.github.habatoo.dto.NotificationEvent;
+import io.github.habatoo.dto.enums.EventStatus;
+import io.github.habatoo.dto.enums.EventType;
+import io.github.habatoo.models.Outbox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Микробенчмарк преобразований событий в {@link OutboxClientService}.
+ * <p>
+ * Измеряет преобразование события в данные строки Outbox, обратное преобразование прочитанной
+ * строки в событие и полный путь через JSONB-конвертеры, который проходит каждое уведомление
+ * между сохранением в Outbox и отправкой.
+ */
+@State(Scope.Benchmark)
+public class OutboxEventConversionBenchmark {
+
+    private final JsonConverters.MapToJsonConverter mapToJson = new JsonConverters.MapToJsonConverter();
+    private final JsonConverters.JsonToMapConverter jsonToMap = new JsonConverters.JsonToMapConverter();
+
+    private NotificationEvent event;
+    private Outbox storedEntry;
+
+    @Setup
+    public void setUp() {
+        event = NotificationEvent.builder()
+                .username("sender_user")
+                .eventType(EventType.TRANSFER)
+                .status(EventStatus.SUCCESS)
+                .message("Перевод пользователю receiver_user на сумму 1500.00 RUB")
+                .sourceService("transfer-service")
+                .payload(Map.of(
+                        "amount", new BigDecimal("1500.00"),
+                        "currency", "RUB",
+                        "target_username", "receiver_user"))
+                .build();
+
+        storedEntry = readBack(OutboxClientService.convertEventToMap(event));
+    }
+
+    @Benchmark
+    public Map<String, Object> eventToMap() {
+        return OutboxClientService.convertEventToMap(event);
+    }
+
+    @Benchmark
+    public NotificationEvent mapToEvent() {
+        return OutboxClientService.mapToEvent(storedEntry);
+    }
+
+    @Benchmark
+    public NotificationEvent roundTrip() {
+        return OutboxClientService.mapToEvent(readBack(OutboxClientService.convertEventToMap(event)));
+    }
+
+    /**
+     * Повторяет запись и чтение колонки JSONB: после чтения перечисления хранятся строками.
+     */
+    private Outbox readBack(Map<String, Object> payload) {
+        return Outbox.builder()
+                .id(UUID.randomUUID())
+                .eventType(event.getEventType().name())
+                .payload(jsonToMap.convert(mapToJson.convert(payload)))
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.habatoo.services;
+
+import io.github.habatoo.dto.enums.Currency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.math.BigDecimal;
+
+/**
+ * Микробенчмарк получения курса {@link RateProviderService#getRate(Currency, Currency)}.
+ * <p>
+ * Курс запрашивается при каждой операции с валютой и при расчете общего баланса, поэтому
+ * измеряются оба пути: совпадающие валюты и поиск по ключу пары (сборка строки ключа).
+ * Сервис создается в контексте Spring, чтобы курсы были заполнены так же, как в приложении.
+ */
+@State(Scope.Benchmark)
+public class RateProviderBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private RateProviderService rateProviderService;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(RateProviderService.class);
+        rateProviderService = context.getBean(RateProviderService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BigDecimal crossCurrencyRate() {
+        return rateProviderService.getRate(Currency.USD, Currency.RUB);
+    }
+
+    @Benchmark
+    public BigDecimal sameCurrencyRate() {
+        return rateProviderService.getRate(Currency.RUB, Currency.RUB);
+    }
+}
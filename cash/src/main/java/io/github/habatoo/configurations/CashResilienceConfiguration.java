@@ -0,0 +1,31 @@
+package io.github.habatoo.configurations;
+
+import io.github.habatoo.resilience.ResilienceDecorator;
+import io.github.habatoo.resilience.ResilienceDecorators;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Механизмы отказоустойчивости вызовов сервиса Account из сервиса Cash.
+ */
+@Configuration
+public class CashResilienceConfiguration {
+
+    /**
+     * Имя экземпляра Circuit Breaker, Bulkhead, TimeLimiter и Retry для изменения баланса.
+     */
+    public static final String ACCOUNT_INSTANCE = "cashServiceCB";
+
+    /**
+     * Декоратор вызовов изменения баланса; пересоздается при обновлении конфигурации.
+     *
+     * @param resilienceDecorators фабрика декораторов шасси.
+     * @return декоратор экземпляра {@value #ACCOUNT_INSTANCE}.
+     */
+    @Bean
+    @RefreshScope
+    public ResilienceDecorator accountResilience(ResilienceDecorators resilienceDecorators) {
+        return resilienceDecorators.of(ACCOUNT_INSTANCE);
+    }
+}
@@ -7,13 +7,12 @@ import io.github.habatoo.dto.enums.Currency;
 import io.github.habatoo.dto.enums.EventStatus;
 import io.github.habatoo.dto.enums.EventType;
 import io.github.habatoo.dto.enums.OperationType;
+import io.github.habatoo.logging.SagaStepObserver;
 import io.github.habatoo.models.Cash;
 import io.github.habatoo.repositories.OperationsRepository;
+import io.github.habatoo.resilience.ResilienceDecorator;
 import io.github.habatoo.services.CashService;
 import io.github.habatoo.services.OutboxClientService;
-import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
-import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
@@ -35,10 +34,13 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class CashServiceImpl implements CashService {
 
+    private static final String SAGA = "cash";
+
     private final WebClient webClient;
     private final OperationsRepository operationsRepository;
     private final OutboxClientService outboxClientService;
-    private final CircuitBreakerRegistry registry;
+    private final ResilienceDecorator accountResilience;
+    private final SagaStepObserver sagaStepObserver;
 
     /**
      * {@inheritDoc}
@@ -90,26 +92,39 @@ public class CashServiceImpl implements CashService {
     }
 
     private Mono<OperationResultDto<CashDto>> executeTransaction(String login, CashDto dto, BigDecimal delta) {
-        return callAccountService(login, delta, dto.getCurrency().name())
+        String balanceStep = delta.signum() > 0 ? "credit" : "debit";
+        return observeBalanceStep(balanceStep, dto, callAccountService(login, delta, dto.getCurrency().name()))
                 .flatMap(res -> res.isSuccess()
                         ? saveAndNotify(login, dto, delta)
                         : Mono.just(errorResponse(res.getMessage())));
     }
 
     private Mono<OperationResultDto<CashDto>> saveAndNotify(String login, CashDto dto, BigDecimal delta) {
-        return operationsRepository.save(mapToEntity(login, dto))
-                .then(sendNotification(login, dto, EventStatus.SUCCESS))
+        String currency = dto.getCurrency().name();
+        return sagaStepObserver.observe(SAGA, "persist", currency, operationsRepository.save(mapToEntity(login, dto)))
+                .then(sagaStepObserver.observe(SAGA, "notify", currency,
+                        sendNotification(login, dto, EventStatus.SUCCESS)))
                 .thenReturn(successResponse(dto))
                 .onErrorResume(e -> {
                     log.error("DB Error. Starting compensation for {}: {}", login, e.getMessage());
-                    return callAccountService(login, delta.negate(), dto.getCurrency().name())
-                            .then(sendNotification(login, dto, EventStatus.FAILURE))
+                    sagaStepObserver.compensationTriggered(SAGA, currency, "persist");
+                    return observeBalanceStep("compensation", dto,
+                            callAccountService(login, delta.negate(), currency))
+                            .then(sagaStepObserver.observe(SAGA, "notify", currency,
+                                    sendNotification(login, dto, EventStatus.FAILURE)))
                             .thenReturn(errorResponse("Сбой сохранения в БД. Средства возвращены на счет."));
                 });
     }
 
+    private Mono<OperationResultDto<Void>> observeBalanceStep(
+            String step,
+            CashDto dto,
+            Mono<OperationResultDto<Void>> call) {
+        return sagaStepObserver.observe(SAGA, step, dto.getCurrency().name(), call,
+                res -> res.isSuccess() ? SagaStepObserver.SUCCESS : SagaStepObserver.REJECTED);
+    }
+
     private Mono<OperationResultDto<Void>> callAccountService(String login, BigDecimal amt, String cur) {
-        CircuitBreaker cb = registry.circuitBreaker("cashServiceCB");
         return webClient.post()
                 .uri(uriBuilder -> uriBuilder
                         .path("/api/account/balance")
@@ -119,7 +134,7 @@ public class CashServiceImpl implements CashService {
                         .build())
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<OperationResultDto<Void>>() {})
-                .transformDeferred(CircuitBreakerOperator.of(cb));
+                .transform(accountResilience::decorate);
     }
 
     private Mono<Void> sendNotification(String login, CashDto dto, EventStatus status) {
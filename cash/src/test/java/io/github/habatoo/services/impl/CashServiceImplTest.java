@@ -4,11 +4,20 @@ import io.github.habatoo.dto.CashDto;
 import io.github.habatoo.dto.OperationResultDto;
 import io.github.habatoo.dto.enums.Currency;
 import io.github.habatoo.dto.enums.OperationType;
+import io.github.habatoo.logging.SagaStepObserver;
 import io.github.habatoo.models.Cash;
 import io.github.habatoo.repositories.OperationsRepository;
+import io.github.habatoo.resilience.ResilienceDecorator;
 import io.github.habatoo.services.OutboxClientService;
+import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +25,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -26,8 +36,10 @@ import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.net.URI;
+import java.time.Duration;
 import java.util.function.Function;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
@@ -52,17 +64,25 @@ class CashServiceImplTest {
     @Mock(answer = Answers.RETURNS_DEEP_STUBS)
     private WebClient webClient;
     @Mock
-    private CircuitBreakerRegistry circuitBreakerRegistry;
-    @Mock
     private Jwt jwt;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ResilienceDecorator accountResilience = new ResilienceDecorator(
+            CircuitBreaker.ofDefaults("cashServiceCB"),
+            Bulkhead.ofDefaults("cashServiceCB"),
+            TimeLimiter.ofDefaults("cashServiceCB"),
+            Retry.of("cashServiceCB", RetryConfig.custom().maxAttempts(1).build()));
+
+    @Spy
+    private SagaStepObserver sagaStepObserver = new SagaStepObserver(observationRegistry(meterRegistry), meterRegistry);
+
     @InjectMocks
     private CashServiceImpl cashService;
 
     @BeforeEach
     void setUp() {
-        CircuitBreaker cb = CircuitBreaker.ofDefaults("cashServiceCB");
-        lenient().when(circuitBreakerRegistry.circuitBreaker("cashServiceCB")).thenReturn(cb);
         lenient().when(jwt.getClaimAsString("preferred_username")).thenReturn(LOGIN);
         lenient().when(jwt.getSubject()).thenReturn(USER_ID);
     }
@@ -137,6 +157,30 @@ class CashServiceImplTest {
 
         verify(webClient.post(), times(2)).uri(any(Function.class));
         verify(outboxClientService).saveEvent(argThat(event -> event.getStatus().name().equals("FAILURE")));
+        assertEquals(1.0, meterRegistry.get(SagaStepObserver.COMPENSATION_METRIC)
+                .tags("saga", "cash", "currency.pair", "USD", "reason", "persist")
+                .counter().count());
+        assertEquals(1L, meterRegistry.get(SagaStepObserver.STEP_METRIC)
+                .tags("step", "persist", "outcome", SagaStepObserver.ERROR)
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Таймаут: зависший вызов сервиса Account прерывается TimeLimiter")
+    void accountCallTimeoutTest() {
+        when(webClient.post()
+                .uri(any(Function.class))
+                .retrieve()
+                .bodyToMono(any(ParameterizedTypeReference.class)))
+                .thenReturn(Mono.never());
+
+        StepVerifier.withVirtualTime(() -> cashService.processCashOperation(BigDecimal.TEN, "PUT", "RUB", jwt))
+                .thenAwait(Duration.ofSeconds(1))
+                .expectNextMatches(res -> !res.isSuccess())
+                .verifyComplete();
+
+        verifyNoInteractions(operationsRepository);
+        assertEquals(1, accountResilience.circuitBreaker().getMetrics().getNumberOfFailedCalls());
     }
 
     @SuppressWarnings("unchecked")
@@ -147,4 +191,10 @@ class CashServiceImplTest {
                 .bodyToMono(any(ParameterizedTypeReference.class)))
                 .thenReturn(Mono.just(response));
     }
+
+    private static ObservationRegistry observationRegistry(MeterRegistry meterRegistry) {
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        return observationRegistry;
+    }
 }
@@ -2,14 +2,26 @@ package io.github.habatoo;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.habatoo.base.BaseTest;
+import io.github.habatoo.cofigurations.FrontResilienceConfiguration;
+import io.github.habatoo.components.MainPageModelCache;
+import io.github.habatoo.components.ProfileSnapshotStore;
 import io.github.habatoo.dto.CashDto;
 import io.github.habatoo.dto.enums.OperationType;
+import io.github.habatoo.properties.MainPageCacheProperties;
+import io.github.habatoo.properties.ProfileSnapshotProperties;
+import io.github.habatoo.resilience.ResilienceDecorator;
+import io.github.habatoo.resilience.ResilienceDecorators;
 import io.github.habatoo.services.*;
 import io.github.habatoo.services.impl.CashFrontServiceImpl;
 import io.github.habatoo.services.impl.FrontServiceImpl;
 import io.github.habatoo.services.impl.TransferFrontServiceImpl;
 import io.github.habatoo.services.impl.UserFrontServiceImpl;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import okhttp3.mockwebserver.MockWebServer;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -70,6 +82,9 @@ public abstract class BaseFrontTest extends BaseTest {
     @Autowired
     protected CircuitBreakerRegistry registry;
 
+    @Autowired
+    protected ResilienceDecorator dashboardResilience;
+
     @Autowired
     protected RateClientService rateClientService;
 
@@ -110,5 +125,35 @@ public abstract class BaseFrontTest extends BaseTest {
         public WebClient webClient(WebClient.Builder builder) {
             return builder.baseUrl("http://localhost:" + mockWebServer.getPort()).build();
         }
+
+        @Bean
+        public ResilienceDecorators resilienceDecorators(CircuitBreakerRegistry circuitBreakerRegistry) {
+            return new ResilienceDecorators(
+                    circuitBreakerRegistry,
+                    BulkheadRegistry.ofDefaults(),
+                    TimeLimiterRegistry.ofDefaults(),
+                    RetryRegistry.of(RetryConfig.custom().maxAttempts(1).build()));
+        }
+
+        @Bean
+        public ResilienceDecorator gatewayResilience(ResilienceDecorators resilienceDecorators) {
+            return resilienceDecorators.of(FrontResilienceConfiguration.GATEWAY_INSTANCE);
+        }
+
+        @Bean
+        public ResilienceDecorator dashboardResilience(ResilienceDecorators resilienceDecorators) {
+            return resilienceDecorators.of(FrontResilienceConfiguration.DASHBOARD_INSTANCE);
+        }
+
+        @Bean
+        public MainPageModelCache mainPageModelCache() {
+            return new MainPageModelCache(new MainPageCacheProperties(false, null, null), new SimpleMeterRegistry());
+        }
+
+        @Bean
+        public ProfileSnapshotStore profileSnapshotStore(RateClientService rateClientService) {
+            return new ProfileSnapshotStore(
+                    new ProfileSnapshotProperties(false, null), rateClientService, new SimpleMeterRegistry());
+        }
     }
 }
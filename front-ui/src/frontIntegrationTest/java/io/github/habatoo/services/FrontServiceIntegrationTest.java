@@ -1,9 +1,14 @@
 package io.github.habatoo.services;
 
 import io.github.habatoo.BaseFrontTest;
+import io.github.habatoo.components.MainPageModelCache;
+import io.github.habatoo.components.ProfileSnapshotStore;
 import io.github.habatoo.dto.AccountShortDto;
-import io.github.habatoo.dto.UserProfileResponseDto;
+import io.github.habatoo.dto.DashboardResponseDto;
+import io.github.habatoo.properties.MainPageCacheProperties;
+import io.github.habatoo.properties.ProfileSnapshotProperties;
 import io.github.habatoo.services.impl.FrontServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.QueueDispatcher;
@@ -11,14 +16,18 @@ import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
+import org.thymeleaf.spring6.context.webflux.ReactiveDataDriverContextVariable;
+import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
+import java.math.BigDecimal;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
@@ -62,27 +71,31 @@ class FrontServiceIntegrationTest extends BaseFrontTest {
                 .baseUrl(mockWebServer.url("/").toString())
                 .build();
 
-        frontService = new FrontServiceImpl(webClient, rateClientService, registry);
-        UserProfileResponseDto profile = new UserProfileResponseDto();
-        profile.setName("Ivan");
-        profile.setLogin("ivan_cool");
-        profile.setAccounts(List.of());
-
-        AccountShortDto otherUser = new AccountShortDto();
+        frontService = new FrontServiceImpl(webClient, dashboardResilience,
+                new MainPageModelCache(new MainPageCacheProperties(false, null, null), new SimpleMeterRegistry()),
+                new ProfileSnapshotStore(new ProfileSnapshotProperties(false, null), rateClientService,
+                        new SimpleMeterRegistry()));
+        DashboardResponseDto dashboard = new DashboardResponseDto();
+        dashboard.setName("Ivan");
+        dashboard.setLogin("ivan_cool");
+        dashboard.setAccounts(List.of());
+        dashboard.setTotalBalance(BigDecimal.ZERO);
+        AccountShortDto recipient = AccountShortDto.builder().login("petr").name("Petr").build();
 
         mockWebServer.setDispatcher(new Dispatcher() {
             @Override
             public MockResponse dispatch(RecordedRequest request) {
-                if (request.getPath().equals("/api/main/user")) {
+                if (request.getPath().equals("/api/main/dashboard")) {
                     return new MockResponse()
                             .setResponseCode(200)
                             .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                            .setBody(toJson(profile));
-                } else if (request.getPath().equals("/api/main/users")) {
+                            .setBody(toJson(dashboard));
+                }
+                if (request.getPath().equals("/api/main/recipients")) {
                     return new MockResponse()
                             .setResponseCode(200)
-                            .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                            .setBody(toJson(List.of(otherUser)));
+                            .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                            .setBody(toJson(recipient) + "\n");
                 }
                 return new MockResponse().setResponseCode(404);
             }
@@ -91,7 +104,13 @@ class FrontServiceIntegrationTest extends BaseFrontTest {
         StepVerifier.create(frontService.showMainPage("some info", null))
                 .assertNext(rendering -> {
                     assertThat(rendering.modelAttributes().get("name")).isEqualTo("Ivan");
-                    assertThat((List<?>) rendering.modelAttributes().get("accounts")).hasSize(1);
+                    assertThat(rendering.modelAttributes().get("accounts"))
+                            .isInstanceOf(ReactiveDataDriverContextVariable.class);
+                    assertThat(Flux.from(((ReactiveDataDriverContextVariable) rendering.modelAttributes().get("accounts"))
+                                    .getDataStream(ReactiveAdapterRegistry.getSharedInstance()))
+                            .collectList()
+                            .block())
+                            .containsExactly(recipient);
                 })
                 .verifyComplete();
     }
@@ -100,7 +119,6 @@ class FrontServiceIntegrationTest extends BaseFrontTest {
     @DisplayName("showMainPage: Ошибка 500 от шлюза (Fallback)")
     void showMainPageGatewayErrorTest() {
         mockWebServer.enqueue(new MockResponse().setResponseCode(500));
-        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
 
         StepVerifier.create(frontService.showMainPage(null, null))
                 .assertNext(rendering -> {
@@ -1,6 +1,8 @@
 package io.github.habatoo;
 
 import io.github.habatoo.configurations.ServicesChassisAutoConfiguration;
+import io.github.habatoo.properties.MainPageCacheProperties;
+import io.github.habatoo.properties.ProfileSnapshotProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration;
@@ -8,6 +10,7 @@ import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
 import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication(exclude = {
         DataSourceAutoConfiguration.class,
@@ -17,6 +20,7 @@ import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
         LiquibaseAutoConfiguration.class,
         ServicesChassisAutoConfiguration.class
 })
+@EnableConfigurationProperties({MainPageCacheProperties.class, ProfileSnapshotProperties.class})
 public class FrontApplication {
 
     public static void main(String[] args) {
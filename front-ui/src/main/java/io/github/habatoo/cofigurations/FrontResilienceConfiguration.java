@@ -0,0 +1,53 @@
+package io.github.habatoo.cofigurations;
+
+import io.github.habatoo.resilience.ResilienceDecorator;
+import io.github.habatoo.resilience.ResilienceDecorators;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Механизмы отказоустойчивости вызовов Gateway из фронта.
+ * <p>
+ * Операции пользователя (наличные, переводы, профиль) и загрузка главной страницы изолированы
+ * друг от друга: у каждой группы свои Circuit Breaker, Bulkhead и TimeLimiter, а повтор разрешен
+ * только для идемпотентной загрузки главной страницы.
+ * </p>
+ */
+@Configuration
+public class FrontResilienceConfiguration {
+
+    /**
+     * Имя экземпляра для операций пользователя через Gateway.
+     */
+    public static final String GATEWAY_INSTANCE = "gateway-cb";
+
+    /**
+     * Имя экземпляра для загрузки главной страницы.
+     */
+    public static final String DASHBOARD_INSTANCE = "accountServiceCB";
+
+    /**
+     * Декоратор операций пользователя; пересоздается при обновлении конфигурации.
+     *
+     * @param resilienceDecorators фабрика декораторов шасси.
+     * @return декоратор экземпляра {@value #GATEWAY_INSTANCE}.
+     */
+    @Bean
+    @RefreshScope
+    public ResilienceDecorator gatewayResilience(ResilienceDecorators resilienceDecorators) {
+        return resilienceDecorators.of(GATEWAY_INSTANCE);
+    }
+
+    /**
+     * Декоратор загрузки главной страницы; пересоздается при обновлении конфигурации.
+     *
+     * @param resilienceDecorators фабрика декораторов шасси.
+     * @return декоратор экземпляра {@value #DASHBOARD_INSTANCE}.
+     */
+    @Bean
+    @RefreshScope
+    public ResilienceDecorator dashboardResilience(ResilienceDecorators resilienceDecorators) {
+        return resilienceDecorators.of(DASHBOARD_INSTANCE);
+    }
+}
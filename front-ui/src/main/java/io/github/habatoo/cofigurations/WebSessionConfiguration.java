@@ -0,0 +1,26 @@
+package io.github.habatoo.cofigurations;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.reactive.ServerWebExchangeContextFilter;
+
+/**
+ * Конфигурация доступа к веб-сессии из сервисного слоя.
+ * <p>
+ * Публикует текущий {@link org.springframework.web.server.ServerWebExchange} в контексте Reactor,
+ * чтобы компоненты могли работать с сессией пользователя без передачи обмена через сигнатуры сервисов.
+ * </p>
+ */
+@Configuration
+public class WebSessionConfiguration {
+
+    /**
+     * Фильтр, сохраняющий текущий обмен в контексте Reactor.
+     *
+     * @return фильтр {@link ServerWebExchangeContextFilter}.
+     */
+    @Bean
+    public ServerWebExchangeContextFilter serverWebExchangeContextFilter() {
+        return new ServerWebExchangeContextFilter();
+    }
+}
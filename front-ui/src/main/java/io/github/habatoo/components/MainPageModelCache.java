@@ -0,0 +1,167 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.dto.DashboardResponseDto;
+import io.github.habatoo.properties.MainPageCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Кэш модели главной страницы с разделением по пользователям.
+ * <p>
+ * Хранит данные главной страницы (профиль, счета, баланс, получатели) без сообщений
+ * {@code info}/{@code error}, поэтому повторный просмотр страницы не обращается к шлюзу.
+ * Хранит модели не более {@code maxEntries} пользователей и вытесняет давно не запрошенные (LRU),
+ * каждая модель живет не дольше {@code ttl}. Операция пользователя сбрасывает его модель и увеличивает
+ * поколение: модель, запрошенная до сброса, уже не будет сохранена, даже если ответ пришел после него.
+ */
+@Component
+public class MainPageModelCache {
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Map<String, CachedModel> entries;
+    private final Map<String, Long> generations;
+    private final Counter hits;
+    private final Counter misses;
+    private long generationSequence;
+
+    public MainPageModelCache(MainPageCacheProperties properties, MeterRegistry meterRegistry) {
+        int maxEntries = properties.maxEntries();
+        this.enabled = properties.enabled();
+        this.ttlNanos = properties.ttl().toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedModel> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.generations = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("front.main.cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("front.main.cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        meterRegistry.gauge("front.main.cache.size", this, MainPageModelCache::size);
+    }
+
+    /**
+     * Возвращает модель главной страницы текущего пользователя из кэша или загружает ее.
+     * <p>
+     * Без аутентифицированного пользователя или при выключенном кэше всегда выполняет загрузку.
+     *
+     * @param loader загрузка модели из шлюза; подписка на нее выполняется только при промахе.
+     * @return {@link Mono} с моделью главной страницы.
+     */
+    public Mono<DashboardResponseDto> getOrLoad(Mono<DashboardResponseDto> loader) {
+        if (!enabled) {
+            return loader;
+        }
+        return currentLogin()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(login -> login.map(name -> getOrLoad(name, loader)).orElse(loader));
+    }
+
+    /**
+     * Сбрасывает модель главной страницы текущего пользователя.
+     *
+     * @return {@link Mono}, завершающийся после сброса.
+     */
+    public Mono<Void> invalidateCurrentUser() {
+        return currentLogin()
+                .doOnNext(this::invalidate)
+                .then();
+    }
+
+    /**
+     * Возвращает действующую модель пользователя.
+     *
+     * @param login логин пользователя.
+     * @return модель или пустой {@link Optional}, если ее нет или истек срок жизни.
+     */
+    public synchronized Optional<DashboardResponseDto> get(String login) {
+        CachedModel cached = entries.get(login);
+        if (cached != null && cached.expiresAt() < System.nanoTime()) {
+            entries.remove(login);
+            cached = null;
+        }
+        (cached != null ? hits : misses).increment();
+        return Optional.ofNullable(cached).map(CachedModel::model);
+    }
+
+    /**
+     * Возвращает текущее поколение кэша пользователя.
+     *
+     * @param login логин пользователя.
+     * @return поколение, которое нужно передать в {@link #put}.
+     */
+    public synchronized long generation(String login) {
+        return generations.getOrDefault(login, 0L);
+    }
+
+    /**
+     * Сохраняет модель, если кэш пользователя не сбрасывался с момента запроса.
+     *
+     * @param login      логин пользователя.
+     * @param model      модель главной страницы.
+     * @param generation поколение, полученное до загрузки модели.
+     */
+    public synchronized void put(String login, DashboardResponseDto model, long generation) {
+        if (generation(login) == generation) {
+            entries.put(login, new CachedModel(model, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    /**
+     * Сбрасывает модель пользователя.
+     *
+     * @param login логин пользователя, данные которого изменились.
+     */
+    public synchronized void invalidate(String login) {
+        generations.put(login, ++generationSequence);
+        entries.remove(login);
+    }
+
+    /**
+     * Возвращает число моделей в кэше.
+     *
+     * @return текущее число записей.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private Mono<DashboardResponseDto> getOrLoad(String login, Mono<DashboardResponseDto> loader) {
+        Optional<DashboardResponseDto> cached = get(login);
+        if (cached.isPresent()) {
+            return Mono.just(cached.get());
+        }
+        long generation = generation(login);
+        return loader.doOnNext(model -> put(login, model, generation));
+    }
+
+    private Mono<String> currentLogin() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(authentication -> authentication.isAuthenticated() && authentication.getName() != null)
+                .map(Authentication::getName);
+    }
+
+    private record CachedModel(DashboardResponseDto model, long expiresAt) {
+    }
+}
@@ -0,0 +1,215 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.dto.AccountDto;
+import io.github.habatoo.dto.DashboardResponseDto;
+import io.github.habatoo.dto.enums.Currency;
+import io.github.habatoo.properties.ProfileSnapshotProperties;
+import io.github.habatoo.services.RateClientService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.reactive.ServerWebExchangeContextFilter;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebSession;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Версионированный снимок профиля пользователя в веб-сессии.
+ * <p>
+ * После загрузки главной страницы ее модель сохраняется в сессии. Операции с наличными и переводы
+ * не перезагружают профиль, а применяют к снимку изменения балансов из своих результатов, поэтому
+ * редирект на /main после операции отрисовывается без обращения к шлюзу. Снимок считается свежим
+ * не дольше {@code ttl} с момента загрузки из шлюза; применение изменений этот срок не продлевает.
+ * Каждое изменение увеличивает версию снимка: модель, запрошенная до изменения, уже не будет сохранена,
+ * даже если ответ пришел после него. Если изменение нельзя применить точно, снимок сбрасывается.
+ */
+@Slf4j
+@Component
+public class ProfileSnapshotStore {
+
+    static final String SESSION_ATTRIBUTE = ProfileSnapshotStore.class.getName() + ".SNAPSHOT";
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final RateClientService rateClientService;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ProfileSnapshotStore(
+            ProfileSnapshotProperties properties,
+            RateClientService rateClientService,
+            MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.ttlNanos = properties.ttl().toNanos();
+        this.rateClientService = rateClientService;
+        this.hits = Counter.builder("front.profile.snapshot.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("front.profile.snapshot.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Возвращает модель главной страницы из свежего снимка сессии или загружает ее.
+     * <p>
+     * Загруженная модель сохраняется новым снимком, если с момента запроса снимок не менялся.
+     * Без сессии в контексте запроса или при выключенном снимке всегда выполняет загрузку.
+     *
+     * @param loader загрузка модели; подписка на нее выполняется только при отсутствии свежего снимка.
+     * @return {@link Mono} с моделью главной страницы.
+     */
+    public Mono<DashboardResponseDto> getOrLoad(Mono<DashboardResponseDto> loader) {
+        if (!enabled) {
+            return loader;
+        }
+        return currentSession()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(session -> session.map(value -> getOrLoad(value, loader)).orElse(loader));
+    }
+
+    /**
+     * Применяет к снимку изменения балансов счетов, выполненные операцией пользователя.
+     * <p>
+     * Общий баланс пересчитывается в RUB. Если снимок устарел, у пользователя нет счета в одной
+     * из валют или курс недоступен, снимок сбрасывается и следующая отрисовка загрузит профиль заново.
+     *
+     * @param changes изменения балансов по валютам счетов (списания — отрицательные значения).
+     * @return {@link Mono}, завершающийся после обновления снимка.
+     */
+    public Mono<Void> applyBalanceChanges(Map<Currency, BigDecimal> changes) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return currentSession()
+                .doOnNext(session -> session.getAttributes().computeIfPresent(SESSION_ATTRIBUTE,
+                        (key, current) -> applyBalanceChanges((ProfileSnapshot) current, changes)))
+                .then();
+    }
+
+    /**
+     * Сбрасывает снимок текущей сессии и увеличивает его версию.
+     *
+     * @return {@link Mono}, завершающийся после сброса.
+     */
+    public Mono<Void> invalidate() {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return currentSession()
+                .doOnNext(session -> session.getAttributes().compute(SESSION_ATTRIBUTE,
+                        (key, current) -> ProfileSnapshot.evicted(versionOf(current) + 1)))
+                .then();
+    }
+
+    private Mono<DashboardResponseDto> getOrLoad(WebSession session, Mono<DashboardResponseDto> loader) {
+        ProfileSnapshot snapshot = (ProfileSnapshot) session.getAttributes().get(SESSION_ATTRIBUTE);
+        if (isFresh(snapshot)) {
+            hits.increment();
+            return Mono.just(snapshot.model());
+        }
+        misses.increment();
+        long version = versionOf(snapshot);
+        return loader.doOnNext(model -> session.getAttributes().compute(SESSION_ATTRIBUTE,
+                (key, current) -> versionOf(current) == version
+                        ? new ProfileSnapshot(model, version + 1, System.nanoTime())
+                        : current));
+    }
+
+    private ProfileSnapshot applyBalanceChanges(ProfileSnapshot snapshot, Map<Currency, BigDecimal> changes) {
+        if (!isFresh(snapshot)) {
+            return ProfileSnapshot.evicted(snapshot.version() + 1);
+        }
+        List<AccountDto> accounts = snapshot.model().getAccounts();
+        boolean allAccountsPresent = accounts != null && changes.keySet().stream()
+                .allMatch(currency -> accounts.stream().anyMatch(account -> account.getCurrency() == currency));
+        if (!allAccountsPresent) {
+            return ProfileSnapshot.evicted(snapshot.version() + 1);
+        }
+        try {
+            List<AccountDto> updated = accounts.stream()
+                    .map(account -> withBalanceChange(account, changes.get(account.getCurrency())))
+                    .toList();
+            return new ProfileSnapshot(
+                    withAccounts(snapshot.model(), updated), snapshot.version() + 1, snapshot.fetchedAt());
+        } catch (RuntimeException e) {
+            log.warn("Не удалось обновить снимок профиля, он будет загружен заново: {}", e.getMessage());
+            return ProfileSnapshot.evicted(snapshot.version() + 1);
+        }
+    }
+
+    /**
+     * Возвращает копию счета с измененным балансом: модель снимка может одновременно лежать
+     * в кэше главной страницы, поэтому исходные объекты не изменяются.
+     */
+    private AccountDto withBalanceChange(AccountDto account, BigDecimal change) {
+        if (change == null) {
+            return account;
+        }
+        BigDecimal balance = account.getBalance() != null ? account.getBalance() : BigDecimal.ZERO;
+        return AccountDto.builder()
+                .id(account.getId())
+                .userId(account.getUserId())
+                .balance(balance.add(change))
+                .currency(account.getCurrency())
+                .version(account.getVersion())
+                .createdAt(account.getCreatedAt())
+                .updatedAt(account.getUpdatedAt())
+                .build();
+    }
+
+    private DashboardResponseDto withAccounts(DashboardResponseDto model, List<AccountDto> accounts) {
+        return DashboardResponseDto.builder()
+                .login(model.getLogin())
+                .name(model.getName())
+                .birthDate(model.getBirthDate())
+                .accounts(accounts)
+                .totalBalance(calculateTotalBalance(accounts))
+                .build();
+    }
+
+    private BigDecimal calculateTotalBalance(List<AccountDto> accounts) {
+        return accounts.stream()
+                .filter(account -> account.getBalance() != null)
+                .map(account -> rateClientService.takeRate(account.getCurrency(), Currency.RUB)
+                        .multiply(account.getBalance()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private boolean isFresh(ProfileSnapshot snapshot) {
+        return snapshot != null && snapshot.model() != null
+                && System.nanoTime() - snapshot.fetchedAt() < ttlNanos;
+    }
+
+    private long versionOf(Object snapshot) {
+        return snapshot instanceof ProfileSnapshot value ? value.version() : 0L;
+    }
+
+    private Mono<WebSession> currentSession() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(ServerWebExchangeContextFilter.getExchange(context)))
+                .flatMap(ServerWebExchange::getSession);
+    }
+
+    /**
+     * Снимок модели главной страницы.
+     *
+     * @param model     модель главной страницы или {@code null}, если снимок сброшен.
+     * @param version   версия снимка, увеличивается при каждом изменении.
+     * @param fetchedAt момент загрузки модели из шлюза ({@link System#nanoTime()}).
+     */
+    record ProfileSnapshot(DashboardResponseDto model, long version, long fetchedAt) {
+
+        static ProfileSnapshot evicted(long version) {
+            return new ProfileSnapshot(null, version, 0L);
+        }
+    }
+}
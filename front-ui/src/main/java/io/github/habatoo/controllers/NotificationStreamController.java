@@ -0,0 +1,38 @@
+package io.github.habatoo.controllers;
+
+import io.github.habatoo.dto.NotificationDto;
+import io.github.habatoo.services.NotificationFrontService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Контроллер потока уведомлений для страницы личного кабинета.
+ * <p>
+ * Отдает браузеру события Server-Sent Events, на которые подписывается скрипт страницы /main.
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class NotificationStreamController {
+
+    private final NotificationFrontService notificationFrontService;
+
+    /**
+     * Открывает поток уведомлений текущего пользователя.
+     *
+     * @return {@link Flux} событий SSE.
+     */
+    @GetMapping(value = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public Flux<ServerSentEvent<NotificationDto>> streamNotifications() {
+        log.debug("Подписка браузера на поток уведомлений");
+        return notificationFrontService.streamNotifications();
+    }
+}
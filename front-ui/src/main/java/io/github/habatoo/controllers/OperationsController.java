@@ -1,5 +1,7 @@
 package io.github.habatoo.controllers;
 
+import io.github.habatoo.components.MainPageModelCache;
+import io.github.habatoo.components.ProfileSnapshotStore;
 import io.github.habatoo.dto.CashDto;
 import io.github.habatoo.dto.TransferDto;
 import io.github.habatoo.services.CashFrontService;
@@ -24,6 +26,12 @@ import reactor.core.publisher.Mono;
  * пополнение/снятие наличных, перевод средств между счетами и обновление
  * персональных данных пользователя.
  * </p>
+ * <p>
+ * Операции, меняющие данные главной страницы, сбрасывают кэш ее модели для текущего пользователя
+ * до и после выполнения, поэтому редирект на /main показывает актуальное состояние.
+ * Операции с наличными и переводы сами обновляют снимок профиля в сессии (см. {@link ProfileSnapshotStore}),
+ * а изменение профиля и открытие счета сбрасывают его.
+ * </p>
  */
 @Slf4j
 @Controller
@@ -33,6 +41,8 @@ public class OperationsController {
     private final CashFrontService cashFrontService;
     private final TransferFrontService transferFrontService;
     private final UserFrontService userFrontService;
+    private final MainPageModelCache mainPageModelCache;
+    private final ProfileSnapshotStore profileSnapshotStore;
 
     /**
      * Обрабатывает операции с наличными.
@@ -42,7 +52,7 @@ public class OperationsController {
     @PreAuthorize("isAuthenticated()")
     public Mono<String> handleCash(@ModelAttribute CashDto cashDto) {
         log.debug("Операция с наличными в валюте {}: {}", cashDto.getCurrency(), cashDto);
-        return cashFrontService.moveMoney(cashDto);
+        return invalidatingMainPage(cashFrontService.moveMoney(cashDto));
     }
 
     /**
@@ -55,7 +65,7 @@ public class OperationsController {
         log.debug("Перевод клиенту {} со счета {}: в {} {}",
                 transferDto.getLogin(), transferDto.getFromCurrency(),
                 transferDto.getFromCurrency(), transferDto.getValue());
-        return transferFrontService.sendMoney(transferDto);
+        return invalidatingMainPage(transferFrontService.sendMoney(transferDto));
     }
 
     /**
@@ -67,7 +77,7 @@ public class OperationsController {
     public Mono<String> handleSelfTransfer(@ModelAttribute TransferDto transferDto) {
         log.debug("Внутренний перевод: из {} в {}",
                 transferDto.getFromCurrency(), transferDto.getToCurrency());
-        return transferFrontService.sendMoneyToSelf(transferDto);
+        return invalidatingMainPage(transferFrontService.sendMoneyToSelf(transferDto));
     }
 
     /**
@@ -77,7 +87,7 @@ public class OperationsController {
     @PreAuthorize("isAuthenticated()")
     public Mono<RedirectView> updateProfile(ServerWebExchange exchange) {
         log.debug("Запрос на обновление профиля");
-        return userFrontService.updateProfile(exchange);
+        return invalidatingProfile(userFrontService.updateProfile(exchange));
     }
 
     /**
@@ -97,6 +107,18 @@ public class OperationsController {
     @PostMapping("/open-account")
     @PreAuthorize("isAuthenticated()")
     public Mono<RedirectView> openAccount(ServerWebExchange exchange) {
-        return userFrontService.openNewAccount(exchange);
+        return invalidatingProfile(userFrontService.openNewAccount(exchange));
+    }
+
+    private <T> Mono<T> invalidatingMainPage(Mono<T> operation) {
+        return mainPageModelCache.invalidateCurrentUser()
+                .then(operation)
+                .flatMap(result -> mainPageModelCache.invalidateCurrentUser().thenReturn(result));
+    }
+
+    private <T> Mono<T> invalidatingProfile(Mono<T> operation) {
+        return profileSnapshotStore.invalidate()
+                .then(invalidatingMainPage(operation))
+                .flatMap(result -> profileSnapshotStore.invalidate().thenReturn(result));
     }
 }
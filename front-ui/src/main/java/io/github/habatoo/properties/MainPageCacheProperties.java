@@ -0,0 +1,30 @@
+package io.github.habatoo.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Класс для биндинга настроек кэша модели главной страницы.
+ * <p>
+ * Связывает свойства с префиксом "spring.front.main-page-cache" из application.yml.
+ * Незаданные параметры заполняются значениями по умолчанию.
+ *
+ * @param enabled    признак включения кэша.
+ * @param maxEntries максимальное число пользователей, для которых хранится модель.
+ * @param ttl        время жизни модели; ограничивает задержку отображения изменений,
+ *                   сделанных не самим пользователем (например, входящего перевода).
+ */
+@ConfigurationProperties(prefix = "spring.front.main-page-cache")
+public record MainPageCacheProperties(
+        Boolean enabled,
+        Integer maxEntries,
+        Duration ttl
+) {
+
+    public MainPageCacheProperties {
+        enabled = enabled != null ? enabled : true;
+        maxEntries = maxEntries != null ? maxEntries : 10_000;
+        ttl = ttl != null ? ttl : Duration.ofSeconds(10);
+    }
+}
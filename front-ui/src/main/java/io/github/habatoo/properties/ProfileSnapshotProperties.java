@@ -0,0 +1,27 @@
+package io.github.habatoo.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Класс для биндинга настроек снимка профиля в веб-сессии.
+ * <p>
+ * Связывает свойства с префиксом "spring.front.profile-snapshot" из application.yml.
+ * Незаданные параметры заполняются значениями по умолчанию.
+ *
+ * @param enabled признак использования снимка профиля.
+ * @param ttl     время, в течение которого снимок считается свежим после загрузки из шлюза;
+ *                изменения балансов по результатам операций этот срок не продлевают.
+ */
+@ConfigurationProperties(prefix = "spring.front.profile-snapshot")
+public record ProfileSnapshotProperties(
+        Boolean enabled,
+        Duration ttl
+) {
+
+    public ProfileSnapshotProperties {
+        enabled = enabled != null ? enabled : true;
+        ttl = ttl != null ? ttl : Duration.ofSeconds(10);
+    }
+}
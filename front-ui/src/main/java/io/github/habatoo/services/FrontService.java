@@ -16,8 +16,9 @@ public interface FrontService {
     /**
      * Формирует модель данных для отображения главной страницы личного кабинета.
      * <p>
-     * Метод выполняет параллельные запросы к микросервисам для получения актуального
-     * состояния счета и данных пользователя. Также обрабатывает входящие уведомления
+     * Метод получает профиль, счета, общий баланс и список получателей переводов
+     * одним запросом к сервису Account через шлюз; повторный просмотр в пределах времени жизни
+     * кэша модели обходится без запроса. Также обрабатывает входящие уведомления
      * об успехах или ошибках предыдущих операций для вывода их пользователю.
      * </p>
      *
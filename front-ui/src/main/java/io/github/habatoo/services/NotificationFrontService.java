@@ -0,0 +1,27 @@
+package io.github.habatoo.services;
+
+import io.github.habatoo.dto.NotificationDto;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+/**
+ * Сервис доставки уведомлений в браузер в реальном времени.
+ * <p>
+ * Подписывается на поток уведомлений текущего пользователя в сервисе уведомлений (через Gateway)
+ * и передает события странице личного кабинета, чтобы результат операций появлялся
+ * без перезагрузки страницы.
+ * </p>
+ */
+public interface NotificationFrontService {
+
+    /**
+     * Открывает поток уведомлений текущего пользователя.
+     * <p>
+     * При обрыве соединения с сервисом уведомлений поток завершается без ошибки:
+     * браузерный {@code EventSource} переподключится самостоятельно.
+     * </p>
+     *
+     * @return {@link Flux} событий SSE с уведомлениями и служебными комментариями keepalive.
+     */
+    Flux<ServerSentEvent<NotificationDto>> streamNotifications();
+}
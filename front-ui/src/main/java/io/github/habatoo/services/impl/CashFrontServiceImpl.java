@@ -1,12 +1,11 @@
 package io.github.habatoo.services.impl;
 
+import io.github.habatoo.components.ProfileSnapshotStore;
 import io.github.habatoo.dto.CashDto;
 import io.github.habatoo.dto.OperationResultDto;
 import io.github.habatoo.dto.enums.OperationType;
+import io.github.habatoo.resilience.ResilienceDecorator;
 import io.github.habatoo.services.CashFrontService;
-import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
-import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
@@ -16,9 +15,11 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriBuilder;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 /**
  * {@inheritDoc}
@@ -31,23 +32,38 @@ public class CashFrontServiceImpl implements CashFrontService {
     private static final String API_URL = "/api/main/cash";
 
     private final WebClient webClient;
-    private final CircuitBreakerRegistry registry;
+    private final ResilienceDecorator gatewayResilience;
+    private final ProfileSnapshotStore profileSnapshotStore;
 
     /**
      * {@inheritDoc}
      */
     @Override
     public Mono<String> moveMoney(CashDto cashDto) {
-        CircuitBreaker cb = registry.circuitBreaker("gateway-cb");
-
         return webClient.post()
                 .uri(uriBuilder -> getUri(cashDto, uriBuilder))
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<OperationResultDto<CashDto>>() {
                 })
-                .transformDeferred(CircuitBreakerOperator.of(cb))
-                .map(result -> getRedirect(cashDto, result))
-                .onErrorResume(this::getError);
+                .transform(gatewayResilience::decorate)
+                .flatMap(result -> updateProfileSnapshot(cashDto, result).thenReturn(getRedirect(cashDto, result)))
+                .onErrorResume(e -> profileSnapshotStore.invalidate().then(getError(e)));
+    }
+
+    /**
+     * Применяет выполненную операцию к снимку профиля в сессии: отклоненная операция баланс не меняет.
+     */
+    private Mono<Void> updateProfileSnapshot(CashDto cashDto, OperationResultDto<CashDto> result) {
+        if (!result.isSuccess()) {
+            return Mono.empty();
+        }
+        if (cashDto.getValue() == null || cashDto.getCurrency() == null) {
+            return profileSnapshotStore.invalidate();
+        }
+        BigDecimal change = cashDto.getAction() == OperationType.PUT
+                ? cashDto.getValue()
+                : cashDto.getValue().negate();
+        return profileSnapshotStore.applyBalanceChanges(Map.of(cashDto.getCurrency(), change));
     }
 
     private @NotNull Mono<String> getError(Throwable e) {
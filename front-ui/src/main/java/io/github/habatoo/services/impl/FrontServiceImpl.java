@@ -1,23 +1,21 @@
 package io.github.habatoo.services.impl;
 
-import io.github.habatoo.dto.AccountDto;
+import io.github.habatoo.components.MainPageModelCache;
+import io.github.habatoo.components.ProfileSnapshotStore;
 import io.github.habatoo.dto.AccountShortDto;
-import io.github.habatoo.dto.UserProfileResponseDto;
-import io.github.habatoo.dto.enums.Currency;
+import io.github.habatoo.dto.DashboardResponseDto;
+import io.github.habatoo.resilience.ResilienceDecorator;
 import io.github.habatoo.services.FrontService;
-import io.github.habatoo.services.RateClientService;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
-import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.result.view.Rendering;
+import org.thymeleaf.spring6.context.webflux.ReactiveDataDriverContextVariable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -28,29 +26,30 @@ import java.util.List;
 @RequiredArgsConstructor
 public class FrontServiceImpl implements FrontService {
 
+    /**
+     * Число получателей, после отрисовки которых Thymeleaf отдает очередную порцию страницы.
+     */
+    private static final int RECIPIENTS_BUFFER_SIZE = 50;
+
     private final WebClient webClient;
-    private final RateClientService rateClientService;
-    private final CircuitBreakerRegistry registry;
+    private final ResilienceDecorator dashboardResilience;
+    private final MainPageModelCache mainPageModelCache;
+    private final ProfileSnapshotStore profileSnapshotStore;
 
     @Override
     public Mono<Rendering> showMainPage(String info, String error) {
-        return fetchUserProfile()
-                .zipWith(fetchOtherUsers())
-                .map(tuple -> {
-                    UserProfileResponseDto profile = tuple.getT1();
-                    List<AccountShortDto> otherUsers = tuple.getT2();
-
-                    return Rendering.view("main")
-                            .modelAttribute("name", profile.getName())
-                            .modelAttribute("login", profile.getLogin())
-                            .modelAttribute("birthdate", profile.getBirthDate())
-                            .modelAttribute("sum", calculateTotalBalance(profile.getAccounts()))
-                            .modelAttribute("userAccounts", profile.getAccounts())
-                            .modelAttribute("accounts", otherUsers)
-                            .modelAttribute("info", info)
-                            .modelAttribute("errors", error != null ? List.of(error) : null)
-                            .build();
-                })
+        return profileSnapshotStore.getOrLoad(mainPageModelCache.getOrLoad(Mono.defer(this::fetchDashboard)))
+                .map(dashboard -> Rendering.view("main")
+                        .modelAttribute("name", dashboard.getName())
+                        .modelAttribute("login", dashboard.getLogin())
+                        .modelAttribute("birthdate", dashboard.getBirthDate())
+                        .modelAttribute("sum", dashboard.getTotalBalance())
+                        .modelAttribute("userAccounts", dashboard.getAccounts())
+                        .modelAttribute("accounts", new ReactiveDataDriverContextVariable(
+                                fetchRecipients(), RECIPIENTS_BUFFER_SIZE))
+                        .modelAttribute("info", info)
+                        .modelAttribute("errors", error != null ? List.of(error) : null)
+                        .build())
                 .onErrorResume(e -> {
                     log.error("Ошибка загрузки данных главной страницы: {}", e.getMessage());
                     return Mono.just(Rendering.view("main")
@@ -60,54 +59,34 @@ public class FrontServiceImpl implements FrontService {
     }
 
     /**
-     * Получает профиль текущего пользователя и все его счета.
-     */
-    private Mono<UserProfileResponseDto> fetchUserProfile() {
-        return webClient.get()
-                .uri("/api/main/user")
-                .retrieve()
-                .bodyToMono(UserProfileResponseDto.class)
-                .transformDeferred(CircuitBreakerOperator.of(registry.circuitBreaker("accountServiceCB")))
-                .doOnError(e -> log.error("Error fetching profile: {}", e.getMessage()));
-    }
-
-    /**
-     * Получает список других пользователей системы для переводов.
+     * Получает данные главной страницы (профиль, счета и общий баланс в RUB) одним запросом к сервису Account.
      */
-    private Mono<List<AccountShortDto>> fetchOtherUsers() {
+    private Mono<DashboardResponseDto> fetchDashboard() {
         return webClient.get()
-                .uri("/api/main/users")
+                .uri("/api/main/dashboard")
                 .retrieve()
-                .bodyToFlux(AccountShortDto.class)
-                .transformDeferred(CircuitBreakerOperator.of(registry.circuitBreaker("accountServiceCB")))
-                .collectList()
-                .onErrorReturn(Collections.emptyList());
-    }
-
-    /**
-     * Суммирует балансы всех счетов пользователя, переводя каждый в RUB.
-     */
-    private BigDecimal calculateTotalBalance(List<AccountDto> accounts) {
-        if (accounts == null || accounts.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-        return accounts.stream()
-                .map(acc -> calcAmount(acc.getBalance(), acc.getCurrency(), Currency.RUB))
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .setScale(2, RoundingMode.HALF_UP);
+                .bodyToMono(DashboardResponseDto.class)
+                .transform(dashboardResilience::decorate)
+                .doOnError(e -> log.error("Error fetching dashboard: {}", e.getMessage()));
     }
 
     /**
-     * Конвертирует сумму из одной валюты в другую через RateClientService.
+     * Получает получателей переводов потоком NDJSON из сервиса Account.
+     * <p>
+     * Запрос выполняется при подписке, то есть когда Thymeleaf уже отдал профиль и счета и дошел
+     * до списка получателей; элементы выводятся в страницу порциями по {@link #RECIPIENTS_BUFFER_SIZE}
+     * по мере прихода. Ошибка потока обрывает список, но не страницу.
+     * </p>
      */
-    private BigDecimal calcAmount(BigDecimal value, Currency fromCurrency, Currency toCurrency) {
-        if (value == null) return BigDecimal.ZERO;
-        try {
-            BigDecimal rate = rateClientService.takeRate(fromCurrency, toCurrency);
-            return rate.multiply(value);
-        } catch (Exception e) {
-            log.warn("Не удалось получить курс для {} -> {}: {}", fromCurrency, toCurrency, e.getMessage());
-            return fromCurrency == toCurrency ? value : BigDecimal.ZERO;
-        }
+    private Flux<AccountShortDto> fetchRecipients() {
+        return Flux.defer(() -> webClient.get()
+                        .uri("/api/main/recipients")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .retrieve()
+                        .bodyToFlux(AccountShortDto.class))
+                .onErrorResume(e -> {
+                    log.warn("Не удалось получить список получателей: {}", e.getMessage());
+                    return Flux.empty();
+                });
     }
 }
@@ -0,0 +1,55 @@
+package io.github.habatoo.services.impl;
+
+import io.github.habatoo.dto.NotificationDto;
+import io.github.habatoo.services.NotificationFrontService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClientRequest;
+
+/**
+ * {@inheritDoc}
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationFrontServiceImpl implements NotificationFrontService {
+
+    private static final String API_URL = "/api/main/notification/stream";
+
+    private final WebClient webClient;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Flux<ServerSentEvent<NotificationDto>> streamNotifications() {
+        return webClient.get()
+                .uri(API_URL)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .httpRequest(NotificationFrontServiceImpl::disableResponseTimeout)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<NotificationDto>>() {
+                })
+                .onErrorResume(e -> {
+                    log.warn("Поток уведомлений прерван: {}", e.getMessage());
+                    return Flux.empty();
+                });
+    }
+
+    /**
+     * Снимает для запроса потока {@code responseTimeout} клиента: в Reactor Netty он ограничивает паузу
+     * между чтениями ответа, а события SSE и служебные сообщения приходят реже.
+     */
+    static void disableResponseTimeout(ClientHttpRequest request) {
+        if (request.getNativeRequest() instanceof HttpClientRequest httpClientRequest) {
+            httpClientRequest.responseTimeout(null);
+        }
+    }
+}
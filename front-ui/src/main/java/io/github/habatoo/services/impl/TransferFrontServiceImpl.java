@@ -1,12 +1,12 @@
 package io.github.habatoo.services.impl;
 
+import io.github.habatoo.components.ProfileSnapshotStore;
 import io.github.habatoo.dto.OperationResultDto;
 import io.github.habatoo.dto.TransferDto;
 import io.github.habatoo.dto.enums.Currency;
+import io.github.habatoo.resilience.ResilienceDecorator;
 import io.github.habatoo.services.RateClientService;
 import io.github.habatoo.services.TransferFrontService;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
-import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
@@ -19,6 +19,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 /**
  * {@inheritDoc}
@@ -29,8 +30,9 @@ import java.nio.charset.StandardCharsets;
 public class TransferFrontServiceImpl implements TransferFrontService {
 
     private final WebClient webClient;
-    private final CircuitBreakerRegistry registry;
+    private final ResilienceDecorator gatewayResilience;
     private final RateClientService rateClientService;
+    private final ProfileSnapshotStore profileSnapshotStore;
 
     /**
      * {@inheritDoc}
@@ -38,7 +40,7 @@ public class TransferFrontServiceImpl implements TransferFrontService {
     @Override
     public Mono<String> sendMoney(TransferDto transferDto) {
         prepareRecipientData(transferDto);
-        return executeTransfer(transferDto, "/api/main/transfer", "Перевод пользователю");
+        return executeTransfer(transferDto, "/api/main/transfer", "Перевод пользователю", false);
     }
 
     /**
@@ -50,7 +52,7 @@ public class TransferFrontServiceImpl implements TransferFrontService {
             return Mono.just("redirect:/main?info=" + URLEncoder.encode(
                     "Счета совпадают, баланс не изменился", StandardCharsets.UTF_8));
         }
-        return executeTransfer(transferDto, "/api/main/self-transfer", "Внутренний перевод");
+        return executeTransfer(transferDto, "/api/main/self-transfer", "Внутренний перевод", true);
     }
 
     /**
@@ -75,16 +77,34 @@ public class TransferFrontServiceImpl implements TransferFrontService {
     /**
      * Общий приватный метод для выполнения запроса через WebClient
      */
-    private Mono<String> executeTransfer(TransferDto dto, String path, String prefix) {
+    private Mono<String> executeTransfer(TransferDto dto, String path, String prefix, boolean toSelf) {
         return webClient.post()
                 .uri(uriBuilder -> uriBuilder.path(path).build())
                 .bodyValue(dto)
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<OperationResultDto<TransferDto>>() {
                 })
-                .transformDeferred(CircuitBreakerOperator.of(registry.circuitBreaker("gateway-cb")))
-                .map(result -> getTransferResult(dto, prefix, result))
-                .onErrorResume(this::getError);
+                .transform(gatewayResilience::decorate)
+                .flatMap(result -> updateProfileSnapshot(dto, result, toSelf)
+                        .thenReturn(getTransferResult(dto, prefix, result)))
+                .onErrorResume(e -> profileSnapshotStore.invalidate().then(getError(e)));
+    }
+
+    /**
+     * Применяет выполненный перевод к снимку профиля в сессии: списание со счета отправителя
+     * и, для перевода между своими счетами, зачисление на счет в целевой валюте.
+     */
+    private Mono<Void> updateProfileSnapshot(TransferDto dto, OperationResultDto<TransferDto> result, boolean toSelf) {
+        if (!result.isSuccess()) {
+            return Mono.empty();
+        }
+        if (dto.getValue() == null || dto.getFromCurrency() == null || (toSelf && dto.getToCurrency() == null)) {
+            return profileSnapshotStore.invalidate();
+        }
+        Map<Currency, BigDecimal> changes = toSelf
+                ? Map.of(dto.getFromCurrency(), dto.getValue().negate(), dto.getToCurrency(), targetAmount(dto))
+                : Map.of(dto.getFromCurrency(), dto.getValue().negate());
+        return profileSnapshotStore.applyBalanceChanges(changes);
     }
 
     private @NotNull Mono<String> getError(Throwable e) {
@@ -98,8 +118,7 @@ public class TransferFrontServiceImpl implements TransferFrontService {
             String prefix,
             OperationResultDto<TransferDto> result) {
         if (result.isSuccess()) {
-            BigDecimal rate = rateClientService.takeRate(dto.getFromCurrency(), dto.getToCurrency());
-            BigDecimal target = dto.getValue().multiply(rate).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal target = targetAmount(dto);
 
             String msg = String.format("%s: списано %.2f %s, зачислено %.2f %s",
                     prefix, dto.getValue(), dto.getFromCurrency(), target, dto.getToCurrency());
@@ -108,4 +127,9 @@ public class TransferFrontServiceImpl implements TransferFrontService {
         }
         return "redirect:/main?error=" + URLEncoder.encode(result.getMessage(), StandardCharsets.UTF_8);
     }
+
+    private BigDecimal targetAmount(TransferDto dto) {
+        BigDecimal rate = rateClientService.takeRate(dto.getFromCurrency(), dto.getToCurrency());
+        return dto.getValue().multiply(rate).setScale(2, RoundingMode.HALF_UP);
+    }
 }
@@ -3,9 +3,8 @@ package io.github.habatoo.services.impl;
 import io.github.habatoo.dto.OperationResultDto;
 import io.github.habatoo.dto.PasswordUpdateDto;
 import io.github.habatoo.dto.UserUpdateDto;
+import io.github.habatoo.resilience.ResilienceDecorator;
 import io.github.habatoo.services.UserFrontService;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
-import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
@@ -29,7 +28,7 @@ import java.time.LocalDate;
 public class UserFrontServiceImpl implements UserFrontService {
 
     private final WebClient webClient;
-    private final CircuitBreakerRegistry registry;
+    private final ResilienceDecorator gatewayResilience;
 
     @Override
     public Mono<RedirectView> updateProfile(ServerWebExchange exchange) {
@@ -47,7 +46,7 @@ public class UserFrontServiceImpl implements UserFrontService {
                             .bodyValue(new UserUpdateDto(name, LocalDate.parse(birthdate)))
                             .retrieve()
                             .toBodilessEntity()
-                            .transformDeferred(CircuitBreakerOperator.of(registry.circuitBreaker("gateway-cb")))
+                            .transform(gatewayResilience::decorate)
                             .thenReturn(infoRedirect("Профиль обновлен"))
                             .onErrorResume(e -> {
                                 log.error("Ошибка обновления профиля: {}", e.getMessage());
@@ -72,7 +71,7 @@ public class UserFrontServiceImpl implements UserFrontService {
                             .bodyValue(new PasswordUpdateDto(password, confirm))
                             .retrieve()
                             .bodyToMono(Boolean.class)
-                            .transformDeferred(CircuitBreakerOperator.of(registry.circuitBreaker("gateway-cb")))
+                            .transform(gatewayResilience::decorate)
                             .flatMap(success -> getRedirectView(exchange, success))
                             .onErrorResume(e -> {
                                 log.error("Ошибка при смене пароля: {}", e.getMessage());
@@ -96,7 +95,7 @@ public class UserFrontServiceImpl implements UserFrontService {
                             .retrieve()
                             .bodyToMono(new ParameterizedTypeReference<OperationResultDto<Void>>() {
                             })
-                            .transformDeferred(CircuitBreakerOperator.of(registry.circuitBreaker("gateway-cb")))
+                            .transform(gatewayResilience::decorate)
                             .map(res -> res.isSuccess()
                                     ? infoRedirect("Счет в " + currency + " открыт")
                                     : errorRedirect(res.getMessage()))
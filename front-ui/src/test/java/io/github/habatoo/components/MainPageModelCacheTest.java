@@ -0,0 +1,134 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.dto.DashboardResponseDto;
+import io.github.habatoo.properties.MainPageCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link MainPageModelCache}.
+ * Проверяют обход загрузки при попадании, срок жизни, вытеснение и сброс по операции пользователя.
+ */
+@DisplayName("Проверка кэша модели главной страницы MainPageModelCache")
+class MainPageModelCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Повторный просмотр берет модель из кэша без загрузки")
+    void getOrLoadSkipsLoaderOnHitTest() {
+        MainPageModelCache cache = createCache(true, 10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        Mono<DashboardResponseDto> loader = Mono.fromCallable(() -> {
+            loads.incrementAndGet();
+            return dashboard("user1");
+        });
+
+        StepVerifier.create(cache.getOrLoad(loader).contextWrite(authenticated("user1")))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(cache.getOrLoad(loader).contextWrite(authenticated("user1")))
+                .assertNext(model -> assertThat(model.getLogin()).isEqualTo("user1"))
+                .verifyComplete();
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("front.main.cache.requests").tag("result", "hit").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Модели разных пользователей не смешиваются, без аутентификации кэш не используется")
+    void getOrLoadIsolatesUsersTest() {
+        MainPageModelCache cache = createCache(true, 10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        Mono<DashboardResponseDto> loader = Mono.fromCallable(() -> dashboard("u" + loads.incrementAndGet()));
+
+        cache.getOrLoad(loader).contextWrite(authenticated("user1")).block();
+        cache.getOrLoad(loader).contextWrite(authenticated("user2")).block();
+        cache.getOrLoad(loader).block();
+
+        assertThat(loads).hasValue(3);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Сброс по операции удаляет модель, а ответ, запрошенный до сброса, не сохраняется")
+    void invalidateCurrentUserTest() {
+        MainPageModelCache cache = createCache(true, 10, Duration.ofMinutes(1));
+        cache.put("user1", dashboard("user1"), cache.generation("user1"));
+        long generation = cache.generation("user1");
+
+        StepVerifier.create(cache.invalidateCurrentUser().contextWrite(authenticated("user1")))
+                .verifyComplete();
+        cache.put("user1", dashboard("user1"), generation);
+
+        assertThat(cache.get("user1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Модель с истекшим сроком жизни не возвращается")
+    void expiredModelTest() {
+        MainPageModelCache cache = createCache(true, 10, Duration.ofNanos(-1));
+
+        cache.put("user1", dashboard("user1"), cache.generation("user1"));
+
+        assertThat(cache.get("user1")).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("При превышении размера вытесняется давно не запрошенная модель")
+    void evictsLeastRecentlyUsedTest() {
+        MainPageModelCache cache = createCache(true, 2, Duration.ofMinutes(1));
+
+        cache.put("user1", dashboard("user1"), 0);
+        cache.put("user2", dashboard("user2"), 0);
+        cache.get("user1");
+        cache.put("user3", dashboard("user3"), 0);
+
+        assertThat(cache.get("user1")).isPresent();
+        assertThat(cache.get("user2")).isEmpty();
+        assertThat(cache.get("user3")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Выключенный кэш всегда выполняет загрузку")
+    void disabledCacheTest() {
+        MainPageModelCache cache = createCache(false, 10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        Mono<DashboardResponseDto> loader = Mono.fromCallable(() -> {
+            loads.incrementAndGet();
+            return dashboard("user1");
+        });
+
+        cache.getOrLoad(loader).contextWrite(authenticated("user1")).block();
+        cache.getOrLoad(loader).contextWrite(authenticated("user1")).block();
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    private MainPageModelCache createCache(boolean enabled, int maxEntries, Duration ttl) {
+        return new MainPageModelCache(new MainPageCacheProperties(enabled, maxEntries, ttl), meterRegistry);
+    }
+
+    private Context authenticated(String login) {
+        TestingAuthenticationToken authentication = new TestingAuthenticationToken(login, null, "ROLE_USER");
+        return ReactiveSecurityContextHolder.withAuthentication(authentication);
+    }
+
+    private DashboardResponseDto dashboard(String login) {
+        return DashboardResponseDto.builder().login(login).build();
+    }
+}
@@ -0,0 +1,200 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.dto.AccountDto;
+import io.github.habatoo.dto.DashboardResponseDto;
+import io.github.habatoo.dto.enums.Currency;
+import io.github.habatoo.properties.ProfileSnapshotProperties;
+import io.github.habatoo.services.RateClientService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.mock.web.server.MockWebSession;
+import org.springframework.web.filter.reactive.ServerWebExchangeContextFilter;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Юнит-тесты для {@link ProfileSnapshotStore}.
+ * Проверяют обход загрузки по свежему снимку, применение изменений балансов, версионирование и сброс.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Проверка снимка профиля в сессии ProfileSnapshotStore")
+class ProfileSnapshotStoreTest {
+
+    @Mock
+    private RateClientService rateClientService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MockServerWebExchange exchange;
+
+    @BeforeEach
+    void setUp() {
+        exchange = MockServerWebExchange.builder(MockServerHttpRequest.get("/main"))
+                .session(new MockWebSession())
+                .build();
+        lenient().when(rateClientService.takeRate(any(Currency.class), any(Currency.class))).thenReturn(BigDecimal.ONE);
+    }
+
+    @Test
+    @DisplayName("Повторная отрисовка берет модель из снимка сессии без загрузки")
+    void getOrLoadSkipsLoaderWhenSnapshotIsFreshTest() {
+        ProfileSnapshotStore store = createStore(true, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        Mono<DashboardResponseDto> loader = Mono.fromCallable(() -> {
+            loads.incrementAndGet();
+            return dashboard(account(Currency.RUB, "100.00"));
+        });
+
+        store.getOrLoad(loader).contextWrite(withExchange()).block();
+        StepVerifier.create(store.getOrLoad(loader).contextWrite(withExchange()))
+                .assertNext(model -> assertThat(model.getTotalBalance()).isEqualByComparingTo("100.00"))
+                .verifyComplete();
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("front.profile.snapshot.requests").tag("result", "hit").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Результат операции меняет балансы и общий баланс снимка, исходная модель не изменяется")
+    void applyBalanceChangesUpdatesSnapshotTest() {
+        when(rateClientService.takeRate(Currency.USD, Currency.RUB)).thenReturn(new BigDecimal("90"));
+        ProfileSnapshotStore store = createStore(true, Duration.ofMinutes(1));
+        DashboardResponseDto loaded = dashboard(account(Currency.RUB, "1000.00"), account(Currency.USD, "10.00"));
+        store.getOrLoad(Mono.just(loaded)).contextWrite(withExchange()).block();
+
+        store.applyBalanceChanges(Map.of(Currency.RUB, new BigDecimal("-900.00"), Currency.USD, new BigDecimal("10.00")))
+                .contextWrite(withExchange())
+                .block();
+
+        StepVerifier.create(store.getOrLoad(Mono.error(new IllegalStateException("загрузка не ожидалась")))
+                        .contextWrite(withExchange()))
+                .assertNext(model -> {
+                    assertThat(model.getAccounts()).extracting(AccountDto::getBalance)
+                            .usingElementComparator(BigDecimal::compareTo)
+                            .containsExactly(new BigDecimal("100.00"), new BigDecimal("20.00"));
+                    assertThat(model.getTotalBalance()).isEqualByComparingTo("1900.00");
+                })
+                .verifyComplete();
+        assertThat(loaded.getAccounts().get(0).getBalance()).isEqualByComparingTo("1000.00");
+        assertThat(snapshot().version()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Изменение по счету, которого нет в снимке, сбрасывает снимок")
+    void applyBalanceChangesEvictsWhenAccountIsMissingTest() {
+        ProfileSnapshotStore store = createStore(true, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        Mono<DashboardResponseDto> loader = Mono.fromCallable(() -> {
+            loads.incrementAndGet();
+            return dashboard(account(Currency.RUB, "100.00"));
+        });
+        store.getOrLoad(loader).contextWrite(withExchange()).block();
+
+        store.applyBalanceChanges(Map.of(Currency.CNY, BigDecimal.TEN)).contextWrite(withExchange()).block();
+        store.getOrLoad(loader).contextWrite(withExchange()).block();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Модель, загруженная до сброса снимка, не сохраняется")
+    void getOrLoadDoesNotStoreModelLoadedBeforeInvalidationTest() {
+        ProfileSnapshotStore store = createStore(true, Duration.ofMinutes(1));
+        Mono<DashboardResponseDto> racingLoader = store.invalidate()
+                .then(Mono.fromCallable(() -> dashboard(account(Currency.RUB, "100.00"))));
+
+        StepVerifier.create(store.getOrLoad(racingLoader).contextWrite(withExchange()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(snapshot().model()).isNull();
+        assertThat(snapshot().version()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Устаревший снимок не используется и не обновляется операциями")
+    void expiredSnapshotIsReloadedTest() {
+        ProfileSnapshotStore store = createStore(true, Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        Mono<DashboardResponseDto> loader = Mono.fromCallable(() -> {
+            loads.incrementAndGet();
+            return dashboard(account(Currency.RUB, "100.00"));
+        });
+
+        store.getOrLoad(loader).contextWrite(withExchange()).block();
+        store.applyBalanceChanges(Map.of(Currency.RUB, BigDecimal.TEN)).contextWrite(withExchange()).block();
+        store.getOrLoad(loader).contextWrite(withExchange()).block();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Без сессии в контексте или при выключенном снимке всегда выполняется загрузка")
+    void getOrLoadWithoutSessionOrWhenDisabledTest() {
+        AtomicInteger loads = new AtomicInteger();
+        Mono<DashboardResponseDto> loader = Mono.fromCallable(() -> {
+            loads.incrementAndGet();
+            return dashboard(account(Currency.RUB, "100.00"));
+        });
+        ProfileSnapshotStore enabledStore = createStore(true, Duration.ofMinutes(1));
+        ProfileSnapshotStore disabledStore = createStore(false, Duration.ofMinutes(1));
+
+        enabledStore.getOrLoad(loader).block();
+        enabledStore.getOrLoad(loader).block();
+        disabledStore.getOrLoad(loader).contextWrite(withExchange()).block();
+        disabledStore.getOrLoad(loader).contextWrite(withExchange()).block();
+
+        assertThat(loads).hasValue(4);
+        assertThat(exchange.getSession().block().getAttributes()).isEmpty();
+    }
+
+    private ProfileSnapshotStore createStore(boolean enabled, Duration ttl) {
+        return new ProfileSnapshotStore(new ProfileSnapshotProperties(enabled, ttl), rateClientService, meterRegistry);
+    }
+
+    private Context withExchange() {
+        return Context.of(ServerWebExchangeContextFilter.EXCHANGE_CONTEXT_ATTRIBUTE, exchange);
+    }
+
+    private ProfileSnapshotStore.ProfileSnapshot snapshot() {
+        return (ProfileSnapshotStore.ProfileSnapshot) exchange.getSession().block()
+                .getAttributes().get(ProfileSnapshotStore.SESSION_ATTRIBUTE);
+    }
+
+    private DashboardResponseDto dashboard(AccountDto... accounts) {
+        return DashboardResponseDto.builder()
+                .login("user1")
+                .accounts(List.of(accounts))
+                .totalBalance(List.of(accounts).stream()
+                        .map(AccountDto::getBalance)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .build();
+    }
+
+    private AccountDto account(Currency currency, String balance) {
+        return AccountDto.builder()
+                .currency(currency)
+                .balance(new BigDecimal(balance))
+                .build();
+    }
+}
@@ -1,11 +1,14 @@
 package io.github.habatoo.controllers;
 
+import io.github.habatoo.components.MainPageModelCache;
+import io.github.habatoo.components.ProfileSnapshotStore;
 import io.github.habatoo.configurations.SecurityChassisAutoConfiguration;
 import io.github.habatoo.dto.CashDto;
 import io.github.habatoo.dto.TransferDto;
 import io.github.habatoo.services.CashFrontService;
 import io.github.habatoo.services.TransferFrontService;
 import io.github.habatoo.services.UserFrontService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -63,6 +66,18 @@ class OperationsControllerCashedTest {
     @MockitoBean
     private ErrorWebExceptionHandler errorWebExceptionHandler;
 
+    @MockitoBean
+    private MainPageModelCache mainPageModelCache;
+
+    @MockitoBean
+    private ProfileSnapshotStore profileSnapshotStore;
+
+    @BeforeEach
+    void setUp() {
+        when(mainPageModelCache.invalidateCurrentUser()).thenReturn(Mono.empty());
+        when(profileSnapshotStore.invalidate()).thenReturn(Mono.empty());
+    }
+
     @Test
     @DisplayName("POST /cash - Успешный редирект после операции с наличными")
     void handleCashSuccess() {
@@ -1,10 +1,13 @@
 package io.github.habatoo.controllers;
 
+import io.github.habatoo.components.MainPageModelCache;
+import io.github.habatoo.components.ProfileSnapshotStore;
 import io.github.habatoo.dto.CashDto;
 import io.github.habatoo.dto.TransferDto;
 import io.github.habatoo.services.CashFrontService;
 import io.github.habatoo.services.TransferFrontService;
 import io.github.habatoo.services.UserFrontService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -39,9 +42,21 @@ class OperationsControllerTest {
     @Mock
     private UserFrontService userFrontService;
 
+    @Mock
+    private MainPageModelCache mainPageModelCache;
+
+    @Mock
+    private ProfileSnapshotStore profileSnapshotStore;
+
     @InjectMocks
     private OperationsController operationsController;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(mainPageModelCache.invalidateCurrentUser()).thenReturn(Mono.empty());
+        lenient().when(profileSnapshotStore.invalidate()).thenReturn(Mono.empty());
+    }
+
     @Test
     @DisplayName("Тест handleCash: проверка вызова cashFrontService")
     void handleCash_ShouldReturnRedirectString() {
@@ -60,6 +75,8 @@ class OperationsControllerTest {
                 .verifyComplete();
 
         verify(cashFrontService, times(1)).moveMoney(cashDto);
+        verify(mainPageModelCache, times(2)).invalidateCurrentUser();
+        verifyNoInteractions(profileSnapshotStore);
     }
 
     @Test
@@ -94,5 +111,21 @@ class OperationsControllerTest {
                 .verifyComplete();
 
         verify(userFrontService, times(1)).updateProfile(exchange);
+        verify(profileSnapshotStore, times(2)).invalidate();
+    }
+
+    @Test
+    @DisplayName("Тест changePassword: смена пароля не сбрасывает кэш главной страницы")
+    void changePassword_ShouldNotInvalidateMainPage() {
+        ServerWebExchange exchange = mock(ServerWebExchange.class);
+        RedirectView expectedView = new RedirectView("/main");
+
+        when(userFrontService.updatePassword(exchange)).thenReturn(Mono.just(expectedView));
+
+        StepVerifier.create(operationsController.changePassword(exchange))
+                .expectNext(expectedView)
+                .verifyComplete();
+
+        verifyNoInteractions(mainPageModelCache, profileSnapshotStore);
     }
 }
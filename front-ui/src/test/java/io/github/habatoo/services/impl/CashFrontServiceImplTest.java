@@ -1,17 +1,23 @@
 package io.github.habatoo.services.impl;
 
+import io.github.habatoo.components.ProfileSnapshotStore;
 import io.github.habatoo.dto.CashDto;
 import io.github.habatoo.dto.OperationResultDto;
 import io.github.habatoo.dto.enums.Currency;
 import io.github.habatoo.dto.enums.OperationType;
+import io.github.habatoo.resilience.ResilienceDecorator;
+import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -21,6 +27,7 @@ import reactor.test.StepVerifier;
 import java.math.BigDecimal;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.function.Function;
 
 import static io.github.habatoo.dto.enums.OperationType.GET;
@@ -28,6 +35,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -54,8 +63,15 @@ class CashFrontServiceImplTest {
     @Mock
     private WebClient.ResponseSpec responseSpec;
 
+    @Spy
+    private ResilienceDecorator gatewayResilience = new ResilienceDecorator(
+            CircuitBreaker.ofDefaults("gateway-cb"),
+            Bulkhead.ofDefaults("gateway-cb"),
+            TimeLimiter.ofDefaults("gateway-cb"),
+            Retry.of("gateway-cb", RetryConfig.custom().maxAttempts(1).build()));
+
     @Mock
-    private CircuitBreakerRegistry registry;
+    private ProfileSnapshotStore profileSnapshotStore;
 
     @InjectMocks
     private CashFrontServiceImpl cashService;
@@ -63,12 +79,11 @@ class CashFrontServiceImplTest {
     @BeforeEach
     @SuppressWarnings("unchecked")
     void setUp() {
-        CircuitBreaker cb = CircuitBreaker.ofDefaults("gateway-cb");
-        lenient().when(registry.circuitBreaker("gateway-cb")).thenReturn(cb);
-
         lenient().when(webClient.post()).thenReturn(requestBodyUriSpec);
         lenient().when(requestBodyUriSpec.uri(any(Function.class))).thenReturn(requestBodySpec);
         lenient().when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+        lenient().when(profileSnapshotStore.applyBalanceChanges(any())).thenReturn(Mono.empty());
+        lenient().when(profileSnapshotStore.invalidate()).thenReturn(Mono.empty());
     }
 
     @Test
@@ -99,6 +114,27 @@ class CashFrontServiceImplTest {
                     assertThat(url).contains(URLEncoder.encode("выполнено успешно", StandardCharsets.UTF_8));
                 })
                 .verifyComplete();
+
+        verify(profileSnapshotStore).applyBalanceChanges(Map.of(Currency.RUB, value));
+    }
+
+    @Test
+    @DisplayName("Успешное снятие — Списание применяется к снимку профиля")
+    void shouldApplyWithdrawalToProfileSnapshotTest() {
+        CashDto dto = CashDto.builder()
+                .value(new BigDecimal("250.00"))
+                .action(GET)
+                .currency(Currency.USD)
+                .build();
+
+        when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class)))
+                .thenReturn(Mono.just(OperationResultDto.<CashDto>builder().success(true).data(dto).build()));
+
+        StepVerifier.create(cashService.moveMoney(dto))
+                .assertNext(url -> assertThat(url).startsWith("redirect:/main?info="))
+                .verifyComplete();
+
+        verify(profileSnapshotStore).applyBalanceChanges(Map.of(Currency.USD, new BigDecimal("-250.00")));
     }
 
     @Test
@@ -125,6 +161,8 @@ class CashFrontServiceImplTest {
                     assertTrue(url.contains("error=" + URLEncoder.encode(errorMessage, StandardCharsets.UTF_8)));
                 })
                 .verifyComplete();
+
+        verifyNoInteractions(profileSnapshotStore);
     }
 
     @Test
@@ -149,5 +187,7 @@ class CashFrontServiceImplTest {
                             .contains(expectedErrorMsg);
                 })
                 .verifyComplete();
+
+        verify(profileSnapshotStore).invalidate();
     }
 }
@@ -1,22 +1,30 @@
 package io.github.habatoo.services.impl;
 
+import io.github.habatoo.components.MainPageModelCache;
+import io.github.habatoo.components.ProfileSnapshotStore;
 import io.github.habatoo.dto.AccountDto;
 import io.github.habatoo.dto.AccountShortDto;
-import io.github.habatoo.dto.UserProfileResponseDto;
+import io.github.habatoo.dto.DashboardResponseDto;
 import io.github.habatoo.dto.enums.Currency;
-import io.github.habatoo.services.RateClientService;
+import io.github.habatoo.resilience.ResilienceDecorator;
+import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.result.view.Rendering;
+import org.thymeleaf.spring6.context.webflux.ReactiveDataDriverContextVariable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -28,7 +36,9 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -46,9 +56,6 @@ class FrontServiceImplTest {
     @Mock
     private WebClient webClient;
 
-    @Mock
-    private RateClientService rateClientService;
-
     @Mock
     private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
 
@@ -58,25 +65,33 @@ class FrontServiceImplTest {
     @Mock
     private WebClient.ResponseSpec responseSpec;
 
+    @Spy
+    private ResilienceDecorator dashboardResilience = new ResilienceDecorator(
+            CircuitBreaker.ofDefaults("accountServiceCB"),
+            Bulkhead.ofDefaults("accountServiceCB"),
+            TimeLimiter.ofDefaults("accountServiceCB"),
+            Retry.of("accountServiceCB", RetryConfig.custom().maxAttempts(1).build()));
+
+    @Mock
+    private MainPageModelCache mainPageModelCache;
+
     @Mock
-    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private ProfileSnapshotStore profileSnapshotStore;
 
     @InjectMocks
     private FrontServiceImpl frontService;
 
     @BeforeEach
     void setUp() {
-        CircuitBreaker cb = CircuitBreaker.ofDefaults("accountServiceCB");
-        when(circuitBreakerRegistry.circuitBreaker("accountServiceCB")).thenReturn(cb);
-
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        lenient().when(rateClientService.takeRate(any(Currency.class), any(Currency.class))).thenReturn(BigDecimal.ONE);
+        when(mainPageModelCache.getOrLoad(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(profileSnapshotStore.getOrLoad(any())).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Test
-    @DisplayName("Успешная загрузка данных главной страницы")
+    @DisplayName("Успешная загрузка данных главной страницы одним запросом")
     void shouldReturnRenderingWithFullData() {
         AccountDto myAccountRub = AccountDto.builder()
                 .balance(new BigDecimal("1500.00"))
@@ -88,19 +103,21 @@ class FrontServiceImplTest {
                 .currency(Currency.USD)
                 .build();
 
-        UserProfileResponseDto profile = UserProfileResponseDto.builder()
+        AccountShortDto otherUser = AccountShortDto.builder()
+                .login("petr")
+                .name("Petr Petrov")
+                .build();
+
+        DashboardResponseDto dashboard = DashboardResponseDto.builder()
                 .name("Ivan Ivanov")
                 .login("ivan")
                 .birthDate(LocalDate.of(1990, 5, 15))
                 .accounts(List.of(myAccountRub, myAccountUsd))
+                .totalBalance(new BigDecimal("9061.62"))
                 .build();
 
-        AccountShortDto otherUser = AccountShortDto.builder()
-                .login("petr")
-                .name("Petr Petrov")
-                .build();
-
-        when(responseSpec.bodyToMono(UserProfileResponseDto.class)).thenReturn(Mono.just(profile));
+        when(responseSpec.bodyToMono(DashboardResponseDto.class)).thenReturn(Mono.just(dashboard));
+        when(requestHeadersSpec.accept(MediaType.APPLICATION_NDJSON)).thenReturn(requestHeadersSpec);
         when(responseSpec.bodyToFlux(AccountShortDto.class)).thenReturn(Flux.just(otherUser));
 
         Mono<Rendering> result = frontService.showMainPage("Welcome", null);
@@ -110,44 +127,77 @@ class FrontServiceImplTest {
                     assertThat(rendering.view()).isEqualTo("main");
                     var model = rendering.modelAttributes();
                     assertThat(model.get("name")).isEqualTo("Ivan Ivanov");
-                    assertThat(model.get("sum")).isEqualTo(new BigDecimal("1599.00"));
+                    assertThat(model.get("sum")).isEqualTo(new BigDecimal("9061.62"));
                     assertThat(model.get("info")).isEqualTo("Welcome");
+                    assertThat((List<?>) model.get("userAccounts")).hasSize(2);
+                    assertThat(recipients(model.get("accounts"))).containsExactly(otherUser);
+                })
+                .verifyComplete();
+
+        verify(requestHeadersUriSpec, times(1)).uri("/api/main/dashboard");
+        verify(requestHeadersUriSpec, times(1)).uri("/api/main/recipients");
+        verify(webClient, times(2)).get();
+    }
+
+    @Test
+    @DisplayName("Получатели запрашиваются отдельным потоком только при отрисовке списка")
+    void shouldStreamRecipientsAsDataDriver() {
+        List<AccountShortDto> recipients = List.of(
+                AccountShortDto.builder().login("petr").name("Petr").currency(Currency.RUB).build(),
+                AccountShortDto.builder().login("anna").name("Anna").currency(Currency.USD).build());
+        DashboardResponseDto dashboard = DashboardResponseDto.builder()
+                .name("Ivan")
+                .accounts(List.of())
+                .totalBalance(BigDecimal.ZERO)
+                .build();
+
+        when(responseSpec.bodyToMono(DashboardResponseDto.class)).thenReturn(Mono.just(dashboard));
+        when(requestHeadersSpec.accept(MediaType.APPLICATION_NDJSON)).thenReturn(requestHeadersSpec);
+        when(responseSpec.bodyToFlux(AccountShortDto.class)).thenReturn(Flux.fromIterable(recipients));
 
-                    List<?> otherUsersList = (List<?>) model.get("accounts");
-                    assertThat(otherUsersList).hasSize(1);
+        StepVerifier.create(frontService.showMainPage(null, null))
+                .assertNext(rendering -> {
+                    Object accounts = rendering.modelAttributes().get("accounts");
+                    assertThat(accounts).isInstanceOf(ReactiveDataDriverContextVariable.class);
+                    assertThat(((ReactiveDataDriverContextVariable) accounts).getBufferSizeElements()).isEqualTo(50);
+                    verify(requestHeadersUriSpec, never()).uri("/api/main/recipients");
+                    assertThat(recipients(accounts)).containsExactlyElementsOf(recipients);
                 })
                 .verifyComplete();
+
+        verify(requestHeadersUriSpec, times(1)).uri("/api/main/recipients");
     }
 
     @Test
-    @DisplayName("Частичный успех: Список других пользователей недоступен")
-    void shouldHandleOtherUsersErrorButShowProfile() {
-        UserProfileResponseDto profile = UserProfileResponseDto.builder()
+    @DisplayName("Ошибка потока получателей: профиль отображается с пустым списком")
+    void shouldShowProfileWithoutRecipients() {
+        DashboardResponseDto dashboard = DashboardResponseDto.builder()
                 .name("Ivan")
                 .accounts(List.of())
+                .totalBalance(BigDecimal.ZERO)
                 .build();
 
-        when(responseSpec.bodyToMono(UserProfileResponseDto.class)).thenReturn(Mono.just(profile));
-        when(responseSpec.bodyToFlux(AccountShortDto.class)).thenReturn(Flux.error(new RuntimeException("Flux Error")));
+        when(responseSpec.bodyToMono(DashboardResponseDto.class)).thenReturn(Mono.just(dashboard));
+        when(requestHeadersSpec.accept(MediaType.APPLICATION_NDJSON)).thenReturn(requestHeadersSpec);
+        when(responseSpec.bodyToFlux(AccountShortDto.class))
+                .thenReturn(Flux.error(new RuntimeException("Service Down")));
 
         Mono<Rendering> result = frontService.showMainPage(null, null);
 
         StepVerifier.create(result)
                 .assertNext(rendering -> {
                     assertThat(rendering.view()).isEqualTo("main");
-                    List<?> others = (List<?>) rendering.modelAttributes().get("accounts");
-                    assertThat(others).isEmpty();
+                    assertThat(recipients(rendering.modelAttributes().get("accounts"))).isEmpty();
                     assertThat(rendering.modelAttributes().get("name")).isEqualTo("Ivan");
                 })
                 .verifyComplete();
     }
 
     @Test
-    @DisplayName("Полный отказ: Ошибка профиля — Возврат страницы с ошибкой")
-    void shouldHandleProfileError() {
-        when(responseSpec.bodyToMono(UserProfileResponseDto.class))
+    @DisplayName("Полный отказ: Ошибка сервиса — Возврат страницы с ошибкой")
+    void shouldHandleDashboardError() {
+        when(responseSpec.bodyToMono(DashboardResponseDto.class))
                 .thenReturn(Mono.error(new RuntimeException("Service Down")));
-        when(responseSpec.bodyToFlux(AccountShortDto.class)).thenReturn(Flux.empty());
 
         Mono<Rendering> result = frontService.showMainPage(null, null);
 
@@ -160,27 +210,10 @@ class FrontServiceImplTest {
                 .verifyComplete();
     }
 
-    @Test
-    @DisplayName("Проверка расчета суммы баланса")
-    void shouldCalculateTotalBalanceCorrectly() {
-        AccountDto acc1 = AccountDto.builder().balance(new BigDecimal("100.50")).currency(Currency.CNY).build();
-        AccountDto acc2 = AccountDto.builder().balance(new BigDecimal("200.40")).currency(Currency.RUB).build();
-        AccountDto acc3 = AccountDto.builder().balance(new BigDecimal("300.10")).currency(Currency.USD).build();
-
-        UserProfileResponseDto profile = UserProfileResponseDto.builder()
-                .accounts(List.of(acc1, acc2, acc3))
-                .build();
-
-        when(responseSpec.bodyToMono(UserProfileResponseDto.class)).thenReturn(Mono.just(profile));
-        when(responseSpec.bodyToFlux(AccountShortDto.class)).thenReturn(Flux.empty());
-
-        Mono<Rendering> result = frontService.showMainPage(null, null);
-
-        StepVerifier.create(result)
-                .assertNext(rendering -> {
-                    BigDecimal total = (BigDecimal) rendering.modelAttributes().get("sum");
-                    assertThat(total).isEqualByComparingTo("601.00");
-                })
-                .verifyComplete();
+    private List<Object> recipients(Object dataDriver) {
+        return Flux.from(((ReactiveDataDriverContextVariable) dataDriver)
+                        .getDataStream(ReactiveAdapterRegistry.getSharedInstance()))
+                .collectList()
+                .block();
     }
 }
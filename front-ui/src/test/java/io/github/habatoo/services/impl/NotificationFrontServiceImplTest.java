@@ -0,0 +1,103 @@
+package io.github.habatoo.services.impl;
+
+import io.github.habatoo.dto.NotificationDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClientRequest;
+import reactor.test.StepVerifier;
+
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Тесты сервиса потока уведомлений (NotificationFrontServiceImpl).
+ * <p>
+ * Проверяют проксирование событий SSE из Gateway и поведение при обрыве соединения.
+ * </p>
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Юнит-тесты сервиса потока уведомлений (NotificationFrontServiceImpl)")
+class NotificationFrontServiceImplTest {
+
+    @Mock
+    private WebClient webClient;
+
+    @Mock
+    private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
+
+    @Mock
+    private WebClient.RequestHeadersSpec requestHeadersSpec;
+
+    @Mock
+    private WebClient.ResponseSpec responseSpec;
+
+    @InjectMocks
+    private NotificationFrontServiceImpl notificationFrontService;
+
+    @BeforeEach
+    void setUp() {
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri("/api/main/notification/stream")).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.accept(MediaType.TEXT_EVENT_STREAM)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.httpRequest(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+    }
+
+    @Test
+    @DisplayName("События из Gateway передаются браузеру без изменений")
+    void streamNotificationsProxiesEventsTest() {
+        ServerSentEvent<NotificationDto> event = ServerSentEvent.builder(
+                        NotificationDto.builder().username("user").message("Пополнение").build())
+                .event("notification")
+                .build();
+        when(responseSpec.bodyToFlux(any(ParameterizedTypeReference.class))).thenReturn(Flux.just(event));
+
+        StepVerifier.create(notificationFrontService.streamNotifications())
+                .expectNext(event)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Обрыв соединения завершает поток без ошибки")
+    void streamNotificationsCompletesOnErrorTest() {
+        when(responseSpec.bodyToFlux(any(ParameterizedTypeReference.class)))
+                .thenReturn(Flux.error(new RuntimeException("Connection reset")));
+
+        StepVerifier.create(notificationFrontService.streamNotifications())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Запрос потока снимает responseTimeout клиента, чтобы паузы между событиями не обрывали поток")
+    void streamNotificationsDisablesResponseTimeoutTest() {
+        when(responseSpec.bodyToFlux(any(ParameterizedTypeReference.class))).thenReturn(Flux.empty());
+        ClientHttpRequest request = mock(ClientHttpRequest.class);
+        HttpClientRequest nativeRequest = mock(HttpClientRequest.class);
+        when(request.getNativeRequest()).thenReturn(nativeRequest);
+
+        StepVerifier.create(notificationFrontService.streamNotifications())
+                .verifyComplete();
+
+        ArgumentCaptor<Consumer<ClientHttpRequest>> requestCustomizer = ArgumentCaptor.forClass(Consumer.class);
+        verify(requestHeadersSpec).httpRequest(requestCustomizer.capture());
+        requestCustomizer.getValue().accept(request);
+        verify(nativeRequest).responseTimeout(null);
+    }
+}
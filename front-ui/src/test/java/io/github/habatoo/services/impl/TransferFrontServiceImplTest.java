@@ -1,17 +1,23 @@
 package io.github.habatoo.services.impl;
 
+import io.github.habatoo.components.ProfileSnapshotStore;
 import io.github.habatoo.dto.OperationResultDto;
 import io.github.habatoo.dto.TransferDto;
 import io.github.habatoo.dto.enums.Currency;
+import io.github.habatoo.resilience.ResilienceDecorator;
 import io.github.habatoo.services.RateClientService;
+import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -21,11 +27,13 @@ import reactor.test.StepVerifier;
 import java.math.BigDecimal;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -54,22 +62,28 @@ class TransferFrontServiceImplTest {
     @Mock
     private WebClient.ResponseSpec responseSpec;
 
+    @Spy
+    private ResilienceDecorator gatewayResilience = new ResilienceDecorator(
+            CircuitBreaker.ofDefaults("gateway-cb"),
+            Bulkhead.ofDefaults("gateway-cb"),
+            TimeLimiter.ofDefaults("gateway-cb"),
+            Retry.of("gateway-cb", RetryConfig.custom().maxAttempts(1).build()));
+
     @Mock
-    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private ProfileSnapshotStore profileSnapshotStore;
 
     @InjectMocks
     private TransferFrontServiceImpl transferService;
 
     @BeforeEach
     void setUp() {
-        CircuitBreaker cb = CircuitBreaker.ofDefaults("gateway-cb");
-        lenient().when(circuitBreakerRegistry.circuitBreaker("gateway-cb")).thenReturn(cb);
-
         lenient().when(webClient.post()).thenReturn(requestBodyUriSpec);
         lenient().when(requestBodyUriSpec.uri(any(Function.class))).thenReturn(requestBodySpec);
         lenient().when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersSpec);
         lenient().when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         lenient().when(rateClientService.takeRate(any(Currency.class), any(Currency.class))).thenReturn(BigDecimal.ONE);
+        lenient().when(profileSnapshotStore.applyBalanceChanges(any())).thenReturn(Mono.empty());
+        lenient().when(profileSnapshotStore.invalidate()).thenReturn(Mono.empty());
     }
 
     @Test
@@ -102,6 +116,8 @@ class TransferFrontServiceImplTest {
                     assertThat(url).contains(URLEncoder.encode(expectedMsg, StandardCharsets.UTF_8));
                 })
                 .verifyComplete();
+
+        verify(profileSnapshotStore).applyBalanceChanges(Map.of(Currency.USD, new BigDecimal("-500")));
     }
 
     @Test
@@ -145,6 +161,10 @@ class TransferFrontServiceImplTest {
                     assertThat(url).contains(URLEncoder.encode("Внутренний перевод", StandardCharsets.UTF_8));
                 })
                 .verifyComplete();
+
+        verify(profileSnapshotStore).applyBalanceChanges(Map.of(
+                Currency.USD, new BigDecimal("-100"),
+                Currency.RUB, new BigDecimal("100.00")));
     }
 
     @Test
@@ -191,5 +211,7 @@ class TransferFrontServiceImplTest {
                     assertThat(url).contains(expectedError);
                 })
                 .verifyComplete();
+
+        verify(profileSnapshotStore).invalidate();
     }
 }
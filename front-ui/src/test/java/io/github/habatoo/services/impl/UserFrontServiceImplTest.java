@@ -1,14 +1,19 @@
 package io.github.habatoo.services.impl;
 
 import io.github.habatoo.dto.OperationResultDto;
+import io.github.habatoo.resilience.ResilienceDecorator;
+import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -56,16 +61,18 @@ class UserFrontServiceImplTest {
     @Mock
     private WebClient.ResponseSpec responseSpec;
 
-    @Mock
-    private CircuitBreakerRegistry circuitBreakerRegistry;
+    @Spy
+    private ResilienceDecorator gatewayResilience = new ResilienceDecorator(
+            CircuitBreaker.ofDefaults("gateway-cb"),
+            Bulkhead.ofDefaults("gateway-cb"),
+            TimeLimiter.ofDefaults("gateway-cb"),
+            Retry.of("gateway-cb", RetryConfig.custom().maxAttempts(1).build()));
 
     @InjectMocks
     private UserFrontServiceImpl userService;
 
     @BeforeEach
     void setUp() {
-        CircuitBreaker cb = CircuitBreaker.ofDefaults("gateway-cb");
-        lenient().when(circuitBreakerRegistry.circuitBreaker("gateway-cb")).thenReturn(cb);
         lenient().when(webClient.patch()).thenReturn(requestBodyUriSpec);
         lenient().when(webClient.post()).thenReturn(requestBodyUriSpec);
         lenient().when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
@@ -1,6 +1,13 @@
 package io.github.habatoo;
 
 import io.github.habatoo.configurations.ServicesChassisAutoConfiguration;
+import io.github.habatoo.properties.ConcurrencyLimitProperties;
+import io.github.habatoo.properties.HedgingProperties;
+import io.github.habatoo.properties.RateLimitProperties;
+import io.github.habatoo.properties.ResponseCacheProperties;
+import io.github.habatoo.properties.RoutePoolProperties;
+import io.github.habatoo.properties.SingleFlightProperties;
+import io.github.habatoo.properties.StaleFallbackProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration;
@@ -8,6 +15,7 @@ import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
 import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication(exclude = {
         DataSourceAutoConfiguration.class,
@@ -17,6 +25,15 @@ import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
         LiquibaseAutoConfiguration.class,
         ServicesChassisAutoConfiguration.class
 })
+@EnableConfigurationProperties({
+        ResponseCacheProperties.class,
+        RateLimitProperties.class,
+        SingleFlightProperties.class,
+        ConcurrencyLimitProperties.class,
+        HedgingProperties.class,
+        StaleFallbackProperties.class,
+        RoutePoolProperties.class
+})
 public class GatewayApplication {
 
     public static void main(String[] args) {
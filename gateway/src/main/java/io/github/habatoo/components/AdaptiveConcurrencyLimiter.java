@@ -0,0 +1,247 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.properties.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Адаптивный ограничитель числа одновременных запросов к маршрутам шлюза.
+ * <p>
+ * Лимит каждого маршрута подбирается по наблюдаемой задержке (градиентный алгоритм):
+ * долгосрочная задержка усредняется по {@code rttWindow} замерам, и пока текущая задержка
+ * не превышает ее более чем в {@code tolerance} раз, лимит растет на корень из себя;
+ * при росте задержки лимит уменьшается пропорционально отношению задержек. Ошибка или
+ * таймаут сервиса умножает лимит на {@code backoffRatio}. Замеры при загрузке меньше
+ * половины лимита не учитываются — они не говорят о пределе сервиса.
+ * </p>
+ * <p>
+ * Запрос сверх лимита ждет в короткой очереди не дольше {@code queueTimeout},
+ * а при заполненной очереди или по таймауту сразу отклоняется.
+ * </p>
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteLimit> routes = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Получает разрешение на выполнение запроса к маршруту.
+     *
+     * @param routeId идентификатор маршрута.
+     * @return {@link Mono} с разрешением, которое нужно вернуть через {@link Permit#release(boolean)},
+     * или пустой {@link Mono}, если запрос отклонен.
+     */
+    public Mono<Permit> acquire(String routeId) {
+        return routes.computeIfAbsent(routeId, RouteLimit::new).acquire();
+    }
+
+    /**
+     * Возвращает текущий лимит маршрута.
+     *
+     * @param routeId идентификатор маршрута.
+     * @return лимит одновременных запросов.
+     */
+    public int limit(String routeId) {
+        return routes.computeIfAbsent(routeId, RouteLimit::new).currentLimit();
+    }
+
+    /**
+     * Разрешение на выполнение одного запроса.
+     */
+    public static final class Permit {
+
+        private final RouteLimit routeLimit;
+        private final long startedAt;
+        private boolean released;
+
+        private Permit(RouteLimit routeLimit, long startedAt) {
+            this.routeLimit = routeLimit;
+            this.startedAt = startedAt;
+        }
+
+        /**
+         * Возвращает разрешение и сообщает результат запроса.
+         *
+         * @param dropped {@code true}, если сервис ответил ошибкой или не ответил вовремя.
+         */
+        public void release(boolean dropped) {
+            release(System.nanoTime() - startedAt, dropped);
+        }
+
+        /**
+         * Возвращает разрешение без замера задержки (например, клиент отменил запрос).
+         */
+        public void cancel() {
+            release(-1, false);
+        }
+
+        synchronized void release(long rttNanos, boolean dropped) {
+            if (released) {
+                return;
+            }
+            released = true;
+            routeLimit.release(rttNanos, dropped);
+        }
+    }
+
+    private final class RouteLimit {
+
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private final Counter rejected;
+        private double limit;
+        private double longRtt;
+        private int inflight;
+
+        private RouteLimit(String routeId) {
+            this.limit = properties.initialLimit();
+            this.rejected = Counter.builder("gateway.concurrency.rejected")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.concurrency.limit", this, RouteLimit::currentLimit)
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.concurrency.inflight", this, RouteLimit::currentInflight)
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.concurrency.queued", this, RouteLimit::currentQueued)
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+        }
+
+        private Mono<Permit> acquire() {
+            return Mono.defer(() -> {
+                Waiter waiter;
+                synchronized (this) {
+                    if (inflight < (int) limit) {
+                        inflight++;
+                        return Mono.just(new Permit(this, System.nanoTime()));
+                    }
+                    if (waiters.size() >= properties.queueCapacity()) {
+                        rejected.increment();
+                        return Mono.empty();
+                    }
+                    waiter = new Waiter();
+                    waiters.addLast(waiter);
+                }
+
+                Disposable timer = Mono.delay(properties.queueTimeout())
+                        .subscribe(tick -> expire(waiter));
+                return waiter.sink.asMono()
+                        .doFinally(signal -> timer.dispose())
+                        .doOnCancel(() -> abandon(waiter))
+                        .flatMap(granted -> granted ? deliver(waiter) : Mono.empty());
+            });
+        }
+
+        private synchronized Mono<Permit> deliver(Waiter waiter) {
+            if (waiter.delivered) {
+                return Mono.empty();
+            }
+            waiter.delivered = true;
+            return Mono.just(new Permit(this, System.nanoTime()));
+        }
+
+        private void expire(Waiter waiter) {
+            boolean removed;
+            synchronized (this) {
+                removed = waiters.remove(waiter);
+            }
+            if (removed) {
+                rejected.increment();
+                waiter.sink.tryEmitValue(false);
+            }
+        }
+
+        private void abandon(Waiter waiter) {
+            List<Waiter> granted;
+            synchronized (this) {
+                if (waiters.remove(waiter) || !waiter.granted || waiter.delivered) {
+                    return;
+                }
+                waiter.delivered = true;
+                inflight--;
+                granted = drain();
+            }
+            granted.forEach(next -> next.sink.tryEmitValue(true));
+        }
+
+        private void release(long rttNanos, boolean dropped) {
+            List<Waiter> granted;
+            synchronized (this) {
+                int observedInflight = inflight;
+                inflight--;
+                if (dropped) {
+                    limit = Math.max(properties.minLimit(), limit * properties.backoffRatio());
+                } else if (rttNanos > 0) {
+                    update(rttNanos, observedInflight);
+                }
+                granted = drain();
+            }
+            granted.forEach(waiter -> waiter.sink.tryEmitValue(true));
+        }
+
+        private void update(long rttNanos, int observedInflight) {
+            if (observedInflight < limit / 2) {
+                return;
+            }
+            longRtt = longRtt == 0 ? rttNanos : longRtt + (rttNanos - longRtt) / properties.rttWindow();
+            if (longRtt / rttNanos > 2) {
+                longRtt *= 0.95;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, properties.tolerance() * longRtt / rttNanos));
+            double estimated = limit * gradient + Math.sqrt(limit);
+            double smoothed = limit * (1 - properties.smoothing()) + estimated * properties.smoothing();
+            limit = Math.max(properties.minLimit(), Math.min(properties.maxLimit(), smoothed));
+        }
+
+        private List<Waiter> drain() {
+            List<Waiter> granted = new ArrayList<>();
+            while (inflight < (int) limit && !waiters.isEmpty()) {
+                Waiter waiter = waiters.pollFirst();
+                waiter.granted = true;
+                inflight++;
+                granted.add(waiter);
+            }
+            return granted;
+        }
+
+        private synchronized int currentLimit() {
+            return (int) limit;
+        }
+
+        private synchronized int currentInflight() {
+            return inflight;
+        }
+
+        private synchronized int currentQueued() {
+            return waiters.size();
+        }
+    }
+
+    private static final class Waiter {
+
+        private final Sinks.One<Boolean> sink = Sinks.one();
+        private boolean granted;
+        private boolean delivered;
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.properties.ResponseCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ограниченное хранилище ответов шлюза с разделением по пользователям.
+ * <p>
+ * Хранит не более {@code maxEntries} ответов и вытесняет давно не запрошенные (LRU).
+ * Каждый ответ живет не дольше заданного для его пути TTL. Ключи ответов проиндексированы по пользователю,
+ * поэтому сброс затрагивает только ответы этого пользователя. Для каждого пользователя ведется
+ * поколение: сброс кэша пользователя увеличивает поколение, и ответ, запрошенный до сброса,
+ * уже не будет сохранен, даже если он пришел от сервиса после него.
+ * <p>
+ * Поколения тоже хранятся не более чем для {@code maxEntries} пользователей. Пользователь без сохраненного
+ * поколения получает наибольшее из вытесненных поколений, а не {@code 0}, поэтому после вытеснения
+ * поколение не возвращается к значению, которое мог получить запрос, начатый до сброса.
+ */
+@Component
+public class ResponseCacheStore {
+
+    private final int maxEntries;
+    private final Map<CacheKey, CachedResponse> entries;
+    private final Map<String, Set<String>> keysByUser = new HashMap<>();
+    private final Map<String, Long> generations;
+    private final Counter hits;
+    private final Counter misses;
+    private long generationSequence;
+    private long evictedGeneration;
+
+    public ResponseCacheStore(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.maxEntries = properties.maxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedResponse> eldest) {
+                if (size() <= maxEntries) {
+                    return false;
+                }
+                unindex(eldest.getKey());
+                return true;
+            }
+        };
+        this.generations = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() <= maxEntries) {
+                    return false;
+                }
+                evictedGeneration = Math.max(evictedGeneration, eldest.getValue());
+                return true;
+            }
+        };
+        this.hits = Counter.builder("gateway.response.cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("gateway.response.cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        meterRegistry.gauge("gateway.response.cache.size", this, ResponseCacheStore::size);
+    }
+
+    /**
+     * Возвращает действующий ответ из кэша.
+     *
+     * @param username пользователь, для которого кэшировался ответ.
+     * @param key      путь запроса вместе со строкой параметров.
+     * @return ответ или {@code null}, если его нет или истек срок жизни.
+     */
+    public synchronized CachedResponse get(String username, String key) {
+        CacheKey cacheKey = new CacheKey(username, key);
+        CachedResponse cached = entries.get(cacheKey);
+        if (cached != null && cached.expiresAt() < System.nanoTime()) {
+            entries.remove(cacheKey);
+            unindex(cacheKey);
+            cached = null;
+        }
+        (cached != null ? hits : misses).increment();
+        return cached;
+    }
+
+    /**
+     * Возвращает текущее поколение кэша пользователя.
+     *
+     * @param username пользователь.
+     * @return поколение, которое нужно передать в {@link #put}.
+     */
+    public synchronized long generation(String username) {
+        return generations.getOrDefault(username, evictedGeneration);
+    }
+
+    /**
+     * Сохраняет ответ, если кэш пользователя не сбрасывался с момента запроса.
+     *
+     * @param username   пользователь.
+     * @param key        путь запроса вместе со строкой параметров.
+     * @param response   ответ для сохранения.
+     * @param generation поколение, полученное до отправки запроса в сервис.
+     */
+    public synchronized void put(String username, String key, CachedResponse response, long generation) {
+        if (generation(username) == generation) {
+            keysByUser.computeIfAbsent(username, user -> new HashSet<>()).add(key);
+            entries.put(new CacheKey(username, key), response);
+        }
+    }
+
+    /**
+     * Сбрасывает все ответы пользователя.
+     *
+     * @param username пользователь, данные которого изменились.
+     */
+    public synchronized void invalidate(String username) {
+        generations.put(username, ++generationSequence);
+        Set<String> keys = keysByUser.remove(username);
+        if (keys != null) {
+            keys.forEach(key -> entries.remove(new CacheKey(username, key)));
+        }
+    }
+
+    /**
+     * Возвращает число ответов в кэше.
+     *
+     * @return текущее число записей.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void unindex(CacheKey cacheKey) {
+        Set<String> keys = keysByUser.get(cacheKey.username());
+        if (keys != null && keys.remove(cacheKey.key()) && keys.isEmpty()) {
+            keysByUser.remove(cacheKey.username());
+        }
+    }
+
+    /**
+     * Кэшированный ответ сервиса.
+     *
+     * @param status      HTTP-статус ответа.
+     * @param contentType тип содержимого ответа.
+     * @param body        тело ответа.
+     * @param expiresAt   момент истечения срока жизни по {@link System#nanoTime()}.
+     */
+    public record CachedResponse(HttpStatusCode status, MediaType contentType, byte[] body, long expiresAt) {
+    }
+
+    private record CacheKey(String username, String key) {
+    }
+}
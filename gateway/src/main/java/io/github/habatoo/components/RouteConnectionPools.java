@@ -0,0 +1,83 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.properties.RoutePoolProperties;
+import io.github.habatoo.properties.RoutePoolProperties.Pool;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Отдельные пулы соединений шлюза для каждого маршрута.
+ * <p>
+ * Пул маршрута создается при первом запросе к нему по настройкам {@link RoutePoolProperties}
+ * и называется {@code gateway-<маршрут>}. Медленный сервис исчерпывает только свой пул,
+ * а запросы к остальным сервисам получают соединения из своих. При включенных метриках
+ * Reactor Netty публикует показатели каждого пула ({@code reactor.netty.connection.provider.*}
+ * с тегом {@code name}). Пулы закрываются при остановке приложения.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RouteConnectionPools implements DisposableBean {
+
+    private final RoutePoolProperties properties;
+    private final Map<String, RouteClient> clients = new ConcurrentHashMap<>();
+
+    public RouteConnectionPools(RoutePoolProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Возвращает HTTP-клиент с пулом соединений маршрута.
+     *
+     * @param routeId идентификатор маршрута.
+     * @return клиент, использующий пул маршрута.
+     */
+    public HttpClient client(String routeId) {
+        return clients.computeIfAbsent(routeId, this::createClient).httpClient();
+    }
+
+    /**
+     * Возвращает пул соединений маршрута.
+     *
+     * @param routeId идентификатор маршрута.
+     * @return пул маршрута.
+     */
+    ConnectionProvider provider(String routeId) {
+        return clients.computeIfAbsent(routeId, this::createClient).provider();
+    }
+
+    @Override
+    public void destroy() {
+        clients.values().forEach(client -> client.provider().dispose());
+        clients.clear();
+    }
+
+    private RouteClient createClient(String routeId) {
+        Pool pool = properties.route(routeId);
+        log.info("Создан пул соединений маршрута {}: до {} соединений, до {} ожидающих запросов",
+                routeId, pool.maxConnections(), pool.pendingAcquireMaxCount());
+
+        ConnectionProvider provider = ConnectionProvider.builder("gateway-" + routeId)
+                .maxConnections(pool.maxConnections())
+                .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .evictInBackground(pool.evictionInterval())
+                .metrics(properties.metrics())
+                .build();
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.connectTimeout().toMillis());
+        return new RouteClient(provider, httpClient);
+    }
+
+    private record RouteClient(ConnectionProvider provider, HttpClient httpClient) {
+    }
+}
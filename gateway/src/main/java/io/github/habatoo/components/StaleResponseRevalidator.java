@@ -0,0 +1,51 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.properties.StaleFallbackProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Фоновое обновление ответов, отданных из {@link StaleResponseStore}.
+ * <p>
+ * Повторяет исходный GET-запрос пользователя через сам шлюз ({@code revalidateUrl}), поэтому
+ * обновление проходит через Circuit Breaker маршрута и не нагружает сервис, пока цепь разомкнута.
+ * Когда сервис снова отвечает, успешный ответ сохраняется фильтром последних успешных ответов
+ * так же, как ответ на обычный запрос. Ошибки обновления только логируются.
+ * </p>
+ */
+@Slf4j
+@Component
+public class StaleResponseRevalidator {
+
+    private final WebClient webClient;
+
+    public StaleResponseRevalidator(StaleFallbackProperties properties) {
+        this.webClient = WebClient.builder()
+                .baseUrl(properties.revalidateUrl())
+                .build();
+    }
+
+    /**
+     * Запускает фоновое обновление ответа, не дожидаясь его завершения.
+     *
+     * @param key           путь запроса вместе со строкой параметров.
+     * @param authorization заголовок {@code Authorization} исходного запроса.
+     */
+    public void revalidate(String key, String authorization) {
+        webClient.get()
+                .uri(key)
+                .headers(headers -> {
+                    if (authorization != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    }
+                })
+                .retrieve()
+                .toBodilessEntity()
+                .subscribe(
+                        response -> log.debug("Фоновое обновление {} завершено со статусом {}",
+                                key, response.getStatusCode()),
+                        e -> log.debug("Фоновое обновление {} не удалось: {}", key, e.getMessage()));
+    }
+}
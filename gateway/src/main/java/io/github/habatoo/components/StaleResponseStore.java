@@ -0,0 +1,123 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.properties.StaleFallbackProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Ограниченное хранилище последних успешных ответов сервисов для резервной отдачи.
+ * <p>
+ * Для каждой пары «пользователь + путь» хранится последний успешный ответ; всего не более
+ * {@code maxEntries} ответов, давно не обновлявшиеся вытесняются (LRU). Ответ старше
+ * {@code maxStaleness} не отдается. Для каждого ответа запоминается время последнего фонового
+ * обновления, чтобы во время отказа сервиса обновления шли не чаще {@code revalidateInterval}.
+ * </p>
+ */
+@Component
+public class StaleResponseStore {
+
+    private final StaleFallbackProperties properties;
+    private final Map<String, StaleResponse> entries;
+    private final Counter served;
+
+    public StaleResponseStore(StaleFallbackProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StaleResponse> eldest) {
+                return size() > properties.maxEntries();
+            }
+        };
+        this.served = Counter.builder("gateway.stale.served").register(meterRegistry);
+        meterRegistry.gauge("gateway.stale.size", this, StaleResponseStore::size);
+    }
+
+    /**
+     * Сохраняет успешный ответ сервиса.
+     *
+     * @param username    пользователь, получивший ответ.
+     * @param key         путь запроса вместе со строкой параметров.
+     * @param status      статус ответа.
+     * @param contentType тип содержимого ответа.
+     * @param body        тело ответа.
+     */
+    public synchronized void put(String username, String key, HttpStatusCode status,
+                                 MediaType contentType, byte[] body) {
+        long now = System.nanoTime();
+        entries.put(username + " " + key, new StaleResponse(status, contentType, body, now, now));
+    }
+
+    /**
+     * Возвращает последний успешный ответ, если он не старше {@code maxStaleness}.
+     *
+     * @param username пользователь, для которого сохранялся ответ.
+     * @param key      путь запроса вместе со строкой параметров.
+     * @return сохраненный ответ или пустой {@link Optional}.
+     */
+    public synchronized Optional<StaleResponse> get(String username, String key) {
+        StaleResponse response = entries.get(username + " " + key);
+        if (response == null || response.age().compareTo(properties.maxStaleness()) > 0) {
+            return Optional.empty();
+        }
+        served.increment();
+        return Optional.of(response);
+    }
+
+    /**
+     * Отмечает начало фонового обновления ответа, если предыдущее было достаточно давно.
+     *
+     * @param username пользователь, для которого сохранялся ответ.
+     * @param key      путь запроса вместе со строкой параметров.
+     * @return {@code true}, если обновление нужно выполнить.
+     */
+    public synchronized boolean tryStartRevalidation(String username, String key) {
+        String entryKey = username + " " + key;
+        StaleResponse response = entries.get(entryKey);
+        long now = System.nanoTime();
+        if (response == null || now - response.revalidatedAt() < properties.revalidateInterval().toNanos()) {
+            return false;
+        }
+        entries.put(entryKey, new StaleResponse(response.status(), response.contentType(), response.body(),
+                response.storedAt(), now));
+        return true;
+    }
+
+    /**
+     * Возвращает число сохраненных ответов.
+     *
+     * @return размер хранилища.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Сохраненный успешный ответ.
+     *
+     * @param status        статус ответа.
+     * @param contentType   тип содержимого.
+     * @param body          тело ответа.
+     * @param storedAt      момент получения ответа ({@link System#nanoTime()}).
+     * @param revalidatedAt момент последнего фонового обновления ({@link System#nanoTime()}).
+     */
+    public record StaleResponse(HttpStatusCode status, MediaType contentType, byte[] body,
+                                long storedAt, long revalidatedAt) {
+
+        /**
+         * Возвращает возраст ответа.
+         *
+         * @return время с момента получения ответа.
+         */
+        public Duration age() {
+            return Duration.ofNanos(System.nanoTime() - storedAt);
+        }
+    }
+}
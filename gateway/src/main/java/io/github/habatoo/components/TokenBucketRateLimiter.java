@@ -0,0 +1,138 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.properties.RateLimitProperties;
+import io.github.habatoo.properties.RateLimitProperties.Bucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ограничитель частоты запросов по алгоритму корзины токенов, хранящий состояние в памяти.
+ * <p>
+ * Для каждой пары «клиент + маршрут» ведется своя корзина: запрос забирает один токен,
+ * а токены восполняются с постоянной скоростью до емкости корзины. Число корзин в памяти
+ * не превышает {@code maxKeys}: при добавлении новой корзины сверх лимита вытесняется
+ * давно не использованная (LRU), поэтому поиск корзины не зависит от их числа.
+ * </p>
+ * <p>
+ * Состояние не разделяется между экземплярами шлюза: при нескольких репликах
+ * фактический лимит клиента умножается на их число.
+ * </p>
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+    private static final long NANOS_PER_SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TokenBucket> buckets;
+    private final Map<String, RouteCounters> counters = new ConcurrentHashMap<>();
+
+    public TokenBucketRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > properties.maxKeys();
+            }
+        };
+        meterRegistry.gauge("gateway.ratelimit.buckets", this, TokenBucketRateLimiter::size);
+    }
+
+    /**
+     * Пытается забрать токен из корзины клиента на маршруте.
+     *
+     * @param clientKey идентификатор клиента (субъект JWT или адрес).
+     * @param routeId   идентификатор маршрута шлюза.
+     * @return {@link Duration#ZERO}, если запрос разрешен, иначе время до появления следующего токена.
+     */
+    public Duration tryAcquire(String clientKey, String routeId) {
+        Bucket limits = properties.route(routeId);
+        long now = System.nanoTime();
+
+        TokenBucket bucket = obtainBucket(clientKey + "|" + routeId, limits, now);
+        Duration wait = bucket.tryConsume(now);
+
+        RouteCounters routeCounters = counters.computeIfAbsent(
+                routeId != null ? routeId : "unknown", RouteCounters::new);
+        (wait.isZero() ? routeCounters.allowed() : routeCounters.rejected()).increment();
+        return wait;
+    }
+
+    /**
+     * Возвращает число корзин в памяти.
+     *
+     * @return текущее число корзин.
+     */
+    public synchronized int size() {
+        return buckets.size();
+    }
+
+    private synchronized TokenBucket obtainBucket(String key, Bucket limits, long now) {
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(limits, now));
+    }
+
+    private final class RouteCounters {
+
+        private final Counter allowed;
+        private final Counter rejected;
+
+        private RouteCounters(String routeId) {
+            this.allowed = register(routeId, "allowed");
+            this.rejected = register(routeId, "rejected");
+        }
+
+        private Counter allowed() {
+            return allowed;
+        }
+
+        private Counter rejected() {
+            return rejected;
+        }
+
+        private Counter register(String routeId, String result) {
+            return Counter.builder("gateway.ratelimit.requests")
+                    .tag("route", routeId)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static final class TokenBucket {
+
+        private final double replenishPerNano;
+        private final int capacity;
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(Bucket limits, long now) {
+            this.replenishPerNano = limits.replenishRate() / NANOS_PER_SECOND;
+            this.capacity = limits.burstCapacity();
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        private synchronized Duration tryConsume(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return Duration.ZERO;
+            }
+            return Duration.ofNanos((long) Math.ceil((1 - tokens) / replenishPerNano));
+        }
+
+        private void refill(long now) {
+            if (now > refilledAt) {
+                tokens = Math.min(capacity, tokens + (now - refilledAt) * replenishPerNano);
+                refilledAt = now;
+            }
+        }
+    }
+}
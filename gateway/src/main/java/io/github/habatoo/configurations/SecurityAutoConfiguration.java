@@ -1,10 +1,16 @@
 package io.github.habatoo.configurations;
 
+import io.github.habatoo.properties.JwtCacheProperties;
+import io.github.habatoo.security.CachingJwtAuthenticationManager;
+import io.github.habatoo.security.JwtAuthenticationCache;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtReactiveAuthenticationManager;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
 import static org.springframework.security.config.Customizer.withDefaults;
@@ -31,15 +37,25 @@ public class SecurityAutoConfiguration {
      * <li>Разрешение анонимного доступа к эндпоинтам мониторинга (Actuator).</li>
      * <li>Требование обязательной аутентификации для всех остальных запросов.</li>
      * <li>Кастомная обработка ошибок аутентификации (возврат 401 Unauthorized вместо редиректа).</li>
-     * <li>Поддержка JWT в качестве механизма аутентификации (OAuth2 Resource Server).</li>
+     * <li>Поддержка JWT в качестве механизма аутентификации (OAuth2 Resource Server)
+     * с кэшированием результатов проверки токена до истечения его срока.</li>
      * <li>Активация возможностей OAuth2 Client для взаимодействия с внешними сервисами.</li>
      * </ul>
      *
-     * @param http объект для построения правил безопасности на уровне HTTP-запросов.
+     * @param http                   объект для построения правил безопасности на уровне HTTP-запросов.
+     * @param jwtDecoder             декодер, проверяющий подпись и срок токена.
+     * @param jwtAuthenticationCache кэш проверенных токенов (по умолчанию — кэш с настройками по умолчанию).
      * @return настроенная цепочка фильтров безопасности {@link SecurityWebFilterChain}.
      */
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ReactiveJwtDecoder jwtDecoder,
+                                                         ObjectProvider<JwtAuthenticationCache> jwtAuthenticationCache) {
+        var jwtAuthenticationManager = new CachingJwtAuthenticationManager(
+                new JwtReactiveAuthenticationManager(jwtDecoder),
+                jwtAuthenticationCache.getIfAvailable(() ->
+                        new JwtAuthenticationCache(new JwtCacheProperties(null, null))));
+
         return http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .authorizeExchange(auth -> auth
@@ -52,7 +68,7 @@ public class SecurityAutoConfiguration {
                             return exchange.getResponse().setComplete();
                         })
                 )
-                .oauth2ResourceServer(oauth2 -> oauth2.jwt(withDefaults()))
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.authenticationManager(jwtAuthenticationManager)))
                 .oauth2Client(withDefaults())
                 .build();
     }
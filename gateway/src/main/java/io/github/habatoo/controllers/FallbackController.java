@@ -1,12 +1,28 @@
 package io.github.habatoo.controllers;
 
+import io.github.habatoo.components.StaleResponseRevalidator;
+import io.github.habatoo.components.StaleResponseStore;
+import io.github.habatoo.components.StaleResponseStore.StaleResponse;
+import io.github.habatoo.properties.StaleFallbackProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Set;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR;
+
 /**
  * Резервный контроллер для обработки отказов микросервисов (Fallback Mechanism).
  * <p>
@@ -14,13 +30,27 @@ import reactor.core.publisher.Mono;
  * в случае обнаружения разрыва цепи (Circuit Breaker open state) или превышения
  * времени ожидания (timeout) при вызове смежных сервисов.
  * </p>
+ * <p>
+ * При недоступности сервиса счетов пользователь вместо ошибки получает свой последний успешный ответ
+ * из {@link StaleResponseStore}, помеченный заголовками {@code X-Cache: STALE} и {@code Warning},
+ * а ответ в фоне обновляется через {@link StaleResponseRevalidator} (stale-while-revalidate).
+ * </p>
  *
  * @see <a href="https://resilience4j.readme.io/docs/circuitbreaker">Resilience4j Circuit Breaker</a>
  */
+@Slf4j
 @RestController
+@RequiredArgsConstructor
 @RequestMapping("/fallback")
 public class FallbackController {
 
+    private static final String CACHE_HEADER = "X-Cache";
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private final StaleResponseStore staleResponseStore;
+    private final StaleResponseRevalidator staleResponseRevalidator;
+    private final StaleFallbackProperties properties;
+
     /**
      * Возвращает резервное сообщение при недоступности сервиса кассовых операций (Cash Service).
      * <p>
@@ -38,19 +68,23 @@ public class FallbackController {
     }
 
     /**
-     * Возвращает резервное сообщение при недоступности сервиса управления счетами (Account Service).
+     * Возвращает резервный ответ при недоступности сервиса управления счетами (Account Service).
      * <p>
      * Предотвращает каскадный отказ системы, если операции по запросу данных счета
      * не могут быть выполнены из-за проблем с сетью или базой данных сервиса Account.
+     * Если для пользователя сохранен недавний успешный ответ на тот же запрос, он отдается
+     * с пометкой об устаревании, а в фоне запускается его обновление.
      * </p>
      *
-     * @return {@link Mono} с ответом, содержащим статус 503 (Service Unavailable) и описание ошибки.
+     * @param exchange перенаправленный Circuit Breaker обмен с исходным адресом запроса.
+     * @return {@link Mono} с последним успешным ответом или ответом со статусом 503 (Service Unavailable).
      */
     @GetMapping("/account-unavailable")
-    public Mono<ResponseEntity<String>> accountFallback() {
-        return Mono.just(ResponseEntity
-                .status(HttpStatus.SERVICE_UNAVAILABLE)
-                .body("Сервис по работе со счетом временно недоступен. Попробуйте позже."));
+    public Mono<ResponseEntity<String>> accountFallback(ServerWebExchange exchange) {
+        return serveStale(exchange)
+                .defaultIfEmpty(ResponseEntity
+                        .status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body("Сервис по работе со счетом временно недоступен. Попробуйте позже."));
     }
 
     /**
@@ -68,4 +102,46 @@ public class FallbackController {
                 .status(HttpStatus.SERVICE_UNAVAILABLE)
                 .body("Сервис переводов временно недоступен. Попробуйте позже."));
     }
+
+    private Mono<ResponseEntity<String>> serveStale(ServerWebExchange exchange) {
+        if (!properties.enabled()) {
+            return Mono.empty();
+        }
+        String key = obtainOriginalKey(exchange);
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .flatMap(username -> Mono.justOrEmpty(staleResponseStore.get(username, key))
+                        .map(stale -> {
+                            log.info("Сервис счетов недоступен, для {} отдан сохраненный ответ {} возрастом {}",
+                                    username, key, stale.age());
+                            if (staleResponseStore.tryStartRevalidation(username, key)) {
+                                staleResponseRevalidator.revalidate(key, authorization);
+                            }
+                            return toStaleEntity(stale);
+                        }));
+    }
+
+    private ResponseEntity<String> toStaleEntity(StaleResponse stale) {
+        Charset charset = stale.contentType() != null && stale.contentType().getCharset() != null
+                ? stale.contentType().getCharset()
+                : StandardCharsets.UTF_8;
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stale.status())
+                .header(CACHE_HEADER, "STALE")
+                .header(HttpHeaders.WARNING, STALE_WARNING)
+                .header(HttpHeaders.AGE, String.valueOf(stale.age().toSeconds()));
+        if (stale.contentType() != null) {
+            builder.contentType(stale.contentType());
+        }
+        return builder.body(new String(stale.body(), charset));
+    }
+
+    private String obtainOriginalKey(ServerWebExchange exchange) {
+        Set<URI> originalUris = exchange.getAttribute(GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
+        URI uri = originalUris != null && !originalUris.isEmpty()
+                ? originalUris.iterator().next()
+                : exchange.getRequest().getURI();
+        return uri.getRawQuery() != null ? uri.getRawPath() + "?" + uri.getRawQuery() : uri.getRawPath();
+    }
 }
@@ -0,0 +1,85 @@
+package io.github.habatoo.filters;
+
+import io.github.habatoo.components.AdaptiveConcurrencyLimiter;
+import io.github.habatoo.properties.ConcurrencyLimitProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Optional;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Глобальный фильтр шлюза, ограничивающий число одновременных запросов к маршруту.
+ * <p>
+ * Лимит подбирается {@link AdaptiveConcurrencyLimiter} по задержке ответов сервиса,
+ * поэтому перегрузка отсекается до того, как сработает Circuit Breaker. Запрос сверх лимита
+ * после короткого ожидания получает 503 Service Unavailable с заголовком {@code Retry-After}.
+ * </p>
+ * <p>
+ * Фильтр выполняется после {@link RateLimitFilter}: запросы, отклоненные по частоте,
+ * не занимают места в лимите маршрута.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdaptiveConcurrencyFilter implements GlobalFilter, Ordered {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+    private final ConcurrencyLimitProperties properties;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!properties.enabled() || route == null || !properties.routes().contains(route.getId())) {
+            return chain.filter(exchange);
+        }
+
+        return adaptiveConcurrencyLimiter.acquire(route.getId())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(permit -> {
+                    if (permit.isEmpty()) {
+                        log.debug("Лимит параллельных запросов к маршруту {} исчерпан", route.getId());
+                        return reject(exchange.getResponse());
+                    }
+                    return chain.filter(exchange)
+                            .doFinally(signal -> complete(permit.get(), signal, exchange.getResponse()));
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return 1;
+    }
+
+    private void complete(AdaptiveConcurrencyLimiter.Permit permit, SignalType signal, ServerHttpResponse response) {
+        if (signal == SignalType.CANCEL) {
+            permit.cancel();
+            return;
+        }
+        HttpStatusCode status = response.getStatusCode();
+        permit.release(signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError()));
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        return response.setComplete();
+    }
+}
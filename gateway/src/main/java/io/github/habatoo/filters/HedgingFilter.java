@@ -0,0 +1,229 @@
+package io.github.habatoo.filters;
+
+import io.github.habatoo.configurations.filters.HedgePolicy;
+import io.github.habatoo.properties.HedgingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Глобальный фильтр шлюза, хеджирующий медленные идемпотентные GET-запросы.
+ * <p>
+ * Если сервис не ответил на GET-запрос к пути из {@code spring.hedging.paths} за время
+ * {@link HedgePolicy#hedgeDelay()}, шлюз отправляет вторую копию запроса и отдает клиенту первый
+ * успешный ответ, а второй вызов отменяет. Копии ограничены бюджетом {@link HedgePolicy}; ошибки
+ * и не-2xx ответы копии игнорируются. Задержка основного вызова записывается при получении ответа,
+ * а для отмененного вызова — время до отмены как нижняя граница, чтобы медленные вызовы оставались в выборке.
+ * </p>
+ * <p>
+ * Каждый вызов выполняет оставшуюся часть цепочки со своей копией атрибутов и пишет ответ в буфер,
+ * поэтому фильтр стоит непосредственно перед {@link NettyWriteResponseFilter}, после {@link SingleFlightFilter}.
+ * Метрика {@code gateway.hedge.requests} с тегом {@code result}: {@code sent}, {@code denied}, {@code won}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    private final HedgePolicy hedgePolicy;
+    private final Counter sent;
+    private final Counter denied;
+    private final Counter won;
+
+    public HedgingFilter(HedgingProperties properties, MeterRegistry meterRegistry) {
+        this.hedgePolicy = new HedgePolicy(properties);
+        this.sent = counter(meterRegistry, "sent");
+        this.denied = counter(meterRegistry, "denied");
+        this.won = counter(meterRegistry, "won");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!HttpMethod.GET.equals(request.getMethod()) || !hedgePolicy.applies(request.getPath().value())) {
+            return chain.filter(exchange);
+        }
+
+        return Mono.defer(() -> {
+            hedgePolicy.onRequest();
+            long startedAt = System.nanoTime();
+
+            Mono<CapturedResponse> primary = execute(exchange, chain)
+                    .doFinally(signal -> {
+                        if (signal != SignalType.ON_ERROR) {
+                            hedgePolicy.recordLatency(System.nanoTime() - startedAt);
+                        }
+                    });
+            Mono<CapturedResponse> hedge = Mono.delay(hedgePolicy.hedgeDelay())
+                    .flatMap(tick -> {
+                        if (!hedgePolicy.tryAcquireHedge()) {
+                            denied.increment();
+                            return Mono.never();
+                        }
+                        sent.increment();
+                        log.debug("Запрос {} не получил ответа за {}, отправлена повторная копия",
+                                request.getPath(), hedgePolicy.hedgeDelay());
+                        return execute(exchange, chain)
+                                .filter(captured -> captured.status().is2xxSuccessful())
+                                .switchIfEmpty(Mono.never())
+                                .onErrorResume(e -> Mono.never());
+                    })
+                    .doOnNext(captured -> won.increment());
+
+            return Mono.firstWithSignal(primary, hedge)
+                    .flatMap(captured -> write(exchange.getResponse(), captured));
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    private Mono<CapturedResponse> execute(ServerWebExchange exchange, GatewayFilterChain chain) {
+        CapturingResponse response = new CapturingResponse(exchange.getResponse());
+        Map<String, Object> attributes = new ConcurrentHashMap<>(exchange.getAttributes());
+        ServerWebExchange branch = new ServerWebExchangeDecorator(exchange.mutate().response(response).build()) {
+            @Override
+            public Map<String, Object> getAttributes() {
+                return attributes;
+            }
+        };
+        return chain.filter(branch).then(Mono.fromSupplier(response::capture));
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, CapturedResponse captured) {
+        response.setStatusCode(captured.status());
+        response.getHeaders().putAll(captured.headers());
+        response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        response.getHeaders().setContentLength(captured.body().length);
+        captured.cookies().values().forEach(cookies -> cookies.forEach(response::addCookie));
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(captured.body())));
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.hedge.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ответ одного вызова, записанный в память вместо отправки клиенту.
+     */
+    private static final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final MultiValueMap<String, ResponseCookie> cookies = new LinkedMultiValueMap<>();
+        private volatile HttpStatusCode status;
+        private volatile byte[] body = new byte[0];
+
+        private CapturingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public boolean setStatusCode(HttpStatusCode status) {
+            this.status = status;
+            return true;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public boolean setRawStatusCode(Integer value) {
+            this.status = value != null ? HttpStatusCode.valueOf(value) : null;
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Integer getRawStatusCode() {
+            return status != null ? status.value() : null;
+        }
+
+        @Override
+        public MultiValueMap<String, ResponseCookie> getCookies() {
+            return cookies;
+        }
+
+        @Override
+        public void addCookie(ResponseCookie cookie) {
+            cookies.add(cookie.getName(), cookie);
+        }
+
+        @Override
+        public void beforeCommit(Supplier<? extends Mono<Void>> action) {
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return false;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(Flux.from(body))
+                    .doOnNext(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+                        this.body = bytes;
+                    })
+                    .then();
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWith(Flux.from(body).concatMap(part -> Flux.<DataBuffer>from(part)));
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            return Mono.empty();
+        }
+
+        private CapturedResponse capture() {
+            return new CapturedResponse(status != null ? status : HttpStatus.OK, headers, cookies, body);
+        }
+    }
+
+    private record CapturedResponse(HttpStatusCode status, HttpHeaders headers,
+                                    MultiValueMap<String, ResponseCookie> cookies, byte[] body) {
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.habatoo.filters;
+
+import io.github.habatoo.components.TokenBucketRateLimiter;
+import io.github.habatoo.properties.RateLimitProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.time.Duration;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Глобальный фильтр шлюза, ограничивающий частоту запросов клиента к каждому маршруту.
+ * <p>
+ * Клиент определяется по субъекту JWT, а для анонимных запросов — по адресу отправителя.
+ * Запрос сверх лимита {@link TokenBucketRateLimiter} не передается в сервис: клиент получает
+ * 429 Too Many Requests с заголовком {@code Retry-After}.
+ * </p>
+ * <p>
+ * Фильтр выполняется после {@link ResponseCacheFilter}, поэтому ответы из кэша шлюза
+ * не расходуют лимит клиента.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private final TokenBucketRateLimiter tokenBucketRateLimiter;
+    private final RateLimitProperties properties;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.enabled()) {
+            return chain.filter(exchange);
+        }
+
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : null;
+
+        return obtainClientKey(exchange)
+                .flatMap(clientKey -> {
+                    Duration wait = tokenBucketRateLimiter.tryAcquire(clientKey, routeId);
+                    if (wait.isZero()) {
+                        return chain.filter(exchange);
+                    }
+                    log.debug("Лимит запросов {} к маршруту {} исчерпан, повтор через {}", clientKey, routeId, wait);
+                    return reject(exchange.getResponse(), wait);
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, Duration wait) {
+        long retryAfter = Math.max(1, (wait.toMillis() + 999) / 1000);
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        return response.setComplete();
+    }
+
+    private Mono<String> obtainClientKey(ServerWebExchange exchange) {
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .defaultIfEmpty(obtainAddress(exchange));
+    }
+
+    private String obtainAddress(ServerWebExchange exchange) {
+        InetSocketAddress address = exchange.getRequest().getRemoteAddress();
+        return "ip:" + (address != null ? address.getHostString() : "unknown");
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.habatoo.filters;
+
+import io.github.habatoo.components.ResponseCacheStore;
+import io.github.habatoo.components.ResponseCacheStore.CachedResponse;
+import io.github.habatoo.properties.ResponseCacheProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Глобальный фильтр шлюза, кэширующий ответы на чтение данных счета для каждого пользователя.
+ * <p>
+ * Успешные ответы на GET-запросы к путям из {@code ttl} сохраняются в {@link ResponseCacheStore}
+ * под ключом «пользователь + путь + параметры» и отдаются повторно без обращения к сервису,
+ * пока не истечет их срок жизни. Изменяющий запрос пользователя к путям из {@code invalidatePaths}
+ * сбрасывает его кэш до отправки в сервис и повторно после ответа, чтобы чтение, выполненное
+ * во время операции, не закэшировало устаревшие данные.
+ * </p>
+ * <p>
+ * Фильтр выполняется раньше {@link NettyWriteResponseFilter}, поэтому видит тело ответа сервиса.
+ * Запросы без аутентифицированного пользователя и резервные (устаревшие) ответы не кэшируются.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private static final String CACHE_HEADER = "X-Cache";
+    private static final Set<HttpMethod> MODIFYING_METHODS =
+            Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    private final ResponseCacheStore responseCacheStore;
+    private final ResponseCacheProperties properties;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.enabled()) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+
+        if (HttpMethod.GET.equals(request.getMethod()) && properties.ttl().containsKey(path)) {
+            return obtainUsername(exchange)
+                    .flatMap(username -> username.isEmpty()
+                            ? chain.filter(exchange)
+                            : serveCached(exchange, chain, username, path));
+        }
+        if (MODIFYING_METHODS.contains(request.getMethod()) && properties.invalidatePaths().contains(path)) {
+            return obtainUsername(exchange)
+                    .flatMap(username -> username.isEmpty()
+                            ? chain.filter(exchange)
+                            : invalidateAround(exchange, chain, username));
+        }
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 3;
+    }
+
+    private Mono<Void> serveCached(ServerWebExchange exchange, GatewayFilterChain chain,
+                                   String username, String path) {
+        String query = exchange.getRequest().getURI().getRawQuery();
+        String key = query != null ? path + "?" + query : path;
+
+        CachedResponse cached = responseCacheStore.get(username, key);
+        if (cached != null) {
+            log.debug("Ответ {} для {} отдан из кэша", key, username);
+            return writeCached(exchange.getResponse(), cached);
+        }
+
+        long generation = responseCacheStore.generation(username);
+        Duration ttl = properties.ttl().get(path);
+        ServerHttpResponse response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                HttpStatusCode status = getStatusCode();
+                if (status == null || !status.is2xxSuccessful() || getHeaders().containsKey(CACHE_HEADER)) {
+                    return super.writeWith(body);
+                }
+                return DataBufferUtils.join(Flux.from(body))
+                        .defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+                        .flatMap(joined -> {
+                            byte[] bytes = new byte[joined.readableByteCount()];
+                            joined.read(bytes);
+                            DataBufferUtils.release(joined);
+                            responseCacheStore.put(username, key, new CachedResponse(
+                                    status, getHeaders().getContentType(), bytes,
+                                    System.nanoTime() + ttl.toNanos()), generation);
+                            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                        });
+            }
+        };
+
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    private Mono<Void> invalidateAround(ServerWebExchange exchange, GatewayFilterChain chain, String username) {
+        responseCacheStore.invalidate(username);
+        return chain.filter(exchange)
+                .doFinally(signal -> responseCacheStore.invalidate(username));
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached) {
+        response.setStatusCode(cached.status());
+        if (cached.contentType() != null) {
+            response.getHeaders().setContentType(cached.contentType());
+        }
+        response.getHeaders().set(CACHE_HEADER, "HIT");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private Mono<String> obtainUsername(ServerWebExchange exchange) {
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .defaultIfEmpty("");
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.habatoo.filters;
+
+import io.github.habatoo.components.RouteConnectionPools;
+import io.github.habatoo.properties.RoutePoolProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * Маршрутизирующий фильтр шлюза, отправляющий запросы каждого маршрута через собственный пул соединений.
+ * <p>
+ * Повторяет поведение стандартного {@link NettyRoutingFilter} (заголовки, таймауты, запись ответа),
+ * но берет HTTP-клиент из {@link RouteConnectionPools}. Стандартный фильтр отключен в application.yml;
+ * если он все же зарегистрирован, этот фильтр выполняется раньше и помечает запрос как отправленный.
+ * При выключенных пулах используется общий клиент шлюза.
+ * </p>
+ */
+@Component
+public class RoutePoolRoutingFilter extends NettyRoutingFilter {
+
+    private final RouteConnectionPools routeConnectionPools;
+    private final RoutePoolProperties properties;
+
+    public RoutePoolRoutingFilter(HttpClient httpClient,
+                                  ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                  HttpClientProperties httpClientProperties,
+                                  RouteConnectionPools routeConnectionPools,
+                                  RoutePoolProperties properties) {
+        super(httpClient, headersFiltersProvider, httpClientProperties);
+        this.routeConnectionPools = routeConnectionPools;
+        this.properties = properties;
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        if (!properties.enabled()) {
+            return super.getHttpClient(route, exchange);
+        }
+        return routeConnectionPools.client(route.getId());
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.habatoo.filters;
+
+import io.github.habatoo.properties.SingleFlightProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Глобальный фильтр шлюза, объединяющий одинаковые одновременные GET-запросы (single-flight).
+ * <p>
+ * Первый запрос пользователя к пути из {@code paths} уходит в сервис, а такие же запросы,
+ * пришедшие до его завершения (двойной клик, несколько вкладок), ждут и получают копию его ответа.
+ * Если первый запрос завершился ошибкой, ожидающие выполняют запрос самостоятельно.
+ * Ответы не хранятся после завершения запроса — за повторное использование отвечает {@link ResponseCacheFilter}.
+ * </p>
+ * <p>
+ * Фильтр выполняется после кэша ответов и до {@link NettyWriteResponseFilter}, поэтому видит тело ответа сервиса.
+ * </p>
+ */
+@Slf4j
+@Component
+public class SingleFlightFilter implements GlobalFilter, Ordered {
+
+    private final SingleFlightProperties properties;
+    private final Counter coalesced;
+    private final Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlightFilter(SingleFlightProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.coalesced = Counter.builder("gateway.singleflight.coalesced").register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+
+        if (!properties.enabled() || !HttpMethod.GET.equals(request.getMethod())
+                || !properties.paths().contains(path)) {
+            return chain.filter(exchange);
+        }
+
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .defaultIfEmpty("")
+                .flatMap(username -> {
+                    if (username.isEmpty()) {
+                        return chain.filter(exchange);
+                    }
+                    String query = request.getURI().getRawQuery();
+                    String key = username + " " + (query != null ? path + "?" + query : path);
+                    Sinks.One<SharedResponse> flight = Sinks.one();
+                    Sinks.One<SharedResponse> existing = inFlight.putIfAbsent(key, flight);
+                    return existing != null
+                            ? follow(exchange, chain, existing)
+                            : lead(exchange, chain, key, flight);
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain,
+                            String key, Sinks.One<SharedResponse> flight) {
+        ServerHttpResponse response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return DataBufferUtils.join(Flux.from(body))
+                        .defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+                        .flatMap(joined -> {
+                            byte[] bytes = new byte[joined.readableByteCount()];
+                            joined.read(bytes);
+                            DataBufferUtils.release(joined);
+                            inFlight.remove(key, flight);
+                            flight.tryEmitValue(new SharedResponse(
+                                    getStatusCode(), getHeaders().getContentType(), bytes));
+                            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                        });
+            }
+        };
+
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, flight);
+                    flight.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain,
+                              Sinks.One<SharedResponse> flight) {
+        return flight.asMono()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(shared -> {
+                    if (shared.isEmpty()) {
+                        return chain.filter(exchange);
+                    }
+                    coalesced.increment();
+                    log.debug("Запрос {} объединен с уже выполняющимся", exchange.getRequest().getPath());
+                    return write(exchange.getResponse(), shared.get());
+                });
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        if (shared.contentType() != null) {
+            response.getHeaders().setContentType(shared.contentType());
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private record SharedResponse(HttpStatusCode status, MediaType contentType, byte[] body) {
+    }
+}
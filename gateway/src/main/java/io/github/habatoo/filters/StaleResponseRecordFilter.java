@@ -0,0 +1,95 @@
+package io.github.habatoo.filters;
+
+import io.github.habatoo.components.StaleResponseStore;
+import io.github.habatoo.properties.StaleFallbackProperties;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+
+/**
+ * Глобальный фильтр шлюза, сохраняющий последние успешные ответы сервисов для резервной отдачи.
+ * <p>
+ * Успешные ответы на GET-запросы пользователя к путям из {@code paths} записываются
+ * в {@link StaleResponseStore}; при отказе сервиса их отдает {@code FallbackController}.
+ * Ответы с заголовком {@code X-Cache} (из кэша шлюза или уже устаревшие) не записываются,
+ * чтобы резервный ответ не выдавался за свежий.
+ * </p>
+ * <p>
+ * Фильтр выполняется раньше {@link ResponseCacheFilter} и {@link NettyWriteResponseFilter},
+ * поэтому видит тело ответа сервиса.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class StaleResponseRecordFilter implements GlobalFilter, Ordered {
+
+    private static final String CACHE_HEADER = "X-Cache";
+
+    private final StaleResponseStore staleResponseStore;
+    private final StaleFallbackProperties properties;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+
+        if (!properties.enabled() || !HttpMethod.GET.equals(request.getMethod())
+                || !properties.paths().contains(path)) {
+            return chain.filter(exchange);
+        }
+
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .defaultIfEmpty("")
+                .flatMap(username -> {
+                    if (username.isEmpty()) {
+                        return chain.filter(exchange);
+                    }
+                    String query = request.getURI().getRawQuery();
+                    String key = query != null ? path + "?" + query : path;
+                    return chain.filter(exchange.mutate().response(record(exchange, username, key)).build());
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 4;
+    }
+
+    private ServerHttpResponse record(ServerWebExchange exchange, String username, String key) {
+        return new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                HttpStatusCode status = getStatusCode();
+                if (status == null || !status.is2xxSuccessful() || getHeaders().containsKey(CACHE_HEADER)) {
+                    return super.writeWith(body);
+                }
+                return DataBufferUtils.join(Flux.from(body))
+                        .defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+                        .flatMap(joined -> {
+                            byte[] bytes = new byte[joined.readableByteCount()];
+                            joined.read(bytes);
+                            DataBufferUtils.release(joined);
+                            staleResponseStore.put(username, key, status, getHeaders().getContentType(), bytes);
+                            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                        });
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.habatoo.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Класс для биндинга настроек адаптивного ограничения параллелизма маршрутов шлюза.
+ * <p>
+ * Связывает свойства с префиксом "spring.gateway.concurrency-limit" из application.yml.
+ * Незаданные параметры заполняются значениями по умолчанию.
+ *
+ * @param enabled       признак включения ограничения.
+ * @param routes        идентификаторы маршрутов, для которых ведется лимит.
+ * @param initialLimit  начальный лимит одновременных запросов маршрута.
+ * @param minLimit      нижняя граница лимита.
+ * @param maxLimit      верхняя граница лимита.
+ * @param smoothing     доля нового значения при сглаживании лимита (0..1].
+ * @param tolerance     допустимый рост задержки относительно долгосрочной, при котором лимит не снижается.
+ * @param rttWindow     число замеров, по которым усредняется долгосрочная задержка.
+ * @param backoffRatio  множитель лимита при ошибке или таймауте сервиса.
+ * @param queueCapacity максимальное число запросов, ожидающих освобождения лимита.
+ * @param queueTimeout  максимальное время ожидания в очереди, после которого запрос отклоняется.
+ */
+@ConfigurationProperties(prefix = "spring.gateway.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        Boolean enabled,
+        List<String> routes,
+        Integer initialLimit,
+        Integer minLimit,
+        Integer maxLimit,
+        Double smoothing,
+        Double tolerance,
+        Integer rttWindow,
+        Double backoffRatio,
+        Integer queueCapacity,
+        Duration queueTimeout
+) {
+
+    public ConcurrencyLimitProperties {
+        enabled = enabled != null ? enabled : true;
+        routes = routes != null ? List.copyOf(routes) : List.of("account-service", "cash-service", "transfer-service");
+        initialLimit = initialLimit != null ? initialLimit : 20;
+        minLimit = minLimit != null ? minLimit : 4;
+        maxLimit = maxLimit != null ? maxLimit : 200;
+        smoothing = smoothing != null ? smoothing : 0.2;
+        tolerance = tolerance != null ? tolerance : 1.5;
+        rttWindow = rttWindow != null ? rttWindow : 100;
+        backoffRatio = backoffRatio != null ? backoffRatio : 0.9;
+        queueCapacity = queueCapacity != null ? queueCapacity : 50;
+        queueTimeout = queueTimeout != null ? queueTimeout : Duration.ofMillis(50);
+    }
+}
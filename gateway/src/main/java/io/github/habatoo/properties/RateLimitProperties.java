@@ -0,0 +1,59 @@
+package io.github.habatoo.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Класс для биндинга настроек ограничения частоты запросов в шлюзе.
+ * <p>
+ * Связывает свойства с префиксом "spring.gateway.rate-limit" из application.yml.
+ * Для маршрутов, не перечисленных в {@code routes}, используются настройки {@code defaults}.
+ *
+ * @param enabled  признак включения ограничения.
+ * @param maxKeys  максимальное число корзин в памяти; сверх него вытесняется давно не использованная корзина.
+ * @param defaults настройки корзины по умолчанию.
+ * @param routes   настройки корзины для отдельных маршрутов (ключ — идентификатор маршрута).
+ */
+@ConfigurationProperties(prefix = "spring.gateway.rate-limit")
+public record RateLimitProperties(
+        Boolean enabled,
+        Integer maxKeys,
+        Bucket defaults,
+        Map<String, Bucket> routes
+) {
+
+    public RateLimitProperties {
+        enabled = enabled != null ? enabled : true;
+        maxKeys = maxKeys != null ? maxKeys : 100_000;
+        defaults = defaults != null ? defaults : new Bucket(null, null);
+        routes = routes != null ? Map.copyOf(routes) : Map.of();
+    }
+
+    /**
+     * Возвращает настройки корзины маршрута.
+     *
+     * @param routeId идентификатор маршрута.
+     * @return настройки маршрута или настройки по умолчанию.
+     */
+    public Bucket route(String routeId) {
+        return routeId != null ? routes.getOrDefault(routeId, defaults) : defaults;
+    }
+
+    /**
+     * Настройки одной корзины токенов.
+     *
+     * @param replenishRate  число токенов, добавляемых в корзину в секунду.
+     * @param burstCapacity  максимальное число токенов в корзине (допустимый всплеск).
+     */
+    public record Bucket(
+            Double replenishRate,
+            Integer burstCapacity
+    ) {
+
+        public Bucket {
+            replenishRate = replenishRate != null ? replenishRate : 20.0;
+            burstCapacity = burstCapacity != null ? burstCapacity : 40;
+        }
+    }
+}
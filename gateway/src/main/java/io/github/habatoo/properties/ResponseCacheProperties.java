@@ -0,0 +1,42 @@
+package io.github.habatoo.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Класс для биндинга настроек кэша ответов шлюза.
+ * <p>
+ * Связывает свойства с префиксом "spring.gateway.response-cache" из application.yml.
+ * Незаданные параметры заполняются значениями по умолчанию.
+ *
+ * @param enabled         признак включения кэша.
+ * @param maxEntries      максимальное число кэшированных ответов (по всем пользователям).
+ * @param ttl             время жизни ответа для каждого кэшируемого пути GET.
+ * @param invalidatePaths пути, изменяющий запрос к которым сбрасывает кэш пользователя.
+ */
+@ConfigurationProperties(prefix = "spring.gateway.response-cache")
+public record ResponseCacheProperties(
+        Boolean enabled,
+        Integer maxEntries,
+        Map<String, Duration> ttl,
+        List<String> invalidatePaths
+) {
+
+    public ResponseCacheProperties {
+        enabled = enabled != null ? enabled : true;
+        maxEntries = maxEntries != null ? maxEntries : 10_000;
+        ttl = ttl != null ? Map.copyOf(ttl) : Map.of(
+                "/api/main/dashboard", Duration.ofSeconds(5),
+                "/api/main/user", Duration.ofSeconds(5),
+                "/api/main/users", Duration.ofSeconds(30));
+        invalidatePaths = invalidatePaths != null ? List.copyOf(invalidatePaths) : List.of(
+                "/api/main/cash",
+                "/api/main/transfer",
+                "/api/main/self-transfer",
+                "/api/account/open-account",
+                "/api/account/update");
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.habatoo.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Класс для биндинга настроек пулов соединений шлюза с сервисами.
+ * <p>
+ * Связывает свойства с префиксом "spring.gateway.route-pools" из application.yml.
+ * Каждый маршрут получает собственный пул. Параметры, заданные в {@code routes} для маршрута,
+ * накладываются на {@code defaults}; незаданные параметры маршрута берутся из {@code defaults},
+ * а незаданные в {@code defaults} — из значений по умолчанию.
+ *
+ * @param enabled  признак включения отдельных пулов (иначе используется общий пул шлюза).
+ * @param metrics  признак публикации метрик пулов в Micrometer.
+ * @param defaults настройки пула по умолчанию.
+ * @param routes   настройки пула для отдельных маршрутов (ключ — идентификатор маршрута).
+ */
+@ConfigurationProperties(prefix = "spring.gateway.route-pools")
+public record RoutePoolProperties(
+        Boolean enabled,
+        Boolean metrics,
+        Pool defaults,
+        Map<String, Pool> routes
+) {
+
+    public RoutePoolProperties {
+        enabled = enabled != null ? enabled : true;
+        metrics = metrics != null ? metrics : true;
+        defaults = defaults != null ? defaults.withDefaults(Pool.standard()) : Pool.standard();
+        routes = routes != null ? Map.copyOf(routes) : Map.of();
+    }
+
+    /**
+     * Возвращает настройки пула маршрута.
+     *
+     * @param routeId идентификатор маршрута.
+     * @return настройки маршрута, дополненные настройками по умолчанию.
+     */
+    public Pool route(String routeId) {
+        Pool pool = routes.get(routeId);
+        return pool != null ? pool.withDefaults(defaults) : defaults;
+    }
+
+    /**
+     * Настройки одного пула соединений.
+     *
+     * @param maxConnections         максимальное число соединений с сервисом.
+     * @param pendingAcquireMaxCount максимальное число запросов, ожидающих свободного соединения.
+     * @param pendingAcquireTimeout  максимальное время ожидания свободного соединения.
+     * @param maxIdleTime            время простоя, после которого соединение закрывается.
+     * @param maxLifeTime            максимальное время жизни соединения.
+     * @param evictionInterval       период фоновой проверки простаивающих соединений.
+     * @param connectTimeout         таймаут установки соединения.
+     */
+    public record Pool(
+            Integer maxConnections,
+            Integer pendingAcquireMaxCount,
+            Duration pendingAcquireTimeout,
+            Duration maxIdleTime,
+            Duration maxLifeTime,
+            Duration evictionInterval,
+            Duration connectTimeout
+    ) {
+
+        /**
+         * Настройки пула со значениями по умолчанию.
+         *
+         * @return пул со всеми заданными параметрами.
+         */
+        public static Pool standard() {
+            return new Pool(100, 200, Duration.ofSeconds(5), Duration.ofSeconds(30), Duration.ofMinutes(5),
+                    Duration.ofSeconds(30), Duration.ofSeconds(2));
+        }
+
+        /**
+         * Дополняет незаданные параметры пула значениями из другого пула.
+         *
+         * @param defaults пул, из которого берутся незаданные параметры.
+         * @return пул, в котором заданные параметры сохранены, а остальные взяты из {@code defaults}.
+         */
+        public Pool withDefaults(Pool defaults) {
+            return new Pool(
+                    maxConnections != null ? maxConnections : defaults.maxConnections(),
+                    pendingAcquireMaxCount != null ? pendingAcquireMaxCount : defaults.pendingAcquireMaxCount(),
+                    pendingAcquireTimeout != null ? pendingAcquireTimeout : defaults.pendingAcquireTimeout(),
+                    maxIdleTime != null ? maxIdleTime : defaults.maxIdleTime(),
+                    maxLifeTime != null ? maxLifeTime : defaults.maxLifeTime(),
+                    evictionInterval != null ? evictionInterval : defaults.evictionInterval(),
+                    connectTimeout != null ? connectTimeout : defaults.connectTimeout());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.habatoo.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Класс для биндинга настроек объединения одинаковых одновременных запросов в шлюзе.
+ * <p>
+ * Связывает свойства с префиксом "spring.gateway.single-flight" из application.yml.
+ * Незаданные параметры заполняются значениями по умолчанию.
+ *
+ * @param enabled признак включения объединения.
+ * @param paths   пути GET-запросов, для которых запросы объединяются.
+ */
+@ConfigurationProperties(prefix = "spring.gateway.single-flight")
+public record SingleFlightProperties(
+        Boolean enabled,
+        List<String> paths
+) {
+
+    public SingleFlightProperties {
+        enabled = enabled != null ? enabled : true;
+        paths = paths != null ? List.copyOf(paths) : List.of("/api/main/dashboard", "/api/main/user", "/api/main/users");
+    }
+}
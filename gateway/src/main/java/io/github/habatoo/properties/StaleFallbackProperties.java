@@ -0,0 +1,39 @@
+package io.github.habatoo.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Класс для биндинга настроек резервных ответов из последних успешных (stale-while-revalidate).
+ * <p>
+ * Связывает свойства с префиксом "spring.gateway.stale-fallback" из application.yml.
+ * Незаданные параметры заполняются значениями по умолчанию.
+ *
+ * @param enabled            признак включения резервных ответов.
+ * @param paths              пути GET-запросов, последние успешные ответы которых сохраняются.
+ * @param maxEntries         максимальное число сохраненных ответов.
+ * @param maxStaleness       максимальный возраст ответа, который еще можно отдать вместо ошибки.
+ * @param revalidateInterval минимальный интервал между фоновыми обновлениями одного ответа.
+ * @param revalidateUrl      адрес шлюза, через который выполняется фоновое обновление.
+ */
+@ConfigurationProperties(prefix = "spring.gateway.stale-fallback")
+public record StaleFallbackProperties(
+        Boolean enabled,
+        List<String> paths,
+        Integer maxEntries,
+        Duration maxStaleness,
+        Duration revalidateInterval,
+        String revalidateUrl
+) {
+
+    public StaleFallbackProperties {
+        enabled = enabled != null ? enabled : true;
+        paths = paths != null ? List.copyOf(paths) : List.of("/api/main/dashboard", "/api/main/user", "/api/main/users");
+        maxEntries = maxEntries != null ? maxEntries : 10_000;
+        maxStaleness = maxStaleness != null ? maxStaleness : Duration.ofMinutes(10);
+        revalidateInterval = revalidateInterval != null ? revalidateInterval : Duration.ofSeconds(5);
+        revalidateUrl = revalidateUrl != null ? revalidateUrl : "http://localhost:8080";
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.properties.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link AdaptiveConcurrencyLimiter}.
+ * Проверяют выдачу разрешений, очередь ожидания, подстройку лимита по задержке и метрики.
+ */
+@DisplayName("Проверка адаптивного ограничителя параллелизма AdaptiveConcurrencyLimiter")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long RTT_10_MS = Duration.ofMillis(10).toNanos();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Запрос сверх лимита при пустой очереди сразу отклоняется")
+    void acquireRejectsOverLimitTest() {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(2, 0, Duration.ofMillis(50));
+
+        acquireAll(limiter, 2);
+
+        StepVerifier.create(limiter.acquire("cash-service"))
+                .verifyComplete();
+        assertThat(meterRegistry.get("gateway.concurrency.rejected")
+                .tag("route", "cash-service").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.concurrency.inflight")
+                .tag("route", "cash-service").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Запрос из очереди получает разрешение после освобождения места")
+    void acquireGrantsQueuedRequestOnReleaseTest() {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(1, 1, Duration.ofSeconds(5));
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll(limiter, 1);
+
+        StepVerifier.create(limiter.acquire("cash-service"))
+                .then(() -> permits.get(0).release(RTT_10_MS, false))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Запрос из очереди отклоняется по таймауту ожидания")
+    void acquireRejectsQueuedRequestOnTimeoutTest() {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(1, 1, Duration.ofMillis(20));
+        acquireAll(limiter, 1);
+
+        StepVerifier.create(limiter.acquire("cash-service"))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        assertThat(meterRegistry.get("gateway.concurrency.rejected")
+                .tag("route", "cash-service").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.concurrency.queued")
+                .tag("route", "cash-service").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("При стабильной задержке лимит растет, при росте задержки снижается")
+    void limitFollowsLatencyTest() {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(10, 0, Duration.ofMillis(50));
+
+        for (int round = 0; round < 5; round++) {
+            acquireAll(limiter, limiter.limit("cash-service"))
+                    .forEach(permit -> permit.release(RTT_10_MS, false));
+        }
+        int grown = limiter.limit("cash-service");
+        assertThat(grown).isGreaterThan(10);
+
+        acquireAll(limiter, grown).forEach(permit -> permit.release(RTT_10_MS * 10, false));
+
+        assertThat(limiter.limit("cash-service")).isLessThan(grown);
+    }
+
+    @Test
+    @DisplayName("Ошибка сервиса снижает лимит, но не ниже минимального")
+    void dropReducesLimitTest() {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(10, 0, Duration.ofMillis(50));
+
+        acquireAll(limiter, 1).get(0).release(RTT_10_MS, true);
+        assertThat(limiter.limit("cash-service")).isEqualTo(9);
+
+        for (int i = 0; i < 50; i++) {
+            acquireAll(limiter, 1).get(0).release(RTT_10_MS, true);
+        }
+        assertThat(limiter.limit("cash-service")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Повторный возврат разрешения не освобождает лишнее место")
+    void releaseIsIdempotentTest() {
+        AdaptiveConcurrencyLimiter limiter = createLimiter(2, 0, Duration.ofMillis(50));
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll(limiter, 2);
+
+        permits.get(0).cancel();
+        permits.get(0).cancel();
+
+        assertThat(meterRegistry.get("gateway.concurrency.inflight")
+                .tag("route", "cash-service").gauge().value()).isEqualTo(1);
+    }
+
+    private List<AdaptiveConcurrencyLimiter.Permit> acquireAll(AdaptiveConcurrencyLimiter limiter, int count) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire("cash-service").block();
+            assertThat(permit).isNotNull();
+            permits.add(permit);
+        }
+        return permits;
+    }
+
+    private AdaptiveConcurrencyLimiter createLimiter(int initialLimit, int queueCapacity, Duration queueTimeout) {
+        return new AdaptiveConcurrencyLimiter(new ConcurrencyLimitProperties(
+                true, null, initialLimit, 2, 100, null, null, null, null, queueCapacity, queueTimeout),
+                meterRegistry);
+    }
+}
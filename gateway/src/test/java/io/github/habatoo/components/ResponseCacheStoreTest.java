@@ -0,0 +1,126 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.components.ResponseCacheStore.CachedResponse;
+import io.github.habatoo.properties.ResponseCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link ResponseCacheStore}.
+ * Проверяют срок жизни, вытеснение по размеру и сброс кэша пользователя.
+ */
+@DisplayName("Проверка хранилища ответов шлюза ResponseCacheStore")
+class ResponseCacheStoreTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Сохраненный ответ возвращается до истечения срока жизни")
+    void getReturnsStoredResponseTest() {
+        ResponseCacheStore store = createStore(10);
+
+        store.put("user1", "/api/main/user", response(Duration.ofMinutes(1)), store.generation("user1"));
+
+        assertThat(store.get("user1", "/api/main/user")).isNotNull();
+        assertThat(store.get("user2", "/api/main/user")).isNull();
+        assertThat(meterRegistry.get("gateway.response.cache.requests").tag("result", "hit").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Просроченный ответ не возвращается и удаляется")
+    void getSkipsExpiredResponseTest() {
+        ResponseCacheStore store = createStore(10);
+
+        store.put("user1", "/api/main/user", response(Duration.ofNanos(-1)), store.generation("user1"));
+
+        assertThat(store.get("user1", "/api/main/user")).isNull();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("При превышении размера вытесняется давно не запрошенный ответ")
+    void putEvictsLeastRecentlyUsedTest() {
+        ResponseCacheStore store = createStore(2);
+
+        store.put("user1", "/api/main/user", response(Duration.ofMinutes(1)), 0);
+        store.put("user2", "/api/main/user", response(Duration.ofMinutes(1)), 0);
+        store.get("user1", "/api/main/user");
+        store.put("user3", "/api/main/user", response(Duration.ofMinutes(1)), 0);
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.get("user1", "/api/main/user")).isNotNull();
+        assertThat(store.get("user2", "/api/main/user")).isNull();
+    }
+
+    @Test
+    @DisplayName("Сброс удаляет ответы только этого пользователя")
+    void invalidateRemovesOnlyUserEntriesTest() {
+        ResponseCacheStore store = createStore(10);
+        store.put("user1", "/api/main/user", response(Duration.ofMinutes(1)), 0);
+        store.put("user1", "/api/main/users", response(Duration.ofMinutes(1)), 0);
+        store.put("user2", "/api/main/user", response(Duration.ofMinutes(1)), 0);
+
+        store.invalidate("user1");
+
+        assertThat(store.get("user1", "/api/main/user")).isNull();
+        assertThat(store.get("user1", "/api/main/users")).isNull();
+        assertThat(store.get("user2", "/api/main/user")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Ответ, запрошенный до сброса, не сохраняется")
+    void putIgnoresResponseFromPreviousGenerationTest() {
+        ResponseCacheStore store = createStore(10);
+        long generation = store.generation("user1");
+
+        store.invalidate("user1");
+        store.put("user1", "/api/main/user", response(Duration.ofMinutes(1)), generation);
+
+        assertThat(store.get("user1", "/api/main/user")).isNull();
+    }
+
+    @Test
+    @DisplayName("После вытеснения поколения ответ, запрошенный до сброса, не сохраняется")
+    void putIgnoresResponseFromPreviousGenerationAfterEvictionTest() {
+        ResponseCacheStore store = createStore(1);
+        long generation = store.generation("user1");
+
+        store.invalidate("user1");
+        store.invalidate("user2");
+        store.put("user1", "/api/main/user", response(Duration.ofMinutes(1)), generation);
+
+        assertThat(store.get("user1", "/api/main/user")).isNull();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Вытесненный по размеру ответ не мешает сбросу кэша пользователя")
+    void invalidateAfterEvictionTest() {
+        ResponseCacheStore store = createStore(1);
+        store.put("user1", "/api/main/user", response(Duration.ofMinutes(1)), store.generation("user1"));
+        store.put("user1", "/api/main/users", response(Duration.ofMinutes(1)), store.generation("user1"));
+
+        store.invalidate("user1");
+
+        assertThat(store.size()).isZero();
+        store.put("user1", "/api/main/user", response(Duration.ofMinutes(1)), store.generation("user1"));
+        assertThat(store.get("user1", "/api/main/user")).isNotNull();
+    }
+
+    private ResponseCacheStore createStore(int maxEntries) {
+        return new ResponseCacheStore(new ResponseCacheProperties(true, maxEntries, null, null), meterRegistry);
+    }
+
+    private CachedResponse response(Duration ttl) {
+        return new CachedResponse(HttpStatus.OK, MediaType.APPLICATION_JSON, "{}".getBytes(),
+                System.nanoTime() + ttl.toNanos());
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.properties.RoutePoolProperties;
+import io.github.habatoo.properties.RoutePoolProperties.Pool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link RouteConnectionPools}.
+ * Проверяют создание отдельного пула для каждого маршрута и применение настроек.
+ */
+@DisplayName("Проверка пулов соединений маршрутов RouteConnectionPools")
+class RouteConnectionPoolsTest {
+
+    private final RouteConnectionPools pools = new RouteConnectionPools(new RoutePoolProperties(true, false,
+            new Pool(10, null, null, null, null, null, null),
+            Map.of("transfer-service", new Pool(3, null, null, null, null, null, null))));
+
+    @AfterEach
+    void tearDown() {
+        pools.destroy();
+    }
+
+    @Test
+    @DisplayName("Каждый маршрут получает собственный пул, повторный запрос возвращает тот же")
+    void providerIsIsolatedPerRouteTest() {
+        ConnectionProvider account = pools.provider("account-service");
+        ConnectionProvider transfer = pools.provider("transfer-service");
+
+        assertThat(account).isNotSameAs(transfer);
+        assertThat(pools.provider("account-service")).isSameAs(account);
+        assertThat(pools.client("account-service")).isSameAs(pools.client("account-service"));
+    }
+
+    @Test
+    @DisplayName("Пул маршрута настраивается из его секции, остальные — из настроек по умолчанию")
+    void providerUsesRouteSettingsTest() {
+        assertThat(pools.provider("transfer-service").maxConnections()).isEqualTo(3);
+        assertThat(pools.provider("cash-service").maxConnections()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("При остановке пулы закрываются")
+    void destroyDisposesProvidersTest() {
+        ConnectionProvider account = pools.provider("account-service");
+
+        pools.destroy();
+
+        assertThat(account.isDisposed()).isTrue();
+    }
+}
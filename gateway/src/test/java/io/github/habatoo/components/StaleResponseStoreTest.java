@@ -0,0 +1,87 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.properties.StaleFallbackProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link StaleResponseStore}.
+ * Проверяют хранение последних успешных ответов, срок их годности, вытеснение и частоту обновлений.
+ */
+@DisplayName("Проверка хранилища резервных ответов StaleResponseStore")
+class StaleResponseStoreTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Сохраненный ответ отдается только своему пользователю")
+    void getReturnsStoredResponseTest() {
+        StaleResponseStore store = createStore(10, Duration.ofMinutes(10), Duration.ofSeconds(5));
+
+        store.put("user1", "/api/main/user", HttpStatus.OK, MediaType.APPLICATION_JSON, body("{\"login\":\"user1\"}"));
+
+        assertThat(store.get("user1", "/api/main/user")).hasValueSatisfying(stale -> {
+            assertThat(stale.status()).isEqualTo(HttpStatus.OK);
+            assertThat(stale.contentType()).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThat(new String(stale.body(), StandardCharsets.UTF_8)).isEqualTo("{\"login\":\"user1\"}");
+        });
+        assertThat(store.get("user2", "/api/main/user")).isEmpty();
+        assertThat(meterRegistry.get("gateway.stale.served").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Ответ старше максимального возраста не отдается")
+    void getSkipsTooOldResponseTest() throws InterruptedException {
+        StaleResponseStore store = createStore(10, Duration.ofMillis(10), Duration.ofSeconds(5));
+        store.put("user1", "/api/main/user", HttpStatus.OK, MediaType.APPLICATION_JSON, body("{}"));
+
+        Thread.sleep(30);
+
+        assertThat(store.get("user1", "/api/main/user")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("При превышении размера вытесняется давно не использованный ответ")
+    void putEvictsLeastRecentlyUsedTest() {
+        StaleResponseStore store = createStore(2, Duration.ofMinutes(10), Duration.ofSeconds(5));
+
+        store.put("user1", "/api/main/user", HttpStatus.OK, null, body("1"));
+        store.put("user2", "/api/main/user", HttpStatus.OK, null, body("2"));
+        store.get("user1", "/api/main/user");
+        store.put("user3", "/api/main/user", HttpStatus.OK, null, body("3"));
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.get("user1", "/api/main/user")).isPresent();
+        assertThat(store.get("user2", "/api/main/user")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Фоновое обновление запускается не чаще заданного интервала")
+    void tryStartRevalidationRespectsIntervalTest() throws InterruptedException {
+        StaleResponseStore store = createStore(10, Duration.ofMinutes(10), Duration.ofMillis(20));
+        store.put("user1", "/api/main/user", HttpStatus.OK, null, body("{}"));
+
+        assertThat(store.tryStartRevalidation("user1", "/api/main/user")).isFalse();
+        Thread.sleep(40);
+        assertThat(store.tryStartRevalidation("user1", "/api/main/user")).isTrue();
+        assertThat(store.tryStartRevalidation("user1", "/api/main/user")).isFalse();
+        assertThat(store.tryStartRevalidation("user2", "/api/main/user")).isFalse();
+    }
+
+    private StaleResponseStore createStore(int maxEntries, Duration maxStaleness, Duration revalidateInterval) {
+        return new StaleResponseStore(new StaleFallbackProperties(
+                true, null, maxEntries, maxStaleness, revalidateInterval, null), meterRegistry);
+    }
+
+    private byte[] body(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.properties.RateLimitProperties;
+import io.github.habatoo.properties.RateLimitProperties.Bucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link TokenBucketRateLimiter}.
+ * Проверяют расход и восполнение токенов, изоляцию корзин и метрики.
+ */
+@DisplayName("Проверка ограничителя частоты TokenBucketRateLimiter")
+class TokenBucketRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Запросы сверх емкости корзины отклоняются с временем ожидания")
+    void tryAcquireRejectsOverBurstTest() {
+        TokenBucketRateLimiter limiter = createLimiter(new Bucket(0.5, 2), Map.of());
+
+        assertThat(limiter.tryAcquire("user1", "transfer-service")).isZero();
+        assertThat(limiter.tryAcquire("user1", "transfer-service")).isZero();
+
+        Duration wait = limiter.tryAcquire("user1", "transfer-service");
+        assertThat(wait).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(2));
+        assertThat(meterRegistry.get("gateway.ratelimit.requests")
+                .tag("route", "transfer-service").tag("result", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Токены восполняются со временем")
+    void tryAcquireReplenishesTokensTest() throws InterruptedException {
+        TokenBucketRateLimiter limiter = createLimiter(new Bucket(100.0, 1), Map.of());
+
+        assertThat(limiter.tryAcquire("user1", "cash-service")).isZero();
+        assertThat(limiter.tryAcquire("user1", "cash-service")).isPositive();
+
+        Thread.sleep(50);
+
+        assertThat(limiter.tryAcquire("user1", "cash-service")).isZero();
+    }
+
+    @Test
+    @DisplayName("Корзины разделены по клиентам и маршрутам, у маршрута свои настройки")
+    void tryAcquireIsolatesClientsAndRoutesTest() {
+        TokenBucketRateLimiter limiter = createLimiter(new Bucket(0.001, 5),
+                Map.of("transfer-service", new Bucket(0.001, 1)));
+
+        assertThat(limiter.tryAcquire("user1", "transfer-service")).isZero();
+        assertThat(limiter.tryAcquire("user1", "transfer-service")).isPositive();
+
+        assertThat(limiter.tryAcquire("user2", "transfer-service")).isZero();
+        assertThat(limiter.tryAcquire("user1", "account-service")).isZero();
+        assertThat(limiter.tryAcquire("user1", "account-service")).isZero();
+    }
+
+    @Test
+    @DisplayName("Число корзин не превышает max-keys, вытесняется давно не использованная корзина")
+    void tryAcquireEvictsLeastRecentlyUsedBucketTest() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(
+                new RateLimitProperties(true, 2, new Bucket(0.001, 1), Map.of()), meterRegistry);
+
+        assertThat(limiter.tryAcquire("user1", "cash-service")).isZero();
+        assertThat(limiter.tryAcquire("user2", "cash-service")).isZero();
+        assertThat(limiter.tryAcquire("user1", "cash-service")).isPositive();
+        assertThat(limiter.tryAcquire("user3", "cash-service")).isZero();
+
+        assertThat(limiter.size()).isEqualTo(2);
+        assertThat(meterRegistry.get("gateway.ratelimit.buckets").gauge().value()).isEqualTo(2.0);
+        assertThat(limiter.tryAcquire("user1", "cash-service")).isPositive();
+        assertThat(limiter.tryAcquire("user2", "cash-service")).isZero();
+    }
+
+    private TokenBucketRateLimiter createLimiter(Bucket defaults, Map<String, Bucket> routes) {
+        return new TokenBucketRateLimiter(new RateLimitProperties(true, 1000, defaults, routes), meterRegistry);
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.habatoo.controllers;
 
+import io.github.habatoo.components.StaleResponseRevalidator;
+import io.github.habatoo.components.StaleResponseStore;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,6 +38,12 @@ class FallbackControllerCashedTest {
     @MockitoBean
     private ReactiveOAuth2AuthorizedClientService authorizedClientService;
 
+    @MockitoBean
+    private StaleResponseStore staleResponseStore;
+
+    @MockitoBean
+    private StaleResponseRevalidator staleResponseRevalidator;
+
     /**
      * Тест проверяет fallback для Cash Service.
      */
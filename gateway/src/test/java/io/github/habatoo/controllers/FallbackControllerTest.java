@@ -1,12 +1,33 @@
 package io.github.habatoo.controllers;
 
+import io.github.habatoo.components.StaleResponseRevalidator;
+import io.github.habatoo.components.StaleResponseStore;
+import io.github.habatoo.properties.StaleFallbackProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR;
 
 /**
  * Юнит-тестирование логики {@link FallbackController} без загрузки контекста Spring.
@@ -19,7 +40,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 @DisplayName("Тестирование контроллера резервных ответов (FallbackController)")
 class FallbackControllerTest {
 
-    private final FallbackController fallbackController = new FallbackController();
+    private final StaleFallbackProperties properties =
+            new StaleFallbackProperties(null, null, null, null, Duration.ZERO, null);
+    private final StaleResponseStore staleResponseStore =
+            new StaleResponseStore(properties, new SimpleMeterRegistry());
+    private final StaleResponseRevalidator staleResponseRevalidator = mock(StaleResponseRevalidator.class);
+    private final FallbackController fallbackController =
+            new FallbackController(staleResponseStore, staleResponseRevalidator, properties);
 
     /**
      * Тестирование резервного ответа при недоступности сервиса кассовых операций.
@@ -48,7 +75,54 @@ class FallbackControllerTest {
     @Test
     @DisplayName("Проверка fallback-ответа для Account Service")
     void accountFallbackTest() {
-        StepVerifier.create(fallbackController.accountFallback())
+        StepVerifier.create(fallbackController.accountFallback(fallbackExchange("user1")))
+                .assertNext(response -> {
+                    assertResponse(response, "Сервис по работе со счетом временно недоступен. Попробуйте позже.");
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(staleResponseRevalidator);
+    }
+
+    /**
+     * Тестирование отдачи последнего успешного ответа при недоступности сервиса управления счетами.
+     * <p>
+     * Проверяет, что пользователь получает свой сохраненный ответ с пометкой об устаревании,
+     * а в фоне запускается его обновление с исходным токеном.
+     * </p>
+     */
+    @Test
+    @DisplayName("Проверка отдачи устаревшего ответа для Account Service")
+    void accountFallbackServesStaleResponseTest() {
+        staleResponseStore.put("user1", "/api/main/user", HttpStatus.OK, MediaType.APPLICATION_JSON,
+                "{\"login\":\"user1\"}".getBytes(StandardCharsets.UTF_8));
+
+        StepVerifier.create(fallbackController.accountFallback(fallbackExchange("user1")))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+                    assertThat(response.getHeaders().getFirst("X-Cache")).isEqualTo("STALE");
+                    assertThat(response.getHeaders().getFirst(HttpHeaders.WARNING)).startsWith("110");
+                    assertThat(response.getBody()).isEqualTo("{\"login\":\"user1\"}");
+                })
+                .verifyComplete();
+
+        verify(staleResponseRevalidator).revalidate("/api/main/user", "Bearer token");
+    }
+
+    /**
+     * Тестирование изоляции сохраненных ответов.
+     * <p>
+     * Гарантирует, что сохраненный ответ одного пользователя не отдается другому.
+     * </p>
+     */
+    @Test
+    @DisplayName("Проверка, что чужой устаревший ответ не отдается")
+    void accountFallbackIsolatesUsersTest() {
+        staleResponseStore.put("user1", "/api/main/user", HttpStatus.OK, MediaType.APPLICATION_JSON,
+                "{}".getBytes(StandardCharsets.UTF_8));
+
+        StepVerifier.create(fallbackController.accountFallback(fallbackExchange("user2")))
                 .assertNext(response -> {
                     assertResponse(response, "Сервис по работе со счетом временно недоступен. Попробуйте позже.");
                 })
@@ -86,4 +160,16 @@ class FallbackControllerTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
         assertThat(response.getBody()).isEqualTo(expectedBody);
     }
+
+    private ServerWebExchange fallbackExchange(String username) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/fallback/account-unavailable")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+        Set<URI> originalUris = new LinkedHashSet<>();
+        originalUris.add(URI.create("http://gateway/api/main/user"));
+        exchange.getAttributes().put(GATEWAY_ORIGINAL_REQUEST_URL_ATTR, originalUris);
+        return exchange.mutate()
+                .principal(Mono.just(new TestingAuthenticationToken(username, null, "ROLE_USER")))
+                .build();
+    }
 }
@@ -0,0 +1,120 @@
+package io.github.habatoo.filters;
+
+import io.github.habatoo.components.AdaptiveConcurrencyLimiter;
+import io.github.habatoo.properties.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Юнит-тесты для {@link AdaptiveConcurrencyFilter}.
+ * Проверяют выбор маршрутов, ответ 503 при исчерпании лимита и возврат разрешения.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Проверка фильтра адаптивного ограничения параллелизма AdaptiveConcurrencyFilter")
+class AdaptiveConcurrencyFilterTest {
+
+    @Mock
+    private GatewayFilterChain chain;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdaptiveConcurrencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties(
+                true, null, 1, 1, 10, null, null, null, null, 0, Duration.ofMillis(10));
+        filter = new AdaptiveConcurrencyFilter(new AdaptiveConcurrencyLimiter(properties, meterRegistry), properties);
+    }
+
+    @Test
+    @DisplayName("Отмена запроса клиентом освобождает место в лимите")
+    void filterReleasesPermitOnCancelTest() {
+        Sinks.Empty<Void> inflight = Sinks.empty();
+        when(chain.filter(any())).thenReturn(inflight.asMono());
+
+        StepVerifier.create(filter.filter(routedExchange("cash-service"), chain))
+                .thenCancel()
+                .verify();
+        StepVerifier.create(filter.filter(routedExchange("cash-service"), chain))
+                .then(inflight::tryEmitEmpty)
+                .verifyComplete();
+
+        verify(chain, times(2)).filter(any());
+    }
+
+    @Test
+    @DisplayName("Запрос сверх лимита отклоняется, пока предыдущий не завершен")
+    void filterReturnsServiceUnavailableTest() {
+        Sinks.Empty<Void> inflight = Sinks.empty();
+        when(chain.filter(any())).thenReturn(inflight.asMono());
+        filter.filter(routedExchange("cash-service"), chain).subscribe();
+
+        MockServerWebExchange rejected = routedExchange("cash-service");
+        StepVerifier.create(filter.filter(rejected, chain))
+                .verifyComplete();
+
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        verify(chain, times(1)).filter(any());
+    }
+
+    @Test
+    @DisplayName("После завершения запроса разрешение возвращается")
+    void filterReleasesPermitOnCompletionTest() {
+        when(chain.filter(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(filter.filter(routedExchange("cash-service"), chain))
+                .verifyComplete();
+        StepVerifier.create(filter.filter(routedExchange("cash-service"), chain))
+                .verifyComplete();
+
+        verify(chain, times(2)).filter(any());
+        assertThat(meterRegistry.get("gateway.concurrency.inflight")
+                .tag("route", "cash-service").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Маршруты вне списка не ограничиваются")
+    void filterSkipsUnlistedRouteTest() {
+        when(chain.filter(any())).thenReturn(Mono.never(), Mono.empty());
+
+        filter.filter(routedExchange("registration-route"), chain).subscribe();
+        StepVerifier.create(filter.filter(routedExchange("registration-route"), chain))
+                .verifyComplete();
+
+        verify(chain, times(2)).filter(any());
+        assertThat(meterRegistry.find("gateway.concurrency.inflight").gauge()).isNull();
+    }
+
+    private MockServerWebExchange routedExchange(String routeId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/main/cash"));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.builder()
+                .id(routeId)
+                .uri("http://localhost")
+                .predicate(serverWebExchange -> true)
+                .build());
+        return exchange;
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.habatoo.filters;
+
+import io.github.habatoo.properties.HedgingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link HedgingFilter}.
+ * Проверяют отправку повторной копии медленного запроса, изоляцию вызовов и бюджет.
+ */
+@DisplayName("Проверка фильтра хеджирования HedgingFilter")
+class HedgingFilterTest {
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Медленный запрос дублируется, клиент получает первый ответ, основной вызов отменяется")
+    void filterHedgesSlowRequestTest() {
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        GatewayFilterChain chain = exchange -> {
+            int call = upstreamCalls.incrementAndGet();
+            exchange.getAttributes().put("call", call);
+            if (call == 1) {
+                return Mono.<Void>never().doOnCancel(() -> primaryCancelled.set(true));
+            }
+            return respond(exchange, HttpStatus.OK, "{\"call\":" + call + "}");
+        };
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/main/user"));
+
+        StepVerifier.create(createFilter(1.0).filter(exchange, chain))
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("{\"call\":2}");
+        assertThat(exchange.getAttributes()).doesNotContainKey("call");
+        assertThat(primaryCancelled).isTrue();
+        assertThat(meterRegistry.get("gateway.hedge.requests").tag("result", "won").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Ответ копии с ошибкой игнорируется, клиент получает основной ответ")
+    void filterIgnoresFailedHedgeTest() {
+        GatewayFilterChain chain = exchange -> {
+            int call = upstreamCalls.incrementAndGet();
+            if (call == 1) {
+                return Mono.delay(Duration.ofMillis(50))
+                        .then(respond(exchange, HttpStatus.OK, "primary"));
+            }
+            return respond(exchange, HttpStatus.SERVICE_UNAVAILABLE, "hedge");
+        };
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/main/user"));
+
+        StepVerifier.create(createFilter(1.0).filter(exchange, chain))
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Без бюджета копия не отправляется")
+    void filterRespectsBudgetTest() {
+        GatewayFilterChain chain = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(50))
+                    .then(respond(exchange, HttpStatus.OK, "primary"));
+        };
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/main/user"));
+
+        StepVerifier.create(createFilter(0.0).filter(exchange, chain))
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("primary");
+        assertThat(meterRegistry.get("gateway.hedge.requests").tag("result", "denied").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Запросы к другим путям передаются без хеджирования")
+    void filterPassesUnlistedPathTest() {
+        GatewayFilterChain chain = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return respond(exchange, HttpStatus.OK, "cash");
+        };
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/main/cash"));
+
+        StepVerifier.create(createFilter(1.0).filter(exchange, chain))
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("cash");
+    }
+
+    private HedgingFilter createFilter(double budgetRatio) {
+        return new HedgingFilter(new HedgingProperties(true, List.of("/api/main/user"), 0.95,
+                Duration.ofMillis(5), Duration.ofMillis(10), budgetRatio, 100), meterRegistry);
+    }
+
+    private Mono<Void> respond(ServerWebExchange exchange, HttpStatus status, String body) {
+        return Mono.defer(() -> {
+            exchange.getResponse().setStatusCode(status);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                    .wrap(body.getBytes(StandardCharsets.UTF_8))));
+        });
+    }
+}
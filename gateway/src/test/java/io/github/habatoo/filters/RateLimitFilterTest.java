@@ -0,0 +1,113 @@
+package io.github.habatoo.filters;
+
+import io.github.habatoo.components.TokenBucketRateLimiter;
+import io.github.habatoo.properties.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Юнит-тесты для {@link RateLimitFilter} с использованием моков.
+ * Проверяют определение клиента и маршрута и ответ 429 при исчерпании лимита.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Проверка фильтра ограничения частоты RateLimitFilter")
+class RateLimitFilterTest {
+
+    @Mock
+    private TokenBucketRateLimiter tokenBucketRateLimiter;
+
+    @Mock
+    private GatewayFilterChain chain;
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitFilter(tokenBucketRateLimiter, new RateLimitProperties(null, null, null, null));
+    }
+
+    @Test
+    @DisplayName("Запрос в пределах лимита передается дальше по цепочке")
+    void filterPassesAllowedRequestTest() {
+        ServerWebExchange exchange = withUser(routedExchange("transfer-service"), "user1");
+        when(tokenBucketRateLimiter.tryAcquire("user1", "transfer-service")).thenReturn(Duration.ZERO);
+        when(chain.filter(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(filter.filter(exchange, chain))
+                .verifyComplete();
+
+        verify(chain).filter(exchange);
+    }
+
+    @Test
+    @DisplayName("Запрос сверх лимита получает 429 с Retry-After")
+    void filterRejectsWithRetryAfterTest() {
+        ServerWebExchange exchange = withUser(routedExchange("transfer-service"), "user1");
+        when(tokenBucketRateLimiter.tryAcquire("user1", "transfer-service")).thenReturn(Duration.ofMillis(1500));
+
+        StepVerifier.create(filter.filter(exchange, chain))
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    @DisplayName("Анонимный клиент определяется по адресу")
+    void filterKeysAnonymousByAddressTest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/account/register")
+                .remoteAddress(new InetSocketAddress("10.0.0.7", 5000)));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route("registration-route"));
+        when(tokenBucketRateLimiter.tryAcquire(eq("ip:10.0.0.7"), eq("registration-route"))).thenReturn(Duration.ZERO);
+        when(chain.filter(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(filter.filter(exchange, chain))
+                .verifyComplete();
+
+        verify(tokenBucketRateLimiter).tryAcquire("ip:10.0.0.7", "registration-route");
+    }
+
+    private MockServerWebExchange routedExchange(String routeId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/main/transfer"));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route(routeId));
+        return exchange;
+    }
+
+    private ServerWebExchange withUser(ServerWebExchange exchange, String username) {
+        return exchange.mutate()
+                .principal(Mono.just(new TestingAuthenticationToken(username, null, "ROLE_USER")))
+                .build();
+    }
+
+    private Route route(String routeId) {
+        return Route.builder()
+                .id(routeId)
+                .uri("http://localhost")
+                .predicate(exchange -> true)
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.habatoo.filters;
+
+import io.github.habatoo.components.ResponseCacheStore;
+import io.github.habatoo.properties.ResponseCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link ResponseCacheFilter}.
+ * Проверяют повторную отдачу ответа из кэша, изоляцию пользователей и сброс после операции.
+ */
+@DisplayName("Проверка фильтра кэша ответов ResponseCacheFilter")
+class ResponseCacheFilterTest {
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private ResponseCacheFilter filter;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties(null, null, null, null);
+        filter = new ResponseCacheFilter(new ResponseCacheStore(properties, new SimpleMeterRegistry()), properties);
+        chain = exchange -> {
+            int call = upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                    .wrap(("{\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    @Test
+    @DisplayName("Повторный GET того же пользователя отдается из кэша")
+    void getServedFromCacheTest() {
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/main/user").build());
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/api/main/user").build());
+
+        execute(first, "user1");
+        execute(second, "user1");
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(second.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        StepVerifier.create(second.getResponse().getBodyAsString())
+                .expectNext("{\"call\":1}")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Ответ одного пользователя не отдается другому")
+    void getIsolatedByPrincipalTest() {
+        execute(exchange(MockServerHttpRequest.get("/api/main/user").build()), "user1");
+        execute(exchange(MockServerHttpRequest.get("/api/main/user").build()), "user2");
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Операция пользователя сбрасывает его кэш")
+    void modifyingRequestInvalidatesCacheTest() {
+        execute(exchange(MockServerHttpRequest.get("/api/main/user").build()), "user1");
+        execute(exchange(MockServerHttpRequest.post("/api/main/cash").build()), "user1");
+        execute(exchange(MockServerHttpRequest.get("/api/main/user").build()), "user1");
+
+        assertThat(upstreamCalls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Неуспешный ответ и некэшируемые пути не сохраняются")
+    void nonCacheableResponsesBypassCacheTest() {
+        GatewayFilterChain failingChain = exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return exchange.getResponse().setComplete();
+        };
+
+        StepVerifier.create(filter.filter(withUser(
+                exchange(MockServerHttpRequest.get("/api/main/user").build()), "user1"), failingChain))
+                .verifyComplete();
+        execute(exchange(MockServerHttpRequest.get("/api/main/user").build()), "user1");
+        execute(exchange(MockServerHttpRequest.get("/api/account/balance").build()), "user1");
+        execute(exchange(MockServerHttpRequest.get("/api/account/balance").build()), "user1");
+
+        assertThat(upstreamCalls).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Резервный устаревший ответ не кэшируется")
+    void staleFallbackResponseBypassesCacheTest() {
+        GatewayFilterChain staleChain = exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().set("X-Cache", "STALE");
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                    .wrap("{}".getBytes(StandardCharsets.UTF_8))));
+        };
+
+        StepVerifier.create(filter.filter(withUser(
+                        exchange(MockServerHttpRequest.get("/api/main/user").build()), "user1"), staleChain))
+                .verifyComplete();
+        execute(exchange(MockServerHttpRequest.get("/api/main/user").build()), "user1");
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Запрос без пользователя не кэшируется")
+    void anonymousRequestBypassesCacheTest() {
+        StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.get("/api/main/user").build()), chain))
+                .verifyComplete();
+        StepVerifier.create(filter.filter(exchange(MockServerHttpRequest.get("/api/main/user").build()), chain))
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    private void execute(ServerWebExchange exchange, String username) {
+        StepVerifier.create(filter.filter(withUser(exchange, username), chain))
+                .verifyComplete();
+    }
+
+    private ServerWebExchange withUser(ServerWebExchange exchange, String username) {
+        return exchange.mutate()
+                .principal(Mono.just(new TestingAuthenticationToken(username, null, "ROLE_USER")))
+                .build();
+    }
+
+    private MockServerWebExchange exchange(MockServerHttpRequest request) {
+        return MockServerWebExchange.from(request);
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.habatoo.filters;
+
+import io.github.habatoo.properties.SingleFlightProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link SingleFlightFilter}.
+ * Проверяют, что одинаковые одновременные запросы выполняются одним вызовом сервиса.
+ */
+@DisplayName("Проверка фильтра объединения запросов SingleFlightFilter")
+class SingleFlightFilterTest {
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Sinks.Empty<Void> upstreamReady = Sinks.empty();
+    private SingleFlightFilter filter;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new SingleFlightFilter(new SingleFlightProperties(null, null), meterRegistry);
+        chain = exchange -> upstreamReady.asMono().then(Mono.defer(() -> {
+            int call = upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                    .wrap(("{\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8))));
+        }));
+    }
+
+    @Test
+    @DisplayName("Одновременные запросы одного пользователя получают один ответ сервиса")
+    void filterCoalescesConcurrentRequestsTest() {
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/api/main/user"));
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/api/main/user"));
+
+        StepVerifier.create(Mono.when(
+                        filter.filter(withUser(first, "user1"), chain),
+                        filter.filter(withUser(second, "user1"), chain)))
+                .then(upstreamReady::tryEmitEmpty)
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        StepVerifier.create(second.getResponse().getBodyAsString())
+                .expectNext("{\"call\":1}")
+                .verifyComplete();
+        assertThat(meterRegistry.get("gateway.singleflight.coalesced").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Запросы разных пользователей и последовательные запросы не объединяются")
+    void filterDoesNotCoalesceDifferentOrSequentialRequestsTest() {
+        upstreamReady.tryEmitEmpty();
+
+        StepVerifier.create(Mono.when(
+                        filter.filter(withUser(MockServerWebExchange.from(
+                                MockServerHttpRequest.get("/api/main/user")), "user1"), chain),
+                        filter.filter(withUser(MockServerWebExchange.from(
+                                MockServerHttpRequest.get("/api/main/user")), "user2"), chain)))
+                .verifyComplete();
+        StepVerifier.create(filter.filter(withUser(MockServerWebExchange.from(
+                        MockServerHttpRequest.get("/api/main/user")), "user1"), chain))
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(3);
+    }
+
+    private ServerWebExchange withUser(ServerWebExchange exchange, String username) {
+        return exchange.mutate()
+                .principal(Mono.just(new TestingAuthenticationToken(username, null, "ROLE_USER")))
+                .build();
+    }
+}
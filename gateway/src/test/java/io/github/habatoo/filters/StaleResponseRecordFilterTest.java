@@ -0,0 +1,98 @@
+package io.github.habatoo.filters;
+
+import io.github.habatoo.components.StaleResponseStore;
+import io.github.habatoo.properties.StaleFallbackProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link StaleResponseRecordFilter}.
+ * Проверяют, какие ответы сервиса сохраняются для резервной отдачи.
+ */
+@DisplayName("Проверка фильтра сохранения последних успешных ответов StaleResponseRecordFilter")
+class StaleResponseRecordFilterTest {
+
+    private StaleResponseStore store;
+    private StaleResponseRecordFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        StaleFallbackProperties properties = new StaleFallbackProperties(null, null, null, null, null, null);
+        store = new StaleResponseStore(properties, new SimpleMeterRegistry());
+        filter = new StaleResponseRecordFilter(store, properties);
+    }
+
+    @Test
+    @DisplayName("Успешный ответ сохраняется и передается клиенту без изменений")
+    void filterRecordsSuccessfulResponseTest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/main/user"));
+
+        execute(exchange, "user1", respond(HttpStatus.OK, null));
+
+        StepVerifier.create(exchange.getResponse().getBodyAsString())
+                .expectNext("{\"login\":\"user1\"}")
+                .verifyComplete();
+        assertThat(store.get("user1", "/api/main/user")).hasValueSatisfying(stale ->
+                assertThat(new String(stale.body(), StandardCharsets.UTF_8)).isEqualTo("{\"login\":\"user1\"}"));
+    }
+
+    @Test
+    @DisplayName("Ошибки, ответы из кэша и устаревшие ответы не сохраняются")
+    void filterSkipsNonFreshResponsesTest() {
+        execute(MockServerWebExchange.from(MockServerHttpRequest.get("/api/main/user")),
+                "user1", respond(HttpStatus.INTERNAL_SERVER_ERROR, null));
+        execute(MockServerWebExchange.from(MockServerHttpRequest.get("/api/main/user")),
+                "user2", respond(HttpStatus.OK, "HIT"));
+        execute(MockServerWebExchange.from(MockServerHttpRequest.get("/api/main/user")),
+                "user3", respond(HttpStatus.OK, "STALE"));
+
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Запросы к другим путям и без пользователя не сохраняются")
+    void filterSkipsUnlistedAndAnonymousTest() {
+        execute(MockServerWebExchange.from(MockServerHttpRequest.get("/api/account/balance")),
+                "user1", respond(HttpStatus.OK, null));
+        StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/main/user")),
+                        respond(HttpStatus.OK, null)))
+                .verifyComplete();
+
+        assertThat(store.size()).isZero();
+    }
+
+    private void execute(ServerWebExchange exchange, String username, GatewayFilterChain chain) {
+        ServerWebExchange authenticated = exchange.mutate()
+                .principal(Mono.just(new TestingAuthenticationToken(username, null, "ROLE_USER")))
+                .build();
+        StepVerifier.create(filter.filter(authenticated, chain))
+                .verifyComplete();
+    }
+
+    private GatewayFilterChain respond(HttpStatus status, String cacheHeader) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(status);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            if (cacheHeader != null) {
+                exchange.getResponse().getHeaders().set("X-Cache", cacheHeader);
+            }
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                    .wrap("{\"login\":\"user1\"}".getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.habatoo.properties;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit-тесты для RoutePoolProperties — проверяют значения по умолчанию
+ * и наложение настроек маршрута на настройки {@code defaults}.
+ */
+@DisplayName("Тест загрузки RoutePoolProperties")
+class RoutePoolPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(RoutePoolPropertiesTest.TestConfig.class);
+
+    @Test
+    @DisplayName("Незаданные параметры должны заполняться значениями по умолчанию")
+    void shouldApplyDefaultsTest() {
+        contextRunner.run(context -> {
+            RoutePoolProperties.Pool pool = context.getBean(RoutePoolProperties.class).route("account-service");
+
+            assertThat(pool.maxConnections()).isEqualTo(100);
+            assertThat(pool.pendingAcquireMaxCount()).isEqualTo(200);
+            assertThat(pool.pendingAcquireTimeout()).isEqualTo(Duration.ofSeconds(5));
+            assertThat(pool.maxIdleTime()).isEqualTo(Duration.ofSeconds(30));
+            assertThat(pool.maxLifeTime()).isEqualTo(Duration.ofMinutes(5));
+            assertThat(pool.evictionInterval()).isEqualTo(Duration.ofSeconds(30));
+            assertThat(pool.connectTimeout()).isEqualTo(Duration.ofSeconds(2));
+        });
+    }
+
+    @Test
+    @DisplayName("Незаданные параметры маршрута должны браться из настроек defaults")
+    void shouldMergeRouteOverDefaultsTest() {
+        contextRunner
+                .withPropertyValues(
+                        "spring.gateway.route-pools.defaults.max-connections=80",
+                        "spring.gateway.route-pools.defaults.pending-acquire-timeout=1s",
+                        "spring.gateway.route-pools.routes.transfer-service.max-connections=20")
+                .run(context -> {
+                    RoutePoolProperties properties = context.getBean(RoutePoolProperties.class);
+                    RoutePoolProperties.Pool transfer = properties.route("transfer-service");
+
+                    assertThat(transfer.maxConnections()).isEqualTo(20);
+                    assertThat(transfer.pendingAcquireTimeout()).isEqualTo(Duration.ofSeconds(1));
+                    assertThat(transfer.pendingAcquireMaxCount()).isEqualTo(200);
+                    assertThat(properties.route("cash-service").maxConnections()).isEqualTo(80);
+                    assertThat(properties.route("cash-service").pendingAcquireTimeout()).isEqualTo(Duration.ofSeconds(1));
+                });
+    }
+
+    @EnableConfigurationProperties(RoutePoolProperties.class)
+    static class TestConfig {
+    }
+}
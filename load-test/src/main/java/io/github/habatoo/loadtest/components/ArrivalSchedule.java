@@ -0,0 +1,43 @@
+package io.github.habatoo.loadtest.components;
+
+import io.github.habatoo.loadtest.models.ArrivalProcess;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Расписание поступления запросов в открытой модели нагрузки.
+ * <p>
+ * Интервалы задаются заранее и не зависят от ответов сервиса: если сервис замедляется,
+ * запросы продолжают поступать с той же интенсивностью и накапливаются, как при реальном трафике.
+ */
+public class ArrivalSchedule {
+
+    private final ArrivalProcess process;
+    private final double meanIntervalNanos;
+
+    /**
+     * @param process       модель поступления запросов.
+     * @param ratePerSecond интенсивность, запросов в секунду (больше 0).
+     */
+    public ArrivalSchedule(ArrivalProcess process, double ratePerSecond) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Интенсивность должна быть положительной: " + ratePerSecond);
+        }
+        this.process = process;
+        this.meanIntervalNanos = 1_000_000_000.0 / ratePerSecond;
+    }
+
+    /**
+     * Возвращает интервал до следующего запроса.
+     *
+     * @param random источник случайных чисел потока-генератора.
+     * @return интервал в наносекундах (не меньше 1).
+     */
+    public long nextIntervalNanos(RandomGenerator random) {
+        double interval = switch (process) {
+            case CONSTANT -> meanIntervalNanos;
+            case POISSON -> -Math.log(1.0 - random.nextDouble()) * meanIntervalNanos;
+        };
+        return Math.max(1L, Math.round(interval));
+    }
+}
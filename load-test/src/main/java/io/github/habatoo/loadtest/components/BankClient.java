@@ -0,0 +1,141 @@
+package io.github.habatoo.loadtest.components;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.habatoo.loadtest.models.Outcome;
+import io.github.habatoo.loadtest.properties.LoadTestProperties;
+import io.netty.channel.ConnectTimeoutException;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.PrematureCloseException;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.math.BigDecimal;
+import java.net.ConnectException;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * HTTP-клиент сервисов банка для нагрузочного теста.
+ * <p>
+ * Каждый вызов завершается {@link Outcome}, а не ошибкой: статус ответа, отказ бизнес-логики
+ * ({@code success = false}), таймаут и сетевые ошибки превращаются в категорию ошибки для отчета.
+ */
+@Component
+public class BankClient {
+
+    private final WebClient webClient;
+    private final LoadTestProperties properties;
+    private volatile LoadTestProperties.Targets targets;
+
+    public BankClient(WebClient.Builder builder, LoadTestProperties properties) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("load-test")
+                .maxConnections(properties.maxInFlight())
+                .pendingAcquireMaxCount(-1)
+                .build();
+        this.webClient = builder
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+                        .responseTimeout(properties.requestTimeout())))
+                .build();
+        this.properties = properties;
+        this.targets = properties.targets();
+    }
+
+    /**
+     * Задает адреса сервисов (например, адреса локального стенда).
+     *
+     * @param targets адреса сервисов.
+     */
+    public void useTargets(LoadTestProperties.Targets targets) {
+        this.targets = targets;
+    }
+
+    /**
+     * Чтение профиля ({@code GET /user}); при первом обращении пользователь регистрируется.
+     */
+    public Mono<Outcome> user(String token) {
+        return execute(webClient.get()
+                .uri(targets.accountUrl() + "/user")
+                .headers(headers -> headers.setBearerAuth(token)));
+    }
+
+    /**
+     * Открытие счета в валюте ({@code POST /open-account}).
+     */
+    public Mono<Outcome> openAccount(String token, String currency) {
+        return execute(webClient.post()
+                .uri(targets.accountUrl() + "/open-account?currency={currency}", currency)
+                .headers(headers -> headers.setBearerAuth(token)));
+    }
+
+    /**
+     * Пополнение ({@code PUT}) или снятие ({@code GET}) наличных ({@code POST /cash}).
+     */
+    public Mono<Outcome> cash(String token, String action, BigDecimal value, String currency) {
+        return execute(webClient.post()
+                .uri(targets.cashUrl() + "/cash?value={value}&action={action}&currency={currency}",
+                        value, action, currency)
+                .headers(headers -> headers.setBearerAuth(token)));
+    }
+
+    /**
+     * Перевод другому пользователю ({@code POST /transfer}).
+     */
+    public Mono<Outcome> transfer(String token, String recipient, BigDecimal value, String currency) {
+        return execute(webClient.post()
+                .uri(targets.transferUrl() + "/transfer")
+                .headers(headers -> headers.setBearerAuth(token))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of(
+                        "login", recipient,
+                        "value", value,
+                        "fromCurrency", currency,
+                        "toCurrency", currency)));
+    }
+
+    private Mono<Outcome> execute(WebClient.RequestHeadersSpec<?> request) {
+        return request.exchangeToMono(response -> {
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return response.bodyToMono(JsonNode.class)
+                                .map(this::fromBody)
+                                .defaultIfEmpty(Outcome.ok());
+                    }
+                    return response.releaseBody()
+                            .thenReturn(Outcome.error("http_" + response.statusCode().value()));
+                })
+                .timeout(properties.requestTimeout())
+                .onErrorResume(e -> Mono.just(Outcome.error(classify(e))));
+    }
+
+    private Outcome fromBody(JsonNode body) {
+        JsonNode success = body.get("success");
+        if (success == null || success.asBoolean()) {
+            return Outcome.ok();
+        }
+        JsonNode errorCode = body.get("errorCode");
+        return Outcome.error(errorCode != null && !errorCode.isNull()
+                ? "rejected:" + errorCode.asText()
+                : "rejected");
+    }
+
+    private String classify(Throwable error) {
+        Throwable cause = error instanceof WebClientRequestException && error.getCause() != null
+                ? error.getCause()
+                : error;
+        if (cause instanceof TimeoutException || cause instanceof ReadTimeoutException) {
+            return "timeout";
+        }
+        if (cause instanceof ConnectException || cause instanceof ConnectTimeoutException) {
+            return "connect";
+        }
+        if (cause instanceof PrematureCloseException) {
+            return "connection_closed";
+        }
+        return cause.getClass().getSimpleName();
+    }
+}
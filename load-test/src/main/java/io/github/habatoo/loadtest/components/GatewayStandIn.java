@@ -0,0 +1,106 @@
+package io.github.habatoo.loadtest.components;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+
+/**
+ * Упрощенная замена Gateway для локального стенда.
+ * <p>
+ * Сервисы Cash и Transfer обращаются к Account через Gateway по адресу {@code /api/account/**},
+ * а Gateway отрезает два первых сегмента пути ({@code StripPrefix=2}). Стенд не поднимает
+ * Gateway с его маршрутами и Redis, поэтому этот прокси повторяет только нужное правило:
+ * отрезает префикс и передает запрос в Account вместе с заголовками авторизации и типа содержимого.
+ */
+@Slf4j
+public class GatewayStandIn implements AutoCloseable {
+
+    private static final int STRIP_PREFIX = 2;
+
+    private final String targetUrl;
+    private final HttpClient client = HttpClient.create();
+    private DisposableServer server;
+
+    /**
+     * @param targetUrl базовый адрес сервиса Account.
+     */
+    public GatewayStandIn(String targetUrl) {
+        this.targetUrl = targetUrl;
+    }
+
+    /**
+     * Запускает прокси на свободном порту.
+     *
+     * @return базовый адрес прокси ({@code GATEWAY_HOST} сервисов).
+     */
+    public synchronized String start() {
+        server = HttpServer.create()
+                .port(0)
+                .handle(this::forward)
+                .bindNow();
+        log.info("Замена Gateway запущена на порту {} -> {}", server.port(), targetUrl);
+        return "http://localhost:" + server.port();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.disposeNow(Duration.ofSeconds(5));
+            server = null;
+        }
+    }
+
+    private Publisher<Void> forward(HttpServerRequest request, HttpServerResponse response) {
+        return client
+                .headers(headers -> copyHeaders(request.requestHeaders(), headers))
+                .request(request.method())
+                .uri(targetUrl + stripPrefix(request.uri()))
+                .send(request.receive().retain())
+                .response((clientResponse, body) -> {
+                    response.status(clientResponse.status());
+                    copyHeaders(clientResponse.responseHeaders(), response.responseHeaders());
+                    return response.send(body.retain());
+                })
+                .then();
+    }
+
+    private void copyHeaders(HttpHeaders source, HttpHeaders target) {
+        copyHeader(source, target, HttpHeaderNames.AUTHORIZATION);
+        copyHeader(source, target, HttpHeaderNames.CONTENT_TYPE);
+        copyHeader(source, target, HttpHeaderNames.ACCEPT);
+    }
+
+    private void copyHeader(HttpHeaders source, HttpHeaders target, CharSequence name) {
+        String value = source.get(name);
+        if (value != null) {
+            target.set(name, value);
+        }
+    }
+
+    /**
+     * Отрезает от пути запроса первые сегменты так же, как фильтр {@code StripPrefix=2} Gateway.
+     *
+     * @param uri путь запроса со строкой параметров.
+     * @return путь без префикса.
+     */
+    static String stripPrefix(String uri) {
+        int queryStart = uri.indexOf('?');
+        String path = queryStart >= 0 ? uri.substring(0, queryStart) : uri;
+        String query = queryStart >= 0 ? uri.substring(queryStart) : "";
+
+        int position = 0;
+        for (int segment = 0; segment < STRIP_PREFIX && position >= 0; segment++) {
+            position = path.indexOf('/', position + 1);
+        }
+        String stripped = position >= 0 ? path.substring(position) : "/";
+        return stripped + query;
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.habatoo.loadtest.components;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.habatoo.loadtest.models.LoadTestSummary;
+import io.github.habatoo.loadtest.models.Operation;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Запись отчетов нагрузочного теста.
+ * <p>
+ * В каталог запуска пишутся:
+ * <ul>
+ * <li>{@code <операция>.hlog} — интервальные гистограммы времени ответа (формат HdrHistogram log,
+ * читается HistogramLogProcessor и HdrHistogram Plotter), по ним видно изменение задержек во времени;</li>
+ * <li>{@code <операция>.hgrm} — итоговое распределение перцентилей времени ответа (мс);</li>
+ * <li>{@code <операция>-service.hgrm} — то же для времени обслуживания;</li>
+ * <li>{@code summary.json} — пропускная способность, ошибки по категориям и перцентили всех операций.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class LoadReportWriter {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final ObjectMapper objectMapper;
+    private final Map<Operation, HistogramLogWriter> intervalLogs = new EnumMap<>(Operation.class);
+    private final Map<Operation, PrintStream> intervalStreams = new EnumMap<>(Operation.class);
+    private Path runDir;
+    private long baseTimeMillis;
+
+    public LoadReportWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper.copy()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Открывает интервальные журналы операций.
+     *
+     * @param runDir     каталог отчетов запуска.
+     * @param operations статистика операций.
+     */
+    public synchronized void open(Path runDir, Collection<OperationStats> operations) {
+        this.runDir = runDir;
+        this.baseTimeMillis = System.currentTimeMillis();
+        try {
+            Files.createDirectories(runDir);
+            for (OperationStats stats : operations) {
+                PrintStream stream = new PrintStream(
+                        Files.newOutputStream(runDir.resolve(fileName(stats.operation()) + ".hlog")),
+                        false, StandardCharsets.UTF_8);
+                HistogramLogWriter writer = new HistogramLogWriter(stream);
+                writer.outputLogFormatVersion();
+                writer.outputStartTime(baseTimeMillis);
+                writer.outputLegend();
+                intervalStreams.put(stats.operation(), stream);
+                intervalLogs.put(stats.operation(), writer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось создать каталог отчетов " + runDir, e);
+        }
+    }
+
+    /**
+     * Записывает гистограмму интервала в журнал операции.
+     *
+     * @param operation операция.
+     * @param interval  гистограмма интервала (мкс) с отметками начала и конца интервала.
+     */
+    public synchronized void writeInterval(Operation operation, Histogram interval) {
+        HistogramLogWriter writer = intervalLogs.get(operation);
+        if (writer == null) {
+            return;
+        }
+        writer.outputIntervalHistogram(
+                (interval.getStartTimeStamp() - baseTimeMillis) / 1000.0,
+                (interval.getEndTimeStamp() - baseTimeMillis) / 1000.0,
+                interval, MICROS_PER_MILLI);
+    }
+
+    /**
+     * Закрывает журналы и записывает итоговые распределения и сводку.
+     *
+     * @param summary    итоги теста.
+     * @param operations статистика операций.
+     * @return каталог отчетов запуска.
+     */
+    public synchronized Path finish(LoadTestSummary summary, Collection<OperationStats> operations) {
+        intervalStreams.values().forEach(PrintStream::close);
+        intervalStreams.clear();
+        intervalLogs.clear();
+        try {
+            for (OperationStats stats : operations) {
+                writeDistribution(runDir.resolve(fileName(stats.operation()) + ".hgrm"), stats.totalResponseTime());
+                writeDistribution(runDir.resolve(fileName(stats.operation()) + "-service.hgrm"), stats.totalServiceTime());
+            }
+            objectMapper.writeValue(runDir.resolve("summary.json").toFile(), summary);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось записать отчет в " + runDir, e);
+        }
+        log.info("Отчеты нагрузочного теста записаны в {}", runDir.toAbsolutePath());
+        return runDir;
+    }
+
+    private void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream stream = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(stream, MICROS_PER_MILLI);
+        }
+    }
+
+    private String fileName(Operation operation) {
+        return operation.name().toLowerCase();
+    }
+}
@@ -0,0 +1,204 @@
+package io.github.habatoo.loadtest.components;
+
+import io.github.habatoo.base.LocalJwtIssuer;
+import io.github.habatoo.loadtest.properties.LoadTestProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.PostgreSQLContainer;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Локальный стенд для нагрузочного теста.
+ * <p>
+ * Поднимает Postgres в Testcontainers с базами всех сервисов, замену Gateway и процессы
+ * сервисов Account, Cash, Transfer и Notification из их bootJar. Сервисы проверяют токены
+ * по ключам {@link LocalJwtIssuer} и получают у него же межсервисные токены, поэтому Keycloak
+ * не нужен. Вывод процессов пишется в каталог {@code logs} отчета.
+ */
+@Slf4j
+@Component
+public class LocalStand implements DisposableBean {
+
+    private static final String DB_USER = "bank_admin";
+    private static final String DB_PASSWORD = "bank_password";
+    private static final List<String> SERVICES = List.of("notification", "account", "cash", "transfer");
+
+    private final LoadTestProperties.Stand properties;
+    private final WebClient webClient;
+    private final List<Process> processes = new ArrayList<>();
+    private PostgreSQLContainer<?> postgres;
+    private GatewayStandIn gateway;
+
+    public LocalStand(LoadTestProperties properties, WebClient.Builder builder) {
+        this.properties = properties.stand();
+        this.webClient = builder.build();
+    }
+
+    /**
+     * Запускает стенд и ждет готовности всех сервисов.
+     *
+     * @param issuer локальный издатель JWT (должен быть уже запущен).
+     * @param logDir каталог для вывода процессов сервисов.
+     * @return адреса сервисов стенда.
+     */
+    public synchronized LoadTestProperties.Targets start(LocalJwtIssuer issuer, Path logDir) {
+        for (String service : SERVICES) {
+            if (!properties.jars().containsKey(service)) {
+                throw new IllegalStateException("Не задан jar сервиса " + service
+                        + " (spring.load-test.stand.jars." + service + ")");
+            }
+        }
+
+        startPostgres();
+
+        Map<String, Integer> ports = new LinkedHashMap<>();
+        SERVICES.forEach(service -> ports.put(service, freePort()));
+        String accountUrl = url(ports.get("account"));
+
+        gateway = new GatewayStandIn(accountUrl);
+        String gatewayUrl = gateway.start();
+
+        try {
+            Files.createDirectories(logDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось создать каталог " + logDir, e);
+        }
+
+        for (String service : SERVICES) {
+            launch(service, ports.get(service), issuer, gatewayUrl, url(ports.get("notification")), logDir);
+        }
+        for (String service : SERVICES) {
+            awaitHealthy(service, ports.get(service));
+        }
+
+        return new LoadTestProperties.Targets(accountUrl, url(ports.get("cash")), url(ports.get("transfer")));
+    }
+
+    @Override
+    public synchronized void destroy() {
+        processes.forEach(Process::destroy);
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+        processes.clear();
+        if (gateway != null) {
+            gateway.close();
+            gateway = null;
+        }
+        if (postgres != null) {
+            postgres.stop();
+            postgres = null;
+        }
+    }
+
+    private void startPostgres() {
+        postgres = new PostgreSQLContainer<>(properties.postgresImage())
+                .withDatabaseName("postgres")
+                .withUsername(DB_USER)
+                .withPassword(DB_PASSWORD);
+        postgres.start();
+        for (String service : SERVICES) {
+            createDatabase(service + "_db");
+        }
+        log.info("Postgres стенда запущен на порту {}", postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT));
+    }
+
+    private void createDatabase(String name) {
+        try {
+            Container.ExecResult result = postgres.execInContainer(
+                    "psql", "-U", DB_USER, "-d", "postgres", "-c", "CREATE DATABASE " + name);
+            if (result.getExitCode() != 0) {
+                throw new IllegalStateException("Не удалось создать базу " + name + ": " + result.getStderr());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Создание базы " + name + " прервано", e);
+        }
+    }
+
+    private void launch(String service, int port, LocalJwtIssuer issuer, String gatewayUrl,
+                        String notificationUrl, Path logDir) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        Arrays.stream(properties.jvmArgs().trim().split("\\s+"))
+                .filter(arg -> !arg.isEmpty())
+                .forEach(command::add);
+        command.add("-jar");
+        command.add(properties.jars().get(service).toAbsolutePath().toString());
+        command.add("--server.port=" + port);
+        issuer.springProperties().forEach((name, value) -> command.add("--" + name + "=" + value));
+        command.add("--spring.gateway.host=" + gatewayUrl);
+        command.add("--spring.application.notification.url=" + notificationUrl + "/notification");
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logDir.resolve(service + ".log").toFile());
+        String prefix = "DB_" + service.toUpperCase() + "_";
+        Map<String, String> environment = builder.environment();
+        environment.put(prefix + "HOST", postgres.getHost());
+        environment.put(prefix + "PORT", String.valueOf(postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT)));
+        environment.put(prefix + "NAME", service + "_db");
+        environment.put("DB_USER_NAME", DB_USER);
+        environment.put("DB_PASSWORD", DB_PASSWORD);
+        environment.put("GATEWAY_HOST", gatewayUrl);
+
+        try {
+            processes.add(builder.start());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось запустить сервис " + service, e);
+        }
+        log.info("Сервис {} запускается на порту {}", service, port);
+    }
+
+    private void awaitHealthy(String service, int port) {
+        Process process = processes.get(SERVICES.indexOf(service));
+        webClient.get()
+                .uri(url(port) + "/actuator/health")
+                .retrieve()
+                .toBodilessEntity()
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .filter(e -> process.isAlive()))
+                .timeout(properties.startupTimeout())
+                .doOnError(e -> log.error("Сервис {} не стал доступен, см. logs/{}.log", service, service))
+                .block();
+        log.info("Сервис {} готов", service);
+    }
+
+    private String url(int port) {
+        return "http://localhost:" + port;
+    }
+
+    private int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            socket.setReuseAddress(true);
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось выделить свободный порт", e);
+        }
+    }
+}
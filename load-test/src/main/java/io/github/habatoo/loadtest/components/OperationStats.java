@@ -0,0 +1,139 @@
+package io.github.habatoo.loadtest.components;
+
+import io.github.habatoo.loadtest.models.Operation;
+import io.github.habatoo.loadtest.models.Outcome;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Статистика одной операции нагрузочного теста.
+ * <p>
+ * Задержки пишутся в {@link Recorder} HdrHistogram в микросекундах без блокировок и снимаются
+ * интервалами. Время ответа отсчитывается от запланированного момента запроса, а не от фактической
+ * отправки, поэтому очередь перед перегруженным сервисом входит в измерение (без «coordinated omission»).
+ * Время обслуживания отсчитывается от фактической отправки. В гистограммы попадают все завершенные
+ * запросы, включая ошибки; отброшенные из-за лимита одновременных запросов только подсчитываются.
+ */
+public class OperationStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Operation operation;
+    private final Recorder responseTime = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder serviceTime = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram totalResponseTime = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram totalServiceTime = new Histogram(SIGNIFICANT_DIGITS);
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private Histogram responseInterval;
+    private Histogram serviceInterval;
+
+    public OperationStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    public Operation operation() {
+        return operation;
+    }
+
+    /**
+     * Учитывает запланированный запрос.
+     */
+    public void recordScheduled() {
+        scheduled.increment();
+    }
+
+    /**
+     * Учитывает запрос, отброшенный из-за лимита одновременных запросов генератора.
+     */
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Учитывает завершенный запрос.
+     *
+     * @param outcome          результат запроса.
+     * @param responseTimeNanos время от запланированного момента до ответа.
+     * @param serviceTimeNanos  время от фактической отправки до ответа.
+     */
+    public void recordCompleted(Outcome outcome, long responseTimeNanos, long serviceTimeNanos) {
+        responseTime.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(responseTimeNanos)));
+        serviceTime.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(serviceTimeNanos)));
+        if (outcome.success()) {
+            succeeded.increment();
+        } else {
+            errors.computeIfAbsent(outcome.error(), key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Снимает гистограмму времени ответа за прошедший интервал и добавляет ее к итоговой.
+     * Вызывается одним потоком отчета.
+     *
+     * @return гистограмма интервала (значения в микросекундах); переиспользуется при следующем вызове.
+     */
+    public synchronized Histogram takeInterval() {
+        responseInterval = responseTime.getIntervalHistogram(responseInterval);
+        serviceInterval = serviceTime.getIntervalHistogram(serviceInterval);
+        totalResponseTime.add(responseInterval);
+        totalServiceTime.add(serviceInterval);
+        return responseInterval;
+    }
+
+    /**
+     * Сбрасывает накопленную статистику (после прогрева).
+     */
+    public synchronized void reset() {
+        takeInterval();
+        totalResponseTime.reset();
+        totalServiceTime.reset();
+        scheduled.reset();
+        succeeded.reset();
+        dropped.reset();
+        errors.clear();
+    }
+
+    public synchronized Histogram totalResponseTime() {
+        return totalResponseTime.copy();
+    }
+
+    public synchronized Histogram totalServiceTime() {
+        return totalServiceTime.copy();
+    }
+
+    public long scheduled() {
+        return scheduled.sum();
+    }
+
+    public long succeeded() {
+        return succeeded.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Возвращает число ошибок по категориям.
+     *
+     * @return упорядоченная по категориям карта.
+     */
+    public Map<String, Long> errors() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        errors.forEach((category, count) -> snapshot.put(category, count.sum()));
+        return snapshot;
+    }
+
+    public long failed() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.habatoo.loadtest.components;
+
+import io.github.habatoo.base.LocalJwtIssuer;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Пользователи нагрузочного теста и их токены доступа.
+ * <p>
+ * Токены выпускаются один раз при подготовке, поэтому генератор нагрузки не тратит время
+ * на подпись и измеряет только работу сервисов.
+ */
+public class UserPool {
+
+    private static final String LOGIN_PREFIX = "load-user-";
+
+    private final List<String> logins;
+    private final List<String> tokens;
+
+    public UserPool(int users, LocalJwtIssuer issuer) {
+        this.logins = IntStream.range(0, users)
+                .mapToObj(index -> LOGIN_PREFIX + index)
+                .toList();
+        this.tokens = logins.stream()
+                .map(login -> issuer.issueUserToken(login, List.of("USER")))
+                .toList();
+    }
+
+    public String login(int user) {
+        return logins.get(user);
+    }
+
+    public String token(int user) {
+        return tokens.get(user);
+    }
+
+    public int size() {
+        return logins.size();
+    }
+}
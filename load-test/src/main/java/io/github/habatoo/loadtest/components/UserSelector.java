@@ -0,0 +1,76 @@
+package io.github.habatoo.loadtest.components;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Выбор пользователя для очередного запроса с перекосом по распределению Ципфа.
+ * <p>
+ * Пользователь с номером {@code k} (нумерация с нуля) выбирается с вероятностью,
+ * пропорциональной {@code 1 / (k + 1)^skew}: при {@code skew = 0} все пользователи равновероятны,
+ * при {@code skew ≈ 1} небольшая группа «горячих» пользователей и их счетов получает
+ * основную часть запросов, как в реальном трафике. Распределение строится один раз,
+ * выбор выполняется двоичным поиском без блокировок.
+ */
+public class UserSelector {
+
+    private final double[] cumulative;
+
+    /**
+     * @param users число пользователей.
+     * @param skew  показатель распределения Ципфа (не меньше 0).
+     */
+    public UserSelector(int users, double skew) {
+        if (users <= 0) {
+            throw new IllegalArgumentException("Число пользователей должно быть положительным: " + users);
+        }
+        if (skew < 0) {
+            throw new IllegalArgumentException("Показатель перекоса не может быть отрицательным: " + skew);
+        }
+        this.cumulative = new double[users];
+        double sum = 0;
+        for (int k = 0; k < users; k++) {
+            sum += 1.0 / Math.pow(k + 1, skew);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < users; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    /**
+     * Выбирает номер пользователя.
+     *
+     * @param random источник случайных чисел потока-генератора.
+     * @return номер пользователя от 0 до {@code users - 1}.
+     */
+    public int next(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int user = index >= 0 ? index : -index - 1;
+        return Math.min(user, cumulative.length - 1);
+    }
+
+    /**
+     * Выбирает номер пользователя, отличного от заданного (получатель перевода).
+     *
+     * @param random  источник случайных чисел потока-генератора.
+     * @param exclude номер пользователя, которого нужно исключить.
+     * @return номер другого пользователя или {@code exclude}, если пользователь единственный.
+     */
+    public int nextOther(RandomGenerator random, int exclude) {
+        if (cumulative.length == 1) {
+            return exclude;
+        }
+        int user = random.nextInt(cumulative.length - 1);
+        return user >= exclude ? user + 1 : user;
+    }
+
+    /**
+     * Возвращает число пользователей.
+     *
+     * @return размер выборки.
+     */
+    public int size() {
+        return cumulative.length;
+    }
+}
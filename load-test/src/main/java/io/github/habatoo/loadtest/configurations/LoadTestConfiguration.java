@@ -0,0 +1,22 @@
+package io.github.habatoo.loadtest.configurations;
+
+import io.github.habatoo.base.LocalJwtIssuer;
+import io.github.habatoo.loadtest.properties.LoadTestProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация нагрузочного теста.
+ */
+@Configuration
+public class LoadTestConfiguration {
+
+    /**
+     * Локальный издатель JWT из шасси вместо Keycloak. Запускается сценарием теста.
+     */
+    @Bean(destroyMethod = "close")
+    public LocalJwtIssuer localJwtIssuer(LoadTestProperties properties) {
+        LoadTestProperties.Issuer issuer = properties.issuer();
+        return new LocalJwtIssuer(issuer.port(), issuer.realm(), issuer.tokenTtl());
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.habatoo.loadtest.models;
+
+/**
+ * Модель поступления запросов в открытой модели нагрузки.
+ */
+public enum ArrivalProcess {
+
+    /**
+     * Пуассоновский поток: интервалы между запросами распределены экспоненциально.
+     */
+    POISSON,
+
+    /**
+     * Равномерный поток с постоянным интервалом между запросами.
+     */
+    CONSTANT
+}
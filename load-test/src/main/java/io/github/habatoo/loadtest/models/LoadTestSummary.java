@@ -0,0 +1,90 @@
+package io.github.habatoo.loadtest.models;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Итоги нагрузочного теста, которые сохраняются в {@code summary.json}.
+ *
+ * @param startedAt       момент начала измерения.
+ * @param durationSeconds длительность измерения в секундах.
+ * @param arrival         модель поступления запросов.
+ * @param users           число пользователей.
+ * @param skew            показатель перекоса выбора пользователя.
+ * @param operations      итоги по операциям.
+ */
+public record LoadTestSummary(
+        Instant startedAt,
+        double durationSeconds,
+        ArrivalProcess arrival,
+        int users,
+        double skew,
+        List<OperationSummary> operations
+) {
+
+    /**
+     * Итоги одной операции.
+     *
+     * @param operation         операция.
+     * @param targetRate        заданная интенсивность, запросов в секунду.
+     * @param scheduled         число запланированных запросов.
+     * @param succeeded         число успешных запросов.
+     * @param failed            число запросов, завершившихся ошибкой.
+     * @param dropped           число запросов, отброшенных из-за лимита одновременных запросов.
+     * @param throughput        фактическая пропускная способность по завершенным запросам, в секунду.
+     * @param successThroughput пропускная способность по успешным запросам, в секунду.
+     * @param errors            число ошибок по категориям.
+     * @param responseTime      время ответа от запланированного момента запроса, мс.
+     * @param serviceTime       время обслуживания от фактической отправки, мс.
+     */
+    public record OperationSummary(
+            Operation operation,
+            double targetRate,
+            long scheduled,
+            long succeeded,
+            long failed,
+            long dropped,
+            double throughput,
+            double successThroughput,
+            Map<String, Long> errors,
+            Latency responseTime,
+            Latency serviceTime
+    ) {
+    }
+
+    /**
+     * Перцентили задержки в миллисекундах.
+     */
+    public record Latency(
+            double p50,
+            double p90,
+            double p99,
+            double p999,
+            double max,
+            double mean
+    ) {
+
+        /**
+         * Строит перцентили по гистограмме в микросекундах.
+         *
+         * @param histogram гистограмма задержек (мкс).
+         * @return перцентили в миллисекундах.
+         */
+        public static Latency of(Histogram histogram) {
+            return new Latency(
+                    toMillis(histogram.getValueAtPercentile(50)),
+                    toMillis(histogram.getValueAtPercentile(90)),
+                    toMillis(histogram.getValueAtPercentile(99)),
+                    toMillis(histogram.getValueAtPercentile(99.9)),
+                    toMillis(histogram.getMaxValue()),
+                    histogram.getTotalCount() > 0 ? histogram.getMean() / 1000.0 : 0.0);
+        }
+
+        private static double toMillis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.habatoo.loadtest.models;
+
+/**
+ * Операции, которыми нагрузочный тест обращается к сервисам.
+ */
+public enum Operation {
+
+    /**
+     * Пополнение или снятие наличных: {@code POST /cash} сервиса Cash.
+     */
+    CASH,
+
+    /**
+     * Перевод другому пользователю: {@code POST /transfer} сервиса Transfer.
+     */
+    TRANSFER,
+
+    /**
+     * Чтение профиля пользователя: {@code GET /user} сервиса Account.
+     */
+    USER
+}
@@ -0,0 +1,21 @@
+package io.github.habatoo.loadtest.models;
+
+/**
+ * Результат одного запроса нагрузочного теста.
+ *
+ * @param success признак успешной операции.
+ * @param error   категория ошибки ({@code http_503}, {@code timeout}, {@code rejected:<код>} и т.п.)
+ *                или {@code null} для успешной операции.
+ */
+public record Outcome(boolean success, String error) {
+
+    private static final Outcome OK = new Outcome(true, null);
+
+    public static Outcome ok() {
+        return OK;
+    }
+
+    public static Outcome error(String category) {
+        return new Outcome(false, category);
+    }
+}
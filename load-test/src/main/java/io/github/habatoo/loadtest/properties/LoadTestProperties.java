@@ -0,0 +1,158 @@
+package io.github.habatoo.loadtest.properties;
+
+import io.github.habatoo.loadtest.models.ArrivalProcess;
+import io.github.habatoo.loadtest.models.Operation;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Класс для биндинга настроек нагрузочного теста.
+ * <p>
+ * Связывает свойства с префиксом "spring.load-test" из application.yml.
+ * Незаданные параметры заполняются значениями по умолчанию.
+ *
+ * @param duration       длительность измерения.
+ * @param warmup         длительность прогрева с той же интенсивностью (результаты не учитываются).
+ * @param arrival        модель поступления запросов.
+ * @param rates          интенсивность каждой операции, запросов в секунду (0 — операция не выполняется).
+ * @param users          число пользователей, от имени которых идут запросы.
+ * @param skew           показатель распределения Ципфа при выборе пользователя (0 — равномерно).
+ * @param withdrawShare  доля снятий среди операций с наличными.
+ * @param amount         сумма одной операции с наличными и одного перевода.
+ * @param initialDeposit начальный баланс счета каждого пользователя.
+ * @param maxInFlight    максимальное число одновременных запросов; запросы сверх него считаются отброшенными.
+ * @param requestTimeout таймаут одного запроса.
+ * @param reportInterval период записи интервальных гистограмм.
+ * @param reportDir      каталог отчетов.
+ * @param targets        адреса сервисов (при запущенном стенде заменяются адресами стенда).
+ * @param issuer         настройки локального издателя JWT.
+ * @param stand          настройки локального стенда.
+ */
+@ConfigurationProperties(prefix = "spring.load-test")
+public record LoadTestProperties(
+        Duration duration,
+        Duration warmup,
+        ArrivalProcess arrival,
+        Map<Operation, Double> rates,
+        Integer users,
+        Double skew,
+        Double withdrawShare,
+        BigDecimal amount,
+        BigDecimal initialDeposit,
+        Integer maxInFlight,
+        Duration requestTimeout,
+        Duration reportInterval,
+        Path reportDir,
+        Targets targets,
+        Issuer issuer,
+        Stand stand
+) {
+
+    public LoadTestProperties {
+        duration = duration != null ? duration : Duration.ofSeconds(60);
+        warmup = warmup != null ? warmup : Duration.ofSeconds(10);
+        arrival = arrival != null ? arrival : ArrivalProcess.POISSON;
+        rates = rates != null ? Map.copyOf(rates) : defaultRates();
+        users = users != null ? users : 1000;
+        skew = skew != null ? skew : 1.0;
+        withdrawShare = withdrawShare != null ? withdrawShare : 0.5;
+        amount = amount != null ? amount : new BigDecimal("10.00");
+        initialDeposit = initialDeposit != null ? initialDeposit : new BigDecimal("100000.00");
+        maxInFlight = maxInFlight != null ? maxInFlight : 5000;
+        requestTimeout = requestTimeout != null ? requestTimeout : Duration.ofSeconds(5);
+        reportInterval = reportInterval != null ? reportInterval : Duration.ofSeconds(1);
+        reportDir = reportDir != null ? reportDir : Path.of("build", "load-test");
+        targets = targets != null ? targets : new Targets(null, null, null);
+        issuer = issuer != null ? issuer : new Issuer(null, null, null);
+        stand = stand != null ? stand : new Stand(null, null, null, null, null);
+    }
+
+    /**
+     * Возвращает интенсивность операции.
+     *
+     * @param operation операция.
+     * @return запросов в секунду (0, если операция не настроена).
+     */
+    public double rate(Operation operation) {
+        return rates.getOrDefault(operation, 0.0);
+    }
+
+    private static Map<Operation, Double> defaultRates() {
+        Map<Operation, Double> defaults = new EnumMap<>(Operation.class);
+        defaults.put(Operation.CASH, 100.0);
+        defaults.put(Operation.TRANSFER, 25.0);
+        defaults.put(Operation.USER, 50.0);
+        return Map.copyOf(defaults);
+    }
+
+    /**
+     * Адреса сервисов, к которым обращается нагрузка.
+     *
+     * @param accountUrl  базовый адрес сервиса Account.
+     * @param cashUrl     базовый адрес сервиса Cash.
+     * @param transferUrl базовый адрес сервиса Transfer.
+     */
+    public record Targets(
+            String accountUrl,
+            String cashUrl,
+            String transferUrl
+    ) {
+
+        public Targets {
+            accountUrl = accountUrl != null ? accountUrl : "http://localhost:8081";
+            cashUrl = cashUrl != null ? cashUrl : "http://localhost:8082";
+            transferUrl = transferUrl != null ? transferUrl : "http://localhost:8083";
+        }
+    }
+
+    /**
+     * Настройки локального издателя JWT ({@code LocalJwtIssuer} из шасси).
+     *
+     * @param port       порт HTTP-сервера издателя (JWKS, discovery, выдача токенов).
+     * @param realm      имя realm, входящее в адрес издателя {@code /realms/<realm>}.
+     * @param tokenTtl   время жизни выдаваемых токенов.
+     */
+    public record Issuer(
+            Integer port,
+            String realm,
+            Duration tokenTtl
+    ) {
+
+        public Issuer {
+            port = port != null ? port : 18080;
+            realm = realm != null ? realm : "bank";
+            tokenTtl = tokenTtl != null ? tokenTtl : Duration.ofHours(2);
+        }
+    }
+
+    /**
+     * Настройки локального стенда.
+     *
+     * @param enabled        признак запуска стенда (Postgres в Testcontainers и сервисы из bootJar).
+     * @param postgresImage  образ Postgres.
+     * @param jars           пути к исполняемым jar сервисов (ключ — имя сервиса).
+     * @param jvmArgs        аргументы JVM процессов сервисов.
+     * @param startupTimeout максимальное время ожидания готовности сервиса.
+     */
+    public record Stand(
+            Boolean enabled,
+            String postgresImage,
+            Map<String, Path> jars,
+            String jvmArgs,
+            Duration startupTimeout
+    ) {
+
+        public Stand {
+            enabled = enabled != null ? enabled : true;
+            postgresImage = postgresImage != null ? postgresImage : "postgres:17-alpine";
+            jars = jars != null ? Map.copyOf(jars) : Map.of();
+            jvmArgs = jvmArgs != null ? jvmArgs : "-Xms256m -Xmx512m";
+            startupTimeout = startupTimeout != null ? startupTimeout : Duration.ofMinutes(3);
+        }
+    }
+}
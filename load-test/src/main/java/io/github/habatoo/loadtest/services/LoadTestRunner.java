@@ -0,0 +1,80 @@
+package io.github.habatoo.loadtest.services;
+
+import io.github.habatoo.base.LocalJwtIssuer;
+import io.github.habatoo.loadtest.components.BankClient;
+import io.github.habatoo.loadtest.components.LocalStand;
+import io.github.habatoo.loadtest.components.UserPool;
+import io.github.habatoo.loadtest.models.Outcome;
+import io.github.habatoo.loadtest.properties.LoadTestProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Сценарий нагрузочного теста.
+ * <p>
+ * Запускает локальный издатель JWT ({@link LocalJwtIssuer}) и, если включено, локальный стенд; регистрирует пользователей,
+ * открывает им рублевые счета с начальным балансом и запускает {@link OpenModelLoadGenerator}.
+ * Подготовка данных не входит в измерение.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoadTestRunner implements CommandLineRunner {
+
+    private static final DateTimeFormatter RUN_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int SEED_CONCURRENCY = 32;
+    private static final String CURRENCY = "RUB";
+
+    private final LoadTestProperties properties;
+    private final LocalJwtIssuer issuer;
+    private final LocalStand localStand;
+    private final BankClient bankClient;
+    private final OpenModelLoadGenerator generator;
+
+    @Override
+    public void run(String... args) {
+        Path runDir = properties.reportDir().resolve(RUN_FORMAT.format(LocalDateTime.now()));
+
+        issuer.start();
+        if (properties.stand().enabled()) {
+            bankClient.useTargets(localStand.start(issuer, runDir.resolve("logs")));
+        }
+
+        UserPool users = new UserPool(properties.users(), issuer);
+        seed(users);
+        generator.run(users, runDir);
+    }
+
+    private void seed(UserPool users) {
+        log.info("Подготовка {} пользователей: регистрация, счет {} и начальный баланс {}",
+                users.size(), CURRENCY, properties.initialDeposit());
+
+        Map<String, Long> failures = Flux.range(0, users.size())
+                .flatMap(user -> seedUser(users.token(user)), SEED_CONCURRENCY)
+                .filter(outcome -> !outcome.success())
+                .collect(Collectors.groupingBy(Outcome::error, Collectors.counting()))
+                .block();
+
+        if (failures != null && !failures.isEmpty()) {
+            log.warn("Не все пользователи подготовлены: {}", failures);
+        }
+    }
+
+    private Mono<Outcome> seedUser(String token) {
+        return bankClient.user(token)
+                .flatMap(registered -> registered.success()
+                        ? bankClient.openAccount(token, CURRENCY)
+                        .flatMap(opened -> bankClient.cash(token, "PUT", properties.initialDeposit(), CURRENCY))
+                        : Mono.just(registered));
+    }
+}
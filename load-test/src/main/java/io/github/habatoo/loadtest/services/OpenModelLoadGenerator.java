@@ -0,0 +1,238 @@
+package io.github.habatoo.loadtest.services;
+
+import io.github.habatoo.loadtest.components.ArrivalSchedule;
+import io.github.habatoo.loadtest.components.BankClient;
+import io.github.habatoo.loadtest.components.LoadReportWriter;
+import io.github.habatoo.loadtest.components.OperationStats;
+import io.github.habatoo.loadtest.components.UserPool;
+import io.github.habatoo.loadtest.components.UserSelector;
+import io.github.habatoo.loadtest.models.LoadTestSummary;
+import io.github.habatoo.loadtest.models.Operation;
+import io.github.habatoo.loadtest.models.Outcome;
+import io.github.habatoo.loadtest.properties.LoadTestProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+/**
+ * Генератор нагрузки по открытой модели.
+ * <p>
+ * Для каждой операции отдельный поток планирует моменты запросов по {@link ArrivalSchedule}
+ * независимо от того, ответили ли сервисы на предыдущие запросы, и отправляет запрос неблокирующим
+ * клиентом. Время ответа отсчитывается от запланированного, а не от фактического момента отправки,
+ * поэтому замедление сервисов не маскируется уменьшением нагрузки (coordinated omission).
+ * Число одновременных запросов ограничено {@code maxInFlight}: запросы сверх лимита не отправляются
+ * и учитываются как отброшенные, чтобы генератор не исчерпал память при деградации сервисов.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OpenModelLoadGenerator {
+
+    private static final String CURRENCY = "RUB";
+
+    private final LoadTestProperties properties;
+    private final BankClient bankClient;
+    private final LoadReportWriter reportWriter;
+
+    /**
+     * Выполняет прогрев и измерение и записывает отчеты.
+     *
+     * @param users  пользователи, от имени которых идут запросы.
+     * @param runDir каталог отчетов запуска.
+     * @return итоги теста.
+     */
+    public LoadTestSummary run(UserPool users, Path runDir) {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            if (properties.rate(operation) > 0) {
+                stats.put(operation, new OperationStats(operation));
+            }
+        }
+        if (stats.isEmpty()) {
+            throw new IllegalStateException("Не задана интенсивность ни одной операции (spring.load-test.rates)");
+        }
+
+        UserSelector selector = new UserSelector(users.size(), properties.skew());
+        Semaphore inFlight = new Semaphore(properties.maxInFlight());
+        long startNanos = System.nanoTime();
+        long measureStartNanos = startNanos + properties.warmup().toNanos();
+        long endNanos = measureStartNanos + properties.duration().toNanos();
+
+        log.info("Прогрев {} и измерение {}: интенсивность {}, модель {}",
+                properties.warmup(), properties.duration(), properties.rates(), properties.arrival());
+
+        List<Thread> generators = new ArrayList<>();
+        stats.values().forEach(operationStats -> generators.add(Thread.ofPlatform()
+                .name("load-" + operationStats.operation().name().toLowerCase())
+                .start(() -> generate(operationStats, users, selector, inFlight, measureStartNanos, endNanos))));
+
+        parkUntil(measureStartNanos);
+        Instant startedAt = Instant.now();
+        stats.values().forEach(OperationStats::reset);
+        reportWriter.open(runDir, stats.values());
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("load-report").factory());
+        long intervalMillis = properties.reportInterval().toMillis();
+        reporter.scheduleAtFixedRate(() -> writeIntervals(stats),
+                intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+        generators.forEach(this::join);
+        awaitInFlight(inFlight);
+        reporter.shutdown();
+        awaitTermination(reporter);
+        writeIntervals(stats);
+
+        LoadTestSummary summary = summarize(startedAt, stats);
+        reportWriter.finish(summary, stats.values());
+        logSummary(summary);
+        return summary;
+    }
+
+    private void generate(OperationStats stats, UserPool users, UserSelector selector, Semaphore inFlight,
+                          long measureStartNanos, long endNanos) {
+        ArrivalSchedule schedule = new ArrivalSchedule(properties.arrival(), properties.rate(stats.operation()));
+        RandomGenerator random = new SplittableRandom();
+        long intendedStart = System.nanoTime();
+
+        while (true) {
+            intendedStart += schedule.nextIntervalNanos(random);
+            if (intendedStart >= endNanos) {
+                return;
+            }
+            parkUntil(intendedStart);
+            boolean measured = intendedStart >= measureStartNanos;
+            if (measured) {
+                stats.recordScheduled();
+            }
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    stats.recordDropped();
+                }
+                continue;
+            }
+
+            long scheduledAt = intendedStart;
+            long sentAt = System.nanoTime();
+            request(stats.operation(), users, selector, random)
+                    .onErrorResume(e -> Mono.just(Outcome.error(e.getClass().getSimpleName())))
+                    .doFinally(signal -> inFlight.release())
+                    .subscribe(outcome -> {
+                        if (measured) {
+                            long completedAt = System.nanoTime();
+                            stats.recordCompleted(outcome, completedAt - scheduledAt, completedAt - sentAt);
+                        }
+                    });
+        }
+    }
+
+    private Mono<Outcome> request(Operation operation, UserPool users, UserSelector selector,
+                                  RandomGenerator random) {
+        int user = selector.next(random);
+        return switch (operation) {
+            case CASH -> bankClient.cash(users.token(user),
+                    random.nextDouble() < properties.withdrawShare() ? "GET" : "PUT",
+                    properties.amount(), CURRENCY);
+            case TRANSFER -> bankClient.transfer(users.token(user),
+                    users.login(selector.nextOther(random, user)), properties.amount(), CURRENCY);
+            case USER -> bankClient.user(users.token(user));
+        };
+    }
+
+    private void writeIntervals(Map<Operation, OperationStats> stats) {
+        try {
+            stats.values().forEach(operationStats ->
+                    reportWriter.writeInterval(operationStats.operation(), operationStats.takeInterval()));
+        } catch (RuntimeException e) {
+            log.error("Не удалось записать интервальную гистограмму: {}", e.getMessage());
+        }
+    }
+
+    private void awaitInFlight(Semaphore inFlight) {
+        long deadline = System.nanoTime() + properties.requestTimeout().multipliedBy(2).toNanos();
+        while (inFlight.availablePermits() < properties.maxInFlight() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        int pending = properties.maxInFlight() - inFlight.availablePermits();
+        if (pending > 0) {
+            log.warn("{} запросов не завершились после окончания измерения", pending);
+        }
+    }
+
+    private LoadTestSummary summarize(Instant startedAt, Map<Operation, OperationStats> stats) {
+        double seconds = properties.duration().toNanos() / 1e9;
+        List<LoadTestSummary.OperationSummary> operations = stats.values().stream()
+                .map(operationStats -> new LoadTestSummary.OperationSummary(
+                        operationStats.operation(),
+                        properties.rate(operationStats.operation()),
+                        operationStats.scheduled(),
+                        operationStats.succeeded(),
+                        operationStats.failed(),
+                        operationStats.dropped(),
+                        (operationStats.succeeded() + operationStats.failed()) / seconds,
+                        operationStats.succeeded() / seconds,
+                        operationStats.errors(),
+                        LoadTestSummary.Latency.of(operationStats.totalResponseTime()),
+                        LoadTestSummary.Latency.of(operationStats.totalServiceTime())))
+                .toList();
+        return new LoadTestSummary(startedAt, seconds, properties.arrival(),
+                properties.users(), properties.skew(), operations);
+    }
+
+    private void logSummary(LoadTestSummary summary) {
+        summary.operations().forEach(operation -> log.info(
+                "{}: цель {}/с, факт {}/с (успешно {}/с), ошибок {}, отброшено {}; "
+                        + "p50={} мс, p99={} мс, p99.9={} мс, max={} мс; ошибки {}",
+                operation.operation(),
+                operation.targetRate(),
+                String.format("%.1f", operation.throughput()),
+                String.format("%.1f", operation.successThroughput()),
+                operation.failed(),
+                operation.dropped(),
+                operation.responseTime().p50(),
+                operation.responseTime().p99(),
+                operation.responseTime().p999(),
+                operation.responseTime().max(),
+                operation.errors()));
+    }
+
+    private void parkUntil(long deadlineNanos) {
+        long wait;
+        while ((wait = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    private void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Генерация нагрузки прервана", e);
+        }
+    }
+
+    private void awaitTermination(ScheduledExecutorService reporter) {
+        try {
+            reporter.awaitTermination(properties.reportInterval().toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.habatoo.loadtest.components;
+
+import io.github.habatoo.loadtest.models.ArrivalProcess;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Юнит-тесты для {@link ArrivalSchedule}.
+ */
+class ArrivalScheduleTest {
+
+    @Test
+    @DisplayName("Постоянная модель дает равные интервалы")
+    void constantIntervalTest() {
+        ArrivalSchedule schedule = new ArrivalSchedule(ArrivalProcess.CONSTANT, 200);
+        SplittableRandom random = new SplittableRandom(1);
+
+        assertThat(schedule.nextIntervalNanos(random)).isEqualTo(5_000_000L);
+        assertThat(schedule.nextIntervalNanos(random)).isEqualTo(5_000_000L);
+    }
+
+    @Test
+    @DisplayName("Пуассоновская модель дает заданную среднюю интенсивность")
+    void poissonMeanIntervalTest() {
+        ArrivalSchedule schedule = new ArrivalSchedule(ArrivalProcess.POISSON, 100);
+        SplittableRandom random = new SplittableRandom(1);
+        int samples = 100_000;
+        double total = 0;
+
+        for (int i = 0; i < samples; i++) {
+            long interval = schedule.nextIntervalNanos(random);
+            assertThat(interval).isPositive();
+            total += interval;
+        }
+
+        assertThat(total / samples).isCloseTo(10_000_000.0, within(200_000.0));
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.habatoo.loadtest.components;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link GatewayStandIn}.
+ */
+class GatewayStandInTest {
+
+    @Test
+    @DisplayName("Путь обрезается на два сегмента, как StripPrefix=2 в Gateway")
+    void stripPrefixTest() {
+        assertThat(GatewayStandIn.stripPrefix("/api/account/balance")).isEqualTo("/balance");
+        assertThat(GatewayStandIn.stripPrefix("/api/account/balance?login=a&value=1")).isEqualTo("/balance?login=a&value=1");
+        assertThat(GatewayStandIn.stripPrefix("/api/account/users/list")).isEqualTo("/users/list");
+        assertThat(GatewayStandIn.stripPrefix("/api/account")).isEqualTo("/");
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.habatoo.loadtest.components;
+
+import io.github.habatoo.loadtest.models.Operation;
+import io.github.habatoo.loadtest.models.Outcome;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link OperationStats}.
+ */
+class OperationStatsTest {
+
+    @Test
+    @DisplayName("Счетчики и ошибки по категориям учитываются отдельно")
+    void countersTest() {
+        OperationStats stats = new OperationStats(Operation.CASH);
+
+        stats.recordScheduled();
+        stats.recordScheduled();
+        stats.recordScheduled();
+        stats.recordDropped();
+        stats.recordCompleted(Outcome.ok(), millis(10), millis(5));
+        stats.recordCompleted(Outcome.error("http_503"), millis(20), millis(20));
+
+        assertThat(stats.scheduled()).isEqualTo(3);
+        assertThat(stats.dropped()).isEqualTo(1);
+        assertThat(stats.succeeded()).isEqualTo(1);
+        assertThat(stats.failed()).isEqualTo(1);
+        assertThat(stats.errors()).isEqualTo(Map.of("http_503", 1L));
+    }
+
+    @Test
+    @DisplayName("Интервальные гистограммы накапливаются в итоговые в микросекундах")
+    void histogramsTest() {
+        OperationStats stats = new OperationStats(Operation.TRANSFER);
+
+        stats.recordCompleted(Outcome.ok(), millis(100), millis(10));
+        Histogram first = stats.takeInterval();
+        assertThat(first.getTotalCount()).isEqualTo(1);
+
+        stats.recordCompleted(Outcome.ok(), millis(200), millis(20));
+        Histogram second = stats.takeInterval();
+        assertThat(second.getTotalCount()).isEqualTo(1);
+
+        Histogram responseTime = stats.totalResponseTime();
+        Histogram serviceTime = stats.totalServiceTime();
+        assertThat(responseTime.getTotalCount()).isEqualTo(2);
+        assertThat(responseTime.getMaxValue()).isBetween(199_000L, 201_000L);
+        assertThat(serviceTime.getMaxValue()).isBetween(19_900L, 20_100L);
+    }
+
+    @Test
+    @DisplayName("Сброс после прогрева очищает счетчики и гистограммы")
+    void resetTest() {
+        OperationStats stats = new OperationStats(Operation.USER);
+        stats.recordScheduled();
+        stats.recordCompleted(Outcome.error("timeout"), millis(5000), millis(5000));
+        stats.takeInterval();
+
+        stats.reset();
+
+        assertThat(stats.scheduled()).isZero();
+        assertThat(stats.failed()).isZero();
+        assertThat(stats.errors()).isEmpty();
+        assertThat(stats.totalResponseTime().getTotalCount()).isZero();
+        assertThat(stats.takeInterval().getTotalCount()).isZero();
+    }
+
+    private long millis(long value) {
+        return Duration.ofMillis(value).toNanos();
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.habatoo.loadtest.components;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Юнит-тесты для {@link UserSelector}.
+ */
+class UserSelectorTest {
+
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    @DisplayName("Без перекоса пользователи выбираются равномерно")
+    void uniformSelectionTest() {
+        UserSelector selector = new UserSelector(10, 0.0);
+        SplittableRandom random = new SplittableRandom(42);
+        int[] hits = new int[10];
+
+        for (int i = 0; i < SAMPLES; i++) {
+            hits[selector.next(random)]++;
+        }
+
+        for (int count : hits) {
+            assertThat(count).isBetween(SAMPLES / 10 - 1000, SAMPLES / 10 + 1000);
+        }
+    }
+
+    @Test
+    @DisplayName("С перекосом первые пользователи получают основную часть запросов")
+    void skewedSelectionTest() {
+        UserSelector selector = new UserSelector(1000, 1.0);
+        SplittableRandom random = new SplittableRandom(42);
+        int hot = 0;
+
+        for (int i = 0; i < SAMPLES; i++) {
+            int user = selector.next(random);
+            assertThat(user).isBetween(0, 999);
+            if (user < 10) {
+                hot++;
+            }
+        }
+
+        // Для Ципфа с s = 1 на 1000 элементов первые 10 дают около 39% выборок
+        assertThat(hot).isBetween(SAMPLES * 35 / 100, SAMPLES * 43 / 100);
+    }
+
+    @Test
+    @DisplayName("Получатель перевода всегда отличается от отправителя")
+    void nextOtherExcludesUserTest() {
+        UserSelector selector = new UserSelector(3, 1.0);
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(selector.nextOther(random, 1)).isIn(0, 2);
+        }
+    }
+
+    @Test
+    @DisplayName("Некорректные параметры отклоняются")
+    void invalidArgumentsTest() {
+        assertThatThrownBy(() -> new UserSelector(0, 1.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new UserSelector(10, -1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
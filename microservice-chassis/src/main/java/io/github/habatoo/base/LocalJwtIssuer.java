@@ -0,0 +1,293 @@
+package io.github.habatoo.base;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.NettyOutbound;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Локальная замена Keycloak для интеграционных и нагрузочных тестов.
+ * <p>
+ * Поднимает HTTP-сервер с адресами realm Keycloak: набор открытых ключей (JWKS), документ discovery
+ * и выдачу токенов по client credentials, которой пользуются {@code backgroundWebClient}
+ * и межсервисные клиенты шасси. Токены пользователей выпускаются напрямую, без HTTP, с клеймами
+ * {@code preferred_username}, {@code given_name} и {@code realm_access.roles}, как их выдает Keycloak,
+ * поэтому проверка ролей в сервисах работает без изменений. Ключ RSA генерируется при создании
+ * и живет только в памяти, сеть и запущенный Keycloak не нужны.
+ * <p>
+ * Пример для интеграционного теста:
+ * <pre>{@code
+ * static LocalJwtIssuer issuer = new LocalJwtIssuer().start();
+ *
+ * @DynamicPropertySource
+ * static void jwt(DynamicPropertyRegistry registry) {
+ *     issuer.springProperties().forEach((name, value) -> registry.add(name, () -> value));
+ * }
+ * }</pre>
+ */
+@Slf4j
+public class LocalJwtIssuer implements AutoCloseable {
+
+    /**
+     * Роли, которые получают межсервисные токены (client credentials).
+     */
+    public static final List<String> SERVICE_ROLES =
+            List.of("ACCOUNT_ACCESS", "CASH_ACCESS", "TRANSFER_ACCESS", "NOTIFICATION_ACCESS");
+
+    private static final String DEFAULT_REALM = "bank";
+    private static final Duration DEFAULT_TOKEN_TTL = Duration.ofHours(1);
+
+    private final int requestedPort;
+    private final String realm;
+    private final Duration tokenTtl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RSAKey signingKey;
+    private final RSASSASigner signer;
+    private DisposableServer server;
+
+    /**
+     * Создает издателя на свободном порту с realm {@code bank}.
+     */
+    public LocalJwtIssuer() {
+        this(0, DEFAULT_REALM, DEFAULT_TOKEN_TTL);
+    }
+
+    /**
+     * @param port     порт HTTP-сервера (0 — любой свободный).
+     * @param realm    имя realm, входящее в адрес издателя {@code /realms/<realm>}.
+     * @param tokenTtl время жизни выдаваемых токенов.
+     */
+    public LocalJwtIssuer(int port, String realm, Duration tokenTtl) {
+        this.requestedPort = port;
+        this.realm = realm;
+        this.tokenTtl = tokenTtl;
+        try {
+            this.signingKey = new RSAKeyGenerator(2048)
+                    .keyID(UUID.randomUUID().toString())
+                    .generate();
+            this.signer = new RSASSASigner(signingKey);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Не удалось создать ключ подписи", e);
+        }
+    }
+
+    /**
+     * Запускает HTTP-сервер издателя. Повторный вызов ничего не делает.
+     *
+     * @return этот издатель.
+     */
+    public synchronized LocalJwtIssuer start() {
+        if (server != null) {
+            return this;
+        }
+        String realmPath = "/realms/" + realm;
+        server = HttpServer.create()
+                .port(requestedPort)
+                .route(routes -> routes
+                        .get(realmPath + "/protocol/openid-connect/certs", (request, response) ->
+                                sendJson(response, new JWKSet(signingKey.toPublicJWK()).toJSONObject()))
+                        .get(realmPath + "/.well-known/openid-configuration", (request, response) ->
+                                sendJson(response, discoveryDocument()))
+                        .post(realmPath + "/protocol/openid-connect/token", this::issueClientToken))
+                .bindNow();
+        log.info("Локальный издатель JWT запущен: {}", issuerUri());
+        return this;
+    }
+
+    /**
+     * Порт, на котором работает издатель.
+     *
+     * @return порт HTTP-сервера.
+     * @throws IllegalStateException если издатель не запущен.
+     */
+    public synchronized int port() {
+        if (server == null) {
+            throw new IllegalStateException("Локальный издатель JWT не запущен");
+        }
+        return server.port();
+    }
+
+    /**
+     * Адрес издателя (значение клейма {@code iss} и {@code issuer-uri} сервисов).
+     *
+     * @return адрес realm.
+     */
+    public String issuerUri() {
+        return "http://localhost:" + port() + "/realms/" + realm;
+    }
+
+    /**
+     * Адрес набора открытых ключей ({@code jwk-set-uri} сервисов).
+     *
+     * @return адрес JWKS.
+     */
+    public String jwkSetUri() {
+        return issuerUri() + "/protocol/openid-connect/certs";
+    }
+
+    /**
+     * Адрес выдачи токенов ({@code token-uri} клиента OAuth2).
+     *
+     * @return адрес token endpoint.
+     */
+    public String tokenUri() {
+        return issuerUri() + "/protocol/openid-connect/token";
+    }
+
+    /**
+     * Свойства Spring, направляющие проверку токенов и клиент {@code keycloak} на этого издателя.
+     * Подходят для {@code @DynamicPropertySource} и для аргументов командной строки сервиса.
+     *
+     * @return имена и значения свойств.
+     */
+    public Map<String, String> springProperties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.security.oauth2.resourceserver.jwt.jwk-set-uri", jwkSetUri());
+        properties.put("spring.security.oauth2.resourceserver.jwt.issuer-uri", issuerUri());
+        properties.put("spring.security.oauth2.client.provider.keycloak.issuer-uri", issuerUri());
+        return properties;
+    }
+
+    /**
+     * Выпускает токен пользователя.
+     *
+     * @param username логин пользователя (клейм {@code preferred_username}).
+     * @param roles    роли realm без префикса {@code ROLE_}.
+     * @return подписанный токен доступа.
+     */
+    public String issueUserToken(String username, List<String> roles) {
+        return sign(username, username, roles);
+    }
+
+    /**
+     * Выпускает межсервисный токен так же, как при запросе client credentials.
+     *
+     * @param clientId идентификатор клиента (имя сервиса).
+     * @return подписанный токен доступа с ролями {@link #SERVICE_ROLES}.
+     */
+    public String issueServiceToken(String clientId) {
+        return sign(clientId, "service-account-" + clientId, SERVICE_ROLES);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.disposeNow(Duration.ofSeconds(5));
+            server = null;
+        }
+    }
+
+    private String sign(String subject, String username, List<String> roles) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(issuerUri())
+                .subject(subject)
+                .jwtID(UUID.randomUUID().toString())
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(tokenTtl)))
+                .claim("preferred_username", username)
+                .claim("given_name", username)
+                .claim("realm_access", Map.of("roles", roles))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256)
+                .keyID(signingKey.getKeyID())
+                .type(JOSEObjectType.JWT)
+                .build(), claims);
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Не удалось подписать токен", e);
+        }
+        return jwt.serialize();
+    }
+
+    private Mono<Void> issueClientToken(HttpServerRequest request, HttpServerResponse response) {
+        String clientId = obtainClientId(request.requestHeaders().get(HttpHeaders.AUTHORIZATION));
+        return request.receive().aggregate().asString(StandardCharsets.UTF_8)
+                .defaultIfEmpty("")
+                .flatMap(form -> {
+                    String client = clientId != null ? clientId : formValue(form, "client_id");
+                    if (client == null || !"client_credentials".equals(formValue(form, "grant_type"))) {
+                        return sendJson(response.status(400), Map.of("error", "unsupported_grant_type")).then();
+                    }
+                    Map<String, Object> token = new LinkedHashMap<>();
+                    token.put("access_token", issueServiceToken(client));
+                    token.put("token_type", "Bearer");
+                    token.put("expires_in", tokenTtl.toSeconds());
+                    return sendJson(response, token).then();
+                });
+    }
+
+    private Map<String, Object> discoveryDocument() {
+        String base = issuerUri() + "/protocol/openid-connect";
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("issuer", issuerUri());
+        document.put("authorization_endpoint", base + "/auth");
+        document.put("token_endpoint", tokenUri());
+        document.put("userinfo_endpoint", base + "/userinfo");
+        document.put("jwks_uri", jwkSetUri());
+        document.put("response_types_supported", List.of("code"));
+        document.put("subject_types_supported", List.of("public"));
+        document.put("id_token_signing_alg_values_supported", List.of("RS256"));
+        document.put("grant_types_supported", List.of("authorization_code", "client_credentials"));
+        document.put("token_endpoint_auth_methods_supported", List.of("client_secret_basic", "client_secret_post"));
+        return document;
+    }
+
+    private NettyOutbound sendJson(HttpServerResponse response, Object body) {
+        try {
+            return response.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .sendString(Mono.just(objectMapper.writeValueAsString(body)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сформировать ответ издателя", e);
+        }
+    }
+
+    private String obtainClientId(String authorization) {
+        if (authorization == null || !authorization.startsWith("Basic ")) {
+            return null;
+        }
+        String credentials = new String(Base64.getDecoder().decode(authorization.substring(6)), StandardCharsets.UTF_8);
+        int separator = credentials.indexOf(':');
+        String clientId = separator > 0 ? credentials.substring(0, separator) : credentials;
+        return URLDecoder.decode(clientId, StandardCharsets.UTF_8);
+    }
+
+    private String formValue(String form, String name) {
+        for (String pair : form.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0 && pair.substring(0, separator).equals(name)) {
+                return URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+}
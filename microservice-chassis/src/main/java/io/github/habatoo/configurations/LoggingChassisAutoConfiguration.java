@@ -1,16 +1,26 @@
 package io.github.habatoo.configurations;
 
 import io.github.habatoo.logging.LoggingWebFilter;
+import io.github.habatoo.logging.SagaStepObserver;
+import io.github.habatoo.properties.HttpMetricsProperties;
 import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 
 /**
- * Конфигурация логирования для микросервисов.
+ * Конфигурация логирования и метрик входящих запросов для микросервисов.
  */
 @AutoConfiguration
+@EnableConfigurationProperties(HttpMetricsProperties.class)
 public class LoggingChassisAutoConfiguration {
 
     @Value("${spring.application.name:unknown-service}")
@@ -27,8 +37,41 @@ public class LoggingChassisAutoConfiguration {
         return registry;
     }
 
+    /**
+     * Фильтр, измеряющий время входящих запросов (таймер {@code http.server.latency})
+     * и ведущий выборочный журнал запросов.
+     */
     @Bean
-    public LoggingWebFilter loggingWebFilter() {
-        return new LoggingWebFilter();
+    public LoggingWebFilter loggingWebFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                                             HttpMetricsProperties httpMetricsProperties) {
+        return new LoggingWebFilter(meterRegistry.getIfAvailable(SimpleMeterRegistry::new), httpMetricsProperties);
+    }
+
+    /**
+     * Наблюдение за шагами саг (таймер {@code saga.step}, счетчик {@code saga.compensations}).
+     */
+    @Bean
+    public SagaStepObserver sagaStepObserver(ObservationRegistry observationRegistry,
+                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        return new SagaStepObserver(observationRegistry, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /**
+     * Публикует гистограмму таймера шагов саги, чтобы перцентили и exemplar были доступны в Prometheus.
+     */
+    @Bean
+    public MeterFilter sagaStepHistogramMeterFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!SagaStepObserver.STEP_METRIC.equals(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .build()
+                        .merge(config);
+            }
+        };
     }
 }
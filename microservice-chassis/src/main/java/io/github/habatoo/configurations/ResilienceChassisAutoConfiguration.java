@@ -3,17 +3,28 @@ package io.github.habatoo.configurations;
 import io.github.habatoo.dto.NotificationEvent;
 import io.github.habatoo.dto.enums.EventStatus;
 import io.github.habatoo.dto.enums.EventType;
+import io.github.habatoo.handlers.NotificationBackpressureException;
 import io.github.habatoo.properties.ResilienceProperties;
+import io.github.habatoo.resilience.ResilienceDecorators;
 import io.github.habatoo.services.NotificationClientService;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.circuitbreaker.event.CircuitBreakerOnStateTransitionEvent;
 import io.github.resilience4j.common.circuitbreaker.configuration.CircuitBreakerConfigCustomizer;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -23,10 +34,20 @@ import java.util.Map;
 
 /**
  * Автоконфигурация механизмов отказоустойчивости (Resilience) для шасси.
- * Настраивает CircuitBreakerRegistry и логику уведомлений при смене состояний.
+ * Настраивает CircuitBreakerRegistry и логику уведомлений при смене состояний,
+ * а также реестры Bulkhead, TimeLimiter и Retry с настройками отдельных экземпляров
+ * и фабрику {@link ResilienceDecorators}, через которую сервисы получают готовые декораторы.
+ * Реестры шасси создаются раньше реестров стартера Resilience4j, поэтому метрики стартера
+ * публикуются для экземпляров шасси.
  */
 @Slf4j
 @AutoConfiguration
+@AutoConfigureBefore(name = {
+        "io.github.resilience4j.springboot3.circuitbreaker.autoconfigure.CircuitBreakerAutoConfiguration",
+        "io.github.resilience4j.springboot3.bulkhead.autoconfigure.BulkheadAutoConfiguration",
+        "io.github.resilience4j.springboot3.timelimiter.autoconfigure.TimeLimiterAutoConfiguration",
+        "io.github.resilience4j.springboot3.retry.autoconfigure.RetryAutoConfiguration"
+})
 @RequiredArgsConstructor
 @EnableConfigurationProperties(ResilienceProperties.class)
 public class ResilienceChassisAutoConfiguration {
@@ -51,6 +72,54 @@ public class ResilienceChassisAutoConfiguration {
         return registry;
     }
 
+    /**
+     * Создает реестр Bulkhead; экземпляры из {@code spring.resilience.instances} создаются сразу
+     * со своими настройками. Пересоздается при обновлении конфигурации.
+     */
+    @Bean
+    @RefreshScope
+    public BulkheadRegistry bulkheadRegistry(ResilienceProperties props) {
+        BulkheadRegistry registry = BulkheadRegistry.of(createBulkheadConfig(props.bulkhead()));
+        props.instances().keySet()
+                .forEach(name -> registry.bulkhead(name, createBulkheadConfig(props.bulkheadFor(name))));
+        return registry;
+    }
+
+    /**
+     * Создает реестр TimeLimiter с настройками отдельных экземпляров.
+     */
+    @Bean
+    @RefreshScope
+    public TimeLimiterRegistry timeLimiterRegistry(ResilienceProperties props) {
+        TimeLimiterRegistry registry = TimeLimiterRegistry.of(createTimeLimiterConfig(props.timeLimiter()));
+        props.instances().keySet()
+                .forEach(name -> registry.timeLimiter(name, createTimeLimiterConfig(props.timeLimiterFor(name))));
+        return registry;
+    }
+
+    /**
+     * Создает реестр Retry с настройками отдельных экземпляров.
+     */
+    @Bean
+    @RefreshScope
+    public RetryRegistry retryRegistry(ResilienceProperties props) {
+        RetryRegistry registry = RetryRegistry.of(createRetryConfig(props.retry()));
+        props.instances().keySet()
+                .forEach(name -> registry.retry(name, createRetryConfig(props.retryFor(name))));
+        return registry;
+    }
+
+    /**
+     * Фабрика декораторов отказоустойчивости для сервисов.
+     */
+    @Bean
+    public ResilienceDecorators resilienceDecorators(CircuitBreakerRegistry circuitBreakerRegistry,
+                                                     BulkheadRegistry bulkheadRegistry,
+                                                     TimeLimiterRegistry timeLimiterRegistry,
+                                                     RetryRegistry retryRegistry) {
+        return new ResilienceDecorators(circuitBreakerRegistry, bulkheadRegistry, timeLimiterRegistry, retryRegistry);
+    }
+
     /**
      * Настраивает кастомайзер для стандартного экземпляра CircuitBreaker.
      */
@@ -61,6 +130,8 @@ public class ResilienceChassisAutoConfiguration {
 
     /**
      * Создает базовую конфигурацию на основе свойств.
+     * Ответ 503 перегруженного сервиса уведомлений ({@link NotificationBackpressureException}) не считается
+     * отказом: сервис жив и просит повторить позже, поэтому Circuit Breaker из-за него не размыкается.
      */
     private CircuitBreakerConfig createBaseConfig(ResilienceProperties props) {
         return CircuitBreakerConfig.custom()
@@ -68,6 +139,36 @@ public class ResilienceChassisAutoConfiguration {
                 .failureRateThreshold(props.failureRateThreshold() != null ? props.failureRateThreshold().floatValue() : 50.0f)
                 .waitDurationInOpenState(Duration.ofSeconds(props.waitDurationInOpenState() != null ? props.waitDurationInOpenState() : 60))
                 .permittedNumberOfCallsInHalfOpenState(props.permittedNumberOfCallsInHalfOpenState() != null ? props.permittedNumberOfCallsInHalfOpenState().intValue() : 10)
+                .ignoreExceptions(NotificationBackpressureException.class)
+                .build();
+    }
+
+    /**
+     * Bulkhead без ожидания: ожидание разрешения заблокировало бы поток event loop.
+     */
+    private BulkheadConfig createBulkheadConfig(ResilienceProperties.Bulkhead bulkhead) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(bulkhead.maxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+    }
+
+    private TimeLimiterConfig createTimeLimiterConfig(ResilienceProperties.TimeLimiter timeLimiter) {
+        return TimeLimiterConfig.custom()
+                .timeoutDuration(timeLimiter.timeout())
+                .build();
+    }
+
+    /**
+     * Повтор не выполняется, если вызов отклонен открытым Circuit Breaker или заполненным Bulkhead,
+     * а также при перегрузке сервиса уведомлений: повторить отправку можно только после {@code Retry-After}.
+     */
+    private RetryConfig createRetryConfig(ResilienceProperties.Retry retry) {
+        return RetryConfig.custom()
+                .maxAttempts(retry.maxAttempts())
+                .waitDuration(retry.waitDuration())
+                .ignoreExceptions(CallNotPermittedException.class, BulkheadFullException.class,
+                        NotificationBackpressureException.class)
                 .build();
     }
 
@@ -124,6 +225,7 @@ public class ResilienceChassisAutoConfiguration {
                 .failureRateThreshold(props.failureRateThreshold().floatValue())
                 .waitDurationInOpenState(Duration.ofSeconds(props.waitDurationInOpenState()))
                 .permittedNumberOfCallsInHalfOpenState(props.permittedNumberOfCallsInHalfOpenState().intValue())
+                .ignoreExceptions(NotificationBackpressureException.class)
         );
     }
 }
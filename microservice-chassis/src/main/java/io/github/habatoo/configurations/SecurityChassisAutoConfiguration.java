@@ -1,13 +1,20 @@
 package io.github.habatoo.configurations;
 
+import io.github.habatoo.properties.JwtCacheProperties;
+import io.github.habatoo.security.CachingJwtAuthenticationManager;
+import io.github.habatoo.security.JwtAuthenticationCache;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtReactiveAuthenticationManager;
 import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverter;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import reactor.core.publisher.Flux;
@@ -22,22 +29,31 @@ import static org.springframework.security.config.Customizer.withDefaults;
  * <p>
  * Отключает CSRF, требует аутентификацию для всех запросов
  * и настраивает сервер ресурсов OAuth2 с поддержкой JWT.
+ * Результаты проверки токенов кэшируются в {@link JwtAuthenticationCache} до истечения их срока.
  */
 @AutoConfiguration
 @EnableWebFluxSecurity
 @EnableReactiveMethodSecurity
 @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(JwtCacheProperties.class)
 public class SecurityChassisAutoConfiguration {
 
     /**
      * Настройка цепочки фильтров безопасности.
      * * @param http строитель безопасности Spring Security.
      *
+     * @param jwtDecoder             декодер, проверяющий подпись и срок токена.
+     * @param jwtAuthenticationCache кэш результатов проверки токенов.
      * @return настроенная цепочка фильтров.
      */
     @Bean
     @ConditionalOnProperty(name = "spring.security.oauth2.resourceserver.jwt.jwk-set-uri")
-    public SecurityWebFilterChain securityFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain securityFilterChain(ServerHttpSecurity http,
+                                                      ReactiveJwtDecoder jwtDecoder,
+                                                      JwtAuthenticationCache jwtAuthenticationCache) {
+        var jwtAuthenticationManager = new JwtReactiveAuthenticationManager(jwtDecoder);
+        jwtAuthenticationManager.setJwtAuthenticationConverter(jwtAuthenticationConverter());
+
         return http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .authorizeExchange(auth -> auth
@@ -45,12 +61,25 @@ public class SecurityChassisAutoConfiguration {
                         .anyExchange().authenticated()
                 )
                 .oauth2ResourceServer(spec -> spec
-                        .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter()))
+                        .jwt(jwt -> jwt.authenticationManager(
+                                new CachingJwtAuthenticationManager(jwtAuthenticationManager, jwtAuthenticationCache)))
                 )
                 .oauth2Client(withDefaults())
                 .build();
     }
 
+    /**
+     * Кэш результатов проверки JWT.
+     *
+     * @param properties настройки кэша.
+     * @return ограниченный кэш проверенных токенов.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtAuthenticationCache jwtAuthenticationCache(JwtCacheProperties properties) {
+        return new JwtAuthenticationCache(properties);
+    }
+
     /**
      * Конвертер jwt.
      *
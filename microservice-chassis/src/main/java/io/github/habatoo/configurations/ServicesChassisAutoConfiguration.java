@@ -1,10 +1,14 @@
 package io.github.habatoo.configurations;
 
+import io.github.habatoo.properties.OutboxProperties;
 import io.github.habatoo.repositories.OutboxRepository;
+import io.github.habatoo.resilience.ResilienceDecorator;
+import io.github.habatoo.resilience.ResilienceDecorators;
 import io.github.habatoo.services.NotificationClientService;
 import io.github.habatoo.services.OutboxClientService;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.reactive.function.client.WebClient;
 
@@ -14,20 +18,47 @@ import org.springframework.web.reactive.function.client.WebClient;
  * необходимых для работы системы уведомлений и реализации паттерна Outbox.
  */
 @AutoConfiguration
+@EnableConfigurationProperties(OutboxProperties.class)
 public class ServicesChassisAutoConfiguration {
 
+    /**
+     * Декоратор отказоустойчивости для массовой доставки уведомлений.
+     *
+     * @param resilienceDecorators фабрика декораторов.
+     * @return декоратор экземпляра {@code notification-service-cb}.
+     */
+    @Bean
+    @RefreshScope
+    public ResilienceDecorator notificationResilience(ResilienceDecorators resilienceDecorators) {
+        return resilienceDecorators.of(NotificationClientService.SERVICE_CIRCUIT_BREAKER);
+    }
+
+    /**
+     * Декоратор отказоустойчивости для критичных системных оповещений.
+     *
+     * @param resilienceDecorators фабрика декораторов.
+     * @return декоратор экземпляра {@code notification-alert-cb}.
+     */
+    @Bean
+    @RefreshScope
+    public ResilienceDecorator notificationAlertResilience(ResilienceDecorators resilienceDecorators) {
+        return resilienceDecorators.of(NotificationClientService.ALERT_CIRCUIT_BREAKER);
+    }
+
     /**
      * Создает бин сервиса для отправки уведомлений.
      *
-     * @param backgroundWebClient    специализированный клиент для фоновых задач.
-     * @param circuitBreakerRegistry реестр для управления механизмами прерывания цепи.
+     * @param backgroundWebClient         специализированный клиент для фоновых задач.
+     * @param notificationResilience      декоратор массовой доставки.
+     * @param notificationAlertResilience декоратор критичных оповещений.
      * @return настроенный экземпляр {@link NotificationClientService}.
      */
     @Bean
     public NotificationClientService notificationClient(
             WebClient backgroundWebClient,
-            CircuitBreakerRegistry circuitBreakerRegistry) {
-        return new NotificationClientService(backgroundWebClient, circuitBreakerRegistry);
+            ResilienceDecorator notificationResilience,
+            ResilienceDecorator notificationAlertResilience) {
+        return new NotificationClientService(backgroundWebClient, notificationResilience, notificationAlertResilience);
     }
 
     /**
@@ -35,12 +66,14 @@ public class ServicesChassisAutoConfiguration {
      *
      * @param outboxRepository   репозиторий для хранения записей Outbox.
      * @param notificationClient клиент для отправки накопленных уведомлений.
+     * @param outboxProperties   настройки полос обработки Outbox.
      * @return настроенный экземпляр {@link OutboxClientService}.
      */
     @Bean
     public OutboxClientService outboxService(
             OutboxRepository outboxRepository,
-            NotificationClientService notificationClient) {
-        return new OutboxClientService(outboxRepository, notificationClient);
+            NotificationClientService notificationClient,
+            OutboxProperties outboxProperties) {
+        return new OutboxClientService(outboxRepository, notificationClient, outboxProperties);
     }
 }
@@ -1,9 +1,24 @@
 package io.github.habatoo.configurations;
 
+import io.github.habatoo.configurations.filters.HedgePolicy;
+import io.github.habatoo.configurations.filters.HedgingExchangeFilterFunction;
+import io.github.habatoo.configurations.filters.SingleFlightExchangeFilterFunction;
+import io.github.habatoo.properties.HedgingProperties;
+import io.github.habatoo.properties.HttpClientProperties;
+import io.github.habatoo.properties.SingleFlightClientProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.security.oauth2.client.AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager;
 import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientManager;
 import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientProviderBuilder;
@@ -12,11 +27,20 @@ import org.springframework.security.oauth2.client.registration.ReactiveClientReg
 import org.springframework.security.oauth2.client.web.reactive.function.client.ServerOAuth2AuthorizedClientExchangeFilterFunction;
 import org.springframework.security.oauth2.client.web.server.ServerOAuth2AuthorizedClientRepository;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Конфигурация OAuth2 Client (Для межсервисных вызовов).
+ * <p>
+ * У каждого WebClient свой пул соединений и таймауты из {@link HttpClientProperties},
+ * поэтому фоновые вызовы не занимают соединения пользовательских запросов.
  */
 @AutoConfiguration
+@EnableConfigurationProperties({HedgingProperties.class, HttpClientProperties.class, SingleFlightClientProperties.class})
 public class WebClientChassisAutoConfiguration {
 
     @Bean
@@ -25,18 +49,73 @@ public class WebClientChassisAutoConfiguration {
         return WebClient.builder();
     }
 
+    /**
+     * Фильтр, объединяющий одинаковые одновременные GET-запросы одного пользователя к путям из настроек.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public SingleFlightExchangeFilterFunction singleFlightExchangeFilterFunction(
+            SingleFlightClientProperties singleFlightClientProperties) {
+        return new SingleFlightExchangeFilterFunction(singleFlightClientProperties);
+    }
+
+    /**
+     * Фильтр, отправляющий повторную копию медленного GET-запроса в пределах бюджета хеджирования.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public HedgingExchangeFilterFunction hedgingExchangeFilterFunction(HedgingProperties hedgingProperties,
+                                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        return new HedgingExchangeFilterFunction(
+                new HedgePolicy(hedgingProperties), meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /**
+     * Пул соединений {@code webClient}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider webClientConnectionProvider(HttpClientProperties httpClientProperties) {
+        return createConnectionProvider("webClient", httpClientProperties.webClient());
+    }
+
+    /**
+     * Пул соединений {@code simpleWebClient}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider simpleWebClientConnectionProvider(HttpClientProperties httpClientProperties) {
+        return createConnectionProvider("simpleWebClient", httpClientProperties.simpleWebClient());
+    }
+
+    /**
+     * Пул соединений {@code backgroundWebClient}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider backgroundWebClientConnectionProvider(HttpClientProperties httpClientProperties) {
+        return createConnectionProvider("backgroundWebClient", httpClientProperties.backgroundWebClient());
+    }
+
     /**
      * WebClient для обычных HTTP-запросов из контекста WebFlux
      * (есть ServerWebExchange, используется DefaultReactiveOAuth2AuthorizedClientManager).
+     * Одинаковые одновременные GET-запросы пользователя к путям из {@code spring.single-flight.paths}
+     * объединяются в один вызов,
+     * а медленный вызов при включенном хеджировании дублируется.
      */
     @Bean
     public WebClient webClient(WebClient.Builder loadBalancedWebClientBuilder,
                                ReactiveClientRegistrationRepository clientRegistrations,
                                ServerOAuth2AuthorizedClientRepository authorizedClients,
+                               SingleFlightExchangeFilterFunction singleFlightExchangeFilterFunction,
+                               HedgingExchangeFilterFunction hedgingExchangeFilterFunction,
+                               ConnectionProvider webClientConnectionProvider,
+                               HttpClientProperties httpClientProperties,
                                @Value("${spring.gateway.host:${GATEWAY_HOST:http://gateway:8080}}") String baseUrl) {
         return loadBalancedWebClientBuilder
                 .baseUrl(baseUrl)
+                .clientConnector(createConnector(webClientConnectionProvider, httpClientProperties.webClient()))
                 .filter(createOauthFilter(clientRegistrations, authorizedClients))
+                .filter(singleFlightExchangeFilterFunction)
+                .filter(hedgingExchangeFilterFunction)
                 .build();
     }
 
@@ -45,8 +124,12 @@ public class WebClientChassisAutoConfiguration {
      */
     @Bean
     public WebClient simpleWebClient(ReactiveClientRegistrationRepository clientRegistrations,
-                                     ServerOAuth2AuthorizedClientRepository authorizedClients) {
+                                     ServerOAuth2AuthorizedClientRepository authorizedClients,
+                                     ConnectionProvider simpleWebClientConnectionProvider,
+                                     HttpClientProperties httpClientProperties) {
         return WebClient.builder()
+                .clientConnector(createConnector(
+                        simpleWebClientConnectionProvider, httpClientProperties.simpleWebClient()))
                 .filter(createOauthFilter(clientRegistrations, authorizedClients))
                 .build();
     }
@@ -80,16 +163,59 @@ public class WebClientChassisAutoConfiguration {
      */
     @Bean
     public WebClient backgroundWebClient(
-            ReactiveOAuth2AuthorizedClientManager backgroundAuthorizedClientManager) {
+            ReactiveOAuth2AuthorizedClientManager backgroundAuthorizedClientManager,
+            ConnectionProvider backgroundWebClientConnectionProvider,
+            HttpClientProperties httpClientProperties) {
 
         var oauth = new ServerOAuth2AuthorizedClientExchangeFilterFunction(backgroundAuthorizedClientManager);
         oauth.setDefaultClientRegistrationId("keycloak");
 
         return WebClient.builder()
+                .clientConnector(createConnector(
+                        backgroundWebClientConnectionProvider, httpClientProperties.backgroundWebClient()))
                 .filter(oauth)
                 .build();
     }
 
+    /**
+     * Пул соединений с ограничением очереди ожидания и вытеснением простаивающих и устаревших соединений.
+     * Имя пула попадает в тег {@code name} метрик {@code reactor.netty.connection.provider.*}.
+     */
+    private ConnectionProvider createConnectionProvider(String name, HttpClientProperties.Client client) {
+        var builder = ConnectionProvider.builder(name)
+                .maxConnections(client.maxConnections())
+                .pendingAcquireMaxCount(client.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(client.pendingAcquireTimeout())
+                .maxIdleTime(client.maxIdleTime())
+                .maxLifeTime(client.maxLifeTime())
+                .metrics(client.metrics());
+
+        if (!client.evictInBackground().isZero()) {
+            builder.evictInBackground(client.evictInBackground());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Коннектор Reactor Netty поверх пула с таймаутами соединения, чтения и ответа.
+     */
+    private ClientHttpConnector createConnector(ConnectionProvider connectionProvider,
+                                                HttpClientProperties.Client client) {
+        var httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) client.connectTimeout().toMillis())
+                .responseTimeout(client.responseTimeout());
+
+        if (!client.readTimeout().isZero()) {
+            long readTimeoutMillis = client.readTimeout().toMillis();
+            httpClient = httpClient.doOnConnected(connection -> connection.addHandlerLast(
+                    new ReadTimeoutHandler(readTimeoutMillis, TimeUnit.MILLISECONDS)));
+        }
+        if (client.http2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
     /**
      * Фильтр OAuth2, завязанный на ServerOAuth2AuthorizedClientRepository
      * (работает только при наличии ServerWebExchange).
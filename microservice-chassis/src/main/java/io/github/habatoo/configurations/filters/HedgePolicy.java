@@ -0,0 +1,106 @@
+package io.github.habatoo.configurations.filters;
+
+import io.github.habatoo.properties.HedgingProperties;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Политика хеджирования запросов: задержка перед повторной копией и бюджет повторов.
+ * <p>
+ * Задержка равна заданному перцентилю последних {@code sampleSize} замеров времени ответа
+ * в пределах [{@code minDelay}, {@code maxDelay}] и пересчитывается не на каждый запрос,
+ * а после каждой десятой части окна. Пока замеров меньше десятой части окна, используется {@code maxDelay}.
+ * </p>
+ * <p>
+ * Бюджет устроен как корзина токенов: каждый запрос добавляет {@code budgetRatio} токена,
+ * повторная копия расходует один. Поэтому дополнительная нагрузка не превышает
+ * {@code budgetRatio} от числа запросов, даже когда медленно отвечают все реплики.
+ * </p>
+ * <p>
+ * Экземпляр потокобезопасен и используется как фильтром WebClient, так и фильтром шлюза.
+ * </p>
+ */
+public class HedgePolicy {
+
+    private static final double MAX_BUDGET_TOKENS = 10;
+
+    private final HedgingProperties properties;
+    private final long[] samples;
+    private final int recalculateEvery;
+    private int next;
+    private int count;
+    private int sinceRecalculation;
+    private double budgetTokens;
+    private volatile Duration hedgeDelay;
+
+    public HedgePolicy(HedgingProperties properties) {
+        this.properties = properties;
+        this.samples = new long[properties.sampleSize()];
+        this.recalculateEvery = Math.max(1, properties.sampleSize() / 10);
+        this.hedgeDelay = properties.maxDelay();
+    }
+
+    /**
+     * Проверяет, нужно ли хеджировать запрос по указанному пути.
+     *
+     * @param path путь запроса.
+     * @return {@code true}, если хеджирование включено для пути.
+     */
+    public boolean applies(String path) {
+        return properties.enabled() && properties.paths().contains(path);
+    }
+
+    /**
+     * Возвращает текущую задержку перед отправкой повторной копии.
+     *
+     * @return задержка хеджирования.
+     */
+    public Duration hedgeDelay() {
+        return hedgeDelay;
+    }
+
+    /**
+     * Учитывает новый запрос в бюджете хеджирования.
+     */
+    public synchronized void onRequest() {
+        budgetTokens = Math.min(MAX_BUDGET_TOKENS, budgetTokens + properties.budgetRatio());
+    }
+
+    /**
+     * Пытается списать из бюджета одну повторную копию.
+     *
+     * @return {@code true}, если бюджет позволяет отправить копию.
+     */
+    public synchronized boolean tryAcquireHedge() {
+        if (budgetTokens < 1) {
+            return false;
+        }
+        budgetTokens -= 1;
+        return true;
+    }
+
+    /**
+     * Записывает замер времени ответа.
+     *
+     * @param latencyNanos время ответа в наносекундах.
+     */
+    public synchronized void recordLatency(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        if (++sinceRecalculation >= recalculateEvery) {
+            sinceRecalculation = 0;
+            recalculate();
+        }
+    }
+
+    private void recalculate() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.min(count - 1, Math.ceil(properties.percentile() * count) - 1);
+        long delay = Math.max(properties.minDelay().toNanos(),
+                Math.min(properties.maxDelay().toNanos(), sorted[Math.max(0, index)]));
+        hedgeDelay = Duration.ofNanos(delay);
+    }
+}
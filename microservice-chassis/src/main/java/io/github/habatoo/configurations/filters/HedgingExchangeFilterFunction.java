@@ -0,0 +1,107 @@
+package io.github.habatoo.configurations.filters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Фильтр WebClient, хеджирующий медленные идемпотентные GET-запросы.
+ * <p>
+ * Если ответ на GET-запрос к пути из настроек не пришел за время {@link HedgePolicy#hedgeDelay()},
+ * отправляется вторая копия запроса. Используется первый пришедший ответ, второй запрос отменяется. Копия отправляется только
+ * в пределах бюджета {@link HedgePolicy}; ошибки и не-2xx ответы копии игнорируются,
+ * а ошибка основного запроса возвращается как есть — повторы при ошибках не задача хеджирования.
+ * </p>
+ * <p>
+ * Задержка основного запроса записывается в {@link HedgePolicy} при получении ответа, а если основной запрос
+ * отменен — как прошедшее до отмены время, то есть нижняя граница его задержки. Иначе самые медленные
+ * запросы не попадали бы в выборку и задержка копии занижалась бы. Ответ, пришедший после того, как гонка уже решена,
+ * освобождается ({@link ClientResponse#releaseBody()}), чтобы не удерживать соединение.
+ * </p>
+ * <p>
+ * Метрика {@code webclient.hedge.requests} с тегом {@code result}: {@code sent}, {@code denied}, {@code won}.
+ * </p>
+ */
+@Slf4j
+public class HedgingExchangeFilterFunction implements ExchangeFilterFunction {
+
+    private final HedgePolicy hedgePolicy;
+    private final Counter sent;
+    private final Counter denied;
+    private final Counter won;
+
+    public HedgingExchangeFilterFunction(HedgePolicy hedgePolicy, MeterRegistry meterRegistry) {
+        this.hedgePolicy = hedgePolicy;
+        this.sent = counter(meterRegistry, "sent");
+        this.denied = counter(meterRegistry, "denied");
+        this.won = counter(meterRegistry, "won");
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!HttpMethod.GET.equals(request.method()) || !hedgePolicy.applies(request.url().getPath())) {
+            return next.exchange(request);
+        }
+
+        return Mono.defer(() -> {
+            hedgePolicy.onRequest();
+            long startedAt = System.nanoTime();
+            AtomicBoolean decided = new AtomicBoolean();
+
+            Mono<ClientResponse> primary = next.exchange(request)
+                    .doFinally(signal -> {
+                        if (signal != SignalType.ON_ERROR) {
+                            hedgePolicy.recordLatency(System.nanoTime() - startedAt);
+                        }
+                    })
+                    .flatMap(response -> claim(decided, response))
+                    .onErrorResume(e -> decided.compareAndSet(false, true) ? Mono.error(e) : Mono.never());
+            Mono<ClientResponse> hedge = Mono.delay(hedgePolicy.hedgeDelay())
+                    .flatMap(tick -> {
+                        if (!hedgePolicy.tryAcquireHedge()) {
+                            denied.increment();
+                            return Mono.never();
+                        }
+                        sent.increment();
+                        log.debug("Запрос {} не ответил за {}, отправлена повторная копия",
+                                request.url(), hedgePolicy.hedgeDelay());
+                        return next.exchange(request)
+                                .flatMap(this::acceptHedge)
+                                .flatMap(response -> claim(decided, response))
+                                .onErrorResume(e -> Mono.never());
+                    })
+                    .doOnNext(response -> won.increment());
+
+            return Mono.firstWithSignal(primary, hedge);
+        });
+    }
+
+    private Mono<ClientResponse> acceptHedge(ClientResponse response) {
+        if (response.statusCode().is2xxSuccessful()) {
+            return Mono.just(response);
+        }
+        return response.releaseBody().then(Mono.never());
+    }
+
+    private Mono<ClientResponse> claim(AtomicBoolean decided, ClientResponse response) {
+        if (decided.compareAndSet(false, true)) {
+            return Mono.just(response);
+        }
+        return response.releaseBody().then(Mono.never());
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("webclient.hedge.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
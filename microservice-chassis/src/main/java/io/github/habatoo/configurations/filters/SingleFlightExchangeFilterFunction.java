@@ -0,0 +1,141 @@
+package io.github.habatoo.configurations.filters;
+
+import io.github.habatoo.properties.SingleFlightClientProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Фильтр WebClient, объединяющий одинаковые одновременные GET-запросы (single-flight).
+ * <p>
+ * Объединяются только запросы к путям из {@code spring.single-flight.paths}. Пока запрос пользователя
+ * к такому пути выполняется, новые такие же запросы не уходят в сеть, а получают копию его ответа
+ * (статус, заголовки и тело). Если первый запрос завершился ошибкой или был отменен, ожидающие выполняют
+ * запрос самостоятельно. После завершения запроса следующий вызов снова идет в сервис, поэтому фильтр
+ * не кэширует ответы, а только убирает дубли.
+ * </p>
+ * <p>
+ * Пользователь определяется по имени аутентификации из реактивного контекста безопасности;
+ * запросы без пользователя не объединяются. Потоковые запросы и ответы ({@code text/event-stream},
+ * {@code application/x-ndjson}) передаются без буферизации и не объединяются.
+ * </p>
+ */
+@Slf4j
+public class SingleFlightExchangeFilterFunction implements ExchangeFilterFunction {
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+    private static final List<MediaType> STREAMING_TYPES = List.of(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_NDJSON);
+
+    private final SingleFlightClientProperties properties;
+    private final Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlightExchangeFilterFunction(SingleFlightClientProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!properties.enabled() || !HttpMethod.GET.equals(request.method())
+                || !properties.paths().contains(request.url().getPath()) || acceptsStream(request)) {
+            return next.exchange(request);
+        }
+
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .map(Authentication::getName)
+                .defaultIfEmpty("")
+                .flatMap(principal -> principal.isEmpty()
+                        ? next.exchange(request)
+                        : coalesce(principal + " " + request.url(), request, next));
+    }
+
+    private Mono<ClientResponse> coalesce(String key, ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            Sinks.One<SharedResponse> flight = Sinks.one();
+            Sinks.One<SharedResponse> existing = inFlight.putIfAbsent(key, flight);
+            return existing != null
+                    ? follow(existing, request, next)
+                    : lead(key, flight, request, next);
+        });
+    }
+
+    private Mono<ClientResponse> lead(String key, Sinks.One<SharedResponse> flight,
+                                      ClientRequest request, ExchangeFunction next) {
+        return next.exchange(request)
+                .flatMap(response -> {
+                    if (isStream(response)) {
+                        release(key, flight);
+                        return Mono.just(response);
+                    }
+                    return DataBufferUtils.join(response.bodyToFlux(DataBuffer.class))
+                            .map(this::toBytes)
+                            .defaultIfEmpty(EMPTY_BODY)
+                            .map(body -> {
+                                SharedResponse shared = new SharedResponse(response, body);
+                                inFlight.remove(key, flight);
+                                flight.tryEmitValue(shared);
+                                return shared.copy();
+                            });
+                })
+                .doFinally(signal -> release(key, flight));
+    }
+
+    private Mono<ClientResponse> follow(Sinks.One<SharedResponse> flight, ClientRequest request, ExchangeFunction next) {
+        return flight.asMono()
+                .doOnNext(shared -> log.debug("Запрос {} объединен с уже выполняющимся", request.url()))
+                .map(SharedResponse::copy)
+                .switchIfEmpty(Mono.defer(() -> next.exchange(request)));
+    }
+
+    private void release(String key, Sinks.One<SharedResponse> flight) {
+        inFlight.remove(key, flight);
+        flight.tryEmitEmpty();
+    }
+
+    private byte[] toBytes(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    private boolean acceptsStream(ClientRequest request) {
+        return request.headers().getAccept().stream()
+                .anyMatch(accepted -> STREAMING_TYPES.stream().anyMatch(accepted::equalsTypeAndSubtype));
+    }
+
+    private boolean isStream(ClientResponse response) {
+        return response.headers().contentType()
+                .map(contentType -> STREAMING_TYPES.stream().anyMatch(contentType::isCompatibleWith))
+                .orElse(false);
+    }
+
+    private record SharedResponse(ClientResponse response, byte[] body) {
+
+        private ClientResponse copy() {
+            return ClientResponse.create(response.statusCode(), response.strategies())
+                    .headers(headers -> headers.addAll(response.headers().asHttpHeaders()))
+                    .cookies(cookies -> cookies.addAll(response.cookies()))
+                    .request(response.request())
+                    .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body))))
+                    .build();
+        }
+    }
+}
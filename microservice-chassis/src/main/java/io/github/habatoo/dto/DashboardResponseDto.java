@@ -0,0 +1,51 @@
+package io.github.habatoo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Объект передачи данных (DTO) для главной страницы личного кабинета.
+ * <p>
+ * Собирает в одном ответе все, что нужно фронту для отрисовки главной страницы:
+ * профиль текущего пользователя, его счета и общий баланс в рублях. Список получателей
+ * переводов сюда не входит: фронт получает его отдельным потоком {@code /api/main/recipients}
+ * и выводит в страницу порциями уже после отрисовки профиля.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardResponseDto {
+
+    /**
+     * Уникальный логин текущего пользователя.
+     */
+    private String login;
+
+    /**
+     * Отображаемое имя текущего пользователя.
+     */
+    private String name;
+
+    /**
+     * Дата рождения текущего пользователя.
+     */
+    private LocalDate birthDate;
+
+    /**
+     * Счета текущего пользователя во всех валютах.
+     */
+    private List<AccountDto> accounts;
+
+    /**
+     * Сумма балансов всех счетов пользователя, пересчитанная в RUB.
+     */
+    private BigDecimal totalBalance;
+}
@@ -0,0 +1,42 @@
+package io.github.habatoo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Объект передачи данных (DTO) записи истории уведомлений.
+ * <p>
+ * Используется для отображения ленты уведомлений пользователя.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDto {
+
+    /**
+     * Уникальный идентификатор записи.
+     */
+    private UUID id;
+
+    /**
+     * Логин получателя уведомления.
+     */
+    private String username;
+
+    /**
+     * Текст уведомления.
+     */
+    private String message;
+
+    /**
+     * Дата и время записи уведомления.
+     */
+    private LocalDateTime sentAt;
+}
@@ -10,6 +10,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Универсальный DTO для Notification.
@@ -21,6 +22,12 @@ import java.util.Map;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class NotificationEvent {
 
+    /**
+     * Идентификатор события (id записи Outbox).
+     * Одинаков для всех повторных отправок, по нему получатель отбрасывает дубликаты.
+     */
+    private UUID eventId;
+
     /**
      * Кто совершил действие (из SecurityContext/JWT)
      */
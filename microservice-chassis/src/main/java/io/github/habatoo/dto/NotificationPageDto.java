@@ -0,0 +1,32 @@
+package io.github.habatoo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Страница истории уведомлений с курсорной (keyset) пагинацией.
+ * <p>
+ * Записи упорядочены от новых к старым. Для получения следующей страницы
+ * значение {@code nextCursor} передается в параметре {@code cursor} следующего запроса.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPageDto {
+
+    /**
+     * Записи текущей страницы.
+     */
+    private List<NotificationDto> items;
+
+    /**
+     * Непрозрачный курсор следующей страницы; {@code null}, если страница последняя.
+     */
+    private String nextCursor;
+}
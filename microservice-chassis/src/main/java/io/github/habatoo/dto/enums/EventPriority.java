@@ -0,0 +1,20 @@
+package io.github.habatoo.dto.enums;
+
+/**
+ * Приоритет доставки событий уведомлений.
+ * Определяет полосу, по которой событие проходит через Outbox отправителя,
+ * клиент сервиса уведомлений и буфер приема в сервисе уведомлений.
+ */
+public enum EventPriority {
+
+    /**
+     * Критичные события (системные оповещения).
+     * Обрабатываются в отдельной полосе и никогда не ждут за массовым трафиком.
+     */
+    CRITICAL,
+
+    /**
+     * Массовые клиентские события (операции со счетами, профилем).
+     */
+    BULK
+}
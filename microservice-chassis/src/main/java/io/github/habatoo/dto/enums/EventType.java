@@ -12,48 +12,73 @@ public enum EventType {
      * Используется для уведомления о критических сбоях, срабатывании Circuit Breaker
      * или проблемах с инфраструктурой, требующих внимания администраторов.
      */
-    SYSTEM_ALERT,
+    SYSTEM_ALERT(EventPriority.CRITICAL),
 
     /**
      * Пополнение счета.
      * Генерируется сервисом наличных операций (Cash Service) при успешном внесении средств.
      */
-    DEPOSIT,
+    DEPOSIT(EventPriority.BULK),
 
     /**
      * Снятие средств.
      * Генерируется сервисом наличных операций (Cash Service) при списании денег со счета.
      */
-    WITHDRAW,
+    WITHDRAW(EventPriority.BULK),
 
     /**
      * Межбанковский или внутренний перевод.
      * Генерируется сервисом переводов (Transfer Service) при транзакциях между счетами.
      */
-    TRANSFER,
+    TRANSFER(EventPriority.BULK),
 
     /**
      * Регистрация нового пользователя.
      * Генерируется при первом входе пользователя в систему или создании записи в Account Service.
      */
-    REGISTRATION,
+    REGISTRATION(EventPriority.BULK),
 
     /**
      * Создание счета .
      * Создает счет с нулевым балансом в выбранной валюте.
      */
-    CREATE_ACCOUNT,
+    CREATE_ACCOUNT(EventPriority.BULK),
 
     /**
      * Обновление профиля.
      * Генерируется сервисом аккаунтов (Account Service) при изменении персональных данных пользователя.
      */
-    UPDATE_PROFILE,
+    UPDATE_PROFILE(EventPriority.BULK),
 
     /**
      * Ошибка валидации.
      * Универсальный тип события для уведомления о нарушении бизнес-правил или
      * некорректных входных данных в любом из микросервисов.
      */
-    VALIDATION_ERROR
+    VALIDATION_ERROR(EventPriority.BULK);
+
+    private final EventPriority priority;
+
+    EventType(EventPriority priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Возвращает приоритет доставки событий данного типа.
+     *
+     * @return приоритет доставки.
+     */
+    public EventPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Возвращает приоритет доставки для типа события, допуская его отсутствие.
+     *
+     * @param eventType тип события (может быть {@code null}).
+     * @return приоритет типа или {@link EventPriority#BULK}, если тип не задан.
+     */
+    public static EventPriority priorityOf(EventType eventType) {
+        return eventType != null ? eventType.getPriority() : EventPriority.BULK;
+    }
 }
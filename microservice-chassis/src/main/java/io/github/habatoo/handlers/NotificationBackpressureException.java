@@ -0,0 +1,26 @@
+package io.github.habatoo.handlers;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Исключение перегрузки сервиса уведомлений.
+ * <p>
+ * На стороне сервиса уведомлений выбрасывается, когда буфер приема событий заполнен,
+ * и преобразуется в ответ 503 с заголовком {@code Retry-After}.
+ * На стороне клиента сигнализирует, что событие не принято и его нужно отправить повторно.
+ */
+@Getter
+public class NotificationBackpressureException extends RuntimeException {
+
+    /**
+     * Рекомендуемая пауза перед повторной отправкой.
+     */
+    private final Duration retryAfter;
+
+    public NotificationBackpressureException(Duration retryAfter) {
+        super("Сервис уведомлений перегружен, повторите через " + retryAfter.toSeconds() + " с");
+        this.retryAfter = retryAfter;
+    }
+}
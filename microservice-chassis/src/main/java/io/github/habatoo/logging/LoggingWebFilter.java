@@ -1,19 +1,62 @@
 package io.github.habatoo.logging;
 
+import io.github.habatoo.properties.HttpMetricsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Interceptor (перехватчик) для обеспечения сквозного
- * логирование каждого входящего HTTP-запроса,
+ * измерения и логирования каждого входящего HTTP-запроса,
  * не вмешиваясь в логику контроллеров.
+ * <p>
+ * Время запроса записывается в таймер {@code http.server.latency} с тегами метода, шаблона маршрута,
+ * статуса, исхода и исключения; границы SLO и перцентили задаются в {@link HttpMetricsProperties}.
+ * В шлюзе запросы не проходят через обработчики WebFlux и шаблона маршрута нет, поэтому тегом {@code uri}
+ * становится идентификатор маршрута Spring Cloud Gateway.
+ * Журнал запросов ведется выборочно: случайная доля запросов, все ответы 5xx и медленные запросы.
  */
 @Slf4j
 public class LoggingWebFilter implements WebFilter {
 
+    public static final String METRIC_NAME = "http.server.latency";
+
+    private static final String NONE = "none";
+    private static final boolean GATEWAY_PRESENT = ClassUtils.isPresent(
+            "org.springframework.cloud.gateway.support.ServerWebExchangeUtils", LoggingWebFilter.class.getClassLoader());
+
+    private final MeterRegistry meterRegistry;
+    private final HttpMetricsProperties properties;
+    private final Duration[] slo;
+    private final double[] percentiles;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public LoggingWebFilter(MeterRegistry meterRegistry, HttpMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.slo = properties.slo().toArray(Duration[]::new);
+        this.percentiles = properties.percentiles().stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
     public static Mono<ServerWebExchange> getExchange() {
         return Mono.deferContextual(ctx -> {
             if (ctx.hasKey(ServerWebExchange.class)) {
@@ -24,7 +67,7 @@ public class LoggingWebFilter implements WebFilter {
     }
 
     /**
-     * Фильтр для входЯщих запросов - игнорирует эндпоинты health-check,
+     * Фильтр для входЯщих запросов - игнорирует эндпоинты health-check и другие пути из настроек,
      * Проводит замеры времени исполнения запроса.
      *
      * @param exchange the current server exchange
@@ -35,18 +78,132 @@ public class LoggingWebFilter implements WebFilter {
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
         String path = exchange.getRequest().getPath().value();
 
-        if (path.contains("/actuator/health")) {
+        if (isIgnored(path)) {
             return chain.filter(exchange);
         }
 
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         return chain.filter(exchange)
                 .contextWrite(ctx -> ctx.put(ServerWebExchange.class, exchange))
-                .doOnSuccess(v -> {
-                    long duration = System.currentTimeMillis() - start;
-                    log.info("API CALL: {} {} | STATUS: {} | TIME: {}ms",
-                            exchange.getRequest().getMethod(), path,
-                            exchange.getResponse().getStatusCode(), duration);
+                .doOnEach(signal -> {
+                    if (signal.isOnComplete() || signal.isOnError()) {
+                        record(exchange, path, signal.getThrowable(), System.nanoTime() - start, false);
+                    }
+                })
+                .doFinally(signalType -> {
+                    if (signalType == SignalType.CANCEL) {
+                        record(exchange, path, null, System.nanoTime() - start, true);
+                    }
                 });
     }
+
+    private void record(ServerWebExchange exchange, String path, Throwable error, long durationNanos,
+                        boolean cancelled) {
+        HttpStatusCode status = cancelled ? exchange.getResponse().getStatusCode() : obtainStatus(exchange, error);
+        String outcome = cancelled ? "UNKNOWN" : outcome(status);
+
+        if (properties.enabled()) {
+            TimerKey key = new TimerKey(
+                    exchange.getRequest().getMethod().name(),
+                    routeTemplate(exchange, status),
+                    status != null ? String.valueOf(status.value()) : "UNKNOWN",
+                    outcome,
+                    error != null ? error.getClass().getSimpleName() : NONE);
+            timers.computeIfAbsent(key, this::registerTimer).record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+
+        if (shouldLog(status, durationNanos)) {
+            log.info("API CALL: {} {} | STATUS: {} | TIME: {}ms",
+                    exchange.getRequest().getMethod(), path,
+                    status, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        }
+    }
+
+    private Timer registerTimer(TimerKey key) {
+        return Timer.builder(METRIC_NAME)
+                .description("Время обработки входящих HTTP-запросов")
+                .tag("method", key.method())
+                .tag("uri", key.uri())
+                .tag("status", key.status())
+                .tag("outcome", key.outcome())
+                .tag("exception", key.exception())
+                .serviceLevelObjectives(slo)
+                .publishPercentiles(percentiles)
+                .publishPercentileHistogram(properties.percentileHistogram())
+                .register(meterRegistry);
+    }
+
+    private boolean shouldLog(HttpStatusCode status, long durationNanos) {
+        HttpMetricsProperties.AccessLog accessLog = properties.accessLog();
+        if (!accessLog.enabled()) {
+            return false;
+        }
+        return (status != null && status.is5xxServerError())
+                || durationNanos >= accessLog.slowThreshold().toNanos()
+                || ThreadLocalRandom.current().nextDouble() < accessLog.sampleRate();
+    }
+
+    private boolean isIgnored(String path) {
+        for (String ignored : properties.ignoredPaths()) {
+            if (path.contains(ignored)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private HttpStatusCode obtainStatus(ServerWebExchange exchange, Throwable error) {
+        if (error instanceof ResponseStatusException responseStatusException) {
+            return responseStatusException.getStatusCode();
+        }
+        if (error != null) {
+            return HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null ? status : HttpStatus.OK;
+    }
+
+    private String routeTemplate(ServerWebExchange exchange, HttpStatusCode status) {
+        PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            String template = pattern.getPatternString();
+            return template.isEmpty() ? "root" : template;
+        }
+        if (GATEWAY_PRESENT) {
+            String routeId = GatewayRoutes.routeId(exchange);
+            if (routeId != null) {
+                return routeId;
+            }
+        }
+        if (status != null && status.value() == HttpStatus.NOT_FOUND.value()) {
+            return "NOT_FOUND";
+        }
+        if (status != null && status.is3xxRedirection()) {
+            return "REDIRECTION";
+        }
+        return "UNKNOWN";
+    }
+
+    private String outcome(HttpStatusCode status) {
+        if (status == null) {
+            return "UNKNOWN";
+        }
+        HttpStatus.Series series = HttpStatus.Series.resolve(status.value());
+        return series != null ? series.name() : "UNKNOWN";
+    }
+
+    /**
+     * Чтение маршрута шлюза вынесено в отдельный класс, чтобы классы Spring Cloud Gateway
+     * загружались только там, где они есть.
+     */
+    private static final class GatewayRoutes {
+
+        private static String routeId(ServerWebExchange exchange) {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            return route != null ? route.getId() : null;
+        }
+    }
+
+    private record TimerKey(String method, String uri, String status, String outcome, String exception) {
+    }
 }
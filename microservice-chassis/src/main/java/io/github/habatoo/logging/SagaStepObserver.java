@@ -0,0 +1,120 @@
+package io.github.habatoo.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.function.Function;
+
+/**
+ * Наблюдение за шагами распределенных операций (саг) сервисов Cash и Transfer.
+ * <p>
+ * Каждый шаг (списание, зачисление, сохранение, запись в Outbox, компенсация) выполняется
+ * внутри отдельного {@link Observation} {@code saga.step} с тегами саги, шага, валютной пары и исхода.
+ * Наблюдение становится дочерним для наблюдения входящего запроса из контекста Reactor, поэтому шаг
+ * получает собственный span, а таймер шага — гистограмму с exemplar, ссылающимся на trace id.
+ * Запуск компенсации дополнительно учитывается счетчиком {@code saga.compensations}.
+ */
+public class SagaStepObserver {
+
+    public static final String STEP_METRIC = "saga.step";
+    public static final String COMPENSATION_METRIC = "saga.compensations";
+
+    public static final String SUCCESS = "success";
+    public static final String REJECTED = "rejected";
+    public static final String ERROR = "error";
+
+    private static final String OUTCOME = "outcome";
+
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+
+    public SagaStepObserver(ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Выполняет шаг саги под наблюдением; исход шага — {@code success} или {@code error}.
+     *
+     * @param saga         имя саги ({@code transfer}, {@code cash}).
+     * @param step         имя шага ({@code debit}, {@code credit}, {@code persist}, {@code notify}, {@code compensation}).
+     * @param currencyPair валютная пара операции.
+     * @param source       шаг саги.
+     * @return результат шага.
+     */
+    public <T> Mono<T> observe(String saga, String step, String currencyPair, Mono<T> source) {
+        return observe(saga, step, currencyPair, source, value -> SUCCESS);
+    }
+
+    /**
+     * Выполняет шаг саги под наблюдением с исходом, определяемым по результату шага
+     * (например, {@code rejected}, если сервис Account отказал в изменении баланса).
+     *
+     * @param saga         имя саги.
+     * @param step         имя шага.
+     * @param currencyPair валютная пара операции.
+     * @param source       шаг саги.
+     * @param outcome      функция, возвращающая исход по результату шага.
+     * @return результат шага.
+     */
+    public <T> Mono<T> observe(String saga, String step, String currencyPair, Mono<T> source,
+                              Function<? super T, String> outcome) {
+        return Mono.deferContextual(ctx -> {
+            Observation observation = Observation.createNotStarted(STEP_METRIC, observationRegistry)
+                    .contextualName(saga + " " + step)
+                    .parentObservation(ctx.getOrDefault(ObservationThreadLocalAccessor.KEY, null))
+                    .lowCardinalityKeyValue("saga", saga)
+                    .lowCardinalityKeyValue("step", step)
+                    .lowCardinalityKeyValue("currency.pair", currencyPair)
+                    .lowCardinalityKeyValue(OUTCOME, SUCCESS)
+                    .start();
+
+            return source
+                    .doOnNext(value -> observation.lowCardinalityKeyValue(OUTCOME, outcome.apply(value)))
+                    .doOnError(e -> observation.lowCardinalityKeyValue(OUTCOME, ERROR).error(e))
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            observation.lowCardinalityKeyValue(OUTCOME, "cancelled");
+                        }
+                        // Останавливаем в области видимости наблюдения, чтобы exemplar получил его trace id
+                        try (Observation.Scope ignored = observation.openScope()) {
+                            observation.stop();
+                        }
+                    })
+                    .contextWrite(context -> context.put(ObservationThreadLocalAccessor.KEY, observation));
+        });
+    }
+
+    /**
+     * Учитывает запуск компенсации.
+     *
+     * @param saga         имя саги.
+     * @param currencyPair валютная пара операции.
+     * @param reason       причина компенсации (шаг, на котором произошел сбой).
+     */
+    public void compensationTriggered(String saga, String currencyPair, String reason) {
+        Counter.builder(COMPENSATION_METRIC)
+                .description("Число запущенных компенсаций саги")
+                .tag("saga", saga)
+                .tag("currency.pair", currencyPair)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Формирует значение тега валютной пары.
+     *
+     * @param from валюта списания.
+     * @param to   валюта зачисления.
+     * @return пара вида {@code RUB/USD}.
+     */
+    public static String currencyPair(Enum<?> from, Enum<?> to) {
+        return from.name() + "/" + to.name();
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.habatoo.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Класс для биндинга настроек хеджирования идемпотентных GET-запросов.
+ * <p>
+ * Связывает свойства с префиксом "spring.hedging" из application.yml.
+ * Незаданные параметры заполняются значениями по умолчанию; хеджирование по умолчанию выключено.
+ *
+ * @param enabled     признак включения хеджирования.
+ * @param paths       пути GET-запросов, для которых отправляется повторная копия.
+ * @param percentile  перцентиль задержки, после которого отправляется повторная копия (0..1).
+ * @param minDelay    нижняя граница задержки перед повторной копией.
+ * @param maxDelay    верхняя граница задержки (используется, пока замеров недостаточно).
+ * @param budgetRatio доля дополнительных запросов от общего числа (бюджет хеджирования).
+ * @param sampleSize  число последних замеров задержки, по которым считается перцентиль.
+ */
+@ConfigurationProperties(prefix = "spring.hedging")
+public record HedgingProperties(
+        Boolean enabled,
+        List<String> paths,
+        Double percentile,
+        Duration minDelay,
+        Duration maxDelay,
+        Double budgetRatio,
+        Integer sampleSize
+) {
+
+    public HedgingProperties {
+        enabled = enabled != null ? enabled : false;
+        paths = paths != null ? List.copyOf(paths) : List.of("/api/main/dashboard", "/api/main/user");
+        percentile = percentile != null ? percentile : 0.95;
+        minDelay = minDelay != null ? minDelay : Duration.ofMillis(20);
+        maxDelay = maxDelay != null ? maxDelay : Duration.ofMillis(500);
+        budgetRatio = budgetRatio != null ? budgetRatio : 0.05;
+        sampleSize = sampleSize != null ? sampleSize : 1000;
+    }
+}
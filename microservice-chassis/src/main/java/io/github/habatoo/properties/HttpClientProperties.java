@@ -0,0 +1,87 @@
+package io.github.habatoo.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Класс для биндинга настроек HTTP-клиентов шасси.
+ * <p>
+ * Связывает свойства с префиксом "spring.http-client" из application.yml.
+ * Для каждого WebClient шасси задается свой пул соединений и таймауты;
+ * незаданные параметры заполняются значениями по умолчанию.
+ *
+ * @param webClient           настройки балансируемого {@code webClient}.
+ * @param simpleWebClient     настройки {@code simpleWebClient}.
+ * @param backgroundWebClient настройки {@code backgroundWebClient}.
+ */
+@ConfigurationProperties(prefix = "spring.http-client")
+public record HttpClientProperties(
+        Client webClient,
+        Client simpleWebClient,
+        Client backgroundWebClient
+) {
+
+    public HttpClientProperties {
+        webClient = webClient != null ? webClient : Client.defaults();
+        simpleWebClient = simpleWebClient != null ? simpleWebClient : Client.defaults();
+        backgroundWebClient = backgroundWebClient != null ? backgroundWebClient : Client.defaults();
+    }
+
+    /**
+     * Пул соединений и таймауты одного клиента.
+     * <p>
+     * {@code responseTimeout} в Reactor Netty ограничивает не только ожидание заголовков, но и паузу между
+     * чтениями тела ответа. Поэтому долгоживущие потоки (SSE уведомлений во фронте) снимают его для своего
+     * запроса через {@code HttpClientRequest#responseTimeout(null)}. Таймаут чтения по умолчанию выключен ({@code 0}).
+     *
+     * @param maxConnections         максимальное число соединений в пуле.
+     * @param pendingAcquireMaxCount максимальная очередь ожидающих соединения запросов.
+     * @param pendingAcquireTimeout  максимальное время ожидания свободного соединения.
+     * @param maxIdleTime            время простоя, после которого соединение закрывается.
+     * @param maxLifeTime            максимальное время жизни соединения.
+     * @param evictInBackground      период фоновой очистки простаивающих и устаревших соединений ({@code 0} — выключена).
+     * @param connectTimeout         таймаут установки соединения.
+     * @param readTimeout            максимальная пауза между чтениями из соединения ({@code 0} — без ограничения).
+     * @param responseTimeout        максимальное ожидание ответа и пауза между чтениями его тела.
+     * @param http2                  признак использования HTTP/2 без TLS (h2c) с откатом на HTTP/1.1.
+     * @param metrics                признак публикации метрик пула {@code reactor.netty.connection.provider.*}.
+     */
+    public record Client(
+            Integer maxConnections,
+            Integer pendingAcquireMaxCount,
+            Duration pendingAcquireTimeout,
+            Duration maxIdleTime,
+            Duration maxLifeTime,
+            Duration evictInBackground,
+            Duration connectTimeout,
+            Duration readTimeout,
+            Duration responseTimeout,
+            Boolean http2,
+            Boolean metrics
+    ) {
+
+        public Client {
+            maxConnections = maxConnections != null ? maxConnections : 100;
+            pendingAcquireMaxCount = pendingAcquireMaxCount != null ? pendingAcquireMaxCount : 500;
+            pendingAcquireTimeout = pendingAcquireTimeout != null ? pendingAcquireTimeout : Duration.ofSeconds(5);
+            maxIdleTime = maxIdleTime != null ? maxIdleTime : Duration.ofSeconds(30);
+            maxLifeTime = maxLifeTime != null ? maxLifeTime : Duration.ofMinutes(5);
+            evictInBackground = evictInBackground != null ? evictInBackground : Duration.ofSeconds(30);
+            connectTimeout = connectTimeout != null ? connectTimeout : Duration.ofSeconds(2);
+            readTimeout = readTimeout != null ? readTimeout : Duration.ZERO;
+            responseTimeout = responseTimeout != null ? responseTimeout : Duration.ofSeconds(5);
+            http2 = http2 != null ? http2 : false;
+            metrics = metrics != null ? metrics : true;
+        }
+
+        /**
+         * Настройки со значениями по умолчанию.
+         *
+         * @return клиент без явно заданных параметров.
+         */
+        public static Client defaults() {
+            return new Client(null, null, null, null, null, null, null, null, null, null, null);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.habatoo.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Класс для биндинга настроек метрик входящих HTTP-запросов и журнала запросов.
+ * <p>
+ * Связывает свойства с префиксом "spring.http-metrics" из application.yml.
+ * Незаданные параметры заполняются значениями по умолчанию.
+ *
+ * @param enabled             признак записи таймера {@code http.server.latency}.
+ * @param slo                 границы SLO, для которых публикуются счетчики гистограммы.
+ * @param percentiles         перцентили, вычисляемые на стороне сервиса (0..1).
+ * @param percentileHistogram признак публикации гистограммы для агрегации перцентилей в Prometheus.
+ * @param ignoredPaths        пути (по вхождению), которые не измеряются и не журналируются.
+ * @param accessLog           настройки журнала запросов.
+ */
+@ConfigurationProperties(prefix = "spring.http-metrics")
+public record HttpMetricsProperties(
+        Boolean enabled,
+        List<Duration> slo,
+        List<Double> percentiles,
+        Boolean percentileHistogram,
+        List<String> ignoredPaths,
+        AccessLog accessLog
+) {
+
+    public HttpMetricsProperties {
+        enabled = enabled != null ? enabled : true;
+        slo = slo != null ? List.copyOf(slo) : List.of(
+                Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+                Duration.ofMillis(500), Duration.ofSeconds(1));
+        percentiles = percentiles != null ? List.copyOf(percentiles) : List.of(0.5, 0.95, 0.99);
+        percentileHistogram = percentileHistogram != null ? percentileHistogram : false;
+        ignoredPaths = ignoredPaths != null ? List.copyOf(ignoredPaths)
+                : List.of("/actuator/health", "/actuator/prometheus");
+        accessLog = accessLog != null ? accessLog : new AccessLog(null, null, null);
+    }
+
+    /**
+     * Настройки журнала запросов.
+     * <p>
+     * В журнал попадает случайная доля запросов, а также все запросы с ответом 5xx
+     * и запросы дольше порога, поэтому при высокой нагрузке журнал не тратит CPU и ввод-вывод
+     * на каждую строку, но медленные и ошибочные запросы видны всегда.
+     *
+     * @param enabled       признак ведения журнала.
+     * @param sampleRate    доля журналируемых запросов (0..1).
+     * @param slowThreshold длительность, начиная с которой запрос журналируется всегда.
+     */
+    public record AccessLog(
+            Boolean enabled,
+            Double sampleRate,
+            Duration slowThreshold
+    ) {
+
+        public AccessLog {
+            enabled = enabled != null ? enabled : true;
+            sampleRate = sampleRate != null ? sampleRate : 0.01;
+            slowThreshold = slowThreshold != null ? slowThreshold : Duration.ofSeconds(1);
+        }
+    }
+}
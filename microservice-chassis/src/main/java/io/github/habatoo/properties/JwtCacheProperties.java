@@ -0,0 +1,24 @@
+package io.github.habatoo.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Класс для биндинга настроек кэша проверенных JWT.
+ * <p>
+ * Связывает свойства с префиксом "spring.jwt-cache" из application.yml.
+ * Незаданные параметры заполняются значениями по умолчанию.
+ *
+ * @param enabled    признак включения кэша.
+ * @param maxEntries максимальное число токенов в кэше.
+ */
+@ConfigurationProperties(prefix = "spring.jwt-cache")
+public record JwtCacheProperties(
+        Boolean enabled,
+        Integer maxEntries
+) {
+
+    public JwtCacheProperties {
+        enabled = enabled != null ? enabled : true;
+        maxEntries = maxEntries != null ? maxEntries : 10_000;
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.habatoo.properties;
+
+import io.github.habatoo.dto.enums.EventPriority;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Класс для биндинга настроек обработки Outbox.
+ * <p>
+ * Связывает свойства с префиксом "spring.outbox" из application.yml.
+ * Для полос, не перечисленных в {@code laneConcurrency}, используются значения по умолчанию:
+ * 4 одновременные отправки для критичных событий и 16 для массовых.
+ *
+ * @param laneConcurrency число одновременных отправок для каждой полосы приоритета.
+ */
+@ConfigurationProperties(prefix = "spring.outbox")
+public record OutboxProperties(
+        Map<EventPriority, Integer> laneConcurrency
+) {
+
+    public OutboxProperties {
+        Map<EventPriority, Integer> lanes = new EnumMap<>(EventPriority.class);
+        lanes.put(EventPriority.CRITICAL, 4);
+        lanes.put(EventPriority.BULK, 16);
+        if (laneConcurrency != null) {
+            lanes.putAll(laneConcurrency);
+        }
+        laneConcurrency = Map.copyOf(lanes);
+    }
+
+    /**
+     * Возвращает число одновременных отправок полосы.
+     *
+     * @param priority приоритет полосы.
+     * @return ограничение параллелизма полосы.
+     */
+    public int concurrency(EventPriority priority) {
+        return laneConcurrency.get(priority);
+    }
+}
@@ -2,12 +2,23 @@ package io.github.habatoo.properties;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.Map;
+
 /**
  * Класс для биндинга настроек из файла конфигурации.
  * <p>
  * Связывает свойства с префиксом "spring.resilience" из application.yml
  * Содержит параметры для настройки.
  * <p>
+ * Параметры Bulkhead, TimeLimiter и Retry задаются по умолчанию для всех экземпляров
+ * и переопределяются для отдельного экземпляра в {@code instances.<имя>}: заданная у экземпляра группа
+ * заменяет группу по умолчанию целиком. Незаданные параметры заполняются значениями по умолчанию.
+ *
+ * @param bulkhead    ограничение одновременных вызовов по умолчанию.
+ * @param timeLimiter ограничение времени вызова по умолчанию.
+ * @param retry       повтор вызова по умолчанию (по умолчанию без повторов).
+ * @param instances   настройки отдельных экземпляров по имени.
  */
 @ConfigurationProperties(prefix = "spring.resilience")
 public record ResilienceProperties(
@@ -15,6 +26,101 @@ public record ResilienceProperties(
         Long slidingWindowSize,
         Long failureRateThreshold,
         Long waitDurationInOpenState,
-        Long permittedNumberOfCallsInHalfOpenState
+        Long permittedNumberOfCallsInHalfOpenState,
+        Bulkhead bulkhead,
+        TimeLimiter timeLimiter,
+        Retry retry,
+        Map<String, Instance> instances
 ) {
+
+    public ResilienceProperties {
+        bulkhead = bulkhead != null ? bulkhead : new Bulkhead(null);
+        timeLimiter = timeLimiter != null ? timeLimiter : new TimeLimiter(null);
+        retry = retry != null ? retry : new Retry(null, null);
+        instances = instances != null ? Map.copyOf(instances) : Map.of();
+    }
+
+    /**
+     * Настройки Bulkhead для экземпляра.
+     *
+     * @param name имя экземпляра.
+     * @return настройки экземпляра или значения по умолчанию.
+     */
+    public Bulkhead bulkheadFor(String name) {
+        Instance instance = instances.get(name);
+        return instance != null && instance.bulkhead() != null ? instance.bulkhead() : bulkhead;
+    }
+
+    /**
+     * Настройки TimeLimiter для экземпляра.
+     *
+     * @param name имя экземпляра.
+     * @return настройки экземпляра или значения по умолчанию.
+     */
+    public TimeLimiter timeLimiterFor(String name) {
+        Instance instance = instances.get(name);
+        return instance != null && instance.timeLimiter() != null ? instance.timeLimiter() : timeLimiter;
+    }
+
+    /**
+     * Настройки Retry для экземпляра.
+     *
+     * @param name имя экземпляра.
+     * @return настройки экземпляра или значения по умолчанию.
+     */
+    public Retry retryFor(String name) {
+        Instance instance = instances.get(name);
+        return instance != null && instance.retry() != null ? instance.retry() : retry;
+    }
+
+    /**
+     * Ограничение одновременных вызовов зависимости.
+     * <p>
+     * Свободного места не ждут: в реактивном вызове ожидание разрешения заблокировало бы поток event loop,
+     * поэтому вызов сверх лимита сразу отклоняется с {@code BulkheadFullException}.
+     *
+     * @param maxConcurrentCalls максимальное число одновременных вызовов.
+     */
+    public record Bulkhead(Integer maxConcurrentCalls) {
+
+        public Bulkhead {
+            maxConcurrentCalls = maxConcurrentCalls != null ? maxConcurrentCalls : 50;
+        }
+    }
+
+    /**
+     * Ограничение времени вызова зависимости.
+     *
+     * @param timeout максимальное время вызова, после которого он отменяется с {@code TimeoutException}.
+     */
+    public record TimeLimiter(Duration timeout) {
+
+        public TimeLimiter {
+            timeout = timeout != null ? timeout : Duration.ofSeconds(3);
+        }
+    }
+
+    /**
+     * Повтор неуспешного вызова. Включать только для идемпотентных вызовов.
+     *
+     * @param maxAttempts  число попыток вместе с первой (1 — без повторов).
+     * @param waitDuration пауза между попытками.
+     */
+    public record Retry(Integer maxAttempts, Duration waitDuration) {
+
+        public Retry {
+            maxAttempts = maxAttempts != null ? maxAttempts : 1;
+            waitDuration = waitDuration != null ? waitDuration : Duration.ofMillis(200);
+        }
+    }
+
+    /**
+     * Настройки отдельного экземпляра; незаданная группа берется из значений по умолчанию.
+     *
+     * @param bulkhead    ограничение одновременных вызовов.
+     * @param timeLimiter ограничение времени вызова.
+     * @param retry       повтор вызова.
+     */
+    public record Instance(Bulkhead bulkhead, TimeLimiter timeLimiter, Retry retry) {
+    }
 }
@@ -0,0 +1,26 @@
+package io.github.habatoo.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Класс для биндинга настроек объединения одинаковых одновременных GET-запросов {@code webClient}.
+ * <p>
+ * Связывает свойства с префиксом "spring.single-flight" из application.yml.
+ * Незаданные параметры заполняются значениями по умолчанию.
+ *
+ * @param enabled признак включения объединения.
+ * @param paths   пути GET-запросов, для которых запросы объединяются; остальные запросы проходят без изменений.
+ */
+@ConfigurationProperties(prefix = "spring.single-flight")
+public record SingleFlightClientProperties(
+        Boolean enabled,
+        List<String> paths
+) {
+
+    public SingleFlightClientProperties {
+        enabled = enabled != null ? enabled : true;
+        paths = paths != null ? List.copyOf(paths) : List.of("/api/main/dashboard", "/api/main/user");
+    }
+}
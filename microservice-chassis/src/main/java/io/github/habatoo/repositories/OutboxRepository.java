@@ -8,6 +8,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.UUID;
 
 /**
@@ -16,6 +17,8 @@ import java.util.UUID;
 public interface OutboxRepository extends R2dbcRepository<Outbox, UUID> {
     Flux<Outbox> findAllByStatus(String status);
 
+    Flux<Outbox> findAllByStatusAndEventTypeIn(String status, Collection<String> eventTypes);
+
     Mono<Void> deleteAllByStatusAndCreatedAtBefore(String status, LocalDateTime dateTime);
 
     @Modifying
@@ -0,0 +1,64 @@
+package io.github.habatoo.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import reactor.core.publisher.Mono;
+
+/**
+ * Набор механизмов отказоустойчивости для вызовов одной зависимости.
+ * <p>
+ * Экземпляры CircuitBreaker, Bulkhead, TimeLimiter и Retry получаются из реестров один раз,
+ * при создании декоратора, а не на каждый вызов. Порядок применения соответствует рекомендации Resilience4j:
+ * {@code Retry(CircuitBreaker(TimeLimiter(Bulkhead(вызов))))} — превышение времени и отказ Bulkhead
+ * учитываются Circuit Breaker как неуспешные вызовы, а каждая повторная попытка снова проходит все проверки.
+ */
+public class ResilienceDecorator {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final TimeLimiter timeLimiter;
+    private final Retry retry;
+
+    public ResilienceDecorator(CircuitBreaker circuitBreaker, Bulkhead bulkhead, TimeLimiter timeLimiter, Retry retry) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.timeLimiter = timeLimiter;
+        this.retry = retry;
+    }
+
+    /**
+     * Оборачивает вызов зависимости механизмами отказоустойчивости.
+     *
+     * @param source вызов зависимости.
+     * @return вызов с ограничением параллелизма, времени, Circuit Breaker и повторами.
+     */
+    public <T> Mono<T> decorate(Mono<T> source) {
+        return source
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(TimeLimiterOperator.of(timeLimiter))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(RetryOperator.of(retry));
+    }
+
+    public CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead bulkhead() {
+        return bulkhead;
+    }
+
+    public TimeLimiter timeLimiter() {
+        return timeLimiter;
+    }
+
+    public Retry retry() {
+        return retry;
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.habatoo.resilience;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Фабрика декораторов отказоустойчивости.
+ * <p>
+ * Сервисы объявляют декоратор для каждой зависимости отдельным бином с {@code @RefreshScope}:
+ * декоратор создается один раз и пересоздается вместе с реестрами при обновлении конфигурации.
+ * <pre>{@code
+ * @Bean
+ * @RefreshScope
+ * public ResilienceDecorator accountResilience(ResilienceDecorators resilienceDecorators) {
+ *     return resilienceDecorators.of("cashServiceCB");
+ * }
+ * }</pre>
+ */
+@RequiredArgsConstructor
+public class ResilienceDecorators {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final RetryRegistry retryRegistry;
+
+    /**
+     * Создает декоратор для экземпляра; все механизмы получают одно имя.
+     *
+     * @param name имя экземпляра (ключ в {@code spring.resilience.instances}).
+     * @return декоратор с экземплярами, полученными из реестров.
+     */
+    public ResilienceDecorator of(String name) {
+        return new ResilienceDecorator(
+                circuitBreakerRegistry.circuitBreaker(name),
+                bulkheadRegistry.bulkhead(name),
+                timeLimiterRegistry.timeLimiter(name),
+                retryRegistry.retry(name));
+    }
+}
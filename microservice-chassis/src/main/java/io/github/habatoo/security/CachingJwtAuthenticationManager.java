@@ -0,0 +1,38 @@
+package io.github.habatoo.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import reactor.core.publisher.Mono;
+
+/**
+ * Менеджер аутентификации bearer-токенов, не проверяющий повторно уже проверенный JWT.
+ * <p>
+ * Один и тот же токен проходит через шлюз, целевой сервис и вложенные вызовы. Результат первой
+ * проверки (подпись, срок, роли из {@code realm_access}) сохраняется в {@link JwtAuthenticationCache},
+ * и следующие запросы с тем же токеном обходятся без криптографии и разбора claims.
+ * Ошибки проверки не кэшируются.
+ */
+@RequiredArgsConstructor
+public class CachingJwtAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final ReactiveAuthenticationManager delegate;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if (!(authentication instanceof BearerTokenAuthenticationToken bearer)) {
+            return delegate.authenticate(authentication);
+        }
+
+        return Mono.defer(() -> {
+            Authentication cached = jwtAuthenticationCache.get(bearer.getToken());
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return delegate.authenticate(authentication)
+                    .doOnNext(result -> jwtAuthenticationCache.put(bearer.getToken(), result));
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.habatoo.security;
+
+import io.github.habatoo.properties.JwtCacheProperties;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ограниченный кэш результатов проверки JWT.
+ * <p>
+ * Хранит аутентификацию (проверенный {@link Jwt} вместе с вычисленными ролями) под ключом
+ * SHA-256 от значения токена, поэтому сами токены в памяти не хранятся. Запись действительна
+ * до истечения срока токена ({@code exp}); токены без срока действия не кэшируются.
+ * При превышении {@code maxEntries} вытесняются давно не использованные записи (LRU).
+ */
+public class JwtAuthenticationCache {
+
+    private final boolean enabled;
+    private final Map<String, CachedAuthentication> entries;
+
+    public JwtAuthenticationCache(JwtCacheProperties properties) {
+        int maxEntries = properties.maxEntries();
+        this.enabled = properties.enabled();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAuthentication> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Возвращает действующую аутентификацию для токена.
+     *
+     * @param token значение bearer-токена.
+     * @return аутентификация или {@code null}, если ее нет в кэше или срок токена истек.
+     */
+    public Authentication get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        String key = obtainKey(token);
+        synchronized (entries) {
+            CachedAuthentication cached = entries.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (!cached.expiresAt().isAfter(Instant.now())) {
+                entries.remove(key);
+                return null;
+            }
+            return cached.authentication();
+        }
+    }
+
+    /**
+     * Сохраняет результат успешной проверки токена.
+     *
+     * @param token          значение bearer-токена.
+     * @param authentication результат проверки, principal которого — {@link Jwt}.
+     */
+    public void put(String token, Authentication authentication) {
+        if (!enabled || !(authentication.getPrincipal() instanceof Jwt jwt) || jwt.getExpiresAt() == null) {
+            return;
+        }
+        String key = obtainKey(token);
+        synchronized (entries) {
+            entries.put(key, new CachedAuthentication(authentication, jwt.getExpiresAt()));
+        }
+    }
+
+    /**
+     * Возвращает число записей в кэше.
+     *
+     * @return текущее число записей.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private String obtainKey(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Алгоритм SHA-256 недоступен", e);
+        }
+    }
+
+    private record CachedAuthentication(Authentication authentication, Instant expiresAt) {
+    }
+}
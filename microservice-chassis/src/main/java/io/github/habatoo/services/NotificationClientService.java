@@ -1,17 +1,23 @@
 package io.github.habatoo.services;
 
 import io.github.habatoo.dto.NotificationEvent;
-import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
-import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.habatoo.dto.enums.EventPriority;
+import io.github.habatoo.dto.enums.EventType;
+import io.github.habatoo.handlers.NotificationBackpressureException;
+import io.github.habatoo.resilience.ResilienceDecorator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
 /**
  * Клиент для отправки notifications через модульуведомлений.
  * Обеспечиват единообразную отправвку уведомлений всеми сервисами через сервис уведомлений.
@@ -21,25 +27,45 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class NotificationClientService {
 
+    public static final String SERVICE_CIRCUIT_BREAKER = "notification-service-cb";
+    public static final String ALERT_CIRCUIT_BREAKER = "notification-alert-cb";
+
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(5);
+
     private final WebClient backgroundWebClient;
-    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final ResilienceDecorator notificationResilience;
+    private final ResilienceDecorator notificationAlertResilience;
     @Value("${spring.application.notification.url:http://localhost:8085/notification}")
     private String notificationUrl;
 
     /**
      * Метод для вызова отправки в сервис уведомлений.
+     * <p>
+     * Ответ 503 (буфер приема сервиса уведомлений заполнен) не подавляется, а пробрасывается
+     * как {@link NotificationBackpressureException}, чтобы вызывающая сторона повторила отправку позже.
+     * Критичные события ({@link EventPriority#CRITICAL}) идут через собственные Circuit Breaker и Bulkhead,
+     * поэтому сбои и перегрузка массовой доставки не блокируют системные оповещения.
      *
      * @param event единое событие уведомления для отправки.
      * @return асинхронный объект результата уведомлений.
      */
     public Mono<Void> sendScheduled(NotificationEvent event) {
-        CircuitBreaker cb = circuitBreakerRegistry.circuitBreaker("notification-service-cb");
+        ResilienceDecorator resilience = obtainResilience(event);
 
         return backgroundWebClient
                 .post()
                 .uri(notificationUrl)
                 .bodyValue(event)
                 .retrieve()
+                .onStatus(status -> status.value() == HttpStatus.SERVICE_UNAVAILABLE.value(), response ->
+                        response.bodyToMono(String.class)
+                                .defaultIfEmpty("")
+                                .flatMap(errorBody -> {
+                                    log.warn("Сервис уведомлений перегружен. Статус: {}, Тело: {}",
+                                            response.statusCode(), errorBody);
+                                    return Mono.error(new NotificationBackpressureException(obtainRetryAfter(response)));
+                                })
+                )
                 .onStatus(HttpStatusCode::isError, response ->
                         response.bodyToMono(String.class)
                                 .flatMap(errorBody -> {
@@ -49,9 +75,24 @@ public class NotificationClientService {
                                 })
                 )
                 .toBodilessEntity()
-                .transformDeferred(CircuitBreakerOperator.of(cb))
-                .onErrorResume(e -> Mono.empty())
+                .transform(resilience::decorate)
+                .onErrorResume(e -> !(e instanceof NotificationBackpressureException), e -> Mono.empty())
                 .doOnSuccess(v -> log.debug("Уведомление успешно доставлено в модуль уведомлений"))
                 .then();
     }
+
+    private ResilienceDecorator obtainResilience(NotificationEvent event) {
+        return EventType.priorityOf(event.getEventType()) == EventPriority.CRITICAL
+                ? notificationAlertResilience
+                : notificationResilience;
+    }
+
+    private Duration obtainRetryAfter(ClientResponse response) {
+        String retryAfter = response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        try {
+            return retryAfter != null ? Duration.ofSeconds(Long.parseLong(retryAfter.trim())) : DEFAULT_RETRY_AFTER;
+        } catch (NumberFormatException e) {
+            return DEFAULT_RETRY_AFTER;
+        }
+    }
 }
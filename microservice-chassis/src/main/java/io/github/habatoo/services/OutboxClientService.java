@@ -1,18 +1,27 @@
 package io.github.habatoo.services;
 
 import io.github.habatoo.dto.NotificationEvent;
+import io.github.habatoo.dto.enums.EventPriority;
 import io.github.habatoo.dto.enums.EventStatus;
 import io.github.habatoo.dto.enums.EventType;
+import io.github.habatoo.handlers.NotificationBackpressureException;
 import io.github.habatoo.models.Outbox;
+import io.github.habatoo.properties.OutboxProperties;
 import io.github.habatoo.repositories.OutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Сервис для реализации паттерна "Transactional Outbox".
@@ -25,7 +34,8 @@ import java.util.UUID;
  * Основные функции:
  * <ul>
  * <li>Сохранение новых событий в статусе {@code NEW} в рамках текущей транзакции.</li>
- * <li>Периодическая обработка и отправка сохраненных событий через {@link NotificationClientService}.</li>
+ * <li>Периодическая обработка и отправка сохраненных событий через {@link NotificationClientService}
+ * по отдельным полосам приоритета ({@link EventPriority}).</li>
  * <li>Обновление статусов событий на {@code PROCESSED} в случае успеха или {@code FAILED} при ошибке.</li>
  * <li>Автоматическая очистка устаревших записей из базы данных.</li>
  * </ul>
@@ -41,8 +51,14 @@ public class OutboxClientService {
     private static final String STATUS_PROCESSED = "PROCESSED";
     private static final String STATUS_FAILED = "FAILED";
 
+    private static final Map<EventPriority, List<String>> LANE_EVENT_TYPES = obtainLaneEventTypes();
+
     private final OutboxRepository outboxRepository;
     private final NotificationClientService notificationClient;
+    private final OutboxProperties outboxProperties;
+
+    private final Map<EventPriority, AtomicBoolean> laneBusy = obtainLaneBusyFlags();
+    private final Map<EventPriority, AtomicLong> laneResumeAt = obtainLaneResumeTimes();
 
     /**
      * Сохраняет событие в таблицу Outbox для последующей асинхронной обработки.
@@ -68,22 +84,23 @@ public class OutboxClientService {
     /**
      * Выполняет поиск необработанных событий и инициирует их отправку.
      * <p>
-     * Метод обрабатывает каждое событие независимо: при успешной отправке помечает его
-     * как обработанное, при возникновении исключения — как ошибочное.
+     * События разбиты на полосы по приоритету типа: критичные ({@code SYSTEM_ALERT}) и массовые.
+     * Каждая полоса выбирает свои записи и отправляет их с собственным ограничением параллелизма
+     * ({@code spring.outbox.lane-concurrency}), поэтому оповещения не ждут, пока будет разобран
+     * накопившийся массовый трафик. Если полоса еще обрабатывает предыдущий опрос, новый опрос
+     * ее пропускает, чтобы не отправлять одни и те же записи дважды.
+     * </p>
+     * <p>
+     * Каждое событие обрабатывается независимо: при успешной отправке помечается
+     * как обработанное, при возникновении исключения — как ошибочное. Если сервис уведомлений
+     * перегружен ({@link NotificationBackpressureException}), событие остается в статусе {@code NEW},
+     * а полоса приостанавливается на время из {@code Retry-After}: до его истечения опросы ее пропускают,
+     * а оставшиеся записи текущего опроса не отправляются.
      * </p>
      */
     public void processOutboxEvents() {
-        outboxRepository.findAllByStatus(STATUS_NEW)
-                .flatMap(entity ->
-                        processEvent(entity)
-                                .then(markAsProcessed(entity.getId()))
-                                .doOnSuccess(v -> log.info("Событие {} успешно обработано и помечено PROCESSED", entity.getId()))
-                                .onErrorResume(e -> {
-                                    log.error("Ошибка обработки события {}: {}", entity.getId(), e.getMessage());
-                                    return markAsFailed(entity.getId());
-                                })
-                )
-                .subscribe();
+        processLane(EventPriority.CRITICAL);
+        processLane(EventPriority.BULK);
     }
 
     /**
@@ -105,13 +122,62 @@ public class OutboxClientService {
                 .subscribe();
     }
 
+    private void processLane(EventPriority priority) {
+        if (isPaused(priority)) {
+            log.debug("Полоса {} приостановлена до истечения Retry-After, пропуск", priority);
+            return;
+        }
+        AtomicBoolean busy = laneBusy.get(priority);
+        if (!busy.compareAndSet(false, true)) {
+            log.debug("Полоса {} еще обрабатывает предыдущий опрос, пропуск", priority);
+            return;
+        }
+
+        outboxRepository.findAllByStatusAndEventTypeIn(STATUS_NEW, LANE_EVENT_TYPES.get(priority))
+                .flatMap(entity -> processEntity(entity, priority), outboxProperties.concurrency(priority))
+                .doFinally(signal -> busy.set(false))
+                .subscribe();
+    }
+
+    private Mono<Void> processEntity(Outbox entity, EventPriority priority) {
+        if (isPaused(priority)) {
+            return Mono.empty();
+        }
+        return processEvent(entity)
+                .then(markAsProcessed(entity.getId()))
+                .doOnSuccess(v -> log.info("Событие {} успешно обработано и помечено PROCESSED", entity.getId()))
+                .onErrorResume(NotificationBackpressureException.class, e -> {
+                    pause(priority, e.getRetryAfter());
+                    log.warn("Событие {} отложено: {}", entity.getId(), e.getMessage());
+                    return Mono.empty();
+                })
+                .onErrorResume(e -> {
+                    log.error("Ошибка обработки события {}: {}", entity.getId(), e.getMessage());
+                    return markAsFailed(entity.getId());
+                });
+    }
+
+    private boolean isPaused(EventPriority priority) {
+        return System.nanoTime() - laneResumeAt.get(priority).get() < 0;
+    }
+
+    private void pause(EventPriority priority, Duration retryAfter) {
+        long resumeAt = System.nanoTime() + retryAfter.toNanos();
+        laneResumeAt.get(priority).accumulateAndGet(resumeAt,
+                (current, next) -> next - current > 0 ? next : current);
+    }
+
     private Mono<Void> processEvent(Outbox entity) {
         NotificationEvent event = mapToEvent(entity);
 
         return notificationClient.sendScheduled(event);
     }
 
-    private Map<String, Object> convertEventToMap(NotificationEvent event) {
+    /**
+     * Преобразование DTO уведомления в данные для сохранения в колонку JSONB.
+     * Видимость пакета оставлена для микробенчмарков преобразования.
+     */
+    static Map<String, Object> convertEventToMap(NotificationEvent event) {
         Map<String, Object> map = new HashMap<>();
         map.put("username", event.getUsername());
         map.put("eventType", event.getEventType());
@@ -132,12 +198,15 @@ public class OutboxClientService {
 
     /**
      * Преобразование данных из БД (Map) обратно в DTO уведомления.
+     * Идентификатор записи Outbox становится идентификатором события, поэтому
+     * повторные отправки одной записи распознаются получателем как дубликаты.
      */
     @SuppressWarnings("unchecked")
-    private NotificationEvent mapToEvent(Outbox entity) {
+    static NotificationEvent mapToEvent(Outbox entity) {
         Map<String, Object> p = entity.getPayload();
 
         return NotificationEvent.builder()
+                .eventId(entity.getId())
                 .username((String) p.get("username"))
                 .eventType(EventType.valueOf((String) p.get("eventType")))
                 .status(EventStatus.valueOf((String) p.get("status")))
@@ -146,4 +215,31 @@ public class OutboxClientService {
                 .payload((Map<String, Object>) p.get("payload"))
                 .build();
     }
+
+    private static Map<EventPriority, List<String>> obtainLaneEventTypes() {
+        Map<EventPriority, List<String>> lanes = new EnumMap<>(EventPriority.class);
+        for (EventPriority priority : EventPriority.values()) {
+            lanes.put(priority, Arrays.stream(EventType.values())
+                    .filter(type -> type.getPriority() == priority)
+                    .map(Enum::name)
+                    .toList());
+        }
+        return lanes;
+    }
+
+    private static Map<EventPriority, AtomicLong> obtainLaneResumeTimes() {
+        Map<EventPriority, AtomicLong> resumeTimes = new EnumMap<>(EventPriority.class);
+        for (EventPriority priority : EventPriority.values()) {
+            resumeTimes.put(priority, new AtomicLong(System.nanoTime()));
+        }
+        return resumeTimes;
+    }
+
+    private static Map<EventPriority, AtomicBoolean> obtainLaneBusyFlags() {
+        Map<EventPriority, AtomicBoolean> flags = new EnumMap<>(EventPriority.class);
+        for (EventPriority priority : EventPriority.values()) {
+            flags.put(priority, new AtomicBoolean());
+        }
+        return flags;
+    }
 }
@@ -0,0 +1,107 @@
+package io.github.habatoo.base;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тесты для {@link LocalJwtIssuer}: токены проверяются тем же декодером, что и в сервисах.
+ */
+class LocalJwtIssuerTest {
+
+    private static LocalJwtIssuer issuer;
+    private static NimbusReactiveJwtDecoder decoder;
+    private static final WebClient webClient = WebClient.create();
+
+    @BeforeAll
+    static void setUp() {
+        issuer = new LocalJwtIssuer().start();
+        decoder = NimbusReactiveJwtDecoder.withJwkSetUri(issuer.jwkSetUri()).build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer.issuerUri()));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        issuer.close();
+    }
+
+    @Test
+    @DisplayName("Токен пользователя проходит проверку по JWKS и содержит клеймы Keycloak")
+    void userTokenTest() {
+        String token = issuer.issueUserToken("user1", List.of("USER"));
+
+        StepVerifier.create(decoder.decode(token))
+                .assertNext(jwt -> {
+                    assertThat(jwt.getClaimAsString("preferred_username")).isEqualTo("user1");
+                    assertThat(jwt.getClaimAsMap("realm_access")).containsEntry("roles", List.of("USER"));
+                    assertThat(jwt.getIssuer().toString()).isEqualTo(issuer.issuerUri());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Client credentials: выдается межсервисный токен с ролями доступа")
+    void clientCredentialsTest() {
+        StepVerifier.create(webClient.post()
+                        .uri(issuer.tokenUri())
+                        .headers(headers -> headers.setBasicAuth("cash", "secret"))
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .body(BodyInserters.fromFormData("grant_type", "client_credentials").with("scope", "openid"))
+                        .retrieve()
+                        .bodyToMono(JsonNode.class)
+                        .flatMap(body -> decoder.decode(body.get("access_token").asText())))
+                .assertNext(jwt -> {
+                    assertThat(jwt.getSubject()).isEqualTo("cash");
+                    assertThat(jwt.getClaimAsMap("realm_access"))
+                            .containsEntry("roles", LocalJwtIssuer.SERVICE_ROLES);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Неподдерживаемый grant_type отклоняется с 400")
+    void unsupportedGrantTest() {
+        StepVerifier.create(webClient.post()
+                        .uri(issuer.tokenUri())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .body(BodyInserters.fromFormData("grant_type", "password").with("client_id", "cash"))
+                        .retrieve()
+                        .bodyToMono(String.class))
+                .expectErrorMatches(e -> e instanceof WebClientResponseException.BadRequest)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Discovery указывает на адреса издателя, свойства Spring — на него же")
+    void discoveryTest() {
+        StepVerifier.create(webClient.get()
+                        .uri(issuer.issuerUri() + "/.well-known/openid-configuration")
+                        .retrieve()
+                        .bodyToMono(JsonNode.class))
+                .assertNext(document -> {
+                    assertThat(document.get("issuer").asText()).isEqualTo(issuer.issuerUri());
+                    assertThat(document.get("jwks_uri").asText()).isEqualTo(issuer.jwkSetUri());
+                    assertThat(document.get("token_endpoint").asText()).isEqualTo(issuer.tokenUri());
+                })
+                .verifyComplete();
+
+        Map<String, String> properties = issuer.springProperties();
+        assertThat(properties)
+                .containsEntry("spring.security.oauth2.resourceserver.jwt.jwk-set-uri", issuer.jwkSetUri())
+                .containsEntry("spring.security.oauth2.client.provider.keycloak.issuer-uri", issuer.issuerUri());
+    }
+}
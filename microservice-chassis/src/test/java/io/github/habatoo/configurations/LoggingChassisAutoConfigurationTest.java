@@ -1,6 +1,8 @@
 package io.github.habatoo.configurations;
 
 import io.github.habatoo.logging.LoggingWebFilter;
+import io.github.habatoo.logging.SagaStepObserver;
+import io.github.habatoo.properties.HttpMetricsProperties;
 import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -25,6 +27,8 @@ class LoggingChassisAutoConfigurationTest {
         contextRunner.run(context -> {
             assertThat(context).hasSingleBean(LoggingWebFilter.class);
             assertThat(context).hasSingleBean(ObservationRegistry.class);
+            assertThat(context).hasSingleBean(HttpMetricsProperties.class);
+            assertThat(context).hasSingleBean(SagaStepObserver.class);
         });
     }
 
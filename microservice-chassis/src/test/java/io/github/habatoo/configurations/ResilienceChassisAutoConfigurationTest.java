@@ -1,10 +1,16 @@
 package io.github.habatoo.configurations;
 
 import io.github.habatoo.dto.NotificationEvent;
+import io.github.habatoo.handlers.NotificationBackpressureException;
+import io.github.habatoo.resilience.ResilienceDecorator;
+import io.github.habatoo.resilience.ResilienceDecorators;
 import io.github.habatoo.services.NotificationClientService;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.common.circuitbreaker.configuration.CircuitBreakerConfigCustomizer;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -13,6 +19,9 @@ import org.springframework.boot.test.context.runner.ReactiveWebApplicationContex
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -55,6 +64,50 @@ class ResilienceChassisAutoConfigurationTest {
         });
     }
 
+    @Test
+    @DisplayName("Должен создавать реестры Bulkhead, TimeLimiter и Retry с настройками экземпляров")
+    void shouldCreateRegistriesWithInstanceSettings() {
+        contextRunner.withPropertyValues(
+                "spring.resilience.bulkhead.max-concurrent-calls=20",
+                "spring.resilience.time-limiter.timeout=2s",
+                "spring.resilience.instances.account-cb.time-limiter.timeout=500ms",
+                "spring.resilience.instances.account-cb.retry.max-attempts=3"
+        ).run(context -> {
+            assertThat(context).hasSingleBean(ResilienceDecorators.class);
+
+            assertThat(context.getBean(BulkheadRegistry.class).bulkhead("other-cb")
+                    .getBulkheadConfig().getMaxConcurrentCalls()).isEqualTo(20);
+            assertThat(context.getBean(TimeLimiterRegistry.class).timeLimiter("other-cb")
+                    .getTimeLimiterConfig().getTimeoutDuration()).isEqualTo(Duration.ofSeconds(2));
+            assertThat(context.getBean(RetryRegistry.class).retry("other-cb")
+                    .getRetryConfig().getMaxAttempts()).isEqualTo(1);
+
+            ResilienceDecorator decorator = context.getBean(ResilienceDecorators.class).of("account-cb");
+            assertThat(decorator.timeLimiter().getTimeLimiterConfig().getTimeoutDuration())
+                    .isEqualTo(Duration.ofMillis(500));
+            assertThat(decorator.retry().getRetryConfig().getMaxAttempts()).isEqualTo(3);
+            assertThat(decorator.bulkhead().getBulkheadConfig().getMaxConcurrentCalls()).isEqualTo(20);
+            assertThat(decorator.circuitBreaker())
+                    .isSameAs(context.getBean(CircuitBreakerRegistry.class).circuitBreaker("account-cb"));
+        });
+    }
+
+    @Test
+    @DisplayName("Перегрузка сервиса уведомлений не считается отказом CircuitBreaker и не повторяется")
+    void shouldIgnoreNotificationBackpressure() {
+        contextRunner.run(context -> {
+            CircuitBreaker circuitBreaker = context.getBean(CircuitBreakerRegistry.class)
+                    .circuitBreaker(NotificationClientService.SERVICE_CIRCUIT_BREAKER);
+            NotificationBackpressureException backpressure = new NotificationBackpressureException(Duration.ofSeconds(5));
+
+            circuitBreaker.onError(0, TimeUnit.NANOSECONDS, backpressure);
+
+            assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isZero();
+            assertThat(context.getBean(RetryRegistry.class).retry(NotificationClientService.SERVICE_CIRCUIT_BREAKER)
+                    .getRetryConfig().getExceptionPredicate().test(backpressure)).isFalse();
+        });
+    }
+
     @Test
     @DisplayName("Должен отправлять уведомление при переходе CircuitBreaker в состояние OPEN")
     void shouldSendNotificationOnStateTransition() {
@@ -1,5 +1,6 @@
 package io.github.habatoo.configurations;
 
+import io.github.habatoo.security.JwtAuthenticationCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -40,6 +41,7 @@ class SecurityChassisAutoConfigurationTest {
             assertThat(context).hasBean("jwtAuthenticationConverter");
             assertThat(context).hasSingleBean(ReactiveJwtAuthenticationConverter.class);
             assertThat(context).hasSingleBean(SecurityWebFilterChain.class);
+            assertThat(context).hasSingleBean(JwtAuthenticationCache.class);
         });
     }
 
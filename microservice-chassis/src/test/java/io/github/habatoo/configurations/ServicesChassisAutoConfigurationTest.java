@@ -1,18 +1,23 @@
 package io.github.habatoo.configurations;
 
 import io.github.habatoo.repositories.OutboxRepository;
+import io.github.habatoo.resilience.ResilienceDecorator;
+import io.github.habatoo.resilience.ResilienceDecorators;
 import io.github.habatoo.services.NotificationClientService;
 import io.github.habatoo.services.OutboxClientService;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Юнит тесты бина ServicesChassisAutoConfiguration и связанных бинов.
@@ -21,9 +26,15 @@ import static org.mockito.Mockito.mock;
 class ServicesChassisAutoConfigurationTest {
 
     private final ReactiveWebApplicationContextRunner contextRunner = new ReactiveWebApplicationContextRunner()
-            .withConfiguration(AutoConfigurations.of(ServicesChassisAutoConfiguration.class))
+            .withConfiguration(AutoConfigurations.of(
+                    ServicesChassisAutoConfiguration.class,
+                    RefreshAutoConfiguration.class))
             .withBean("backgroundWebClient", WebClient.class, () -> mock(WebClient.class))
-            .withBean(CircuitBreakerRegistry.class, () -> mock(CircuitBreakerRegistry.class))
+            .withBean(ResilienceDecorators.class, () -> {
+                ResilienceDecorators decorators = mock(ResilienceDecorators.class);
+                when(decorators.of(anyString())).thenReturn(mock(ResilienceDecorator.class));
+                return decorators;
+            })
             .withBean(OutboxRepository.class, () -> mock(OutboxRepository.class));
 
     @Test
@@ -44,6 +55,21 @@ class ServicesChassisAutoConfigurationTest {
         });
     }
 
+    @Test
+    @DisplayName("Должен создавать отдельные декораторы для массовой доставки и критичных оповещений")
+    void shouldRegisterNotificationResilienceDecoratorsTest() {
+        contextRunner.run(context -> {
+            assertThat(context).hasBean("notificationResilience");
+            assertThat(context).hasBean("notificationAlertResilience");
+            context.getBean("notificationResilience", ResilienceDecorator.class).circuitBreaker();
+            context.getBean("notificationAlertResilience", ResilienceDecorator.class).circuitBreaker();
+
+            ResilienceDecorators decorators = context.getBean(ResilienceDecorators.class);
+            verify(decorators).of(NotificationClientService.SERVICE_CIRCUIT_BREAKER);
+            verify(decorators).of(NotificationClientService.ALERT_CIRCUIT_BREAKER);
+        });
+    }
+
     @Test
     @DisplayName("Должен регистрировать бин OutboxClientService в контексте")
     void shouldRegisterOutboxClientServiceTest() {
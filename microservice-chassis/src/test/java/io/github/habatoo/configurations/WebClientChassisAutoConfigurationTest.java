@@ -1,5 +1,9 @@
 package io.github.habatoo.configurations;
 
+import io.github.habatoo.configurations.filters.HedgingExchangeFilterFunction;
+import io.github.habatoo.configurations.filters.SingleFlightExchangeFilterFunction;
+import io.github.habatoo.properties.HedgingProperties;
+import io.github.habatoo.properties.HttpClientProperties;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -9,6 +13,7 @@ import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClient
 import org.springframework.security.oauth2.client.registration.ReactiveClientRegistrationRepository;
 import org.springframework.security.oauth2.client.web.server.ServerOAuth2AuthorizedClientRepository;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -48,6 +53,40 @@ class WebClientChassisAutoConfigurationTest {
         });
     }
 
+    @Test
+    @DisplayName("Должен регистрировать фильтры объединения и хеджирования запросов")
+    void shouldRegisterExchangeFilters() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(SingleFlightExchangeFilterFunction.class);
+            assertThat(context).hasSingleBean(HedgingExchangeFilterFunction.class);
+            assertThat(context).hasSingleBean(HedgingProperties.class);
+        });
+    }
+
+    @Test
+    @DisplayName("Должен создавать отдельный пул соединений для каждого WebClient")
+    void shouldRegisterConnectionProviders() {
+        contextRunner
+                .withPropertyValues(
+                        "spring.http-client.web-client.max-connections=200",
+                        "spring.http-client.background-web-client.http2=true")
+                .run(context -> {
+                    assertThat(context).getBeans(ConnectionProvider.class).hasSize(3);
+
+                    ConnectionProvider webClientPool = context.getBean("webClientConnectionProvider", ConnectionProvider.class);
+                    ConnectionProvider backgroundPool =
+                            context.getBean("backgroundWebClientConnectionProvider", ConnectionProvider.class);
+                    assertThat(webClientPool.name()).isEqualTo("webClient");
+                    assertThat(webClientPool.maxConnections()).isEqualTo(200);
+                    assertThat(backgroundPool.name()).isEqualTo("backgroundWebClient");
+                    assertThat(backgroundPool.maxConnections()).isEqualTo(100);
+                    assertThat(context.getBean("simpleWebClientConnectionProvider", ConnectionProvider.class))
+                            .isNotSameAs(webClientPool);
+
+                    assertThat(context.getBean(HttpClientProperties.class).backgroundWebClient().http2()).isTrue();
+                });
+    }
+
     @Test
     @DisplayName("Контекст не должен падать, если WebClient уже определен пользователем")
     void shouldNotConflictWithCustomWebClient() {
@@ -0,0 +1,74 @@
+package io.github.habatoo.configurations.filters;
+
+import io.github.habatoo.properties.HedgingProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link HedgePolicy}.
+ * Проверяют расчет задержки по перцентилю и бюджет повторных копий.
+ */
+@DisplayName("Проверка политики хеджирования HedgePolicy")
+class HedgePolicyTest {
+
+    @Test
+    @DisplayName("Пока замеров мало, задержка равна верхней границе")
+    void hedgeDelayDefaultsToMaxDelayTest() {
+        HedgePolicy policy = createPolicy(0.05);
+
+        policy.recordLatency(Duration.ofMillis(30).toNanos());
+
+        assertThat(policy.hedgeDelay()).isEqualTo(Duration.ofMillis(500));
+    }
+
+    @Test
+    @DisplayName("Задержка равна перцентилю замеров в пределах границ")
+    void hedgeDelayFollowsPercentileTest() {
+        HedgePolicy policy = createPolicy(0.05);
+
+        for (int i = 1; i <= 100; i++) {
+            policy.recordLatency(Duration.ofMillis(i * 2L).toNanos());
+        }
+        assertThat(policy.hedgeDelay()).isEqualTo(Duration.ofMillis(180));
+
+        for (int i = 0; i < 100; i++) {
+            policy.recordLatency(Duration.ofMillis(1).toNanos());
+        }
+        assertThat(policy.hedgeDelay()).isEqualTo(Duration.ofMillis(20));
+    }
+
+    @Test
+    @DisplayName("Число копий ограничено долей от числа запросов")
+    void budgetLimitsHedgesTest() {
+        HedgePolicy policy = createPolicy(0.1);
+
+        int hedges = 0;
+        for (int i = 0; i < 100; i++) {
+            policy.onRequest();
+            if (policy.tryAcquireHedge()) {
+                hedges++;
+            }
+        }
+
+        assertThat(hedges).isBetween(9, 10);
+    }
+
+    @Test
+    @DisplayName("Хеджирование применяется только к настроенным путям включенной политики")
+    void appliesTest() {
+        assertThat(createPolicy(0.05).applies("/api/main/user")).isTrue();
+        assertThat(createPolicy(0.05).applies("/api/main/cash")).isFalse();
+        assertThat(new HedgePolicy(new HedgingProperties(null, null, null, null, null, null, null))
+                .applies("/api/main/user")).isFalse();
+    }
+
+    private HedgePolicy createPolicy(double budgetRatio) {
+        return new HedgePolicy(new HedgingProperties(true, List.of("/api/main/user"), 0.9,
+                Duration.ofMillis(20), Duration.ofMillis(500), budgetRatio, 100));
+    }
+}
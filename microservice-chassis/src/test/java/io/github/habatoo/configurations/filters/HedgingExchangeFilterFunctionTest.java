@@ -0,0 +1,147 @@
+package io.github.habatoo.configurations.filters;
+
+import io.github.habatoo.properties.HedgingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Юнит-тесты для {@link HedgingExchangeFilterFunction}.
+ * Проверяют отправку повторной копии медленного запроса, отмену проигравшего и бюджет.
+ */
+@DisplayName("Проверка фильтра хеджирования HedgingExchangeFilterFunction")
+class HedgingExchangeFilterFunctionTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    @DisplayName("Медленный запрос дублируется, используется первый ответ, основной отменяется")
+    void filterHedgesSlowRequestTest() {
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        ExchangeFunction next = request -> upstreamCalls.incrementAndGet() == 1
+                ? Mono.<ClientResponse>never().doOnCancel(() -> primaryCancelled.set(true))
+                : Mono.just(ClientResponse.create(HttpStatus.OK).body("hedge").build());
+
+        StepVerifier.create(createFilter(1.0).filter(request(HttpMethod.GET), next)
+                        .flatMap(response -> response.bodyToMono(String.class)))
+                .expectNext("hedge")
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(primaryCancelled).isTrue();
+        assertThat(meterRegistry.get("webclient.hedge.requests").tag("result", "won").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Задержка отмененного основного запроса записывается как нижняя граница")
+    void filterRecordsLowerBoundLatencyOfCancelledPrimaryTest() {
+        HedgePolicy hedgePolicy = spy(new HedgePolicy(properties(1.0)));
+        ExchangeFunction next = request -> upstreamCalls.incrementAndGet() == 1
+                ? Mono.never()
+                : Mono.just(ClientResponse.create(HttpStatus.OK).build());
+
+        StepVerifier.create(new HedgingExchangeFilterFunction(hedgePolicy, meterRegistry)
+                        .filter(request(HttpMethod.GET), next))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(hedgePolicy).recordLatency(longThat(nanos -> nanos >= Duration.ofMillis(5).toNanos()));
+    }
+
+    @Test
+    @DisplayName("Задержка основного запроса записывается при получении ответа")
+    void filterRecordsLatencyOfPrimaryResponseTest() {
+        HedgePolicy hedgePolicy = spy(new HedgePolicy(properties(1.0)));
+        ExchangeFunction next = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+
+        StepVerifier.create(new HedgingExchangeFilterFunction(hedgePolicy, meterRegistry)
+                        .filter(request(HttpMethod.GET), next))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(hedgePolicy).recordLatency(anyLong());
+    }
+
+    @Test
+    @DisplayName("Быстрый ответ возвращается без повторной копии")
+    void filterSkipsHedgeForFastResponseTest() {
+        ExchangeFunction next = request -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        };
+
+        StepVerifier.create(createFilter(1.0).filter(request(HttpMethod.GET), next))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Без бюджета копия не отправляется, ожидается основной ответ")
+    void filterRespectsBudgetTest() {
+        ExchangeFunction next = request -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(50))
+                    .thenReturn(ClientResponse.create(HttpStatus.OK).build());
+        };
+
+        StepVerifier.create(createFilter(0.0).filter(request(HttpMethod.GET), next))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(meterRegistry.get("webclient.hedge.requests").tag("result", "denied").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Неидемпотентные запросы не дублируются")
+    void filterPassesNonGetRequestTest() {
+        ExchangeFunction next = request -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(50))
+                    .thenReturn(ClientResponse.create(HttpStatus.OK).build());
+        };
+
+        StepVerifier.create(createFilter(1.0).filter(request(HttpMethod.POST), next))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    private HedgingExchangeFilterFunction createFilter(double budgetRatio) {
+        return new HedgingExchangeFilterFunction(new HedgePolicy(properties(budgetRatio)), meterRegistry);
+    }
+
+    private HedgingProperties properties(double budgetRatio) {
+        return new HedgingProperties(true, List.of("/api/main/user"), 0.95,
+                Duration.ofMillis(5), Duration.ofMillis(10), budgetRatio, 100);
+    }
+
+    private ClientRequest request(HttpMethod method) {
+        return ClientRequest.create(method, URI.create("http://gateway/api/main/user")).build();
+    }
+}
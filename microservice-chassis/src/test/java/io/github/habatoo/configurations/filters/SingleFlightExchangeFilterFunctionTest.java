@@ -0,0 +1,154 @@
+package io.github.habatoo.configurations.filters;
+
+import io.github.habatoo.properties.SingleFlightClientProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link SingleFlightExchangeFilterFunction}.
+ * Проверяют объединение одинаковых одновременных запросов, изоляцию пользователей
+ * и пропуск путей не из списка и потоковых запросов.
+ */
+@DisplayName("Проверка фильтра объединения запросов SingleFlightExchangeFilterFunction")
+class SingleFlightExchangeFilterFunctionTest {
+
+    private static final String USER_PATH = "/api/main/user";
+    private static final String STREAM_PATH = "/api/main/notification/stream";
+
+    private final SingleFlightExchangeFilterFunction filter = new SingleFlightExchangeFilterFunction(
+            new SingleFlightClientProperties(true, List.of(USER_PATH, STREAM_PATH)));
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Sinks.One<ClientResponse> upstream = Sinks.one();
+    private final ExchangeFunction next = request -> {
+        upstreamCalls.incrementAndGet();
+        return upstream.asMono();
+    };
+
+    @Test
+    @DisplayName("Одинаковые одновременные GET одного пользователя выполняются одним вызовом")
+    void filterCoalescesIdenticalRequestsTest() {
+        Mono<String> first = exchange(HttpMethod.GET, USER_PATH, "user1")
+                .flatMap(response -> response.bodyToMono(String.class));
+        Mono<String> second = exchange(HttpMethod.GET, USER_PATH, "user1")
+                .flatMap(response -> response.bodyToMono(String.class));
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> upstream.tryEmitValue(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                        .body("{\"login\":\"user1\"}")
+                        .build()))
+                .assertNext(bodies -> {
+                    assertThat(bodies.getT1()).isEqualTo("{\"login\":\"user1\"}");
+                    assertThat(bodies.getT2()).isEqualTo("{\"login\":\"user1\"}");
+                })
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Запросы разных пользователей не объединяются")
+    void filterIsolatesPrincipalsTest() {
+        upstream.tryEmitValue(ClientResponse.create(HttpStatus.OK).body("{}").build());
+
+        StepVerifier.create(exchange(HttpMethod.GET, USER_PATH, "user1"))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(exchange(HttpMethod.GET, USER_PATH, "user2"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Изменяющие запросы, запросы без пользователя и к путям не из списка передаются без объединения")
+    void filterPassesNonCoalescibleRequestsTest() {
+        upstream.tryEmitValue(ClientResponse.create(HttpStatus.OK).build());
+
+        StepVerifier.create(exchange(HttpMethod.POST, USER_PATH, "user1"))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(filter.filter(request(HttpMethod.GET, USER_PATH).build(), next))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(exchange(HttpMethod.GET, "/api/main/dashboard", "user1"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Запросы потока SSE передаются без буферизации и объединения")
+    void filterPassesStreamingRequestsTest() {
+        ClientResponse stream = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .build();
+        upstream.tryEmitValue(stream);
+        ClientRequest request = request(HttpMethod.GET, STREAM_PATH)
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .build();
+
+        StepVerifier.create(filter.filter(request, next)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication("user1"))))
+                .expectNext(stream)
+                .verifyComplete();
+        StepVerifier.create(filter.filter(request, next)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication("user1"))))
+                .expectNext(stream)
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Потоковый ответ возвращается лидеру без буферизации, а ожидающие выполняют запрос сами")
+    void filterDoesNotShareStreamingResponseTest() {
+        ClientResponse stream = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .build();
+
+        StepVerifier.create(Mono.zip(exchange(HttpMethod.GET, USER_PATH, "user1"),
+                        exchange(HttpMethod.GET, USER_PATH, "user1")))
+                .then(() -> upstream.tryEmitValue(stream))
+                .assertNext(responses -> {
+                    assertThat(responses.getT1()).isSameAs(stream);
+                    assertThat(responses.getT2()).isSameAs(stream);
+                })
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    private Mono<ClientResponse> exchange(HttpMethod method, String path, String username) {
+        return filter.filter(request(method, path).build(), next)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication(username)));
+    }
+
+    private ClientRequest.Builder request(HttpMethod method, String path) {
+        return ClientRequest.create(method, URI.create("http://gateway" + path));
+    }
+
+    private TestingAuthenticationToken authentication(String username) {
+        return new TestingAuthenticationToken(username, null);
+    }
+}
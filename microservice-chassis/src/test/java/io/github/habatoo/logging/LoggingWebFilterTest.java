@@ -1,37 +1,48 @@
 package io.github.habatoo.logging;
 
+import io.github.habatoo.properties.HttpMetricsProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPatternParser;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 /**
- * Unit-тесты для LoggingWebFilter — проверяют работу логгера
- * и вызов цепочки фильтров.
+ * Unit-тесты для LoggingWebFilter — проверяют работу логгера,
+ * запись таймера входящих запросов и вызов цепочки фильтров.
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Юнит-тесты для LoggingWebFilter")
 class LoggingWebFilterTest {
 
     private LoggingWebFilter loggingWebFilter;
+    private SimpleMeterRegistry meterRegistry;
 
     @Mock
     private WebFilterChain filterChain;
 
     @BeforeEach
     void setUp() {
-        loggingWebFilter = new LoggingWebFilter();
+        meterRegistry = new SimpleMeterRegistry();
+        loggingWebFilter = new LoggingWebFilter(meterRegistry, defaultProperties());
         when(filterChain.filter(any())).thenReturn(Mono.empty());
     }
 
@@ -93,4 +104,94 @@ class LoggingWebFilterTest {
                 .expectError(RuntimeException.class)
                 .verify();
     }
+
+    /**
+     * Проверяем что таймер получает шаблон маршрута, а не фактический путь,
+     * чтобы число временных рядов не зависело от идентификаторов в URL.
+     */
+    @Test
+    @DisplayName("Должен записывать таймер с методом, шаблоном маршрута, статусом и исходом")
+    void shouldRecordTimerWithRouteTemplateTest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/v1/account/42").build()
+        );
+        exchange.getAttributes().put(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                PathPatternParser.defaultInstance.parse("/api/v1/account/{id}"));
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+
+        StepVerifier.create(loggingWebFilter.filter(exchange, filterChain))
+                .verifyComplete();
+
+        Timer timer = meterRegistry.find(LoggingWebFilter.METRIC_NAME)
+                .tags("method", "GET", "uri", "/api/v1/account/{id}", "status", "200",
+                        "outcome", "SUCCESS", "exception", "none")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("В шлюзе без шаблона маршрута тегом uri становится идентификатор маршрута")
+    void shouldRecordGatewayRouteIdTest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/main/dashboard").build()
+        );
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.builder()
+                .id("account-service")
+                .uri("http://account:8080")
+                .predicate(serverWebExchange -> true)
+                .build());
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+
+        StepVerifier.create(loggingWebFilter.filter(exchange, filterChain))
+                .verifyComplete();
+
+        Timer timer = meterRegistry.find(LoggingWebFilter.METRIC_NAME)
+                .tags("method", "GET", "uri", "account-service", "status", "200",
+                        "outcome", "SUCCESS", "exception", "none")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Ошибка в цепочке учитывается со статусом исключения")
+    void shouldRecordErrorStatusTest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/v1/cash").build()
+        );
+        when(filterChain.filter(any()))
+                .thenReturn(Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE)));
+
+        StepVerifier.create(loggingWebFilter.filter(exchange, filterChain))
+                .expectError(ResponseStatusException.class)
+                .verify();
+
+        Timer timer = meterRegistry.find(LoggingWebFilter.METRIC_NAME)
+                .tags("method", "POST", "uri", "UNKNOWN", "status", "503",
+                        "outcome", "SERVER_ERROR", "exception", "ResponseStatusException")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Не должен записывать таймер для игнорируемых путей и при выключенных метриках")
+    void shouldNotRecordIgnoredOrDisabledTest() {
+        StepVerifier.create(loggingWebFilter.filter(MockServerWebExchange.from(
+                        MockServerHttpRequest.get("/actuator/health").build()), filterChain))
+                .verifyComplete();
+
+        LoggingWebFilter disabledFilter = new LoggingWebFilter(meterRegistry,
+                new HttpMetricsProperties(false, null, null, null, null, null));
+        StepVerifier.create(disabledFilter.filter(MockServerWebExchange.from(
+                        MockServerHttpRequest.get("/api/v1/account").build()), filterChain))
+                .verifyComplete();
+
+        assertThat(meterRegistry.find(LoggingWebFilter.METRIC_NAME).timers()).isEmpty();
+    }
+
+    private HttpMetricsProperties defaultProperties() {
+        return new HttpMetricsProperties(null, null, null, null, null, null);
+    }
 }
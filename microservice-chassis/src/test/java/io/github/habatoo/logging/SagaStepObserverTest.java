@@ -0,0 +1,109 @@
+package io.github.habatoo.logging;
+
+import io.github.habatoo.dto.enums.Currency;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit-тесты для SagaStepObserver — проверяют таймер шагов саги с тегами исхода,
+ * связь наблюдения шага с родительским наблюдением и счетчик компенсаций.
+ */
+@DisplayName("Юнит-тесты для SagaStepObserver")
+class SagaStepObserverTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ObservationRegistry observationRegistry;
+    private SagaStepObserver sagaStepObserver;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        sagaStepObserver = new SagaStepObserver(observationRegistry, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Должен записывать таймер шага с тегами саги, шага, валютной пары и исхода")
+    void shouldRecordStepTimerTest() {
+        StepVerifier.create(sagaStepObserver.observe("transfer", "debit", "RUB/USD", Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+
+        Timer timer = meterRegistry.get(SagaStepObserver.STEP_METRIC)
+                .tags("saga", "transfer", "step", "debit", "currency.pair", "RUB/USD",
+                        "outcome", SagaStepObserver.SUCCESS)
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Должен определять исход шага по результату и отмечать ошибки")
+    void shouldTagOutcomeByResultAndErrorTest() {
+        StepVerifier.create(sagaStepObserver.observe("cash", "credit", "RUB", Mono.just(false),
+                        success -> success ? SagaStepObserver.SUCCESS : SagaStepObserver.REJECTED))
+                .expectNext(false)
+                .verifyComplete();
+        StepVerifier.create(sagaStepObserver.observe("cash", "persist", "RUB",
+                        Mono.error(new IllegalStateException("DB Failure"))))
+                .verifyError(IllegalStateException.class);
+
+        assertThat(meterRegistry.get(SagaStepObserver.STEP_METRIC)
+                .tags("step", "credit", "outcome", SagaStepObserver.REJECTED)
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(SagaStepObserver.STEP_METRIC)
+                .tags("step", "persist", "outcome", SagaStepObserver.ERROR, "error", "IllegalStateException")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Наблюдение шага должно быть дочерним для наблюдения запроса из контекста Reactor")
+    void shouldUseParentObservationFromContextTest() {
+        Observation parent = Observation.start("http.server.requests", observationRegistry);
+        AtomicReference<Observation> stepObservation = new AtomicReference<>();
+
+        Mono<String> step = Mono.deferContextual(ctx -> {
+            stepObservation.set(ctx.get(ObservationThreadLocalAccessor.KEY));
+            return Mono.just("ok");
+        });
+
+        StepVerifier.create(sagaStepObserver.observe("transfer", "credit", "RUB/RUB", step)
+                        .contextWrite(ctx -> ctx.put(ObservationThreadLocalAccessor.KEY, parent)))
+                .expectNext("ok")
+                .verifyComplete();
+        parent.stop();
+
+        assertThat(stepObservation.get()).isNotSameAs(parent);
+        assertThat(stepObservation.get().getContextView().getParentObservation()).isSameAs(parent);
+    }
+
+    @Test
+    @DisplayName("Должен увеличивать счетчик компенсаций")
+    void shouldCountCompensationsTest() {
+        sagaStepObserver.compensationTriggered("transfer", "RUB/USD", "credit");
+        sagaStepObserver.compensationTriggered("transfer", "RUB/USD", "credit");
+
+        assertThat(meterRegistry.get(SagaStepObserver.COMPENSATION_METRIC)
+                .tags("saga", "transfer", "currency.pair", "RUB/USD", "reason", "credit")
+                .counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Должен формировать тег валютной пары")
+    void shouldFormatCurrencyPairTest() {
+        assertThat(SagaStepObserver.currencyPair(Currency.RUB, Currency.USD)).isEqualTo("RUB/USD");
+    }
+}
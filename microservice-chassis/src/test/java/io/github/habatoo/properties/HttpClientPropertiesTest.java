@@ -0,0 +1,65 @@
+package io.github.habatoo.properties;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit-тесты для HttpClientProperties — проверяют значения по умолчанию
+ * и раздельную настройку пулов клиентов.
+ */
+@DisplayName("Тест загрузки HttpClientProperties")
+class HttpClientPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(HttpClientPropertiesTest.TestConfig.class);
+
+    @Test
+    @DisplayName("Незаданные параметры должны заполняться значениями по умолчанию")
+    void shouldApplyDefaultsTest() {
+        contextRunner.run(context -> {
+            HttpClientProperties.Client client = context.getBean(HttpClientProperties.class).webClient();
+
+            assertThat(client.maxConnections()).isEqualTo(100);
+            assertThat(client.pendingAcquireMaxCount()).isEqualTo(500);
+            assertThat(client.pendingAcquireTimeout()).isEqualTo(Duration.ofSeconds(5));
+            assertThat(client.maxIdleTime()).isEqualTo(Duration.ofSeconds(30));
+            assertThat(client.maxLifeTime()).isEqualTo(Duration.ofMinutes(5));
+            assertThat(client.evictInBackground()).isEqualTo(Duration.ofSeconds(30));
+            assertThat(client.connectTimeout()).isEqualTo(Duration.ofSeconds(2));
+            assertThat(client.readTimeout()).isZero();
+            assertThat(client.responseTimeout()).isEqualTo(Duration.ofSeconds(5));
+            assertThat(client.http2()).isFalse();
+            assertThat(client.metrics()).isTrue();
+        });
+    }
+
+    @Test
+    @DisplayName("Параметры клиента должны задаваться независимо от других клиентов")
+    void shouldBindPerClientSettingsTest() {
+        contextRunner
+                .withPropertyValues(
+                        "spring.http-client.background-web-client.max-connections=20",
+                        "spring.http-client.background-web-client.response-timeout=10s",
+                        "spring.http-client.simple-web-client.http2=true")
+                .run(context -> {
+                    HttpClientProperties properties = context.getBean(HttpClientProperties.class);
+
+                    assertThat(properties.backgroundWebClient().maxConnections()).isEqualTo(20);
+                    assertThat(properties.backgroundWebClient().responseTimeout()).isEqualTo(Duration.ofSeconds(10));
+                    assertThat(properties.backgroundWebClient().connectTimeout()).isEqualTo(Duration.ofSeconds(2));
+                    assertThat(properties.simpleWebClient().http2()).isTrue();
+                    assertThat(properties.webClient().maxConnections()).isEqualTo(100);
+                    assertThat(properties.webClient().http2()).isFalse();
+                });
+    }
+
+    @EnableConfigurationProperties(HttpClientProperties.class)
+    static class TestConfig {
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -40,6 +42,30 @@ class ResiliencePropertiesTest {
         });
     }
 
+    /**
+     * Проверяет значения по умолчанию и переопределение групп настроек для отдельного экземпляра.
+     */
+    @Test
+    @DisplayName("Настройки экземпляра заменяют группу по умолчанию")
+    void shouldOverrideDefaultsForInstanceTest() {
+        contextRunner.withPropertyValues(
+                "spring.resilience.instances.gateway-cb.retry.max-attempts=2",
+                "spring.resilience.instances.gateway-cb.time-limiter.timeout=5s"
+        ).run(context -> {
+            var props = context.getBean(ResilienceProperties.class);
+
+            assertThat(props.bulkhead().maxConcurrentCalls()).isEqualTo(50);
+            assertThat(props.timeLimiter().timeout()).isEqualTo(Duration.ofSeconds(3));
+            assertThat(props.retry().maxAttempts()).isEqualTo(1);
+
+            assertThat(props.retryFor("gateway-cb").maxAttempts()).isEqualTo(2);
+            assertThat(props.retryFor("gateway-cb").waitDuration()).isEqualTo(Duration.ofMillis(200));
+            assertThat(props.timeLimiterFor("gateway-cb").timeout()).isEqualTo(Duration.ofSeconds(5));
+            assertThat(props.bulkheadFor("gateway-cb")).isEqualTo(props.bulkhead());
+            assertThat(props.retryFor("unknown-cb")).isEqualTo(props.retry());
+        });
+    }
+
     @EnableConfigurationProperties(ResilienceProperties.class)
     static class TestConfig {
     }
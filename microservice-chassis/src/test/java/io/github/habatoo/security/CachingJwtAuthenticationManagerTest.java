@@ -0,0 +1,84 @@
+package io.github.habatoo.security;
+
+import io.github.habatoo.properties.JwtCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Юнит-тесты для {@link CachingJwtAuthenticationManager} с использованием моков.
+ * Проверяют, что повторный запрос с тем же токеном не проверяется заново, а ошибки не кэшируются.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Проверка менеджера аутентификации CachingJwtAuthenticationManager")
+class CachingJwtAuthenticationManagerTest {
+
+    @Mock
+    private ReactiveAuthenticationManager delegate;
+
+    private CachingJwtAuthenticationManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new CachingJwtAuthenticationManager(delegate,
+                new JwtAuthenticationCache(new JwtCacheProperties(true, 10)));
+    }
+
+    @Test
+    @DisplayName("Повторный запрос с тем же токеном берется из кэша")
+    void authenticateUsesCacheForRepeatedTokenTest() {
+        JwtAuthenticationToken authentication = authentication("token-1");
+        when(delegate.authenticate(any())).thenReturn(Mono.just(authentication));
+
+        StepVerifier.create(manager.authenticate(new BearerTokenAuthenticationToken("token-1")))
+                .expectNext(authentication)
+                .verifyComplete();
+        StepVerifier.create(manager.authenticate(new BearerTokenAuthenticationToken("token-1")))
+                .expectNext(authentication)
+                .verifyComplete();
+
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Ошибка проверки не кэшируется")
+    void authenticateDoesNotCacheFailureTest() {
+        when(delegate.authenticate(any()))
+                .thenReturn(Mono.error(new BadJwtException("Invalid signature")))
+                .thenReturn(Mono.just(authentication("token-1")));
+
+        StepVerifier.create(manager.authenticate(new BearerTokenAuthenticationToken("token-1")))
+                .expectError(BadJwtException.class)
+                .verify();
+        StepVerifier.create(manager.authenticate(new BearerTokenAuthenticationToken("token-1")))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private JwtAuthenticationToken authentication(String token) {
+        Jwt jwt = Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("user")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .build();
+        return new JwtAuthenticationToken(jwt);
+    }
+}
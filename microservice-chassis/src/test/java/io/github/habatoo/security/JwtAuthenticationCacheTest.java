@@ -0,0 +1,80 @@
+package io.github.habatoo.security;
+
+import io.github.habatoo.properties.JwtCacheProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link JwtAuthenticationCache}.
+ * Проверяют срок действия записей, вытеснение по размеру и отключение кэша.
+ */
+@DisplayName("Проверка кэша проверенных JWT JwtAuthenticationCache")
+class JwtAuthenticationCacheTest {
+
+    @Test
+    @DisplayName("Аутентификация возвращается до истечения срока токена")
+    void getReturnsCachedAuthenticationTest() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(new JwtCacheProperties(true, 10));
+        Authentication authentication = authentication("token-1", Instant.now().plusSeconds(300));
+
+        cache.put("token-1", authentication);
+
+        assertThat(cache.get("token-1")).isSameAs(authentication);
+        assertThat(cache.get("token-2")).isNull();
+    }
+
+    @Test
+    @DisplayName("Истекший токен не возвращается и удаляется")
+    void getSkipsExpiredTokenTest() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(new JwtCacheProperties(true, 10));
+
+        cache.put("token-1", authentication("token-1", Instant.now().minusSeconds(1)));
+
+        assertThat(cache.get("token-1")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("При превышении размера вытесняется давно не использованный токен")
+    void putEvictsLeastRecentlyUsedTest() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(new JwtCacheProperties(true, 2));
+        Instant expiresAt = Instant.now().plusSeconds(300);
+
+        cache.put("token-1", authentication("token-1", expiresAt));
+        cache.put("token-2", authentication("token-2", expiresAt));
+        cache.get("token-1");
+        cache.put("token-3", authentication("token-3", expiresAt));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("token-1")).isNotNull();
+        assertThat(cache.get("token-2")).isNull();
+    }
+
+    @Test
+    @DisplayName("Отключенный кэш ничего не сохраняет")
+    void disabledCacheStoresNothingTest() {
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(new JwtCacheProperties(false, 10));
+
+        cache.put("token-1", authentication("token-1", Instant.now().plusSeconds(300)));
+
+        assertThat(cache.get("token-1")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    private Authentication authentication(String token, Instant expiresAt) {
+        Jwt jwt = Jwt.withTokenValue(token)
+                .header("alg", "none")
+                .subject("user")
+                .issuedAt(expiresAt.minusSeconds(600))
+                .expiresAt(expiresAt)
+                .build();
+        return new JwtAuthenticationToken(jwt);
+    }
+}
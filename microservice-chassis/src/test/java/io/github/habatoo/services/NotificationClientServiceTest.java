@@ -1,14 +1,18 @@
 package io.github.habatoo.services;
 
 import io.github.habatoo.dto.NotificationEvent;
+import io.github.habatoo.dto.enums.EventType;
+import io.github.habatoo.resilience.ResilienceDecorator;
+import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Answers;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
@@ -20,6 +24,7 @@ import reactor.test.StepVerifier;
 
 import java.util.function.Function;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -35,11 +40,8 @@ class NotificationClientServiceTest {
     private final String testUrl = "http://localhost:8085/notification";
     @Mock
     private WebClient backgroundWebClient;
-    @Mock
-    private CircuitBreakerRegistry circuitBreakerRegistry;
-    @Mock
-    private CircuitBreaker circuitBreaker;
-    @InjectMocks
+    private final ResilienceDecorator notificationResilience = decorator("notification-service-cb");
+    private final ResilienceDecorator notificationAlertResilience = decorator("notification-alert-cb");
     private NotificationClientService notificationClientService;
     @Mock(answer = Answers.RETURNS_DEEP_STUBS)
     private WebClient.RequestBodyUriSpec requestBodyUriSpec;
@@ -52,14 +54,14 @@ class NotificationClientServiceTest {
 
     @BeforeEach
     void setUp() {
+        notificationClientService = new NotificationClientService(
+                backgroundWebClient, notificationResilience, notificationAlertResilience);
         ReflectionTestUtils.setField(notificationClientService, "notificationUrl", testUrl);
 
         testEvent = NotificationEvent.builder()
                 .username("test_user")
                 .message("Test message")
                 .build();
-
-        when(circuitBreakerRegistry.circuitBreaker("notification-service-cb")).thenReturn(circuitBreaker);
     }
 
     /**
@@ -113,6 +115,7 @@ class NotificationClientServiceTest {
     @Test
     @DisplayName("Circuit Breaker: Подавление ошибки при открытом состоянии")
     void sendScheduledCircuitBreakerOpenTest() {
+        notificationResilience.circuitBreaker().transitionToOpenState();
         mockWebClientChain();
         when(responseSpec.onStatus(any(), any())).thenReturn(responseSpec);
         when(responseSpec.toBodilessEntity()).thenReturn(Mono.error(new RuntimeException("CB Open")));
@@ -124,6 +127,40 @@ class NotificationClientServiceTest {
                 .verify(java.time.Duration.ofSeconds(3));
     }
 
+    /**
+     * Тест выбора Circuit Breaker для критичных событий.
+     * Системные оповещения не должны зависеть от состояния Circuit Breaker массовой доставки.
+     */
+    @Test
+    @DisplayName("Circuit Breaker: SYSTEM_ALERT отправляется через отдельный Circuit Breaker")
+    void sendScheduledAlertShouldUseAlertCircuitBreakerTest() {
+        NotificationEvent alertEvent = NotificationEvent.builder()
+                .username("admin")
+                .eventType(EventType.SYSTEM_ALERT)
+                .message("Circuit Breaker OPEN")
+                .build();
+        notificationResilience.circuitBreaker().transitionToOpenState();
+        mockWebClientChain();
+        when(responseSpec.toBodilessEntity()).thenReturn(Mono.empty());
+
+        StepVerifier.create(notificationClientService.sendScheduled(alertEvent))
+                .verifyComplete();
+
+        assertEquals(1, notificationAlertResilience.circuitBreaker().getMetrics().getNumberOfSuccessfulCalls());
+        assertEquals(0, notificationResilience.circuitBreaker().getMetrics().getNumberOfNotPermittedCalls());
+    }
+
+    /**
+     * Декоратор с Circuit Breaker по умолчанию и без повторов.
+     */
+    private static ResilienceDecorator decorator(String name) {
+        return new ResilienceDecorator(
+                CircuitBreaker.ofDefaults(name),
+                Bulkhead.ofDefaults(name),
+                TimeLimiter.ofDefaults(name),
+                Retry.of(name, RetryConfig.custom().maxAttempts(1).build()));
+    }
+
     /**
      * Вспомогательный метод для мокирования флоу WebClient.
      */
@@ -1,25 +1,31 @@
 package io.github.habatoo.services;
 
 import io.github.habatoo.dto.NotificationEvent;
+import io.github.habatoo.dto.enums.EventPriority;
 import io.github.habatoo.dto.enums.EventStatus;
 import io.github.habatoo.dto.enums.EventType;
+import io.github.habatoo.handlers.NotificationBackpressureException;
 import io.github.habatoo.models.Outbox;
+import io.github.habatoo.properties.OutboxProperties;
 import io.github.habatoo.repositories.OutboxRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 /**
@@ -35,13 +41,14 @@ class OutboxClientServiceTest {
     private OutboxRepository outboxRepository;
     @Mock
     private NotificationClientService notificationClient;
-    @InjectMocks
     private OutboxClientService outboxClientService;
     private NotificationEvent testEvent;
     private Outbox testEntity;
 
     @BeforeEach
     void setUp() {
+        outboxClientService = new OutboxClientService(outboxRepository, notificationClient, new OutboxProperties(null));
+
         testEvent = NotificationEvent.builder()
                 .username("test_user")
                 .eventType(EventType.REGISTRATION)
@@ -80,7 +87,7 @@ class OutboxClientServiceTest {
     @Test
     @DisplayName("Успешная обработка событий: NEW -> PROCESSED")
     void processOutboxEventsSuccessTest() {
-        when(outboxRepository.findAllByStatus("NEW")).thenReturn(Flux.just(testEntity));
+        stubNewEvents(testEntity);
         when(notificationClient.sendScheduled(any(NotificationEvent.class))).thenReturn(Mono.empty());
         when(outboxRepository.updateStatus(entityId, "PROCESSED")).thenReturn(Mono.empty());
 
@@ -90,12 +97,24 @@ class OutboxClientServiceTest {
         verify(outboxRepository, timeout(1000)).updateStatus(entityId, "PROCESSED");
     }
 
+    @Test
+    @DisplayName("Идентификатор записи Outbox передается как идентификатор события")
+    void processOutboxEventsShouldCarryEventIdTest() {
+        stubNewEvents(testEntity);
+        when(notificationClient.sendScheduled(any(NotificationEvent.class))).thenReturn(Mono.empty());
+        when(outboxRepository.updateStatus(entityId, "PROCESSED")).thenReturn(Mono.empty());
+
+        outboxClientService.processOutboxEvents();
+
+        verify(notificationClient, timeout(1000)).sendScheduled(argThat(event -> entityId.equals(event.getEventId())));
+    }
+
     @Test
     @DisplayName("Ошибка обработки события: NEW -> FAILED")
     void processOutboxEventsFailureShouldMarkAsFailedTest() {
         lenient().when(outboxRepository.updateStatus(any(), anyString())).thenReturn(Mono.empty());
 
-        when(outboxRepository.findAllByStatus("NEW")).thenReturn(Flux.just(testEntity));
+        stubNewEvents(testEntity);
         when(notificationClient.sendScheduled(any(NotificationEvent.class)))
                 .thenReturn(Mono.error(new RuntimeException("Network error")));
 
@@ -104,6 +123,91 @@ class OutboxClientServiceTest {
         verify(outboxRepository, timeout(1000)).updateStatus(entityId, "FAILED");
     }
 
+    @Test
+    @DisplayName("Перегрузка сервиса уведомлений: событие остается NEW")
+    void processOutboxEventsBackpressureShouldKeepNewTest() {
+        lenient().when(outboxRepository.updateStatus(any(), anyString())).thenReturn(Mono.empty());
+
+        stubNewEvents(testEntity);
+        when(notificationClient.sendScheduled(any(NotificationEvent.class)))
+                .thenReturn(Mono.error(new NotificationBackpressureException(Duration.ofSeconds(5))));
+
+        outboxClientService.processOutboxEvents();
+
+        verify(notificationClient, timeout(1000)).sendScheduled(any(NotificationEvent.class));
+        verify(outboxRepository, never()).updateStatus(entityId, "FAILED");
+    }
+
+    @Test
+    @DisplayName("Перегрузка сервиса уведомлений: полоса не опрашивается до истечения Retry-After")
+    void processOutboxEventsBackpressureShouldPauseLaneTest() {
+        lenient().when(outboxRepository.updateStatus(any(), anyString())).thenReturn(Mono.empty());
+
+        stubNewEvents(testEntity);
+        when(notificationClient.sendScheduled(any(NotificationEvent.class)))
+                .thenReturn(Mono.error(new NotificationBackpressureException(Duration.ofMinutes(1))));
+
+        outboxClientService.processOutboxEvents();
+        verify(notificationClient, timeout(1000)).sendScheduled(any(NotificationEvent.class));
+        outboxClientService.processOutboxEvents();
+
+        verify(notificationClient, times(1)).sendScheduled(any(NotificationEvent.class));
+        verify(outboxRepository, times(3)).findAllByStatusAndEventTypeIn(eq("NEW"), anyCollection());
+        verify(outboxRepository, never()).updateStatus(entityId, "FAILED");
+    }
+
+    @Test
+    @DisplayName("Приоритет: оповещение отправляется, пока массовая полоса занята")
+    void processOutboxEventsAlertLaneShouldNotWaitBulkTest() {
+        UUID alertId = UUID.randomUUID();
+        Outbox alertEntity = Outbox.builder()
+                .id(alertId)
+                .eventType(EventType.SYSTEM_ALERT.name())
+                .status("NEW")
+                .payload(Map.of(
+                        "username", "admin",
+                        "eventType", "SYSTEM_ALERT",
+                        "status", "FAILURE",
+                        "message", "Circuit Breaker OPEN",
+                        "sourceService", "bank-service"
+                ))
+                .build();
+        stubNewEvents(testEntity, alertEntity);
+        when(notificationClient.sendScheduled(argThat(event -> event != null
+                && event.getEventType() == EventType.REGISTRATION))).thenReturn(Mono.never());
+        when(notificationClient.sendScheduled(argThat(event -> event != null
+                && event.getEventType() == EventType.SYSTEM_ALERT))).thenReturn(Mono.empty());
+        when(outboxRepository.updateStatus(alertId, "PROCESSED")).thenReturn(Mono.empty());
+
+        outboxClientService.processOutboxEvents();
+        verify(outboxRepository, timeout(1000)).updateStatus(alertId, "PROCESSED");
+
+        outboxClientService.processOutboxEvents();
+        verify(outboxRepository, timeout(1000).times(2)).findAllByStatusAndEventTypeIn(eq("NEW"), anyCollection());
+        verify(notificationClient, times(1)).sendScheduled(argThat(event -> event != null
+                && event.getEventType() == EventType.REGISTRATION));
+    }
+
+    @Test
+    @DisplayName("Параллелизм полосы берется из настроек Outbox")
+    void processOutboxEventsShouldRespectLaneConcurrencyTest() {
+        Outbox secondEntity = Outbox.builder()
+                .id(UUID.randomUUID())
+                .eventType(EventType.REGISTRATION.name())
+                .status("NEW")
+                .payload(testEntity.getPayload())
+                .build();
+        OutboxClientService service = new OutboxClientService(outboxRepository, notificationClient,
+                new OutboxProperties(Map.of(EventPriority.BULK, 1)));
+        stubNewEvents(testEntity, secondEntity);
+        when(notificationClient.sendScheduled(any(NotificationEvent.class))).thenReturn(Mono.never());
+
+        service.processOutboxEvents();
+
+        verify(notificationClient, timeout(1000)).sendScheduled(any(NotificationEvent.class));
+        verify(notificationClient, after(200).times(1)).sendScheduled(any(NotificationEvent.class));
+    }
+
     @Test
     @DisplayName("Очистка старых записей вызывает репозиторий")
     void cleanupOldRecordsSuccessTest() {
@@ -115,4 +219,13 @@ class OutboxClientServiceTest {
         verify(outboxRepository, times(2))
                 .deleteByStatusAndCreatedAtBeforeCustom(anyString(), any());
     }
+
+    private void stubNewEvents(Outbox... entities) {
+        when(outboxRepository.findAllByStatusAndEventTypeIn(eq("NEW"), anyCollection())).thenAnswer(invocation -> {
+            Collection<String> eventTypes = invocation.getArgument(1);
+            return Flux.fromIterable(Arrays.stream(entities)
+                    .filter(entity -> eventTypes.contains(entity.getEventType()))
+                    .toList());
+        });
+    }
 }
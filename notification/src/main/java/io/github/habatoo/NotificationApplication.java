@@ -1,11 +1,22 @@
 package io.github.habatoo;
 
+import io.github.habatoo.properties.NotificationDedupProperties;
+import io.github.habatoo.properties.NotificationDispatchProperties;
+import io.github.habatoo.properties.NotificationIngestProperties;
+import io.github.habatoo.properties.NotificationStreamProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 
 @SpringBootApplication
 @EnableR2dbcRepositories(basePackages = "io.github.habatoo.repositories")
+@EnableConfigurationProperties({
+        NotificationIngestProperties.class,
+        NotificationDispatchProperties.class,
+        NotificationStreamProperties.class,
+        NotificationDedupProperties.class
+})
 public class NotificationApplication {
 
     public static void main(String[] args) {
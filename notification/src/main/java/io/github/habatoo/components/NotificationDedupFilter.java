@@ -0,0 +1,123 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.properties.NotificationDedupProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Вероятностный фильтр недавно сохраненных идентификаторов событий (фильтр Блума).
+ * <p>
+ * Отвечает на вопрос «могло ли событие уже быть сохранено». Отрицательный ответ точен:
+ * такое событие новое, и проверка в БД не нужна. Положительный ответ может быть ложным
+ * с вероятностью {@code falsePositiveRate}, поэтому его нужно подтвердить запросом к БД.
+ * <p>
+ * Память фиксирована: фильтр состоит из двух поколений битовых массивов. Когда в текущее
+ * поколение добавлено {@code expectedInsertions} идентификаторов, оно становится предыдущим,
+ * а самое старое отбрасывается. Так фильтр помнит недавние события, а доля ложных срабатываний
+ * не растет со временем работы сервиса.
+ */
+@Slf4j
+@Component
+public class NotificationDedupFilter {
+
+    private final int capacity;
+    private final int bitCount;
+    private final int hashCount;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    public NotificationDedupFilter(NotificationDedupProperties properties) {
+        this.capacity = properties.expectedInsertions();
+        double fpp = properties.falsePositiveRate();
+
+        long bits = (long) Math.ceil(-capacity * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.max(Long.SIZE, Math.min(bits, Integer.MAX_VALUE - Long.SIZE));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+
+        this.current = new Generation(bitCount);
+        this.previous = new Generation(bitCount);
+
+        log.info("Фильтр дубликатов уведомлений: {} КБ на поколение, {} хеш-функций",
+                bitCount / 8 / 1024, hashCount);
+    }
+
+    /**
+     * Проверяет, мог ли идентификатор события уже встречаться.
+     *
+     * @param eventId идентификатор события.
+     * @return {@code false}, если событие точно не встречалось; {@code true}, если, возможно, встречалось.
+     */
+    public boolean mightContain(UUID eventId) {
+        return current.mightContain(eventId) || previous.mightContain(eventId);
+    }
+
+    /**
+     * Запоминает идентификатор сохраненного события.
+     *
+     * @param eventId идентификатор события.
+     */
+    public void put(UUID eventId) {
+        Generation generation = current;
+        if (generation.put(eventId) && generation.insertions.incrementAndGet() >= capacity) {
+            rotate(generation);
+        }
+    }
+
+    private synchronized void rotate(Generation full) {
+        if (current == full) {
+            previous = full;
+            current = new Generation(bitCount);
+            log.debug("Поколение фильтра дубликатов заполнено, начато новое");
+        }
+    }
+
+    private final class Generation {
+
+        private final AtomicLongArray words;
+        private final AtomicInteger insertions = new AtomicInteger();
+
+        private Generation(int bits) {
+            this.words = new AtomicLongArray((bits + Long.SIZE - 1) / Long.SIZE);
+        }
+
+        private boolean mightContain(UUID eventId) {
+            long h1 = mix(eventId.getMostSignificantBits());
+            long h2 = mix(eventId.getLeastSignificantBits());
+            for (int i = 0; i < hashCount; i++) {
+                int bit = (int) Math.floorMod(h1 + i * h2, (long) bitCount);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean put(UUID eventId) {
+            long h1 = mix(eventId.getMostSignificantBits());
+            long h2 = mix(eventId.getLeastSignificantBits());
+            boolean changed = false;
+            for (int i = 0; i < hashCount; i++) {
+                int bit = (int) Math.floorMod(h1 + i * h2, (long) bitCount);
+                long mask = 1L << bit;
+                long before = words.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+                changed |= (before & mask) == 0;
+            }
+            return changed;
+        }
+    }
+
+    /**
+     * Финализатор SplitMix64: равномерно перемешивает биты половины UUID.
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
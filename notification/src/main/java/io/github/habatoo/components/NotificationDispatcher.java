@@ -0,0 +1,140 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.models.enums.NotificationChannel;
+import io.github.habatoo.properties.NotificationDispatchProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Конвейер доставки уведомлений по каналам.
+ * <p>
+ * Для каждого {@link NotificationChannel} создается отдельный пул обработчиков на виртуальных потоках
+ * с ограниченной очередью. Число одновременных отправок в канале ограничено размером пула, поэтому
+ * блокирующие SDK почты, push и SMS не занимают потоки event loop и не влияют друг на друга.
+ * При заполненной очереди задача отбрасывается: история уже сохранена в БД, а отказ фиксируется в метриках.
+ * <p>
+ * Метрики (тег {@code channel}):
+ * <ul>
+ * <li>{@code notification.dispatch.queue.depth} — число задач в очереди;</li>
+ * <li>{@code notification.dispatch.active} — число выполняющихся отправок;</li>
+ * <li>{@code notification.dispatch.duration} — время отправки;</li>
+ * <li>{@code notification.dispatch.rejected} — задачи, отброшенные из-за переполнения очереди;</li>
+ * <li>{@code notification.dispatch.failed} — отправки, завершившиеся ошибкой.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationDispatcher {
+
+    private static final String TAG_CHANNEL = "channel";
+
+    private final NotificationDispatchProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<NotificationChannel, ChannelPipeline> pipelines = new EnumMap<>(NotificationChannel.class);
+
+    /**
+     * Создает пулы обработчиков и регистрирует метрики каналов.
+     */
+    @PostConstruct
+    public void start() {
+        for (NotificationChannel channel : NotificationChannel.values()) {
+            NotificationDispatchProperties.Channel settings = properties.channel(channel);
+            String name = channel.name().toLowerCase();
+
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    settings.concurrency(), settings.concurrency(),
+                    0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(settings.queueCapacity()),
+                    Thread.ofVirtual().name("notification-" + name + "-", 0).factory(),
+                    new ThreadPoolExecutor.AbortPolicy());
+
+            Gauge.builder("notification.dispatch.queue.depth", executor, e -> e.getQueue().size())
+                    .tag(TAG_CHANNEL, name)
+                    .register(meterRegistry);
+            Gauge.builder("notification.dispatch.active", executor, ThreadPoolExecutor::getActiveCount)
+                    .tag(TAG_CHANNEL, name)
+                    .register(meterRegistry);
+
+            pipelines.put(channel, new ChannelPipeline(
+                    executor,
+                    Timer.builder("notification.dispatch.duration").tag(TAG_CHANNEL, name).register(meterRegistry),
+                    Counter.builder("notification.dispatch.rejected").tag(TAG_CHANNEL, name).register(meterRegistry),
+                    Counter.builder("notification.dispatch.failed").tag(TAG_CHANNEL, name).register(meterRegistry)));
+
+            log.info("Канал доставки {} запущен: очередь {}, параллелизм {}",
+                    channel, settings.queueCapacity(), settings.concurrency());
+        }
+    }
+
+    /**
+     * Останавливает прием задач и дожидается доставки уже принятых.
+     */
+    @PreDestroy
+    public void stop() {
+        pipelines.values().forEach(pipeline -> pipeline.executor().shutdown());
+
+        long timeoutMs = properties.shutdownTimeout().toMillis();
+        pipelines.forEach((channel, pipeline) -> {
+            try {
+                if (!pipeline.executor().awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    log.warn("Канал {} не завершил доставку за {}, осталось задач: {}",
+                            channel, properties.shutdownTimeout(), pipeline.executor().getQueue().size());
+                    pipeline.executor().shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pipeline.executor().shutdownNow();
+            }
+        });
+    }
+
+    /**
+     * Ставит отправку в очередь канала, не блокируя вызывающий поток.
+     *
+     * @param channel канал доставки.
+     * @param task    отправка уведомления (может быть блокирующей).
+     * @return {@code true}, если задача принята, {@code false}, если очередь канала заполнена.
+     */
+    public boolean dispatch(NotificationChannel channel, Runnable task) {
+        ChannelPipeline pipeline = pipelines.get(channel);
+        try {
+            pipeline.executor().execute(() -> pipeline.duration().record(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    pipeline.failed().increment();
+                    log.error("Ошибка доставки уведомления по каналу {}: {}", channel, e.getMessage());
+                }
+            }));
+            return true;
+        } catch (RejectedExecutionException e) {
+            pipeline.rejected().increment();
+            log.warn("Очередь канала {} заполнена, уведомление не будет доставлено", channel);
+            return false;
+        }
+    }
+
+    private record ChannelPipeline(
+            ThreadPoolExecutor executor,
+            Timer duration,
+            Counter rejected,
+            Counter failed
+    ) {
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.dto.enums.EventPriority;
+import io.github.habatoo.handlers.NotificationBackpressureException;
+import io.github.habatoo.models.Notification;
+import io.github.habatoo.properties.NotificationIngestProperties;
+import io.github.habatoo.repositories.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Ограниченный буфер отложенной записи (write-behind) истории уведомлений.
+ * <p>
+ * Входящие записи накапливаются в очереди фиксированной емкости и сбрасываются в таблицу
+ * {@code notification_history} одной многострочной вставкой — по достижении размера пакета
+ * или по истечении интервала ожидания, в зависимости от того, что наступит раньше.
+ * Вызывающая сторона получает подтверждение только после того, как пакет с ее записью
+ * успешно записан в БД. Запись с уже сохраненным идентификатором события пропускается,
+ * а вызывающая сторона получает признак дубликата. При заполненной очереди запись
+ * не принимается и возвращается {@link NotificationBackpressureException}. Одновременная запись в очередь
+ * из другого потока повторяется не дольше 50 мс, после чего запись тоже отклоняется.
+ * <p>
+ * Критичные события ({@link EventPriority#CRITICAL}) идут по отдельной полосе со своей очередью
+ * и записываются сразу, без ожидания пакета, поэтому накопленный массовый трафик
+ * не задерживает системные оповещения и не вытесняет их из буфера.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationIngestBuffer {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration EMIT_RETRY_TIMEOUT = Duration.ofMillis(50);
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationIngestProperties properties;
+
+    private final Sinks.Empty<Void> drained = Sinks.empty();
+    private Sinks.Many<PendingNotification> sink;
+    private Sinks.Many<PendingNotification> prioritySink;
+
+    /**
+     * Запускает конвейер сброса буфера в БД.
+     */
+    @PostConstruct
+    public void start() {
+        sink = Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(properties.capacity()));
+        prioritySink = Sinks.many().unicast()
+                .onBackpressureBuffer(new ArrayBlockingQueue<>(properties.priorityCapacity()));
+
+        Flux<Void> bulkLane = sink.asFlux()
+                .bufferTimeout(properties.batchSize(), properties.flushInterval(), true)
+                .flatMap(this::flush, properties.flushConcurrency());
+        Flux<Void> priorityLane = prioritySink.asFlux()
+                .map(List::of)
+                .flatMap(this::flush, properties.flushConcurrency());
+
+        Flux.merge(bulkLane, priorityLane)
+                .doFinally(signal -> drained.tryEmitEmpty())
+                .subscribe();
+
+        log.info("Буфер приема уведомлений запущен: емкость {} (критичные {}), пакет {}, интервал {}",
+                properties.capacity(), properties.priorityCapacity(), properties.batchSize(),
+                properties.flushInterval());
+    }
+
+    /**
+     * Прекращает прием записей и дожидается сброса уже принятых.
+     */
+    @PreDestroy
+    public void stop() {
+        sink.tryEmitComplete();
+        prioritySink.tryEmitComplete();
+        drained.asMono()
+                .timeout(SHUTDOWN_TIMEOUT, Mono.fromRunnable(() ->
+                        log.warn("Буфер приема уведомлений не был сброшен за {}", SHUTDOWN_TIMEOUT)))
+                .block();
+    }
+
+    /**
+     * Ставит запись в очередь на пакетную вставку.
+     *
+     * @param notification запись истории уведомлений.
+     * @param priority     приоритет события, определяющий полосу буфера.
+     * @return {@link Mono} с {@code true}, если запись вставлена, или {@code false}, если событие
+     * с тем же {@code eventId} уже сохранено; ошибка записи или {@link NotificationBackpressureException},
+     * если буфер заполнен.
+     */
+    public Mono<Boolean> enqueue(Notification notification, EventPriority priority) {
+        return Mono.defer(() -> {
+            if (notification.getId() == null) {
+                notification.setId(UUID.randomUUID());
+            }
+            PendingNotification pending = new PendingNotification(notification, Sinks.one());
+            Sinks.Many<PendingNotification> lane = priority == EventPriority.CRITICAL ? prioritySink : sink;
+
+            Sinks.EmitFailureHandler retryNonSerialized = Sinks.EmitFailureHandler.busyLooping(EMIT_RETRY_TIMEOUT);
+            Sinks.EmitResult result;
+            do {
+                result = lane.tryEmitNext(pending);
+            } while (result.isFailure() && retryNonSerialized.onEmitFailure(SignalType.ON_NEXT, result));
+
+            if (result.isFailure()) {
+                log.warn("Буфер приема уведомлений заполнен ({}, полоса {}), событие для {} отклонено",
+                        result, priority, notification.getUsername());
+                return Mono.error(new NotificationBackpressureException(properties.retryAfter()));
+            }
+
+            return pending.ack().asMono();
+        });
+    }
+
+    private Mono<Void> flush(List<PendingNotification> batch) {
+        int size = batch.size();
+        UUID[] ids = new UUID[size];
+        UUID[] eventIds = new UUID[size];
+        String[] usernames = new String[size];
+        String[] messages = new String[size];
+        LocalDateTime[] sentAts = new LocalDateTime[size];
+
+        for (int i = 0; i < size; i++) {
+            Notification notification = batch.get(i).notification();
+            ids[i] = notification.getId();
+            eventIds[i] = notification.getEventId();
+            usernames[i] = notification.getUsername();
+            messages[i] = notification.getMessage();
+            sentAts[i] = notification.getSentAt();
+        }
+
+        return notificationRepository.insertBatch(ids, eventIds, usernames, messages, sentAts)
+                .collect(Collectors.toSet())
+                .doOnSuccess(inserted -> {
+                    log.debug("Пакет из {} уведомлений записан в БД, дубликатов: {}", size, size - inserted.size());
+                    batch.forEach(pending -> pending.ack()
+                            .tryEmitValue(inserted.contains(pending.notification().getId())));
+                })
+                .doOnError(e -> {
+                    log.error("Ошибка пакетной записи {} уведомлений: {}", size, e.getMessage());
+                    batch.forEach(pending -> pending.ack().tryEmitError(e));
+                })
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private record PendingNotification(Notification notification, Sinks.One<Boolean> ack) {
+    }
+}
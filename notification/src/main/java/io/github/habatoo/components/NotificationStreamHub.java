@@ -0,0 +1,110 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.dto.NotificationDto;
+import io.github.habatoo.properties.NotificationStreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Хаб рассылки уведомлений подписчикам потока в реальном времени.
+ * <p>
+ * Хранит подписки в памяти, сгруппированные по логину пользователя, и раздает каждое
+ * новое уведомление всем открытым соединениям этого пользователя. У каждого подписчика свой
+ * ограниченный буфер: если клиент читает медленно, самые старые уведомления отбрасываются,
+ * а публикация никогда не блокируется и не влияет на других подписчиков.
+ * <p>
+ * Метрики: {@code notification.stream.subscribers} — число открытых подписок,
+ * {@code notification.stream.dropped} — уведомления, отброшенные из-за переполнения буфера подписчика
+ * или не переданные подписчику за время повторов публикации.
+ */
+@Slf4j
+@Component
+public class NotificationStreamHub {
+
+    private static final Duration EMIT_RETRY_TIMEOUT = Duration.ofMillis(50);
+
+    private final NotificationStreamProperties properties;
+    private final Counter dropped;
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final Map<String, Set<Sinks.Many<NotificationDto>>> subscribers = new ConcurrentHashMap<>();
+
+    public NotificationStreamHub(NotificationStreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.dropped = Counter.builder("notification.stream.dropped").register(meterRegistry);
+        Gauge.builder("notification.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Открывает подписку на новые уведомления пользователя.
+     *
+     * @param username логин пользователя.
+     * @return бесконечный {@link Flux} уведомлений; подписка удаляется при отмене или ошибке.
+     */
+    public Flux<NotificationDto> subscribe(String username) {
+        return Flux.defer(() -> {
+            Sinks.Many<NotificationDto> sink = Sinks.many().unicast().onBackpressureBuffer();
+            subscribers.computeIfAbsent(username, key -> ConcurrentHashMap.newKeySet()).add(sink);
+            subscriberCount.incrementAndGet();
+            log.debug("Открыта подписка на уведомления пользователя {}", username);
+
+            return sink.asFlux()
+                    .onBackpressureBuffer(properties.subscriberBuffer(), notification -> dropped.increment(),
+                            BufferOverflowStrategy.DROP_OLDEST)
+                    .doFinally(signal -> unsubscribe(username, sink));
+        });
+    }
+
+    /**
+     * Рассылает уведомление всем подписчикам пользователя.
+     * <p>
+     * Если в подписчика одновременно публикует другой поток, публикация повторяется не дольше
+     * {@link #EMIT_RETRY_TIMEOUT}; после этого уведомление для этого подписчика отбрасывается
+     * и учитывается в {@code notification.stream.dropped}.
+     *
+     * @param notification уведомление; адресат определяется по {@code username}.
+     */
+    public void publish(NotificationDto notification) {
+        Set<Sinks.Many<NotificationDto>> sinks = subscribers.get(notification.getUsername());
+        if (sinks == null) {
+            return;
+        }
+
+        for (Sinks.Many<NotificationDto> sink : sinks) {
+            Sinks.EmitFailureHandler retryNonSerialized = Sinks.EmitFailureHandler.busyLooping(EMIT_RETRY_TIMEOUT);
+            Sinks.EmitResult result;
+            do {
+                result = sink.tryEmitNext(notification);
+            } while (result.isFailure() && retryNonSerialized.onEmitFailure(SignalType.ON_NEXT, result));
+
+            if (result.isFailure()) {
+                dropped.increment();
+                log.debug("Уведомление для {} не передано подписчику ({}) и отброшено",
+                        notification.getUsername(), result);
+            }
+        }
+    }
+
+    private void unsubscribe(String username, Sinks.Many<NotificationDto> sink) {
+        subscribers.computeIfPresent(username, (key, sinks) -> {
+            sinks.remove(sink);
+            return sinks.isEmpty() ? null : sinks;
+        });
+        subscriberCount.decrementAndGet();
+        log.debug("Закрыта подписка на уведомления пользователя {}", username);
+    }
+}
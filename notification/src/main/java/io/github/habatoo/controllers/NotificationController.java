@@ -1,16 +1,34 @@
 package io.github.habatoo.controllers;
 
+import io.github.habatoo.dto.NotificationDto;
 import io.github.habatoo.dto.NotificationEvent;
+import io.github.habatoo.dto.NotificationPageDto;
 import io.github.habatoo.dto.OperationResultDto;
+import io.github.habatoo.handlers.NotificationBackpressureException;
+import io.github.habatoo.properties.NotificationStreamProperties;
 import io.github.habatoo.services.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Set;
+
 /**
  * Реактивный контроллер для управления уведомлениями.
  * <p>
@@ -23,7 +41,10 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class NotificationController {
 
+    private static final Set<String> SUPPORT_AUTHORITIES = Set.of("ROLE_ADMIN", "ROLE_NOTIFICATION_ACCESS");
+
     private final NotificationService notificationService;
+    private final NotificationStreamProperties streamProperties;
 
     /**
      * Обрабатывает входящее событие уведомления.
@@ -36,6 +57,7 @@ public class NotificationController {
      * @return {@link Mono}, содержащий {@link OperationResultDto} с результатом операции.
      * В случае успеха возвращает статус "Уведомление принято в обработку".
      * В случае ошибки возвращает DTO с флагом успеха false и текстом исключения.
+     * При переполнении буфера приема возвращается 503 (см. {@link #handleBackpressure}).
      * @see NotificationEvent
      * @see NotificationService#processEvent(NotificationEvent)
      */
@@ -49,7 +71,7 @@ public class NotificationController {
                         .success(true)
                         .message("Уведомление принято в обработку")
                         .build())
-                .onErrorResume(e -> {
+                .onErrorResume(e -> !(e instanceof NotificationBackpressureException), e -> {
                     log.error("Ошибка при обработке уведомления для пользователя {}: {}",
                             event.getUsername(), e.getMessage());
                     return Mono.just(OperationResultDto.<Void>builder()
@@ -58,4 +80,94 @@ public class NotificationController {
                             .build());
                 });
     }
+
+    /**
+     * Возвращает страницу истории уведомлений.
+     * <p>
+     * Пользователь видит только свои уведомления. Параметр {@code username} с чужим логином
+     * доступен только ролям поддержки ({@code ADMIN}, {@code NOTIFICATION_ACCESS}).
+     * Пагинация курсорная: для следующей страницы передается {@code nextCursor} из предыдущего ответа.
+     *
+     * @param username       логин, историю которого нужно получить (по умолчанию — текущий пользователь).
+     * @param cursor         курсор следующей страницы или {@code null} для первой страницы.
+     * @param size           размер страницы.
+     * @param authentication данные аутентификации текущего пользователя.
+     * @return {@link Mono} со страницей истории {@link NotificationPageDto}.
+     */
+    @GetMapping("/notification/history")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'NOTIFICATION_ACCESS')")
+    public Mono<NotificationPageDto> getHistory(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+
+        String login = obtainLogin(authentication);
+        String target = (username == null || username.isBlank()) ? login : username;
+
+        if (!target.equals(login) && !isSupport(authentication)) {
+            return Mono.error(new AccessDeniedException("Просмотр чужой истории уведомлений запрещен"));
+        }
+
+        log.debug("Запрос истории уведомлений {} (курсор: {}, размер: {})", target, cursor, size);
+        return notificationService.getHistory(target, cursor, size);
+    }
+
+    /**
+     * Открывает поток новых уведомлений текущего пользователя (Server-Sent Events).
+     * <p>
+     * Каждое уведомление, записанное в историю после подписки, отправляется событием {@code notification}.
+     * Для удержания соединения через прокси периодически отправляется служебный комментарий.
+     *
+     * @param authentication данные аутентификации текущего пользователя.
+     * @return бесконечный {@link Flux} событий SSE.
+     */
+    @GetMapping(value = "/notification/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public Flux<ServerSentEvent<NotificationDto>> streamNotifications(Authentication authentication) {
+        String login = obtainLogin(authentication);
+        log.debug("Подписка на поток уведомлений пользователя {}", login);
+
+        Flux<ServerSentEvent<NotificationDto>> notifications = notificationService.streamNotifications(login)
+                .map(notification -> ServerSentEvent.builder(notification)
+                        .event("notification")
+                        .build());
+        Flux<ServerSentEvent<NotificationDto>> heartbeats = Flux.interval(streamProperties.heartbeat())
+                .map(tick -> ServerSentEvent.<NotificationDto>builder()
+                        .comment("keepalive")
+                        .build());
+
+        return Flux.merge(notifications, heartbeats);
+    }
+
+    /**
+     * Обрабатывает переполнение буфера приема уведомлений.
+     * <p>
+     * Возвращает 503 с заголовком {@code Retry-After}, чтобы отправитель (Outbox) оставил
+     * событие у себя и повторил отправку позже, а не терял его.
+     *
+     * @param e исключение переполнения с рекомендуемой паузой.
+     * @return ответ 503 с DTO результата операции.
+     */
+    @ExceptionHandler(NotificationBackpressureException.class)
+    public ResponseEntity<OperationResultDto<Void>> handleBackpressure(NotificationBackpressureException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+                .body(OperationResultDto.<Void>builder()
+                        .success(false)
+                        .message(e.getMessage())
+                        .errorCode("NOTIFICATION_BACKPRESSURE")
+                        .build());
+    }
+
+    private String obtainLogin(Authentication authentication) {
+        return authentication.getPrincipal() instanceof Jwt jwt
+                ? jwt.getClaimAsString("preferred_username")
+                : authentication.getName();
+    }
+
+    private boolean isSupport(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> SUPPORT_AUTHORITIES.contains(authority.getAuthority()));
+    }
 }
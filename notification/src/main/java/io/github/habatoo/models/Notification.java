@@ -30,6 +30,14 @@ public class Notification {
     @Id
     private UUID id;
 
+    /**
+     * Идентификатор исходного события (id записи Outbox отправителя).
+     * Уникален в таблице: повторная доставка того же события не создает новую запись.
+     * Может отсутствовать у событий, отправленных в обход Outbox.
+     */
+    @Column("event_id")
+    private UUID eventId;
+
     /**
      * Логин пользователя (из JWT/SecurityContext), которому предназначено уведомление.
      * Служит связующим звеном с микросервисом аккаунтов.
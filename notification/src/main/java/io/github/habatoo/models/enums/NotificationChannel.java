@@ -0,0 +1,29 @@
+package io.github.habatoo.models.enums;
+
+/**
+ * Каналы доставки уведомлений.
+ * Для каждого канала создается собственная ограниченная очередь и пул обработчиков,
+ * поэтому медленный канал не задерживает остальные и прием событий.
+ */
+public enum NotificationChannel {
+
+    /**
+     * Электронная почта (приветственные письма, выписки).
+     */
+    EMAIL,
+
+    /**
+     * Push-уведомления в мобильное приложение (движение средств, переводы).
+     */
+    PUSH,
+
+    /**
+     * SMS-сообщения (изменения профиля, подтверждения).
+     */
+    SMS,
+
+    /**
+     * Оповещения администраторов о системных сбоях.
+     */
+    ALERT
+}
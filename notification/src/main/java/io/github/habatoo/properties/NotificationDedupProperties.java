@@ -0,0 +1,25 @@
+package io.github.habatoo.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Класс для биндинга настроек фильтра повторных доставок уведомлений.
+ * <p>
+ * Связывает свойства с префиксом "spring.notification.dedup" из application.yml.
+ * Незаданные параметры заполняются значениями по умолчанию.
+ *
+ * @param expectedInsertions число идентификаторов событий в одном поколении фильтра;
+ *                           фильтр хранит два поколения, поэтому помнит от одного до двух таких окон.
+ * @param falsePositiveRate  допустимая доля ложных срабатываний фильтра.
+ */
+@ConfigurationProperties(prefix = "spring.notification.dedup")
+public record NotificationDedupProperties(
+        Integer expectedInsertions,
+        Double falsePositiveRate
+) {
+
+    public NotificationDedupProperties {
+        expectedInsertions = expectedInsertions != null ? expectedInsertions : 100_000;
+        falsePositiveRate = falsePositiveRate != null ? falsePositiveRate : 0.01;
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.habatoo.properties;
+
+import io.github.habatoo.models.enums.NotificationChannel;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Класс для биндинга настроек конвейера доставки уведомлений по каналам.
+ * <p>
+ * Связывает свойства с префиксом "spring.notification.dispatch" из application.yml.
+ * Для каналов, не перечисленных в конфигурации, используются значения по умолчанию.
+ *
+ * @param channels        настройки очереди и пула обработчиков для каждого канала.
+ * @param shutdownTimeout время ожидания доставки уже принятых задач при остановке сервиса.
+ */
+@ConfigurationProperties(prefix = "spring.notification.dispatch")
+public record NotificationDispatchProperties(
+        Map<NotificationChannel, Channel> channels,
+        Duration shutdownTimeout
+) {
+
+    public NotificationDispatchProperties {
+        Map<NotificationChannel, Channel> resolved = new EnumMap<>(NotificationChannel.class);
+        for (NotificationChannel channel : NotificationChannel.values()) {
+            Channel configured = channels != null ? channels.get(channel) : null;
+            resolved.put(channel, configured != null ? configured : new Channel(null, null));
+        }
+        channels = Map.copyOf(resolved);
+        shutdownTimeout = shutdownTimeout != null ? shutdownTimeout : Duration.ofSeconds(10);
+    }
+
+    /**
+     * Возвращает настройки канала.
+     *
+     * @param channel канал доставки.
+     * @return настройки канала (всегда не {@code null}).
+     */
+    public Channel channel(NotificationChannel channel) {
+        return channels.get(channel);
+    }
+
+    /**
+     * Настройки одного канала доставки.
+     *
+     * @param queueCapacity максимальное число задач, ожидающих отправки.
+     * @param concurrency   максимальное число одновременных отправок.
+     */
+    public record Channel(
+            Integer queueCapacity,
+            Integer concurrency
+    ) {
+
+        public Channel {
+            queueCapacity = queueCapacity != null ? queueCapacity : 1_000;
+            concurrency = concurrency != null ? concurrency : 4;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.habatoo.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Класс для биндинга настроек буфера приема уведомлений.
+ * <p>
+ * Связывает свойства с префиксом "spring.notification.ingest" из application.yml.
+ * Незаданные параметры заполняются значениями по умолчанию.
+ *
+ * @param capacity         максимальное число событий, ожидающих записи в БД.
+ * @param batchSize        максимальное число строк в одной пакетной вставке.
+ * @param flushInterval    максимальное время ожидания наполнения пакета.
+ * @param flushConcurrency число пакетных вставок, выполняемых одновременно.
+ * @param retryAfter       пауза, которую сервис предлагает клиенту при переполнении буфера.
+ * @param priorityCapacity максимальное число критичных событий, ожидающих записи в БД.
+ */
+@ConfigurationProperties(prefix = "spring.notification.ingest")
+public record NotificationIngestProperties(
+        Integer capacity,
+        Integer batchSize,
+        Duration flushInterval,
+        Integer flushConcurrency,
+        Duration retryAfter,
+        Integer priorityCapacity
+) {
+
+    public NotificationIngestProperties {
+        capacity = capacity != null ? capacity : 10_000;
+        batchSize = batchSize != null ? batchSize : 200;
+        flushInterval = flushInterval != null ? flushInterval : Duration.ofMillis(50);
+        flushConcurrency = flushConcurrency != null ? flushConcurrency : 2;
+        retryAfter = retryAfter != null ? retryAfter : Duration.ofSeconds(5);
+        priorityCapacity = priorityCapacity != null ? priorityCapacity : 1000;
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.habatoo.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Класс для биндинга настроек потока уведомлений в реальном времени (SSE).
+ * <p>
+ * Связывает свойства с префиксом "spring.notification.stream" из application.yml.
+ * Незаданные параметры заполняются значениями по умолчанию.
+ *
+ * @param subscriberBuffer максимальное число недоставленных уведомлений на одного подписчика;
+ *                         при переполнении отбрасываются самые старые.
+ * @param heartbeat        интервал служебных сообщений, удерживающих соединение открытым.
+ */
+@ConfigurationProperties(prefix = "spring.notification.stream")
+public record NotificationStreamProperties(
+        Integer subscriberBuffer,
+        Duration heartbeat
+) {
+
+    public NotificationStreamProperties {
+        subscriberBuffer = subscriberBuffer != null ? subscriberBuffer : 64;
+        heartbeat = heartbeat != null ? heartbeat : Duration.ofSeconds(15);
+    }
+}
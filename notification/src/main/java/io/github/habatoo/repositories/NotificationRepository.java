@@ -1,8 +1,12 @@
 package io.github.habatoo.repositories;
 
 import io.github.habatoo.models.Notification;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
@@ -16,4 +20,64 @@ import java.util.UUID;
  * @see R2dbcRepository
  */
 public interface NotificationRepository extends R2dbcRepository<Notification, UUID> {
+
+    /**
+     * Многострочная вставка записей истории одним запросом.
+     * <p>
+     * Массивы передаются параметрами и разворачиваются через {@code unnest},
+     * поэтому текст запроса не зависит от размера пакета. Элементы с одинаковым
+     * индексом образуют одну строку. Строки с уже сохраненным {@code event_id}
+     * пропускаются ограничением уникальности.
+     *
+     * @param ids       идентификаторы новых записей.
+     * @param eventIds  идентификаторы исходных событий (элементы могут быть {@code null}).
+     * @param usernames логины получателей.
+     * @param messages  тексты уведомлений.
+     * @param sentAts   время записи уведомлений.
+     * @return идентификаторы фактически вставленных записей.
+     */
+    @Query("INSERT INTO notification_history (id, event_id, username, message, sent_at) "
+            + "SELECT * FROM unnest(CAST(:ids AS UUID[]), CAST(:eventIds AS UUID[]), "
+            + "CAST(:usernames AS VARCHAR[]), CAST(:messages AS TEXT[]), CAST(:sentAts AS TIMESTAMP[])) "
+            + "ON CONFLICT (event_id) DO NOTHING RETURNING id")
+    Flux<UUID> insertBatch(UUID[] ids, UUID[] eventIds, String[] usernames, String[] messages, LocalDateTime[] sentAts);
+
+    /**
+     * Проверяет, сохранено ли уже событие с указанным идентификатором.
+     *
+     * @param eventId идентификатор исходного события.
+     * @return {@code true}, если запись с таким {@code event_id} существует.
+     */
+    Mono<Boolean> existsByEventId(UUID eventId);
+
+    /**
+     * Первая страница истории пользователя (от новых записей к старым).
+     * <p>
+     * Использует составной индекс {@code (username, sent_at DESC, id DESC)},
+     * поэтому стоимость запроса зависит только от размера страницы.
+     *
+     * @param username логин получателя.
+     * @param limit    максимальное число записей.
+     * @return записи истории.
+     */
+    @Query("SELECT * FROM notification_history WHERE username = :username "
+            + "ORDER BY sent_at DESC, id DESC LIMIT :limit")
+    Flux<Notification> findFirstPage(String username, int limit);
+
+    /**
+     * Следующая страница истории пользователя после курсора {@code (sentAt, id)}.
+     * <p>
+     * Сравнение кортежей {@code (sent_at, id) < (:sentAt, :id)} выполняется по тому же
+     * составному индексу, без OFFSET и пропуска уже прочитанных строк.
+     *
+     * @param username логин получателя.
+     * @param sentAt   время последней записи предыдущей страницы.
+     * @param id       идентификатор последней записи предыдущей страницы.
+     * @param limit    максимальное число записей.
+     * @return записи истории.
+     */
+    @Query("SELECT * FROM notification_history WHERE username = :username "
+            + "AND (sent_at, id) < (:sentAt, :id) "
+            + "ORDER BY sent_at DESC, id DESC LIMIT :limit")
+    Flux<Notification> findPageBefore(String username, LocalDateTime sentAt, UUID id, int limit);
 }
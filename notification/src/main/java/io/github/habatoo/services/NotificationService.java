@@ -1,6 +1,9 @@
 package io.github.habatoo.services;
 
+import io.github.habatoo.dto.NotificationDto;
 import io.github.habatoo.dto.NotificationEvent;
+import io.github.habatoo.dto.NotificationPageDto;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -19,14 +22,44 @@ public interface NotificationService {
      * <ul>
      * <li>Анализирует тип события {@link io.github.habatoo.dto.enums.EventType};</li>
      * <li>Формирует текстовое сообщение на основе данных из {@code event.getPayload()};</li>
-     * <li>Инициирует отправку через доступные каналы связи;</li>
-     * <li>Сохраняет запись о событии в базу данных через {@link io.github.habatoo.repositories.NotificationRepository}.</li>
+     * <li>Инициирует отправку через доступные каналы связи — асинхронно, через очереди каналов
+     * {@link io.github.habatoo.components.NotificationDispatcher}, после записи события в БД;</li>
+     * <li>Сохраняет запись о событии в базу данных через буфер пакетной записи
+     * {@link io.github.habatoo.components.NotificationIngestBuffer}.</li>
      * </ul>
      *
+     * Обработка идемпотентна: событие с уже сохраненным {@code eventId} повторно не записывается
+     * и не рассылается, но завершается успешно, чтобы отправитель пометил его обработанным.
+     *
      * @param event объект события, содержащий метаданные и контекст уведомления.
-     * @return {@link Mono<Void>}, который завершается успешно после того, как событие
-     * было принято и поставлено в очередь на отправку/запись.
+     * @return {@link Mono<Void>}, который завершается успешно после того, как запись о событии
+     * была записана в БД в составе пакета (или признана дубликатом). Если буфер заполнен, завершается ошибкой
+     * {@link io.github.habatoo.handlers.NotificationBackpressureException}.
      * @see io.github.habatoo.dto.NotificationEvent
      */
     Mono<Void> processEvent(NotificationEvent event);
+
+    /**
+     * Открывает поток новых уведомлений пользователя в реальном времени.
+     * <p>
+     * В поток попадают только уведомления, записанные в БД после подписки;
+     * пропущенные ранее записи доступны через {@link #getHistory(String, String, int)}.
+     *
+     * @param username логин получателя уведомлений.
+     * @return бесконечный {@link Flux} уведомлений, завершающийся при отмене подписки клиентом.
+     */
+    Flux<NotificationDto> streamNotifications(String username);
+
+    /**
+     * Возвращает страницу истории уведомлений пользователя.
+     * <p>
+     * Используется курсорная (keyset) пагинация по {@code (sent_at, id)}: записи отдаются
+     * от новых к старым, а курсор указывает на последнюю запись предыдущей страницы.
+     *
+     * @param username логин получателя уведомлений.
+     * @param cursor   курсор из {@link NotificationPageDto#getNextCursor()} или {@code null} для первой страницы.
+     * @param size     размер страницы (ограничивается сверху).
+     * @return {@link Mono} со страницей истории. Некорректный курсор приводит к {@link IllegalArgumentException}.
+     */
+    Mono<NotificationPageDto> getHistory(String username, String cursor, int size);
 }
@@ -1,15 +1,28 @@
 package io.github.habatoo.services.impl;
 
+import io.github.habatoo.components.NotificationDedupFilter;
+import io.github.habatoo.components.NotificationDispatcher;
+import io.github.habatoo.components.NotificationIngestBuffer;
+import io.github.habatoo.components.NotificationStreamHub;
+import io.github.habatoo.dto.NotificationDto;
 import io.github.habatoo.dto.NotificationEvent;
+import io.github.habatoo.dto.NotificationPageDto;
+import io.github.habatoo.dto.enums.EventType;
 import io.github.habatoo.models.Notification;
+import io.github.habatoo.models.enums.NotificationChannel;
 import io.github.habatoo.repositories.NotificationRepository;
 import io.github.habatoo.services.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * {@inheritDoc}
@@ -19,30 +32,130 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private final NotificationIngestBuffer notificationIngestBuffer;
     private final NotificationRepository notificationRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationStreamHub notificationStreamHub;
+    private final NotificationDedupFilter notificationDedupFilter;
 
     /**
      * {@inheritDoc}
      */
     @Override
     public Mono<Void> processEvent(NotificationEvent event) {
-        Notification notification = obtainNotification(event);
-
         log.info("Начало обработки события {} для пользователя {}", event.getEventType(), event.getUsername());
 
-        return notificationRepository.save(notification)
-                .doOnNext(saved -> log.info("Запись успешно сохранена в БД с ID: {}", saved.getId()))
-                .doOnSuccess(notification1 -> processSideEffects(event))
+        UUID eventId = event.getEventId();
+        if (eventId == null || !notificationDedupFilter.mightContain(eventId)) {
+            return storeEvent(event);
+        }
+
+        return notificationRepository.existsByEventId(eventId)
+                .flatMap(exists -> {
+                    if (exists) {
+                        log.info("Событие {} уже обработано, повторная доставка пропущена", eventId);
+                        return Mono.empty();
+                    }
+                    return storeEvent(event);
+                });
+    }
+
+    private Mono<Void> storeEvent(NotificationEvent event) {
+        Notification notification = obtainNotification(event);
+
+        return notificationIngestBuffer.enqueue(notification, EventType.priorityOf(event.getEventType()))
+                .doOnNext(inserted -> {
+                    if (event.getEventId() != null) {
+                        notificationDedupFilter.put(event.getEventId());
+                    }
+                    if (!inserted) {
+                        log.info("Событие {} уже сохранено другим обработчиком, повторная доставка пропущена",
+                                event.getEventId());
+                        return;
+                    }
+                    log.info("Запись для пользователя {} сохранена в БД", event.getUsername());
+                    notificationStreamHub.publish(mapToDto(notification));
+                    processSideEffects(event);
+                })
                 .then();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Flux<NotificationDto> streamNotifications(String username) {
+        return notificationStreamHub.subscribe(username);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<NotificationPageDto> getHistory(String username, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Flux<Notification> rows = (cursor == null || cursor.isBlank())
+                ? notificationRepository.findFirstPage(username, pageSize + 1)
+                : Mono.fromCallable(() -> decodeCursor(cursor))
+                .flatMapMany(position -> notificationRepository.findPageBefore(
+                        username, position.sentAt(), position.id(), pageSize + 1));
+
+        return rows.collectList()
+                .map(page -> obtainPage(page, pageSize));
+    }
+
+    private NotificationPageDto obtainPage(List<Notification> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<Notification> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return NotificationPageDto.builder()
+                .items(page.stream().map(this::mapToDto).toList())
+                .nextCursor(hasMore ? encodeCursor(page.get(page.size() - 1)) : null)
+                .build();
+    }
+
+    private NotificationDto mapToDto(Notification notification) {
+        return NotificationDto.builder()
+                .id(notification.getId())
+                .username(notification.getUsername())
+                .message(notification.getMessage())
+                .sentAt(notification.getSentAt())
+                .build();
+    }
+
+    private String encodeCursor(Notification last) {
+        String raw = last.getSentAt() + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private CursorPosition decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(CURSOR_SEPARATOR);
+            return new CursorPosition(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Некорректный курсор истории уведомлений: " + cursor);
+        }
+    }
+
     private void processSideEffects(NotificationEvent event) {
         switch (event.getEventType()) {
-            case REGISTRATION -> sendWelcomeEmail(event);
-            case DEPOSIT, WITHDRAW -> sendPushNotification(event);
-            case TRANSFER -> sendTransferNotifications(event);
-            case UPDATE_PROFILE -> sendUpdateProfile(event);
-            case SYSTEM_ALERT -> sendAlert(event);
+            case REGISTRATION ->
+                    notificationDispatcher.dispatch(NotificationChannel.EMAIL, () -> sendWelcomeEmail(event));
+            case DEPOSIT, WITHDRAW ->
+                    notificationDispatcher.dispatch(NotificationChannel.PUSH, () -> sendPushNotification(event));
+            case TRANSFER ->
+                    notificationDispatcher.dispatch(NotificationChannel.PUSH, () -> sendTransferNotifications(event));
+            case UPDATE_PROFILE ->
+                    notificationDispatcher.dispatch(NotificationChannel.SMS, () -> sendUpdateProfile(event));
+            case SYSTEM_ALERT ->
+                    notificationDispatcher.dispatch(NotificationChannel.ALERT, () -> sendAlert(event));
             default -> sendUnknownNotification(event);
         }
     }
@@ -75,9 +188,13 @@ public class NotificationServiceImpl implements NotificationService {
 
     private Notification obtainNotification(NotificationEvent event) {
         return Notification.builder()
+                .eventId(event.getEventId())
                 .username(event.getUsername())
                 .message(event.getMessage())
                 .sentAt(LocalDateTime.now())
                 .build();
     }
+
+    private record CursorPosition(LocalDateTime sentAt, UUID id) {
+    }
 }
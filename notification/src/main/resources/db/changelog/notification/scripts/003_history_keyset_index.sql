@@ -0,0 +1,8 @@
+UPDATE notification_history SET sent_at = CURRENT_TIMESTAMP WHERE sent_at IS NULL;
+
+ALTER TABLE notification_history ALTER COLUMN sent_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_notification_history_username_sent_at_id
+    ON notification_history (username, sent_at DESC, id DESC);
+
+COMMENT ON INDEX idx_notification_history_username_sent_at_id IS 'Курсорная пагинация истории пользователя по (sent_at, id)';
@@ -0,0 +1,3 @@
+DROP INDEX IF EXISTS idx_notification_history_username_sent_at_id;
+
+ALTER TABLE notification_history ALTER COLUMN sent_at DROP NOT NULL;
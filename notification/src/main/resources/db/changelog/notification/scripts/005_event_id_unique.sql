@@ -0,0 +1,6 @@
+ALTER TABLE notification_history ADD COLUMN IF NOT EXISTS event_id UUID;
+
+ALTER TABLE notification_history
+    ADD CONSTRAINT uq_notification_history_event_id UNIQUE (event_id);
+
+COMMENT ON COLUMN notification_history.event_id IS 'Идентификатор события отправителя (id записи Outbox) для отбрасывания повторных доставок';
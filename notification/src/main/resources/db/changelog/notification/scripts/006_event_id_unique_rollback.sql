@@ -0,0 +1,3 @@
+ALTER TABLE notification_history DROP CONSTRAINT IF EXISTS uq_notification_history_event_id;
+
+ALTER TABLE notification_history DROP COLUMN IF EXISTS event_id;
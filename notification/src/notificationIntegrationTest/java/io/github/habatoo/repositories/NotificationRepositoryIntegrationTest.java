@@ -4,8 +4,12 @@ import io.github.habatoo.BaseNotificationTest;
 import io.github.habatoo.models.Notification;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -74,4 +78,63 @@ public class NotificationRepositoryIntegrationTest extends BaseNotificationTest
                 .assertNext(found -> assertThat(found.getMessage().contains("Update Me")))
                 .verifyComplete();
     }
+
+    @Test
+    @DisplayName("Keyset: Страницы истории идут по убыванию sent_at без пропусков и только для своего пользователя")
+    void findPagesByKeysetTest() {
+        LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Flux<Notification> rows = Flux.range(0, 5)
+                .map(i -> Notification.builder()
+                        .username("pager")
+                        .message("Message " + i)
+                        .sentAt(base.minusMinutes(i))
+                        .build());
+
+        var action = clearDatabase()
+                .then(notificationRepository.save(createNotification("stranger", "Foreign")))
+                .thenMany(notificationRepository.saveAll(rows))
+                .then(notificationRepository.findFirstPage("pager", 2).collectList())
+                .flatMap(first -> notificationRepository.findPageBefore(
+                                "pager", first.get(1).getSentAt(), first.get(1).getId(), 10)
+                        .collectList()
+                        .map(rest -> List.of(first, rest)));
+
+        StepVerifier.create(action)
+                .assertNext(pages -> {
+                    assertThat(pages.get(0)).extracting(Notification::getMessage)
+                            .containsExactly("Message 0", "Message 1");
+                    assertThat(pages.get(1)).extracting(Notification::getMessage)
+                            .containsExactly("Message 2", "Message 3", "Message 4");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("InsertBatch: Повтор события с тем же event_id не создает вторую запись")
+    void insertBatchSkipsDuplicateEventIdTest() {
+        UUID eventId = UUID.randomUUID();
+        UUID firstId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+
+        var action = clearDatabase()
+                .thenMany(notificationRepository.insertBatch(
+                        new UUID[]{firstId}, new UUID[]{eventId},
+                        new String[]{"user"}, new String[]{"First"}, new LocalDateTime[]{now}))
+                .thenMany(notificationRepository.insertBatch(
+                        new UUID[]{UUID.randomUUID(), UUID.randomUUID()}, new UUID[]{eventId, null},
+                        new String[]{"user", "user"}, new String[]{"Retry", "Direct"},
+                        new LocalDateTime[]{now, now}))
+                .collectList()
+                .zipWith(notificationRepository.existsByEventId(eventId))
+                .zipWith(notificationRepository.findAll().collectList());
+
+        StepVerifier.create(action)
+                .assertNext(result -> {
+                    assertThat(result.getT1().getT1()).hasSize(1);
+                    assertThat(result.getT1().getT2()).isTrue();
+                    assertThat(result.getT2()).extracting(Notification::getMessage)
+                            .containsExactlyInAnyOrder("First", "Direct");
+                })
+                .verifyComplete();
+    }
 }
@@ -0,0 +1,62 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.properties.NotificationDedupProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link NotificationDedupFilter}.
+ * Проверяют отсутствие ложноотрицательных ответов, долю ложных срабатываний и смену поколений.
+ */
+@DisplayName("Проверка фильтра дубликатов NotificationDedupFilter")
+class NotificationDedupFilterTest {
+
+    @Test
+    @DisplayName("Сохраненный идентификатор всегда распознается")
+    void mightContainAfterPutTest() {
+        NotificationDedupFilter filter = new NotificationDedupFilter(new NotificationDedupProperties(1_000, 0.01));
+        List<UUID> ids = randomIds(1_000);
+
+        ids.forEach(filter::put);
+
+        assertThat(ids).allMatch(filter::mightContain);
+    }
+
+    @Test
+    @DisplayName("Доля ложных срабатываний близка к настроенной")
+    void falsePositiveRateWithinBoundTest() {
+        NotificationDedupFilter filter = new NotificationDedupFilter(new NotificationDedupProperties(10_000, 0.01));
+        randomIds(9_999).forEach(filter::put);
+
+        long falsePositives = randomIds(10_000).stream().filter(filter::mightContain).count();
+
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    @DisplayName("Фильтр помнит предыдущее поколение и забывает более старые")
+    void rotationForgetsOldGenerationsTest() {
+        NotificationDedupFilter filter = new NotificationDedupFilter(new NotificationDedupProperties(100, 0.01));
+        List<UUID> oldest = randomIds(100);
+        List<UUID> previous = randomIds(100);
+
+        oldest.forEach(filter::put);
+
+        assertThat(oldest).allMatch(filter::mightContain);
+
+        previous.forEach(filter::put);
+
+        assertThat(previous).allMatch(filter::mightContain);
+        assertThat(oldest.stream().filter(filter::mightContain).count()).isLessThan(10);
+    }
+
+    private List<UUID> randomIds(int count) {
+        return IntStream.range(0, count).mapToObj(i -> UUID.randomUUID()).toList();
+    }
+}
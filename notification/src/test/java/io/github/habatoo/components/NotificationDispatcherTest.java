@@ -0,0 +1,105 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.models.enums.NotificationChannel;
+import io.github.habatoo.properties.NotificationDispatchProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link NotificationDispatcher}.
+ * Проверяют выполнение отправки в пуле канала, ограничение очереди и метрики.
+ */
+@DisplayName("Проверка конвейера доставки уведомлений NotificationDispatcher")
+class NotificationDispatcherTest {
+
+    private MeterRegistry meterRegistry;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        NotificationDispatchProperties properties = new NotificationDispatchProperties(
+                Map.of(NotificationChannel.EMAIL, new NotificationDispatchProperties.Channel(1, 1)),
+                Duration.ofSeconds(1));
+        dispatcher = new NotificationDispatcher(properties, meterRegistry);
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    @DisplayName("Отправка выполняется на виртуальном потоке канала")
+    void dispatchRunsTaskOnChannelThreadTest() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        String[] threadName = new String[1];
+
+        boolean accepted = dispatcher.dispatch(NotificationChannel.PUSH, () -> {
+            threadName[0] = Thread.currentThread().getName();
+            done.countDown();
+        });
+
+        assertThat(accepted).isTrue();
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(threadName[0]).startsWith("notification-push-");
+    }
+
+    @Test
+    @DisplayName("При заполненной очереди задача отклоняется и учитывается в метриках")
+    void dispatchRejectsWhenQueueFullTest() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        dispatcher.dispatch(NotificationChannel.EMAIL, () -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(dispatcher.dispatch(NotificationChannel.EMAIL, () -> { })).isTrue();
+        assertThat(dispatcher.dispatch(NotificationChannel.EMAIL, () -> { })).isFalse();
+
+        assertThat(meterRegistry.get("notification.dispatch.queue.depth").tag("channel", "email").gauge().value())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("notification.dispatch.rejected").tag("channel", "email").counter().count())
+                .isEqualTo(1.0);
+
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Ошибка отправки не ломает канал и учитывается в метриках")
+    void dispatchCountsFailuresTest() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+
+        dispatcher.dispatch(NotificationChannel.EMAIL, () -> {
+            throw new IllegalStateException("SMTP server down");
+        });
+        dispatcher.dispatch(NotificationChannel.EMAIL, done::countDown);
+
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("notification.dispatch.failed").tag("channel", "email").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
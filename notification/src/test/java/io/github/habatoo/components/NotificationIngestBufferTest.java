@@ -0,0 +1,194 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.dto.enums.EventPriority;
+import io.github.habatoo.handlers.NotificationBackpressureException;
+import io.github.habatoo.models.Notification;
+import io.github.habatoo.properties.NotificationIngestProperties;
+import io.github.habatoo.repositories.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Юнит-тесты для {@link NotificationIngestBuffer}.
+ * Проверяют пакетную запись, подтверждение после записи и отказ при переполнении.
+ */
+@DisplayName("Проверка буфера приема уведомлений NotificationIngestBuffer")
+@ExtendWith(MockitoExtension.class)
+class NotificationIngestBufferTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private NotificationIngestBuffer buffer;
+
+    @AfterEach
+    void tearDown() {
+        if (buffer != null) {
+            buffer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Записи одного пакета вставляются одним запросом")
+    void enqueueFlushesBatchBySizeTest() {
+        buffer = startBuffer(100, 3, Duration.ofSeconds(30));
+        when(notificationRepository.insertBatch(any(), any(), any(), any(), any())).thenAnswer(insertAll());
+
+        var action = Flux.merge(
+                buffer.enqueue(createNotification("user1"), EventPriority.BULK),
+                buffer.enqueue(createNotification("user2"), EventPriority.BULK),
+                buffer.enqueue(createNotification("user3"), EventPriority.BULK));
+
+        StepVerifier.create(action)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        ArgumentCaptor<String[]> usernames = ArgumentCaptor.forClass(String[].class);
+        verify(notificationRepository, times(1)).insertBatch(usernames.capture(), any(), any());
+        assertThat(usernames.getValue()).containsExactlyInAnyOrder("user1", "user2", "user3");
+    }
+
+    @Test
+    @DisplayName("Неполный пакет сбрасывается по истечении интервала")
+    void enqueueFlushesPartialBatchByTimeTest() {
+        buffer = startBuffer(100, 50, Duration.ofMillis(50));
+        when(notificationRepository.insertBatch(any(), any(), any(), any(), any())).thenAnswer(insertAll());
+
+        StepVerifier.create(buffer.enqueue(createNotification("user1"), EventPriority.BULK))
+                .expectNext(true)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        verify(notificationRepository, times(1)).insertBatch(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Подтверждение приходит только после записи пакета в БД")
+    void enqueueAcksOnlyAfterFlushTest() {
+        buffer = startBuffer(100, 1, Duration.ofSeconds(30));
+        Notification notification = createNotification("user1");
+        notification.setId(UUID.randomUUID());
+        Sinks.One<UUID> insert = Sinks.one();
+        when(notificationRepository.insertBatch(any(), any(), any(), any(), any())).thenReturn(insert.asMono().flux());
+
+        StepVerifier.create(buffer.enqueue(notification, EventPriority.BULK))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(200))
+                .then(() -> insert.tryEmitValue(notification.getId()))
+                .expectNext(true)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Ошибка записи пакета передается всем ожидающим")
+    void enqueuePropagatesFlushErrorTest() {
+        buffer = startBuffer(100, 1, Duration.ofSeconds(30));
+        when(notificationRepository.insertBatch(any(), any(), any(), any(), any()))
+                .thenReturn(Flux.error(new RuntimeException("DB Connection Failed")))
+                .thenAnswer(insertAll());
+
+        StepVerifier.create(buffer.enqueue(createNotification("user1"), EventPriority.BULK))
+                .expectErrorMessage("DB Connection Failed")
+                .verify(Duration.ofSeconds(5));
+
+        StepVerifier.create(buffer.enqueue(createNotification("user2"), EventPriority.BULK))
+                .expectNext(true)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Событие, уже сохраненное ранее, подтверждается как дубликат")
+    void enqueueReportsDuplicateTest() {
+        buffer = startBuffer(100, 1, Duration.ofSeconds(30));
+        Notification notification = createNotification("user1");
+        notification.setEventId(UUID.randomUUID());
+        when(notificationRepository.insertBatch(any(), any(), any(), any(), any())).thenReturn(Flux.empty());
+
+        StepVerifier.create(buffer.enqueue(notification, EventPriority.BULK))
+                .expectNext(false)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        ArgumentCaptor<UUID[]> eventIds = ArgumentCaptor.forClass(UUID[].class);
+        verify(notificationRepository).insertBatch(any(), eventIds.capture(), any(), any(), any());
+        assertThat(eventIds.getValue()).containsExactly(notification.getEventId());
+    }
+
+    @Test
+    @DisplayName("Переполнение: запись отклоняется с NotificationBackpressureException")
+    void enqueueRejectsWhenFullTest() {
+        buffer = startBuffer(1, 1, Duration.ofSeconds(30));
+        when(notificationRepository.insertBatch(any(), any(), any(), any(), any())).thenReturn(Flux.never());
+
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            buffer.enqueue(createNotification("user" + i), EventPriority.BULK).subscribe(v -> {
+            }, errors::add);
+        }
+
+        assertThat(errors).isNotEmpty().allSatisfy(e -> {
+            assertThat(e).isInstanceOf(NotificationBackpressureException.class);
+            assertThat(((NotificationBackpressureException) e).getRetryAfter()).isEqualTo(Duration.ofSeconds(5));
+        });
+
+        buffer = null;
+    }
+
+    @Test
+    @DisplayName("Приоритет: критичное событие записывается, не дожидаясь пакета массовых")
+    void enqueueCriticalBypassesBulkBatchTest() {
+        buffer = startBuffer(100, 100, Duration.ofSeconds(30));
+        when(notificationRepository.insertBatch(any(), any(), any(), any(), any())).thenAnswer(insertAll());
+
+        buffer.enqueue(createNotification("bulk_user"), EventPriority.BULK).subscribe();
+
+        StepVerifier.create(buffer.enqueue(createNotification("admin"), EventPriority.CRITICAL))
+                .expectNext(true)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        ArgumentCaptor<String[]> usernames = ArgumentCaptor.forClass(String[].class);
+        verify(notificationRepository).insertBatch(any(), any(), usernames.capture(), any(), any());
+        assertThat(usernames.getValue()).containsExactly("admin");
+    }
+
+    private NotificationIngestBuffer startBuffer(int capacity, int batchSize, Duration flushInterval) {
+        NotificationIngestBuffer started = new NotificationIngestBuffer(notificationRepository,
+                new NotificationIngestProperties(capacity, batchSize, flushInterval, 1, Duration.ofSeconds(5), 10));
+        started.start();
+        return started;
+    }
+
+    private Answer<Flux<UUID>> insertAll() {
+        return invocation -> Flux.fromArray((UUID[]) invocation.getArgument(0));
+    }
+
+    private Notification createNotification(String username) {
+        return Notification.builder()
+                .username(username)
+                .message("Test Message")
+                .sentAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.habatoo.components;
+
+import io.github.habatoo.dto.NotificationDto;
+import io.github.habatoo.properties.NotificationStreamProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Юнит-тесты для {@link NotificationStreamHub}.
+ * Проверяют адресную рассылку, вытеснение старых уведомлений и закрытие подписок.
+ */
+@DisplayName("Проверка хаба рассылки уведомлений NotificationStreamHub")
+class NotificationStreamHubTest {
+
+    private MeterRegistry meterRegistry;
+    private NotificationStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new NotificationStreamHub(new NotificationStreamProperties(2, Duration.ofSeconds(15)), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Уведомление получают только подписчики адресата")
+    void publishDeliversOnlyToRecipientTest() {
+        StepVerifier.create(hub.subscribe("user1"))
+                .then(() -> {
+                    hub.publish(notification("user2", "Чужое"));
+                    hub.publish(notification("user1", "Свое"));
+                })
+                .assertNext(dto -> assertThat(dto.getMessage()).isEqualTo("Свое"))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Медленный подписчик получает только самые новые уведомления")
+    void publishDropsOldestWhenSubscriberBufferFullTest() {
+        StepVerifier.create(hub.subscribe("user1"), 0)
+                .then(() -> {
+                    for (int i = 1; i <= 5; i++) {
+                        hub.publish(notification("user1", "Message " + i));
+                    }
+                })
+                .thenRequest(2)
+                .assertNext(dto -> assertThat(dto.getMessage()).isEqualTo("Message 4"))
+                .assertNext(dto -> assertThat(dto.getMessage()).isEqualTo("Message 5"))
+                .thenCancel()
+                .verify();
+
+        assertThat(meterRegistry.get("notification.stream.dropped").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Уведомление отбрасывается и учитывается, если подписчик занят публикацией из другого потока")
+    void publishDropsWhenConcurrentEmitDoesNotFinishTest() throws InterruptedException {
+        CountDownLatch delivering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> received = new CopyOnWriteArrayList<>();
+        Disposable subscription = hub.subscribe("user1").subscribe(dto -> {
+            received.add(dto.getMessage());
+            if (dto.getMessage().equals("Первое")) {
+                delivering.countDown();
+                awaitQuietly(release);
+            }
+        });
+        Thread publisher = new Thread(() -> hub.publish(notification("user1", "Первое")));
+        publisher.start();
+        assertThat(delivering.await(5, TimeUnit.SECONDS)).isTrue();
+
+        hub.publish(notification("user1", "Второе"));
+
+        release.countDown();
+        publisher.join(5000);
+        subscription.dispose();
+        assertThat(received).containsExactly("Первое");
+        assertThat(meterRegistry.get("notification.stream.dropped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Подписка удаляется после отмены клиентом")
+    void subscribeRemovesSubscriberOnCancelTest() {
+        StepVerifier.create(hub.subscribe("user1"))
+                .then(() -> assertThat(subscribers()).isEqualTo(1.0))
+                .thenCancel()
+                .verify();
+
+        assertThat(subscribers()).isZero();
+        hub.publish(notification("user1", "Никому"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("notification.stream.subscribers").gauge().value();
+    }
+
+    private NotificationDto notification(String username, String message) {
+        return NotificationDto.builder()
+                .username(username)
+                .message(message)
+                .build();
+    }
+}
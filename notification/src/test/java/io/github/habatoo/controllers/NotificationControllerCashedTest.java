@@ -2,6 +2,8 @@ package io.github.habatoo.controllers;
 
 import io.github.habatoo.configurations.SecurityChassisAutoConfiguration;
 import io.github.habatoo.dto.NotificationEvent;
+import io.github.habatoo.dto.NotificationPageDto;
+import io.github.habatoo.properties.NotificationStreamProperties;
 import io.github.habatoo.services.NotificationService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,7 +19,13 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
@@ -39,6 +47,9 @@ class NotificationControllerCashedTest {
     @MockitoBean
     private NotificationService notificationService;
 
+    @MockitoBean
+    private NotificationStreamProperties streamProperties;
+
     @MockitoBean
     private ReactiveClientRegistrationRepository clientRegistrationRepository;
 
@@ -127,4 +138,46 @@ class NotificationControllerCashedTest {
 
         verifyNoInteractions(notificationService);
     }
+
+    /**
+     * Тест получения собственной истории.
+     * Проверяет, что логин берется из аутентификации, а параметры пагинации передаются в сервис.
+     */
+    @Test
+    @WithMockUser(username = "user1", roles = "USER")
+    @DisplayName("Успешное получение собственной истории уведомлений")
+    void getHistorySuccessTest() {
+        NotificationPageDto page = NotificationPageDto.builder()
+                .items(List.of())
+                .nextCursor("next")
+                .build();
+
+        when(notificationService.getHistory("user1", null, 5)).thenReturn(Mono.just(page));
+
+        webTestClient
+                .get()
+                .uri("/notification/history?size=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items").isEmpty()
+                .jsonPath("$.nextCursor").isEqualTo("next");
+    }
+
+    /**
+     * Тест безопасности истории: доступ запрещен.
+     * Проверяет, что пользователь без ролей USER, ADMIN или NOTIFICATION_ACCESS получит 403.
+     */
+    @Test
+    @WithMockUser(roles = "GUEST")
+    @DisplayName("Доступ к истории запрещен для пользователя с ролью GUEST")
+    void getHistoryForbiddenTest() {
+        webTestClient
+                .get()
+                .uri("/notification/history")
+                .exchange()
+                .expectStatus().isForbidden();
+
+        verify(notificationService, never()).getHistory(anyString(), any(), anyInt());
+    }
 }
@@ -1,7 +1,11 @@
 package io.github.habatoo.controllers;
 
+import io.github.habatoo.dto.NotificationDto;
 import io.github.habatoo.dto.NotificationEvent;
+import io.github.habatoo.dto.NotificationPageDto;
 import io.github.habatoo.dto.OperationResultDto;
+import io.github.habatoo.handlers.NotificationBackpressureException;
+import io.github.habatoo.properties.NotificationStreamProperties;
 import io.github.habatoo.services.NotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,10 +14,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -25,6 +40,9 @@ class NotificationControllerTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private NotificationStreamProperties streamProperties;
+
     @InjectMocks
     private NotificationController notificationController;
 
@@ -66,4 +84,74 @@ class NotificationControllerTest {
                                 response.getMessage().contains(errorMsg))
                 .verifyComplete();
     }
+
+    @Test
+    @DisplayName("Буфер заполнен: ошибка не подавляется и превращается в 503 с Retry-After")
+    void handleNotificationBackpressureTest() {
+        NotificationBackpressureException exception = new NotificationBackpressureException(Duration.ofSeconds(7));
+        when(notificationService.processEvent(any())).thenReturn(Mono.error(exception));
+
+        StepVerifier.create(notificationController.handleNotification(testEvent))
+                .expectError(NotificationBackpressureException.class)
+                .verify();
+
+        ResponseEntity<OperationResultDto<Void>> response = notificationController.handleBackpressure(exception);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("7");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().isSuccess()).isFalse();
+    }
+
+    @Test
+    @DisplayName("История: пользователь получает свою историю без параметра username")
+    void getHistoryOwnTest() {
+        NotificationPageDto page = NotificationPageDto.builder().items(List.of()).build();
+        when(notificationService.getHistory("test_user", null, 20)).thenReturn(Mono.just(page));
+
+        StepVerifier.create(notificationController.getHistory(
+                        null, null, 20, new TestingAuthenticationToken("test_user", null, "ROLE_USER")))
+                .expectNext(page)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("История: пользователь не может запросить чужую историю")
+    void getHistoryForeignForbiddenTest() {
+        StepVerifier.create(notificationController.getHistory(
+                        "other_user", null, 20, new TestingAuthenticationToken("test_user", null, "ROLE_USER")))
+                .expectError(AccessDeniedException.class)
+                .verify();
+
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    @DisplayName("История: администратор может запросить чужую историю")
+    void getHistoryForeignByAdminTest() {
+        NotificationPageDto page = NotificationPageDto.builder().items(List.of()).build();
+        when(notificationService.getHistory("other_user", "cursor", 10)).thenReturn(Mono.just(page));
+
+        StepVerifier.create(notificationController.getHistory(
+                        "other_user", "cursor", 10, new TestingAuthenticationToken("admin", null, "ROLE_ADMIN")))
+                .expectNext(page)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Поток: уведомления текущего пользователя отдаются событиями SSE")
+    void streamNotificationsTest() {
+        NotificationDto dto = NotificationDto.builder().username("test_user").message("Пополнение").build();
+        when(streamProperties.heartbeat()).thenReturn(Duration.ofMinutes(1));
+        when(notificationService.streamNotifications("test_user")).thenReturn(Flux.just(dto));
+
+        StepVerifier.create(notificationController.streamNotifications(
+                        new TestingAuthenticationToken("test_user", null, "ROLE_USER")))
+                .assertNext(event -> {
+                    assertThat(event.event()).isEqualTo("notification");
+                    assertThat(event.data()).isEqualTo(dto);
+                })
+                .thenCancel()
+                .verify();
+    }
 }
@@ -1,8 +1,16 @@
 package io.github.habatoo.services.impl;
 
+import io.github.habatoo.components.NotificationDedupFilter;
+import io.github.habatoo.components.NotificationDispatcher;
+import io.github.habatoo.components.NotificationIngestBuffer;
+import io.github.habatoo.components.NotificationStreamHub;
+import io.github.habatoo.dto.NotificationDto;
+import io.github.habatoo.dto.NotificationPageDto;
 import io.github.habatoo.dto.NotificationEvent;
 import io.github.habatoo.dto.enums.EventType;
+import io.github.habatoo.handlers.NotificationBackpressureException;
 import io.github.habatoo.models.Notification;
+import io.github.habatoo.models.enums.NotificationChannel;
 import io.github.habatoo.repositories.NotificationRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,13 +20,19 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -28,15 +42,27 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class NotificationServiceImplTest {
 
+    @Mock
+    private NotificationIngestBuffer notificationIngestBuffer;
+
     @Mock
     private NotificationRepository notificationRepository;
 
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+
+    @Mock
+    private NotificationStreamHub notificationStreamHub;
+
+    @Mock
+    private NotificationDedupFilter notificationDedupFilter;
+
     @InjectMocks
     private NotificationServiceImpl notificationService;
 
     /**
      * Параметризованный тест для проверки всех типов событий.
-     * Проверяет, что для каждого EventType вызывается сохранение в БД и корректно
+     * Проверяет, что для каждого EventType запись ставится в буфер записи в БД и корректно
      * отрабатывает switch-case в processSideEffects.
      */
     @ParameterizedTest
@@ -54,20 +80,15 @@ class NotificationServiceImplTest {
                 ))
                 .build();
 
-        Notification savedNotification = Notification.builder()
-                .id(UUID.randomUUID())
-                .username("test_user")
-                .build();
-
-        when(notificationRepository.save(any(Notification.class)))
-                .thenReturn(Mono.just(savedNotification));
+        when(notificationIngestBuffer.enqueue(any(Notification.class), eq(type.getPriority())))
+                .thenReturn(Mono.just(true));
 
         Mono<Void> result = notificationService.processEvent(event);
 
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(notificationRepository, times(1)).save(any(Notification.class));
+        verify(notificationIngestBuffer, times(1)).enqueue(any(Notification.class), eq(type.getPriority()));
     }
 
     /**
@@ -83,7 +104,7 @@ class NotificationServiceImplTest {
                 .username("user")
                 .build();
 
-        when(notificationRepository.save(any(Notification.class)))
+        when(notificationIngestBuffer.enqueue(any(Notification.class), any()))
                 .thenReturn(Mono.error(new RuntimeException("DB Connection Failed")));
 
         Mono<Void> result = notificationService.processEvent(event);
@@ -91,5 +112,218 @@ class NotificationServiceImplTest {
         StepVerifier.create(result)
                 .expectError(RuntimeException.class)
                 .verify();
+
+        verifyNoInteractions(notificationDispatcher, notificationStreamHub);
+    }
+
+    /**
+     * Тест маршрутизации по каналам.
+     * Проверяет, что после записи в БД отправка ставится в очередь нужного канала,
+     * а не выполняется в потоке обработки запроса.
+     */
+    @Test
+    @DisplayName("Событие пополнения уходит в очередь канала PUSH")
+    void processEventDispatchesToChannelTest() {
+        NotificationEvent event = NotificationEvent.builder()
+                .eventType(EventType.DEPOSIT)
+                .username("user")
+                .payload(Map.of("amount", "50"))
+                .build();
+
+        when(notificationIngestBuffer.enqueue(any(Notification.class), any()))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(notificationService.processEvent(event))
+                .verifyComplete();
+
+        verify(notificationDispatcher).dispatch(eq(NotificationChannel.PUSH), any(Runnable.class));
+        verify(notificationStreamHub).publish(argThat(dto ->
+                "user".equals(dto.getUsername()) && dto.getSentAt() != null));
+    }
+
+    /**
+     * Тест повторной доставки, подтвержденной БД.
+     * Проверяет, что фильтр и индекс отсекают дубликат до буфера записи и рассылки,
+     * а отправитель получает успешное завершение.
+     */
+    @Test
+    @DisplayName("Повторная доставка: дубликат отбрасывается до записи в БД")
+    void processEventDuplicateSkippedTest() {
+        UUID eventId = UUID.randomUUID();
+        NotificationEvent event = NotificationEvent.builder()
+                .eventId(eventId)
+                .eventType(EventType.DEPOSIT)
+                .username("user")
+                .build();
+
+        when(notificationDedupFilter.mightContain(eventId)).thenReturn(true);
+        when(notificationRepository.existsByEventId(eventId)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(notificationService.processEvent(event))
+                .verifyComplete();
+
+        verifyNoInteractions(notificationIngestBuffer, notificationDispatcher, notificationStreamHub);
+    }
+
+    /**
+     * Тест ложного срабатывания фильтра.
+     * Проверяет, что событие, которого нет в БД, сохраняется и рассылается.
+     */
+    @Test
+    @DisplayName("Ложное срабатывание фильтра: новое событие сохраняется")
+    void processEventFilterFalsePositiveStoredTest() {
+        UUID eventId = UUID.randomUUID();
+        NotificationEvent event = NotificationEvent.builder()
+                .eventId(eventId)
+                .eventType(EventType.REGISTRATION)
+                .username("user")
+                .payload(Map.of("initialBalance", "0"))
+                .build();
+
+        when(notificationDedupFilter.mightContain(eventId)).thenReturn(true);
+        when(notificationRepository.existsByEventId(eventId)).thenReturn(Mono.just(false));
+        when(notificationIngestBuffer.enqueue(any(Notification.class), any())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(notificationService.processEvent(event))
+                .verifyComplete();
+
+        verify(notificationIngestBuffer).enqueue(argThat(n -> eventId.equals(n.getEventId())), any());
+        verify(notificationDedupFilter).put(eventId);
+        verify(notificationDispatcher).dispatch(eq(NotificationChannel.EMAIL), any(Runnable.class));
+    }
+
+    /**
+     * Тест дубликата, пропущенного фильтром (например, обработанного другой репликой).
+     * Проверяет, что при отказе вставки по ограничению уникальности рассылка не выполняется.
+     */
+    @Test
+    @DisplayName("Дубликат отклонен ограничением уникальности: рассылки нет")
+    void processEventDuplicateRejectedByConstraintTest() {
+        UUID eventId = UUID.randomUUID();
+        NotificationEvent event = NotificationEvent.builder()
+                .eventId(eventId)
+                .eventType(EventType.DEPOSIT)
+                .username("user")
+                .build();
+
+        when(notificationIngestBuffer.enqueue(any(Notification.class), any())).thenReturn(Mono.just(false));
+
+        StepVerifier.create(notificationService.processEvent(event))
+                .verifyComplete();
+
+        verify(notificationDedupFilter).put(eventId);
+        verifyNoInteractions(notificationDispatcher, notificationStreamHub);
+    }
+
+    /**
+     * Тест потока уведомлений.
+     * Проверяет, что подписка на поток делегируется хабу рассылки.
+     */
+    @Test
+    @DisplayName("Поток уведомлений берется из хаба рассылки")
+    void streamNotificationsDelegatesToHubTest() {
+        NotificationDto dto = NotificationDto.builder().username("user").message("Hi").build();
+        when(notificationStreamHub.subscribe("user")).thenReturn(Flux.just(dto));
+
+        StepVerifier.create(notificationService.streamNotifications("user"))
+                .expectNext(dto)
+                .verifyComplete();
+    }
+
+    /**
+     * Тест переполнения буфера.
+     * Проверяет, что исключение переполнения пробрасывается без изменений для ответа 503.
+     */
+    @Test
+    @DisplayName("Буфер заполнен: пробрасывается NotificationBackpressureException")
+    void processEventBufferFullFailureTest() {
+        NotificationEvent event = NotificationEvent.builder()
+                .eventType(EventType.DEPOSIT)
+                .username("user")
+                .build();
+
+        when(notificationIngestBuffer.enqueue(any(Notification.class), any()))
+                .thenReturn(Mono.error(new NotificationBackpressureException(Duration.ofSeconds(5))));
+
+        StepVerifier.create(notificationService.processEvent(event))
+                .expectError(NotificationBackpressureException.class)
+                .verify();
+    }
+
+    /**
+     * Тест первой страницы истории.
+     * Проверяет, что запрашивается на одну запись больше размера страницы,
+     * а при наличии лишней записи формируется курсор следующей страницы.
+     */
+    @Test
+    @DisplayName("История: первая страница с курсором продолжения")
+    void getHistoryFirstPageHasMoreTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Notification first = historyRow(now);
+        Notification second = historyRow(now.minusSeconds(1));
+        Notification extra = historyRow(now.minusSeconds(2));
+
+        when(notificationRepository.findFirstPage("user", 3))
+                .thenReturn(Flux.just(first, second, extra));
+
+        StepVerifier.create(notificationService.getHistory("user", null, 2))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).hasSize(2);
+                    assertThat(page.getItems().get(0).getId()).isEqualTo(first.getId());
+                    assertThat(page.getNextCursor()).isNotBlank();
+                })
+                .verifyComplete();
+    }
+
+    /**
+     * Тест перехода по курсору.
+     * Проверяет, что курсор из предыдущего ответа декодируется в позицию последней записи,
+     * а на последней странице курсор не возвращается.
+     */
+    @Test
+    @DisplayName("История: следующая страница по курсору")
+    void getHistoryNextPageByCursorTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Notification first = historyRow(now);
+        Notification last = historyRow(now.minusSeconds(1));
+        Notification tail = historyRow(now.minusSeconds(2));
+
+        when(notificationRepository.findFirstPage("user", 2))
+                .thenReturn(Flux.just(first, last));
+        when(notificationRepository.findPageBefore("user", first.getSentAt(), first.getId(), 2))
+                .thenReturn(Flux.just(tail));
+
+        StepVerifier.create(notificationService.getHistory("user", null, 1)
+                        .map(NotificationPageDto::getNextCursor)
+                        .flatMap(cursor -> notificationService.getHistory("user", cursor, 1)))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).extracting("id").containsExactly(tail.getId());
+                    assertThat(page.getNextCursor()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    /**
+     * Тест некорректного курсора.
+     * Проверяет, что поврежденный курсор приводит к IllegalArgumentException (400),
+     * а запрос в БД не выполняется.
+     */
+    @Test
+    @DisplayName("История: некорректный курсор")
+    void getHistoryInvalidCursorTest() {
+        StepVerifier.create(notificationService.getHistory("user", "not-a-cursor", 20))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verify(notificationRepository, never()).findPageBefore(eq("user"), any(), any(), anyInt());
+    }
+
+    private Notification historyRow(LocalDateTime sentAt) {
+        return Notification.builder()
+                .id(UUID.randomUUID())
+                .username("user")
+                .message("Message " + sentAt)
+                .sentAt(sentAt)
+                .build();
     }
 }
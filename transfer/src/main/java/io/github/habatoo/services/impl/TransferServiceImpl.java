@@ -6,24 +6,28 @@ import io.github.habatoo.dto.TransferDto;
 import io.github.habatoo.dto.enums.Currency;
 import io.github.habatoo.dto.enums.EventStatus;
 import io.github.habatoo.dto.enums.EventType;
+import io.github.habatoo.logging.SagaStepObserver;
 import io.github.habatoo.models.Transfer;
 import io.github.habatoo.repositories.TransfersRepository;
+import io.github.habatoo.resilience.ResilienceDecorator;
 import io.github.habatoo.services.OutboxClientService;
 import io.github.habatoo.services.RateClientService;
 import io.github.habatoo.services.TransferService;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
-import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
 /**
  * {@inheritDoc}
@@ -33,11 +37,14 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class TransferServiceImpl implements TransferService {
 
+    private static final String SAGA = "transfer";
+
     private final WebClient webClient;
     private final TransfersRepository transfersRepository;
     private final OutboxClientService outboxClientService;
     private final RateClientService rateClientService;
-    private final CircuitBreakerRegistry registry;
+    private final ResilienceDecorator accountResilience;
+    private final SagaStepObserver sagaStepObserver;
 
     /**
      * {@inheritDoc}
@@ -49,24 +56,48 @@ public class TransferServiceImpl implements TransferService {
 
         BigDecimal convertedAmount = calcAmount(dto.getValue(), dto.getFromCurrency(), dto.getToCurrency())
                 .setScale(2, RoundingMode.HALF_UP);
+        String currencyPair = SagaStepObserver.currencyPair(dto.getFromCurrency(), dto.getToCurrency());
 
-        return callAccountService(sender, dto.getValue().negate(), dto.getFromCurrency().name())
+        return observeBalanceStep("debit", currencyPair,
+                callAccountService(sender, dto.getValue().negate(), dto.getFromCurrency().name()))
                 .flatMap(res -> res.isSuccess()
-                        ? executeDepositStep(sender, recipient, dto, convertedAmount, isSelf)
+                        ? executeDepositStep(sender, recipient, dto, convertedAmount, isSelf, currencyPair)
                         : Mono.just(errorResponse("Ошибка списания: " + res.getMessage())))
                 .onErrorResume(e -> Mono.just(errorResponse("Критический сбой: " + e.getMessage())));
     }
 
+    /**
+     * Зачисляет средства получателю после успешного списания.
+     * <p>
+     * Компенсация запускается не только при отказе сервиса Account, но и когда зачисление не подтверждено:
+     * истек таймаут, Circuit Breaker разомкнут, Bulkhead переполнен или запрос завершился ошибкой WebClient.
+     * Иначе такая ошибка уходит в общий обработчик, и списанные у отправителя средства не возвращаются.
+     * </p>
+     */
     private Mono<OperationResultDto<TransferDto>> executeDepositStep(
             String src,
             String dst,
             TransferDto dto,
             BigDecimal convertedAmount,
-            boolean self) {
-        return callAccountService(dst, convertedAmount, dto.getToCurrency().name())
-                .flatMap(res -> res.isSuccess()
-                        ? finalizeTransaction(src, dst, dto, convertedAmount, self)
-                        : runCompensation(src, dto, self));
+            boolean self,
+            String currencyPair) {
+        return observeBalanceStep("credit", currencyPair,
+                callAccountService(dst, convertedAmount, dto.getToCurrency().name()))
+                .map(OperationResultDto::isSuccess)
+                .onErrorResume(TransferServiceImpl::isCreditNotConfirmed, e -> {
+                    log.warn("Зачисление получателю {} не подтверждено: {}", dst, e.toString());
+                    return Mono.just(false);
+                })
+                .flatMap(credited -> credited
+                        ? finalizeTransaction(src, dst, dto, convertedAmount, self, currencyPair)
+                        : runCompensation(src, dto, self, currencyPair));
+    }
+
+    private static boolean isCreditNotConfirmed(Throwable e) {
+        return e instanceof TimeoutException
+                || e instanceof CallNotPermittedException
+                || e instanceof BulkheadFullException
+                || e instanceof WebClientException;
     }
 
     private Mono<OperationResultDto<TransferDto>> finalizeTransaction(
@@ -74,9 +105,12 @@ public class TransferServiceImpl implements TransferService {
             String dst,
             TransferDto dto,
             BigDecimal convertedAmount,
-            boolean self) {
-        return transfersRepository.save(mapToEntity(src, dst, dto, convertedAmount))
-                .then(sendNotify(src, dto, convertedAmount, EventStatus.SUCCESS, self, dst))
+            boolean self,
+            String currencyPair) {
+        return sagaStepObserver.observe(SAGA, "persist", currencyPair,
+                        transfersRepository.save(mapToEntity(src, dst, dto, convertedAmount)))
+                .then(sagaStepObserver.observe(SAGA, "notify", currencyPair,
+                        sendNotify(src, dto, convertedAmount, EventStatus.SUCCESS, self, dst)))
                 .thenReturn(OperationResultDto.<TransferDto>builder()
                         .success(true)
                         .data(dto)
@@ -87,12 +121,24 @@ public class TransferServiceImpl implements TransferService {
     private Mono<OperationResultDto<TransferDto>> runCompensation(
             String src,
             TransferDto dto,
-            boolean self) {
-        return callAccountService(src, dto.getValue(), dto.getFromCurrency().name())
-                .then(sendNotify(src, dto, BigDecimal.ZERO, EventStatus.FAILURE, self))
+            boolean self,
+            String currencyPair) {
+        sagaStepObserver.compensationTriggered(SAGA, currencyPair, "credit");
+        return observeBalanceStep("compensation", currencyPair,
+                callAccountService(src, dto.getValue(), dto.getFromCurrency().name()))
+                .then(sagaStepObserver.observe(SAGA, "notify", currencyPair,
+                        sendNotify(src, dto, BigDecimal.ZERO, EventStatus.FAILURE, self)))
                 .thenReturn(errorResponse("Ошибка зачисления. Средства возвращены."));
     }
 
+    private Mono<OperationResultDto<Void>> observeBalanceStep(
+            String step,
+            String currencyPair,
+            Mono<OperationResultDto<Void>> call) {
+        return sagaStepObserver.observe(SAGA, step, currencyPair, call,
+                res -> res.isSuccess() ? SagaStepObserver.SUCCESS : SagaStepObserver.REJECTED);
+    }
+
     private Mono<OperationResultDto<Void>> callAccountService(String login, BigDecimal amt, String cur) {
         return webClient.post()
                 .uri(u -> u.path("/api/account/balance")
@@ -103,7 +149,7 @@ public class TransferServiceImpl implements TransferService {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<OperationResultDto<Void>>() {
                 })
-                .transformDeferred(CircuitBreakerOperator.of(registry.circuitBreaker("transfer-service-cb")));
+                .transform(accountResilience::decorate);
     }
 
     private Mono<Void> sendNotify(
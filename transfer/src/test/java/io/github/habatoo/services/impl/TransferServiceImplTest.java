@@ -5,18 +5,28 @@ import io.github.habatoo.dto.OperationResultDto;
 import io.github.habatoo.dto.TransferDto;
 import io.github.habatoo.dto.enums.Currency;
 import io.github.habatoo.dto.enums.EventStatus;
+import io.github.habatoo.logging.SagaStepObserver;
 import io.github.habatoo.models.Transfer;
 import io.github.habatoo.repositories.TransfersRepository;
+import io.github.habatoo.resilience.ResilienceDecorator;
 import io.github.habatoo.services.OutboxClientService;
 import io.github.habatoo.services.RateClientService;
+import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -24,8 +34,10 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.function.Function;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -48,9 +60,6 @@ class TransferServiceImplTest {
     @Mock
     private OutboxClientService outboxClientService;
 
-    @Mock
-    private CircuitBreakerRegistry registry;
-
     @Mock
     private RateClientService rateClientService;
 
@@ -66,6 +75,18 @@ class TransferServiceImplTest {
     @Mock
     private WebClient.ResponseSpec responseSpec;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ResilienceDecorator accountResilience = new ResilienceDecorator(
+            CircuitBreaker.ofDefaults("transfer-service-cb"),
+            Bulkhead.ofDefaults("transfer-service-cb"),
+            TimeLimiter.ofDefaults("transfer-service-cb"),
+            Retry.of("transfer-service-cb", RetryConfig.custom().maxAttempts(1).build()));
+
+    @Spy
+    private SagaStepObserver sagaStepObserver = new SagaStepObserver(observationRegistry(meterRegistry), meterRegistry);
+
     @InjectMocks
     private TransferServiceImpl transferService;
 
@@ -80,8 +101,6 @@ class TransferServiceImplTest {
                 .toCurrency(Currency.RUB)
                 .build();
 
-        CircuitBreaker cb = CircuitBreaker.ofDefaults("transfer-service-cb");
-        lenient().when(registry.circuitBreaker("transfer-service-cb")).thenReturn(cb);
         lenient().when(rateClientService.takeRate(any(Currency.class), any(Currency.class))).thenReturn(BigDecimal.ONE);
     }
 
@@ -150,6 +169,37 @@ class TransferServiceImplTest {
         verify(outboxClientService).saveEvent(
                 argThat(event -> event.getStatus() == EventStatus.FAILURE));
         verify(transfersRepository, never()).save(any());
+        assertEquals(1.0, meterRegistry.get(SagaStepObserver.COMPENSATION_METRIC)
+                .tags("saga", "transfer", "currency.pair", "RUB/RUB", "reason", "credit")
+                .counter().count());
+        assertEquals(1L, meterRegistry.get(SagaStepObserver.STEP_METRIC)
+                .tags("step", "credit", "outcome", SagaStepObserver.REJECTED)
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Таймаут зачисления: запуск компенсации")
+    void processTransferOperation_DepositTimeout_Compensation() {
+        OperationResultDto<Void> success = OperationResultDto.<Void>builder()
+                .success(true).build();
+
+        mockWebClientCalls(Mono.just(success), Mono.never(), Mono.just(success));
+
+        when(outboxClientService.saveEvent(any(NotificationEvent.class))).thenReturn(Mono.empty());
+
+        StepVerifier.withVirtualTime(() -> transferService.processTransferOperation(SENDER, transferDto))
+                .thenAwait(Duration.ofSeconds(2))
+                .expectNextMatches(res -> !res.isSuccess()
+                        && res.getMessage().contains("Средства возвращены"))
+                .verifyComplete();
+
+        verify(webClient, times(3)).post();
+        verify(outboxClientService).saveEvent(
+                argThat(event -> event.getStatus() == EventStatus.FAILURE));
+        verify(transfersRepository, never()).save(any());
+        assertEquals(1.0, meterRegistry.get(SagaStepObserver.COMPENSATION_METRIC)
+                .tags("saga", "transfer", "currency.pair", "RUB/RUB", "reason", "credit")
+                .counter().count());
     }
 
     private void mockWebClientResponse(OperationResultDto<Void>... responses) {
@@ -162,4 +212,21 @@ class TransferServiceImplTest {
             chain = chain.thenReturn(Mono.just(response));
         }
     }
+
+    private void mockWebClientCalls(Mono<OperationResultDto<Void>>... calls) {
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(any(Function.class))).thenReturn(requestBodySpec);
+        when(requestBodySpec.retrieve()).thenReturn(responseSpec);
+
+        var chain = when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class)));
+        for (var call : calls) {
+            chain = chain.thenReturn(call);
+        }
+    }
+
+    private static ObservationRegistry observationRegistry(MeterRegistry meterRegistry) {
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        return observationRegistry;
+    }
 }